@@ -4,6 +4,7 @@ import my.company.my.safarigame.model.SafariGameModel;
 import my.company.my.safarigame.controller.GameController;
 import my.company.my.safarigame.audio.SoundManager;
 
+import java.io.File;
 import javax.swing.SwingUtilities;
 
 /**
@@ -14,7 +15,7 @@ public class SafariGame {
     
     /**
      * Main method that launches the application
-     * @param args Command line arguments
+     * @param args Command line arguments; {@code --replay FILE} plays a recorded game
      */
     public static void main(String[] args) {
         // Initialize the sound manager
@@ -32,6 +33,10 @@ public class SafariGame {
                 // The controller will create the view and set up the connections
                 // between components following the MVC pattern
                 
+                if (args.length >= 2 && args[0].equals("--replay")) {
+                    controller.playReplay(new File(args[1]), 0);
+                }
+                
                 System.out.println("Safari Game initialized successfully!");
                 
             } catch (Exception e) {
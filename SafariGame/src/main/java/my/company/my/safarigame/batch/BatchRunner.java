@@ -0,0 +1,330 @@
+package my.company.my.safarigame.batch;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Command-line entry point running many seeded headless games in parallel.
+ * <p>
+ * Used to balance the difficulty settings: each run is a {@link HeadlessSimulation}
+ * with its own seed, spread over a fixed thread pool. The animals follow the rules
+ * of the game, as they are stepped by the same
+ * {@link my.company.my.safarigame.model.AnimalStepper} as in the map view. The
+ * results are written as CSV files to the output directory:
+ * </p>
+ * <ul>
+ *   <li>{@code runs.csv}: one row per run with the time to win, final capital and population</li>
+ *   <li>{@code curves.csv}: capital and population of every run at each sampled tick</li>
+ *   <li>{@code summary.csv}: win rate, time-to-win percentiles and extinction rates</li>
+ * </ul>
+ * <p>
+ * Usage: {@code java my.company.my.safarigame.batch.BatchRunner [options]} with the
+ * options {@code --grid PATH}, {@code --runs K}, {@code --seed S},
+ * {@code --difficulty easy|medium|hard}, {@code --speed 1|2|3}, {@code --jeeps N},
+ * {@code --buy cow=4,deer=4,lion=1,wolf=1,bush=5,pond=1},
+ * {@code --ticks N}, {@code --sample N}, {@code --threads N}, {@code --out DIR},
+ * {@code --lod} and {@code --verbose}. The game's console output is suppressed unless
+ * {@code --verbose} is given. {@code --lod} simulates the animals away from jeeps
+ * and rangers coarsely, see {@link my.company.my.safarigame.model.LevelOfDetail};
+ * comparing its summary with a run without it checks the coarse model.
+ * </p>
+ */
+public class BatchRunner {
+
+    private String gridFilePath = "/grids/grid1.txt";
+    private int runs = 100;
+    private long seed = 1;
+    private String difficulty = "medium";
+    private int gameSpeed = 2;
+    private int jeeps = 1;
+    private Map<String, Integer> purchases = parsePurchases("cow=4,deer=4,lion=1,wolf=1");
+    private long maxTicks = 2000;
+    private int sampleInterval = 10;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private File outputDirectory = new File("batch");
+    private boolean verbose = false;
+    private boolean levelOfDetail = false;
+
+    /**
+     * Runs a batch from the command line.
+     *
+     * @param args Command line options, see the class documentation
+     */
+    public static void main(String[] args) {
+        BatchRunner runner;
+        try {
+            runner = parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: BatchRunner [--grid PATH] [--runs K] [--seed S] [--difficulty easy|medium|hard]"
+                    + " [--speed 1|2|3] [--jeeps N] [--buy ITEM=N,...] [--ticks N] [--sample N] [--threads N] [--out DIR] [--lod] [--verbose]");
+            System.exit(2);
+            return;
+        }
+
+        PrintStream console = System.out;
+        if (!runner.verbose) {
+            // The model logs every animal action, which would serialize the worker threads
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        }
+        try {
+            long start = System.nanoTime();
+            List<SimulationResult> results = runner.run();
+            runner.writeResults(results);
+            console.println(String.format("%d runs in %.1f s, results in %s",
+                    results.size(), (System.nanoTime() - start) / 1e9, runner.outputDirectory.getAbsolutePath()));
+            console.println(summarize(results));
+        } catch (IOException | InterruptedException | ExecutionException e) {
+            System.err.println("Batch failed: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        } finally {
+            System.setOut(console);
+        }
+    }
+
+    /**
+     * Creates a runner from command line options.
+     *
+     * @param args The options
+     * @return The configured runner
+     * @throws IllegalArgumentException If an option is unknown, lacks a value or has an invalid value
+     */
+    public static BatchRunner parse(String[] args) {
+        BatchRunner runner = new BatchRunner();
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (option.equals("--verbose")) {
+                runner.verbose = true;
+                continue;
+            }
+            if (option.equals("--lod")) {
+                runner.levelOfDetail = true;
+                continue;
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + option);
+            }
+            String value = args[++i];
+            try {
+                switch (option) {
+                    case "--grid":
+                        runner.gridFilePath = value;
+                        break;
+                    case "--runs":
+                        runner.runs = Integer.parseInt(value);
+                        break;
+                    case "--seed":
+                        runner.seed = Long.parseLong(value);
+                        break;
+                    case "--difficulty":
+                        runner.difficulty = value;
+                        break;
+                    case "--speed":
+                        runner.gameSpeed = Integer.parseInt(value);
+                        break;
+                    case "--jeeps":
+                        runner.jeeps = Integer.parseInt(value);
+                        break;
+                    case "--buy":
+                        runner.purchases = parsePurchases(value);
+                        break;
+                    case "--ticks":
+                        runner.maxTicks = Long.parseLong(value);
+                        break;
+                    case "--sample":
+                        runner.sampleInterval = Integer.parseInt(value);
+                        break;
+                    case "--threads":
+                        runner.threads = Integer.parseInt(value);
+                        break;
+                    case "--out":
+                        runner.outputDirectory = new File(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + option);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid number for " + option + ": " + value);
+            }
+        }
+        if (runner.runs <= 0 || runner.threads <= 0 || runner.sampleInterval <= 0 || runner.maxTicks <= 0) {
+            throw new IllegalArgumentException("Runs, threads, sample interval and ticks must be positive");
+        }
+        if (runner.gameSpeed < 1 || runner.gameSpeed > 3) {
+            throw new IllegalArgumentException("Game speed must be between 1 and 3");
+        }
+        return runner;
+    }
+
+    /**
+     * Parses a list of purchases such as {@code cow=4,lion=1,bush=10}.
+     *
+     * @param value The purchases, separated by commas
+     * @return The number of items by name, in the given order
+     * @throws IllegalArgumentException If an entry is malformed or names an unknown item
+     */
+    static Map<String, Integer> parsePurchases(String value) {
+        Map<String, Integer> purchases = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid purchase: " + entry);
+            }
+            String name = parts[0].trim().toLowerCase();
+            HeadlessSimulation.createItem(name, null);
+            purchases.put(name, Integer.parseInt(parts[1].trim()));
+        }
+        return purchases;
+    }
+
+    /**
+     * Runs all simulations, the run with index i using the seed {@code seed + i}.
+     *
+     * @return The results in seed order
+     * @throws InterruptedException If the batch is interrupted
+     * @throws ExecutionException If a simulation fails
+     */
+    public List<SimulationResult> run() throws InterruptedException, ExecutionException {
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(threads, runs));
+        try {
+            List<Future<SimulationResult>> futures = new ArrayList<>();
+            for (int i = 0; i < runs; i++) {
+                long runSeed = seed + i;
+                futures.add(pool.submit(() -> {
+                    HeadlessSimulation simulation = new HeadlessSimulation(gridFilePath, difficulty, gameSpeed, jeeps,
+                            purchases, runSeed);
+                    simulation.setLevelOfDetail(levelOfDetail);
+                    return simulation.run(maxTicks, sampleInterval);
+                }));
+            }
+            List<SimulationResult> results = new ArrayList<>();
+            for (Future<SimulationResult> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Writes the runs, curves and summary CSV files to the output directory.
+     *
+     * @param results The results of the batch
+     * @throws IOException If a file cannot be written
+     */
+    public void writeResults(List<SimulationResult> results) throws IOException {
+        if (!outputDirectory.exists() && !outputDirectory.mkdirs()) {
+            throw new IOException("Cannot create output directory " + outputDirectory);
+        }
+
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(new File(outputDirectory, "runs.csv")))) {
+            writer.write("seed,won,ticks_to_win,ticks_run,final_capital,herbivores_start,herbivores_end,"
+                    + "carnivores_start,carnivores_end,herbivores_extinct_tick,carnivores_extinct_tick");
+            writer.newLine();
+            for (SimulationResult result : results) {
+                SimulationResult.Sample last = result.getFinalSample();
+                writer.write(result.getSeed() + "," + result.isWon() + "," + result.getTicksToWin()
+                        + "," + result.getTicksRun() + "," + last.capital
+                        + "," + result.getStartHerbivores() + "," + last.herbivores
+                        + "," + result.getStartCarnivores() + "," + last.carnivores
+                        + "," + result.getHerbivoreExtinctionTick() + "," + result.getCarnivoreExtinctionTick());
+                writer.newLine();
+            }
+        }
+
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(new File(outputDirectory, "curves.csv")))) {
+            writer.write("seed,tick,capital,herbivores,carnivores");
+            writer.newLine();
+            for (SimulationResult result : results) {
+                for (SimulationResult.Sample sample : result.getSamples()) {
+                    writer.write(result.getSeed() + "," + sample.tick + "," + sample.capital
+                            + "," + sample.herbivores + "," + sample.carnivores);
+                    writer.newLine();
+                }
+            }
+        }
+
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(new File(outputDirectory, "summary.csv")))) {
+            writer.write(summarize(results));
+            writer.newLine();
+        }
+    }
+
+    /**
+     * Summarizes a batch as a CSV header line and a value line.
+     * <p>
+     * Time to win is only taken over the won games; -1 means no game was won.
+     * </p>
+     *
+     * @param results The results of the batch
+     * @return The two CSV lines
+     */
+    public static String summarize(List<SimulationResult> results) {
+        List<Long> winTicks = new ArrayList<>();
+        int extinct = 0;
+        int herbivoresExtinct = 0;
+        int carnivoresExtinct = 0;
+        double capitalSum = 0;
+        for (SimulationResult result : results) {
+            if (result.isWon()) {
+                winTicks.add(result.getTicksToWin());
+            }
+            if (result.isExtinct()) {
+                extinct++;
+            }
+            if (result.getHerbivoreExtinctionTick() >= 0) {
+                herbivoresExtinct++;
+            }
+            if (result.getCarnivoreExtinctionTick() >= 0) {
+                carnivoresExtinct++;
+            }
+            capitalSum += result.getFinalSample().capital;
+        }
+        Collections.sort(winTicks);
+
+        int n = Math.max(1, results.size());
+        double meanWin = -1;
+        if (!winTicks.isEmpty()) {
+            long sum = 0;
+            for (long ticks : winTicks) {
+                sum += ticks;
+            }
+            meanWin = (double) sum / winTicks.size();
+        }
+        return "runs,win_rate,ticks_to_win_mean,ticks_to_win_p50,ticks_to_win_p90,extinction_rate,"
+                + "herbivore_extinction_rate,carnivore_extinction_rate,final_capital_mean\n"
+                + results.size()
+                + "," + String.format(Locale.ROOT, "%.4f", (double) winTicks.size() / n)
+                + "," + String.format(Locale.ROOT, "%.1f", meanWin)
+                + "," + percentile(winTicks, 50)
+                + "," + percentile(winTicks, 90)
+                + "," + String.format(Locale.ROOT, "%.4f", (double) extinct / n)
+                + "," + String.format(Locale.ROOT, "%.4f", (double) herbivoresExtinct / n)
+                + "," + String.format(Locale.ROOT, "%.4f", (double) carnivoresExtinct / n)
+                + "," + String.format(Locale.ROOT, "%.1f", capitalSum / n);
+    }
+
+    /**
+     * Gets a percentile of a sorted list by the nearest-rank method.
+     *
+     * @return The value, or -1 if the list is empty
+     */
+    private static long percentile(List<Long> sorted, int percentile) {
+        if (sorted.isEmpty()) {
+            return -1;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.size());
+        return sorted.get(Math.max(0, rank - 1));
+    }
+}
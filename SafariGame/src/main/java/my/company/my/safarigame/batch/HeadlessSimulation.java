@@ -0,0 +1,537 @@
+package my.company.my.safarigame.batch;
+
+import java.util.*;
+import my.company.my.safarigame.controller.GameController;
+import my.company.my.safarigame.model.*;
+
+/**
+ * Runs one game without any Swing components, as fast as the CPU allows.
+ * <p>
+ * The simulation loads a grid into a {@link SafariGameModel} and steps it the way
+ * the map view's timers do in the real game. Every step gives each animal its
+ * turn through the same {@link AnimalStepper} the map view uses, so herds, grazing,
+ * drinking and hunting follow the rules of the game. A game tick runs every
+ * {@link #getStepsPerTick()} steps, the same ratio as at normal speed.
+ * </p>
+ * <p>
+ * Jeeps drive back and forth between the jeep start and the safari exit, sent out
+ * by the map's {@link TourDispatcher} once four tourists, who arrive every five
+ * seconds of game play, wait at the entrance. On each arrival they pay out the
+ * satisfaction score of the animals around them.
+ * </p>
+ * <p>
+ * At the start the player buys the given jeeps, animals, plants and ponds, as far
+ * as the capital allows, at market prices. Everything but the jeeps is placed on
+ * random grass cells. Later trades, placements, removals and speed changes can be
+ * applied between steps, which is how recorded games are replayed.
+ * </p>
+ * <p>
+ * All randomness comes from a seeded {@link Random}, so a run can be repeated
+ * exactly. A simulation is not thread-safe, but separate simulations share no
+ * state and can run in parallel.
+ * </p>
+ */
+public class HeadlessSimulation {
+
+    /** Distance at which tourists on a jeep see animals. */
+    public static final int VIEW_RADIUS = 20;
+
+    /** Cell where purchased jeeps are placed. */
+    public static final Coordinate JEEP_START = new Coordinate(48, 7);
+
+    /** Cell the jeeps drive to, the safari exit. */
+    public static final Coordinate JEEP_TARGET = new Coordinate(0, 39);
+
+    /** Name of the simulated player. */
+    private static final String PLAYER_NAME = "Batch";
+
+    /** Up, down, left and right, the directions searched for roads. */
+    private static final int[][] DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+
+    private final SafariGameModel model;
+    private final SafariMap map;
+    private final Grid grid;
+    private final Random random;
+    private final long seed;
+
+    /** Runs the animals' turns. */
+    private final AnimalStepper stepper;
+
+    /** Live animals in stepping order. */
+    private final List<Animal> animals = new ArrayList<>();
+
+    /** Animals to step in the current step, reused so stepping allocates nothing. */
+    private final List<Animal> stepOrder = new ArrayList<>();
+
+    private int stepsPerTick;
+
+    /** Road cells at both ends of the jeep route. */
+    private Coordinate routeStart;
+    private Coordinate routeEnd;
+
+    private long steps = 0;
+
+    /**
+     * Constructs a new HeadlessSimulation.
+     *
+     * @param gridFilePath Path of the grid file, as a local file or a resource
+     * @param difficulty The difficulty, "easy", "medium" or "hard"
+     * @param gameSpeed The game speed (1=Hour, 2=Day, 3=Week)
+     * @param jeeps Number of jeeps bought at the start, as far as the capital allows
+     * @param purchases Number of items bought at the start by name (a species of the
+     *                  {@link SpeciesRegistry} such as "cow", or "plant", "bush", "shrub"
+     *                  or "pond"), in buying order
+     * @param seed Seed of the random numbers used for placing items and wandering
+     * @throws IllegalArgumentException If the game speed, the jeep count or an item name is invalid
+     */
+    public HeadlessSimulation(String gridFilePath, String difficulty, int gameSpeed, int jeeps,
+            Map<String, Integer> purchases, long seed) {
+        if (jeeps < 0) {
+            throw new IllegalArgumentException("Jeep count cannot be negative: " + jeeps);
+        }
+        this.seed = seed;
+
+        model = new SafariGameModel(gridFilePath);
+        model.reseed(seed);
+        this.random = model.getRandom();
+        model.setGameDifficulty(difficulty);
+        model.setPlayer(PLAYER_NAME);
+        model.applyDifficultyEffects();
+        map = model.getMap();
+        grid = map.getGrid();
+        map.getDispatcher().setTourListener(new TourListener() {
+            @Override
+            public void onTourStarted(Jeep jeep, List<Tourist> passengers, boolean forward) {
+            }
+
+            @Override
+            public void onTourFinished(Jeep jeep, List<Tourist> passengers, boolean forward) {
+                Coordinate end = forward ? routeEnd : routeStart;
+                model.getPlayer().updateCapital(map.getSatisfactionScore(end.getX(), end.getY(), VIEW_RADIUS));
+            }
+        });
+
+        stepper = new AnimalStepper(model);
+        stepper.setListener(new AnimalStepListener() {
+            @Override
+            public void onAnimalMoved(Animal animal, Coordinate from) {
+            }
+
+            @Override
+            public void onAnimalDrinking(Animal animal) {
+            }
+
+            @Override
+            public void onAnimalHunted(Carnivore hunter, Herbivore prey, boolean killed) {
+            }
+
+            @Override
+            public void onPlantEaten(Herbivore herbivore, int row, int col) {
+            }
+
+            @Override
+            public void onAnimalRemoved(Animal animal, Coordinate position) {
+                animals.remove(animal);
+            }
+        });
+
+        for (LandScapeObject obj : map.getLandscapeObjects()) {
+            if (obj instanceof Animal) {
+                Animal animal = (Animal) obj;
+                animal.setTimers(map.getAnimalTimers());
+                animals.add(animal);
+            }
+        }
+
+        setGameSpeed(gameSpeed);
+        updateRoute();
+
+        Player player = model.getPlayer();
+        for (int i = 0; i < jeeps; i++) {
+            Jeep jeep = new Jeep(JEEP_START);
+            if (player.getCapital() < jeep.getPrice()) {
+                break;
+            }
+            player.buyItem(jeep);
+            player.removeInventoryItem(jeep);
+            map.addJeep(jeep);
+        }
+        for (Map.Entry<String, Integer> purchase : purchases.entrySet()) {
+            for (int i = 0; i < purchase.getValue(); i++) {
+                Coordinate cell = findFreeGrass();
+                LandScapeObject item = createItem(purchase.getKey(), cell);
+                if (cell == null || player.getCapital() < item.getPrice()) {
+                    break;
+                }
+                player.buyItem(item);
+                player.removeInventoryItem(item);
+                place(item);
+            }
+        }
+
+        model.startGame();
+    }
+
+    /**
+     * Runs the game until it is won or the tick limit is reached.
+     *
+     * @param maxTicks Maximum number of game ticks to run
+     * @param sampleInterval Number of ticks between two samples of the curves
+     * @return The result of the run
+     * @throws IllegalArgumentException If the sample interval is not positive
+     */
+    public SimulationResult run(long maxTicks, int sampleInterval) {
+        if (sampleInterval <= 0) {
+            throw new IllegalArgumentException("Sample interval must be positive: " + sampleInterval);
+        }
+        SimulationResult result = new SimulationResult(seed);
+        int herbivores = countAnimals(Herbivore.class);
+        int carnivores = countAnimals(Carnivore.class);
+        result.setStartPopulation(herbivores, carnivores);
+        result.addSample(sample());
+
+        double threshold = model.getCapitalThresholdToWin();
+        while (model.getTick() < maxTicks) {
+            if (!step()) {
+                continue;
+            }
+            long tick = model.getTick();
+            if (result.getStartHerbivores() > 0 && countAnimals(Herbivore.class) == 0) {
+                result.markHerbivoresExtinct(tick);
+            }
+            if (result.getStartCarnivores() > 0 && countAnimals(Carnivore.class) == 0) {
+                result.markCarnivoresExtinct(tick);
+            }
+            if (model.getPlayer().getCapital() >= threshold) {
+                result.setTicksToWin(tick);
+                break;
+            }
+            if (tick % sampleInterval == 0) {
+                result.addSample(sample());
+            }
+        }
+
+        if (result.getFinalSample().tick != model.getTick()) {
+            result.addSample(sample());
+        }
+        result.setTicksRun(model.getTick());
+        model.setGameState(result.isWon() ? "Completed" : "Ended");
+        return result;
+    }
+
+    /**
+     * Runs one step: every animal moves once, the jeeps drive one cell and the
+     * game ticks when enough steps have passed.
+     *
+     * @return true if a game tick ran during this step
+     */
+    public boolean step() {
+        steps++;
+        // Animals may die or be eaten while stepping, so step a copy of the list
+        stepOrder.clear();
+        stepOrder.addAll(animals);
+        for (int i = 0; i < stepOrder.size(); i++) {
+            stepper.step(stepOrder.get(i), steps);
+        }
+        map.getAnimalTimers().advance();
+
+        map.getDispatcher().step();
+
+        if (steps % stepsPerTick == 0) {
+            model.updateTime();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Buys an item in the market, if the player can afford it.
+     *
+     * @param item The item to buy
+     * @return true if the item was bought and added to the inventory
+     */
+    public boolean buy(TradeableItem item) {
+        Player player = model.getPlayer();
+        int owned = player.getInventory().size();
+        player.buyItem(item);
+        return player.getInventory().size() > owned;
+    }
+
+    /**
+     * Sells an inventory item of the same kind as the given one.
+     *
+     * @param item The kind of item to sell
+     * @return true if a matching item was in the inventory and was sold
+     */
+    public boolean sell(TradeableItem item) {
+        Player player = model.getPlayer();
+        for (TradeableItem owned : player.getInventory()) {
+            if (owned.getClass().equals(item.getClass()) && owned.getDescription().equals(item.getDescription())) {
+                player.sellItem(owned);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Places an item from the inventory on the map, like the player does in the
+     * map view. Jeeps always start at {@link #JEEP_START}.
+     *
+     * @param item The item to place; a matching item is taken from the inventory
+     * @param row The row of the cell
+     * @param col The column of the cell
+     * @return true if the item was in the inventory and the cell was free
+     */
+    public boolean placeItem(TradeableItem item, int row, int col) {
+        Cell cell = grid.getCell(row, col);
+        if (!(item instanceof Jeep) && (cell == null || cell.isOccupied())) {
+            return false;
+        }
+        if (!model.getPlayer().removeInventoryItem(item)) {
+            return false;
+        }
+        if (item instanceof Jeep) {
+            Jeep jeep = (Jeep) item;
+            jeep.setPosition(JEEP_START.getX(), JEEP_START.getY());
+            map.addJeep(jeep);
+        } else if (item instanceof Ranger) {
+            Ranger ranger = (Ranger) item;
+            ranger.setPosition(row, col);
+            map.addRanger(ranger);
+            grid.setCellType(row, col, 'R');
+            cell.setOccupied(true);
+        } else if (item instanceof LandScapeObject) {
+            LandScapeObject object = (LandScapeObject) item;
+            object.setPosition(row, col);
+            place(object);
+        } else {
+            // Other items only take up the cell, as in the game
+            cell.setOccupied(true);
+        }
+        return true;
+    }
+
+    /**
+     * Removes the item on a cell and puts it into the inventory, like the
+     * player does in the map view's removal mode.
+     *
+     * @param row The row of the cell
+     * @param col The column of the cell
+     * @return true if an item was removed
+     */
+    public boolean removeItemAt(int row, int col) {
+        for (LandScapeObject obj : map.getLandscapeObjects()) {
+            Coordinate pos = obj.getPosition();
+            if (pos.getX() == row && pos.getY() == col) {
+                map.removeLandscapeObject(obj);
+                grid.clearCell(row, col);
+                if (obj instanceof Animal) {
+                    animals.remove(obj);
+                } else if (obj instanceof Road) {
+                    updateRoute();
+                }
+                model.getPlayer().addItemToInventory(obj);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Changes the game speed, keeping the number of steps per tick and per
+     * tourist in the same ratio as the game's timers.
+     *
+     * @param gameSpeed The game speed (1=Hour, 2=Day, 3=Week)
+     * @throws IllegalArgumentException If the speed is not between 1 and 3
+     */
+    public void setGameSpeed(int gameSpeed) {
+        if (gameSpeed < 1 || gameSpeed > 3) {
+            throw new IllegalArgumentException("Game speed must be between 1 and 3: " + gameSpeed);
+        }
+        model.setGameSpeed(gameSpeed);
+        int movementDelay = GameController.getMovementDelayForSpeed(gameSpeed);
+        stepsPerTick = Math.max(1, GameController.getTimerDelayForSpeed(gameSpeed) / movementDelay);
+        map.getDispatcher().setStepsPerTourist(Math.max(1, TourDispatcher.TOURIST_INTERVAL_MILLIS / movementDelay));
+    }
+
+    /**
+     * Gets the model being simulated.
+     *
+     * @return The game model
+     */
+    public SafariGameModel getModel() {
+        return model;
+    }
+
+    /**
+     * Gets the number of steps that make up one game tick.
+     *
+     * @return Steps per tick
+     */
+    public int getStepsPerTick() {
+        return stepsPerTick;
+    }
+
+    /**
+     * Turns the coarse simulation of animals away from the jeeps and rangers on
+     * or off. A headless simulation has no viewport, so every other animal is
+     * simulated coarsely while it is on.
+     *
+     * @param enabled true to use the level of detail
+     * @see LevelOfDetail
+     */
+    public void setLevelOfDetail(boolean enabled) {
+        map.getLevelOfDetail().setEnabled(enabled);
+    }
+
+    /**
+     * Gets the number of coarse steps taken by animals so far.
+     *
+     * @return The number of coarse animal steps
+     */
+    public long getCoarseSteps() {
+        return stepper.getCoarseSteps();
+    }
+
+    /**
+     * Gets the number of steps of a single jeep tour.
+     *
+     * @return Steps per tour, or 0 if the jeeps cannot reach the exit
+     */
+    public int getTourSteps() {
+        return map.getDispatcher().getTourSteps();
+    }
+
+    /**
+     * Counts the live animals of a kind.
+     *
+     * @param kind Herbivore or Carnivore
+     * @return The number of live animals
+     */
+    public int countAnimals(Class<? extends Animal> kind) {
+        int count = 0;
+        for (Animal animal : animals) {
+            if (kind.isInstance(animal)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Creates an item sold in the market, at its market price.
+     *
+     * @param name The item name
+     * @param cell Where the item will be placed, may be null
+     * @return The new item
+     * @throws IllegalArgumentException If the name is not a known item
+     */
+    static LandScapeObject createItem(String name, Coordinate cell) {
+        Coordinate position = cell == null ? new Coordinate(0, 0) : cell;
+        Species species = SpeciesRegistry.getInstance().byName(name);
+        if (species != null) {
+            return species.create(position);
+        }
+        switch (name) {
+            case "bush":
+                return new Plant(position, name, 100.0);
+            case "plant":
+                return new Plant(position, name, 150.0);
+            case "shrub":
+                return new Plant(position, name, 200.0);
+            case "pond":
+                return new WaterArea(position, 100.0);
+            default:
+                throw new IllegalArgumentException("Unknown item: " + name);
+        }
+    }
+
+    /**
+     * Puts a bought item on the map at its position.
+     */
+    private void place(LandScapeObject item) {
+        Coordinate cell = item.getPosition();
+        char cellType = GameController.getCellTypeForItem(item);
+        map.addLandscapeObject(item);
+        if (item instanceof Animal) {
+            Animal animal = (Animal) item;
+            animal.setTimers(map.getAnimalTimers());
+            animals.add(animal);
+        }
+        grid.setCellType(cell.getX(), cell.getY(), cellType);
+        grid.getCell(cell.getX(), cell.getY()).setOccupied(true);
+        if (item instanceof Road) {
+            updateRoute();
+        }
+    }
+
+    /**
+     * Finds the jeep route between the road cells nearest to the jeep start and
+     * the exit, and the number of steps a tour along it takes.
+     */
+    private void updateRoute() {
+        routeStart = findNearestRoad(JEEP_START);
+        routeEnd = findNearestRoad(JEEP_TARGET);
+        int steps = 0;
+        if (routeStart != null && routeEnd != null) {
+            steps = map.findPath(MovementClass.JEEP, routeStart, routeEnd).size();
+        }
+        map.getDispatcher().setTourSteps(steps);
+    }
+
+    /**
+     * Picks a random free grass cell.
+     *
+     * @return The cell, or null if no grass is free
+     */
+    private Coordinate findFreeGrass() {
+        List<Coordinate> free = new ArrayList<>();
+        for (int r = 0; r < grid.getRows(); r++) {
+            for (int c = 0; c < grid.getColumns(); c++) {
+                if (grid.getCellType(r, c) == '-' && !grid.isOccupied(r, c)) {
+                    free.add(new Coordinate(r, c));
+                }
+            }
+        }
+        return free.isEmpty() ? null : free.get(random.nextInt(free.size()));
+    }
+
+    private SimulationResult.Sample sample() {
+        return new SimulationResult.Sample(model.getTick(), model.getPlayer().getCapital(),
+                countAnimals(Herbivore.class), countAnimals(Carnivore.class));
+    }
+
+    /**
+     * Finds the road cell closest to a cell, searching outward in breadth-first order.
+     *
+     * @return The nearest road cell, or null if the grid has no roads
+     */
+    private Coordinate findNearestRoad(Coordinate from) {
+        // Queue of packed cell indices, each cell is queued at most once
+        int[] queue = new int[grid.getRows() * grid.getColumns()];
+        int head = 0;
+        int tail = 0;
+        boolean[] visited = new boolean[queue.length];
+        int start = grid.index(from.getX(), from.getY());
+        queue[tail++] = start;
+        visited[start] = true;
+        while (head < tail) {
+            int current = queue[head++];
+            int row = grid.rowOf(current);
+            int col = grid.colOf(current);
+            if (MovementClass.JEEP.canEnter(grid.getCellType(row, col))) {
+                return Coordinate.of(row, col);
+            }
+            for (int[] direction : DIRECTIONS) {
+                int nx = row + direction[0];
+                int ny = col + direction[1];
+                if (grid.getCell(nx, ny) != null && !visited[grid.index(nx, ny)]) {
+                    visited[grid.index(nx, ny)] = true;
+                    queue[tail++] = grid.index(nx, ny);
+                }
+            }
+        }
+        return null;
+    }
+}
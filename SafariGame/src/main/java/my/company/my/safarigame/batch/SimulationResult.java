@@ -0,0 +1,225 @@
+package my.company.my.safarigame.batch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of one headless game run by a {@link HeadlessSimulation}.
+ * <p>
+ * Holds whether and when the game was won, the final capital and population, and
+ * samples of capital and population taken at regular tick intervals so curves can
+ * be plotted across many runs.
+ * </p>
+ */
+public class SimulationResult {
+
+    /**
+     * State of the game at one sampled tick.
+     */
+    public static class Sample {
+        /** The game tick of the sample. */
+        public final long tick;
+
+        /** The player's capital. */
+        public final double capital;
+
+        /** Number of live herbivores. */
+        public final int herbivores;
+
+        /** Number of live carnivores. */
+        public final int carnivores;
+
+        /**
+         * Constructs a new Sample.
+         *
+         * @param tick The game tick
+         * @param capital The player's capital
+         * @param herbivores Number of live herbivores
+         * @param carnivores Number of live carnivores
+         */
+        public Sample(long tick, double capital, int herbivores, int carnivores) {
+            this.tick = tick;
+            this.capital = capital;
+            this.herbivores = herbivores;
+            this.carnivores = carnivores;
+        }
+    }
+
+    private final long seed;
+    private final List<Sample> samples = new ArrayList<>();
+    private long ticksToWin = -1;
+    private long ticksRun = 0;
+    private long herbivoreExtinctionTick = -1;
+    private long carnivoreExtinctionTick = -1;
+    private int startHerbivores;
+    private int startCarnivores;
+
+    /**
+     * Constructs a new, empty SimulationResult.
+     *
+     * @param seed The random seed of the run
+     */
+    public SimulationResult(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Adds a sample to the curves.
+     *
+     * @param sample The sample
+     */
+    void addSample(Sample sample) {
+        samples.add(sample);
+    }
+
+    /**
+     * Records the tick at which the capital threshold was reached.
+     *
+     * @param tick The winning tick
+     */
+    void setTicksToWin(long tick) {
+        this.ticksToWin = tick;
+    }
+
+    /**
+     * Records the number of ticks the run lasted.
+     *
+     * @param ticks The number of ticks
+     */
+    void setTicksRun(long ticks) {
+        this.ticksRun = ticks;
+    }
+
+    /**
+     * Records the tick at which the last herbivore died, if not recorded yet.
+     *
+     * @param tick The tick
+     */
+    void markHerbivoresExtinct(long tick) {
+        if (herbivoreExtinctionTick < 0) {
+            herbivoreExtinctionTick = tick;
+        }
+    }
+
+    /**
+     * Records the tick at which the last carnivore died, if not recorded yet.
+     *
+     * @param tick The tick
+     */
+    void markCarnivoresExtinct(long tick) {
+        if (carnivoreExtinctionTick < 0) {
+            carnivoreExtinctionTick = tick;
+        }
+    }
+
+    /**
+     * Records the population at the start of the run.
+     *
+     * @param herbivores Number of herbivores
+     * @param carnivores Number of carnivores
+     */
+    void setStartPopulation(int herbivores, int carnivores) {
+        this.startHerbivores = herbivores;
+        this.startCarnivores = carnivores;
+    }
+
+    /**
+     * Gets the random seed of the run.
+     *
+     * @return The seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Checks whether the game was won.
+     *
+     * @return true if the capital threshold was reached
+     */
+    public boolean isWon() {
+        return ticksToWin >= 0;
+    }
+
+    /**
+     * Gets the tick at which the game was won.
+     *
+     * @return The winning tick, or -1 if the game was not won
+     */
+    public long getTicksToWin() {
+        return ticksToWin;
+    }
+
+    /**
+     * Gets the number of ticks the run lasted.
+     *
+     * @return The number of ticks
+     */
+    public long getTicksRun() {
+        return ticksRun;
+    }
+
+    /**
+     * Gets the tick at which the last herbivore died.
+     *
+     * @return The tick, or -1 if herbivores survived or there were none
+     */
+    public long getHerbivoreExtinctionTick() {
+        return herbivoreExtinctionTick;
+    }
+
+    /**
+     * Gets the tick at which the last carnivore died.
+     *
+     * @return The tick, or -1 if carnivores survived or there were none
+     */
+    public long getCarnivoreExtinctionTick() {
+        return carnivoreExtinctionTick;
+    }
+
+    /**
+     * Checks whether a species group that was on the map at the start died out.
+     *
+     * @return true if all herbivores or all carnivores died
+     */
+    public boolean isExtinct() {
+        return herbivoreExtinctionTick >= 0 || carnivoreExtinctionTick >= 0;
+    }
+
+    /**
+     * Gets the number of herbivores at the start of the run.
+     *
+     * @return Number of herbivores
+     */
+    public int getStartHerbivores() {
+        return startHerbivores;
+    }
+
+    /**
+     * Gets the number of carnivores at the start of the run.
+     *
+     * @return Number of carnivores
+     */
+    public int getStartCarnivores() {
+        return startCarnivores;
+    }
+
+    /**
+     * Gets the last sample taken.
+     *
+     * @return The final sample, or null if no sample was taken
+     */
+    public Sample getFinalSample() {
+        return samples.isEmpty() ? null : samples.get(samples.size() - 1);
+    }
+
+    /**
+     * Gets the samples of the run in tick order.
+     *
+     * @return An unmodifiable list of samples
+     */
+    public List<Sample> getSamples() {
+        return Collections.unmodifiableList(samples);
+    }
+}
@@ -37,19 +37,25 @@ import javax.swing.JPanel;
 import javax.swing.SwingConstants;
 import javax.swing.Timer;
 import my.company.my.safarigame.model.Animal;
-import my.company.my.safarigame.model.Carnivore;
+import my.company.my.safarigame.metrics.Counter;
+import my.company.my.safarigame.metrics.LatencyHistogram;
+import my.company.my.safarigame.metrics.MetricsRegistry;
+import my.company.my.safarigame.metrics.MetricsReporter;
 import my.company.my.safarigame.model.Cell;
 import my.company.my.safarigame.model.Coordinate;
-import my.company.my.safarigame.model.Herbivore;
 import my.company.my.safarigame.model.Jeep;
 import my.company.my.safarigame.model.LandScapeObject;
-import my.company.my.safarigame.model.Plant;
+import my.company.my.safarigame.model.Player;
 import my.company.my.safarigame.model.Ranger;
-import my.company.my.safarigame.model.Road;
+import my.company.my.safarigame.model.TileCodec;
 import my.company.my.safarigame.model.Time;
 import my.company.my.safarigame.model.TradeableItem;
-import my.company.my.safarigame.model.WaterArea;
 import my.company.my.safarigame.view.ItemPlacementHandler;
+import my.company.my.safarigame.replay.Keyframe;
+import my.company.my.safarigame.replay.ReplayEvent;
+import my.company.my.safarigame.replay.ReplayItems;
+import my.company.my.safarigame.replay.ReplayLog;
+import my.company.my.safarigame.replay.ReplayRecorder;
 
 /**
  * Controller class for the Safari Game that connects the model and view components.
@@ -90,6 +96,66 @@ public class GameController {
     /** Timer for updating the game state at regular intervals. */
     private Timer gameTimer;
 
+    /**
+     * System property turning on the metrics file, as in
+     * {@code -Dsafari.metrics=true}. Off by default.
+     */
+    public static final String METRICS_PROPERTY = "safari.metrics";
+
+    /** Directory the metrics files are written to, one per session. */
+    private static final String METRICS_DIRECTORY = "metrics";
+
+    /** Time spent in one game tick. */
+    private final LatencyHistogram tickTime = MetricsRegistry.getInstance().histogram("tick.time");
+
+    /** Number of game ticks processed. */
+    private final Counter tickCount = MetricsRegistry.getInstance().counter("tick.count");
+
+    /** Writes the metrics of this session, null unless {@link #METRICS_PROPERTY} is set. */
+    private MetricsReporter metricsReporter;
+
+    /** Wall-clock time of the last metrics report, in milliseconds. */
+    private long lastMetricsReport = 0;
+
+    /** Turbo setting that runs as many steps as fit in a frame. */
+    public static final int TURBO_MAX = Integer.MAX_VALUE;
+
+    /** Turbo settings the dashboard button cycles through, 0 being off. */
+    private static final int[] TURBO_LEVELS = {0, 4, 16, 64, TURBO_MAX};
+
+    /** Delay between two rendered frames in turbo mode, in milliseconds. */
+    private static final int TURBO_FRAME_MILLIS = 33;
+
+    /** Time a {@link #TURBO_MAX} frame may spend simulating, in nanoseconds. */
+    private static final long TURBO_FRAME_BUDGET_NANOS = 25_000_000L;
+
+    /** Animal steps run per rendered frame in turbo mode, 0 when turbo mode is off. */
+    private int turboStepsPerFrame = 0;
+
+    /** Timer driving turbo mode, one event per rendered frame. */
+    private Timer turboTimer;
+
+    /** Animal steps run in turbo mode since the last game tick. */
+    private int stepsSinceGameTick = 0;
+
+    /** Directory path for recorded replays. */
+    private static final String REPLAYS_DIRECTORY = "replays";
+
+    /**
+     * System property turning on the recording of every game to
+     * {@link #REPLAYS_DIRECTORY}, as in {@code -Dsafari.replays=true}. Off by default.
+     */
+    public static final String REPLAYS_PROPERTY = "safari.replays";
+
+    /** Records the current game, null when no game is being recorded. */
+    private ReplayRecorder replayRecorder;
+
+    /** Replay being played back, null when the player is in control. */
+    private ReplayLog replay;
+
+    /** Index of the next replay event to apply. */
+    private int replayEventIndex = 0;
+
     /**
      * Constructs a new GameController with the specified model.
      * <p>
@@ -118,10 +184,56 @@ public class GameController {
         // Ensure saves directory exists
         createSavesDirectory();
 
+        // Expose tick timings and entity counts
+        registerMetrics();
+
         // Start the game timer
         startGameTimer();
     }
 
+    /**
+     * Registers the game's gauges, publishes the metrics over JMX and, when
+     * {@link #METRICS_PROPERTY} is set, sets up the periodic metrics file of
+     * this session.
+     */
+    private void registerMetrics() {
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        metrics.gauge("entities.objects", () -> model.getMap() == null ? 0 : model.getMap().getLandscapeObjects().size());
+        metrics.gauge("entities.herds", () -> model.getMap() == null ? 0 : model.getMap().getAnimalGroups().size());
+        metrics.gauge("entities.jeeps", () -> model.getMap() == null ? 0 : model.getMap().getJeeps().size());
+        metrics.gauge("entities.tourists", () -> model.getMap() == null ? 0 : model.getMap().getTourists().size());
+        metrics.gauge("vegetation.pending", () -> model.getMap() == null ? 0 : model.getMap().getVegetation().getPendingEventCount());
+        metrics.gauge("timers.pending", () -> model.getMap() == null ? 0 : model.getMap().getAnimalTimers().getPendingCount());
+        metrics.gauge("regions.awake", () -> model.getMap() == null ? 0 : model.getMap().getRegions().getAwakeCount());
+        metrics.gauge("water.bodies", () -> model.getMap() == null ? 0 : model.getMap().getWater().getBodies().size());
+        metrics.gauge("tourists.waiting", () -> model.getMap() == null ? 0 : model.getMap().getDispatcher().getWaitingTourists());
+        metrics.gauge("tourists.served", () -> model.getMap() == null ? 0 : model.getMap().getDispatcher().getTouristsServed());
+        metrics.gauge("tourists.turnedAway", () -> model.getMap() == null ? 0 : model.getMap().getDispatcher().getTouristsTurnedAway());
+        metrics.gauge("tourists.servedPerDay", () -> model.getMap() == null ? 0 : Math.round(model.getMap().getDispatcher().getTouristsServedPerDay()));
+        metrics.gauge("tourists.waitSteps", () -> model.getMap() == null ? 0 : Math.round(model.getMap().getDispatcher().getAverageWaitSteps()));
+        metrics.gauge("path.cache.hits", () -> model.getMap() == null ? 0 : model.getMap().getPathCache().getHits());
+        metrics.gauge("path.cache.misses", () -> model.getMap() == null ? 0 : model.getMap().getPathCache().getMisses());
+        metrics.gauge("path.cache.evictions", () -> model.getMap() == null ? 0 : model.getMap().getPathCache().getEvictions());
+        metrics.gauge("path.cache.invalidations", () -> model.getMap() == null ? 0 : model.getMap().getPathCache().getInvalidations());
+        metrics.registerMBean();
+        if (Boolean.getBoolean(METRICS_PROPERTY)) {
+            String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
+            File file = new File(METRICS_DIRECTORY, "metrics_" + timestamp + ".csv");
+            metricsReporter = new MetricsReporter(metrics, file, MetricsReporter.Format.CSV);
+            Runtime.getRuntime().addShutdownHook(new Thread(metricsReporter::close));
+            System.out.println("Writing metrics to: " + file.getPath());
+        }
+    }
+
+    /**
+     * Gets the reporter writing the metrics file.
+     *
+     * @return The metrics reporter, or null if the metrics file is off
+     */
+    public MetricsReporter getMetricsReporter() {
+        return metricsReporter;
+    }
+
     /**
      * Creates the directory for saved games if it doesn't exist.
      * <p>
@@ -222,6 +334,9 @@ public class GameController {
             // Initialize game views
             initializeGameViews();
 
+            // Record the new game so it can be replayed
+            startRecording();
+
         } catch (Exception e) {
             System.err.println("Error starting game: " + e.getMessage());
             e.printStackTrace();
@@ -252,6 +367,10 @@ public class GameController {
      * @param gameSpeed Game speed setting (1=Hour, 2=Day, 3=Week)
      */
     public void updateSettings(int volume, int gameSpeed) {
+        if (replayRecorder != null && gameSpeed != model.getGameSpeed()) {
+            replayRecorder.recordSpeed(gameSpeed);
+        }
+
         // Update model settings
         model.setGameSpeed(gameSpeed);
 
@@ -402,43 +521,11 @@ public class GameController {
         }
 
         try {
-            // Create a new SafariMap using the absolute path
-            String absolutePath = saveFile.getAbsolutePath();
-            System.out.println("Loading game grid from absolute path: " + absolutePath);
-
-            // Create a new SafariMap instance with the grid file
-            SafariMap map = new SafariMap(absolutePath, 48);
-            Grid grid = GridLoader.loadGridFromFile(absolutePath, map);
-            map.setGrid(grid);
-
-            // Set the map in the model
-            model.setMap(map);
-
-            // Make sure player is initialized
-            if (model.getPlayer() == null) {
-                // If loading a game before player is set, create a default player
-                model.setPlayer("Player");
-                model.setGameSpeed(2); // Default to day speed
-                model.setGameDifficulty("Medium"); // Default difficulty
-            }
+            stopReplay();
+            loadMap(saveFile.getAbsolutePath());
 
-            System.out.println("Map loaded successfully, landscape objects: "
-                    + (map.getLandscapeObjects() != null ? map.getLandscapeObjects().size() : "null"));
-
-            // Reinitialize game views with the loaded map
-            initializeGameViews();
-
-            // IMPORTANT: Initialize movement for all animals
-            if (mapView != null) {
-                System.out.println("Initializing animal movement after load...");
-                mapView.initializeAllAnimalMovement();
-            } else {
-                System.err.println("Warning: mapView is null, cannot initialize animal movement");
-            }
-
-            // IMPORTANT: Start the game timer which handles time advances and effects
-            stopGameTimer(); // Stop any existing timer first
-            startGameTimer();
+            // A loaded game is recorded as a new session
+            startRecording();
 
             // Show success message
             showSuccessMessage("Game loaded successfully from: " + fileName);
@@ -454,6 +541,52 @@ public class GameController {
         }
     }
 
+    /**
+     * Replaces the map with one loaded from a grid file and restarts the views
+     * and timers on it.
+     *
+     * @param absolutePath The absolute path of the grid file
+     * @throws IOException If the grid file cannot be read
+     */
+    private void loadMap(String absolutePath) throws IOException {
+        System.out.println("Loading game grid from absolute path: " + absolutePath);
+
+        // Create a new SafariMap instance with the grid file
+        SafariMap map = new SafariMap(absolutePath, 48);
+        Grid grid = GridLoader.loadGridFromFile(absolutePath, map);
+        map.setGrid(grid);
+
+        // Set the map in the model
+        model.setMap(map);
+
+        // Make sure player is initialized
+        if (model.getPlayer() == null) {
+            // If loading a game before player is set, create a default player
+            model.setPlayer("Player");
+            model.setGameSpeed(2); // Default to day speed
+            model.setGameDifficulty("Medium"); // Default difficulty
+        }
+
+        System.out.println("Map loaded successfully, landscape objects: "
+                + (map.getLandscapeObjects() != null ? map.getLandscapeObjects().size() : "null"));
+
+        // Reinitialize game views with the loaded map
+        initializeGameViews();
+
+        // IMPORTANT: Initialize movement for all animals
+        if (mapView != null) {
+            System.out.println("Initializing animal movement after load...");
+            mapView.initializeAllAnimalMovement();
+        } else {
+            System.err.println("Warning: mapView is null, cannot initialize animal movement");
+        }
+
+        // IMPORTANT: Start the game timer which handles time advances and effects
+        setTurbo(0);
+        stopGameTimer(); // Stop any existing timer first
+        startGameTimer();
+    }
+
     /**
      * Saves the current game with an auto-generated name.
      * <p>
@@ -563,6 +696,10 @@ public class GameController {
             return;
         }
 
+        if (replayRecorder != null) {
+            replayRecorder.recordPlace(item, row, col);
+        }
+
         // Debug output
         System.out.println("Controller processing item placement at (" + row + "," + col + ")");
         System.out.println("Grid state in controller - Type: " + grid.getCellType(row, col)
@@ -582,57 +719,9 @@ public class GameController {
 
             // Set cell type based on item type if needed
             char currentType = grid.getCellType(row, col);
-            if (currentType == '-') { // Only if not already set
-                if (item instanceof Plant) {
-                    Plant plant = (Plant) item;
-                    char cellType = 'p'; // Default type
-
-                    if (plant.getDescription().toLowerCase().contains("bush")) {
-                        cellType = 'b';
-                    } else if (plant.getDescription().toLowerCase().contains("shrub")) {
-                        cellType = 'h';
-                    }
-
-                    grid.setCellType(row, col, cellType);
-                } else if (item instanceof Road) {
-                    Road road = (Road) item;
-                    char cellType = 'r'; // Default horizontal
-
-                    String roadType = road.getRoadType().toLowerCase();
-                    if (roadType.contains("vertical")) {
-                        cellType = '|';
-                    } else if (roadType.contains("rightdown")) {
-                        cellType = '1';
-                    } else if (roadType.contains("rightup")) {
-                        cellType = '2';
-                    } else if (roadType.contains("leftup")) {
-                        cellType = '3';
-                    } else if (roadType.contains("leftdown")) {
-                        cellType = '4';
-                    }
-
-                    grid.setCellType(row, col, cellType);
-                } else if (item instanceof WaterArea) {
-                    grid.setCellType(row, col, 'P');
-                } else if (item instanceof Herbivore) {
-                    String species = ((Herbivore) item).getDescription().toLowerCase();
-                    if (species.contains("cow")) {
-                        grid.setCellType(row, col, 'c');
-                    } else {
-                        grid.setCellType(row, col, 'd'); // Deer
-                    }
-                } else if (item instanceof Carnivore) {
-                    String species = ((Carnivore) item).getDescription().toLowerCase();
-                    if (species.contains("lion")) {
-                        grid.setCellType(row, col, 'y');
-                    } else {
-                        grid.setCellType(row, col, 'z'); // Wolf
-                    }
-                } else if (item instanceof Ranger) {
-                    grid.setCellType(row, col, 'R');
-                } else if (item instanceof Jeep) {
-                    grid.setCellType(row, col, 'j');
-                }
+            char cellType = getCellTypeForItem(item);
+            if (currentType == '-' && cellType != '-') { // Only if not already set
+                grid.setCellType(row, col, cellType);
             }
         }
 
@@ -659,19 +748,9 @@ public class GameController {
             else {
                 // Only update if position is incorrect
                 if (currentPos == null || currentPos.x != row || currentPos.y != col) {
-                    // Set position based on object type
-                    if (item instanceof Animal) {
-                        ((Animal) item).setPosition(row, col);
-                        System.out.println("Updated Animal position to: (" + row + "," + col + ")");
-                    } else {
-                        // For other objects, update position field directly if accessible
-                        try {
-                            lsObject.position = new Coordinate(row, col);
-                            System.out.println("Updated LandScapeObject position to: (" + row + "," + col + ")");
-                        } catch (Exception e) {
-                            System.err.println("Failed to update position: " + e.getMessage());
-                        }
-                    }
+                    lsObject.setPosition(row, col);
+                    System.out.println("Updated " + lsObject.getClass().getSimpleName()
+                            + " position to: (" + row + "," + col + ")");
                 }
 
                 // Add to specific collections based on type
@@ -690,6 +769,34 @@ public class GameController {
                 + grid.getCellType(row, col) + ", Occupied=" + grid.isOccupied(row, col));
     }
 
+    /**
+     * Gets the grid cell type an item takes when it is placed on the map.
+     *
+     * @param item The item being placed
+     * @return The cell type character, or '-' if the item leaves the cell as grass
+     */
+    public static char getCellTypeForItem(TradeableItem item) {
+        return TileCodec.getInstance().encode(item);
+    }
+
+    /**
+     * Handles the removal of an item the player took off the map into the inventory.
+     * <p>
+     * Unlike {@link #onItemRemoved(int, int)}, which also runs when animals eat
+     * vegetation, this is only called for the player's own removals, so they
+     * can be recorded.
+     * </p>
+     *
+     * @param row The row coordinate of the item to remove
+     * @param col The column coordinate of the item to remove
+     */
+    public void onItemRemovedByPlayer(int row, int col) {
+        if (replayRecorder != null) {
+            replayRecorder.recordRemove(row, col);
+        }
+        onItemRemoved(row, col);
+    }
+
     /**
      * Handles the removal of an item from the map.
      * <p>
@@ -706,9 +813,15 @@ public class GameController {
             SafariMap map = model.getMap();
 
             // Remove landscape objects at the specified position
-            map.getLandscapeObjects().removeIf(obj
-                    -> obj.getPosition().x == row && obj.getPosition().y == col
-            );
+            List<LandScapeObject> removed = new ArrayList<>();
+            for (LandScapeObject obj : map.getLandscapeObjects()) {
+                if (obj.getPosition().x == row && obj.getPosition().y == col) {
+                    removed.add(obj);
+                }
+            }
+            for (LandScapeObject obj : removed) {
+                map.removeLandscapeObject(obj);
+            }
 
             // Optional: You might want to update any other game state or UI
             System.out.println("Item removed from map at (" + row + ", " + col + ")");
@@ -722,6 +835,10 @@ public class GameController {
      * </p>
      */
     private void startGameTimer() {
+        if (turboStepsPerFrame > 0) {
+            // Turbo mode runs the game ticks itself
+            return;
+        }
         int delay = getTimerDelayForSpeed(model.getGameSpeed());
         gameTimer = new Timer(delay, e -> updateGameTime());
         gameTimer.start();
@@ -733,7 +850,7 @@ public class GameController {
      * @param speed The game speed (1=Hour, 2=Day, 3=Week)
      * @return The timer delay in milliseconds
      */
-    private int getTimerDelayForSpeed(int speed) {
+    public static int getTimerDelayForSpeed(int speed) {
         switch (speed) {
             case 1:
                 return 5000; // 5 seconds per hour
@@ -754,12 +871,21 @@ public class GameController {
      * </p>
      */
     private void updateGameTime() {
+        long tickStart = System.nanoTime();
+
         // Advance game time
         model.updateTime();
 
+        // Apply the recorded actions of this tick, or record a keyframe
+        applyReplayEvents();
+        if (replayRecorder != null) {
+            replayRecorder.onTick();
+        }
+
         // Important: Check for and remove dead animals
         if (mapView != null) {
             mapView.checkForDeadAnimals();
+            mapView.repaintDirtyCells();
         }
 
         // Update day/night status in the map view
@@ -773,6 +899,304 @@ public class GameController {
 
         // Add this line to check for win condition
         checkWinCondition();
+
+        tickTime.recordSince(tickStart);
+        tickCount.increment();
+
+        // In turbo mode ticks come much faster, so keep the file to one row per second
+        long now = System.currentTimeMillis();
+        if (metricsReporter != null && now - lastMetricsReport >= 1000) {
+            lastMetricsReport = now;
+            try {
+                metricsReporter.report(model.getTick());
+            } catch (IOException e) {
+                System.err.println("Error writing metrics: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Turns turbo mode on or off.
+     * <p>
+     * In turbo mode the game timer and the per-animal timers are paused, and a
+     * single timer runs a batch of simulation steps every frame instead. Each
+     * step moves every animal once. After every {@link #getStepsPerGameTick()}
+     * steps a game tick runs, the same ratio as at normal speed, so game time
+     * and animal behaviour stay in step. All steps of a batch run in one Swing
+     * event, so only the final state of the batch is painted.
+     * </p>
+     *
+     * @param stepsPerFrame Steps per frame, {@link #TURBO_MAX} to run as many as
+     *                      fit in a frame, or 0 or 1 to turn turbo mode off
+     */
+    public void setTurbo(int stepsPerFrame) {
+        if (stepsPerFrame <= 1) {
+            boolean wasOn = turboStepsPerFrame > 0;
+            turboStepsPerFrame = 0;
+            if (turboTimer != null) {
+                turboTimer.stop();
+            }
+            if (wasOn) {
+                if (gameTimer == null || !gameTimer.isRunning()) {
+                    startGameTimer();
+                }
+                if (mapView != null) {
+                    mapView.setAnimalTimersPaused(false);
+                }
+            }
+            return;
+        }
+
+        turboStepsPerFrame = stepsPerFrame;
+        stopGameTimer();
+        if (mapView != null) {
+            mapView.setAnimalTimersPaused(true);
+        }
+        if (turboTimer == null) {
+            turboTimer = new Timer(TURBO_FRAME_MILLIS, e -> runTurboFrame());
+        }
+        turboTimer.start();
+    }
+
+    /**
+     * Switches to the next turbo setting: off, 4x, 16x, 64x, max and back to off.
+     *
+     * @return The new number of steps per frame, 0 when turbo mode is off
+     */
+    public int cycleTurbo() {
+        int next = 0;
+        for (int i = 0; i < TURBO_LEVELS.length; i++) {
+            if (TURBO_LEVELS[i] == turboStepsPerFrame) {
+                next = TURBO_LEVELS[(i + 1) % TURBO_LEVELS.length];
+                break;
+            }
+        }
+        setTurbo(next);
+        return turboStepsPerFrame;
+    }
+
+    /**
+     * Gets the current turbo setting.
+     *
+     * @return Steps per frame, {@link #TURBO_MAX}, or 0 when turbo mode is off
+     */
+    public int getTurbo() {
+        return turboStepsPerFrame;
+    }
+
+    /**
+     * Gets the number of animal steps that make up one game tick.
+     * <p>
+     * At normal speed animals step every {@link #getMovementDelayBasedOnGameSpeed()}
+     * milliseconds and the game ticks every {@link #getTimerDelayForSpeed(int)}
+     * milliseconds; turbo mode keeps that ratio.
+     * </p>
+     *
+     * @return Steps per game tick, at least 1
+     */
+    public int getStepsPerGameTick() {
+        return Math.max(1, getTimerDelayForSpeed(model.getGameSpeed()) / getMovementDelayBasedOnGameSpeed());
+    }
+
+    /**
+     * Runs one batch of turbo steps.
+     */
+    private void runTurboFrame() {
+        long frameStart = System.nanoTime();
+        int steps = 0;
+        while (turboStepsPerFrame > 0 && steps < turboStepsPerFrame) {
+            if (turboStepsPerFrame == TURBO_MAX && System.nanoTime() - frameStart > TURBO_FRAME_BUDGET_NANOS) {
+                break;
+            }
+            if (mapView != null) {
+                mapView.stepAllAnimals();
+            }
+            steps++;
+            if (++stepsSinceGameTick >= getStepsPerGameTick()) {
+                stepsSinceGameTick = 0;
+                updateGameTime();
+                if ("Completed".equals(model.getGameState()) || "Ended".equals(model.getGameState())) {
+                    // The game is over, stop without resuming the normal timers
+                    turboStepsPerFrame = 0;
+                    turboTimer.stop();
+                }
+            }
+        }
+    }
+
+    /**
+     * Starts recording the current game to a new file in the replays directory,
+     * if {@link #REPLAYS_PROPERTY} is set.
+     * <p>
+     * Any earlier recording is finished first. The game's random numbers are
+     * restarted from a fresh seed, which is recorded so that playback draws the
+     * same numbers. A failure to create the file is reported on the console and
+     * the game continues without recording.
+     * </p>
+     */
+    private void startRecording() {
+        stopRecording();
+        if (!Boolean.getBoolean(REPLAYS_PROPERTY)) {
+            return;
+        }
+        model.reseed(System.nanoTime());
+        String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
+        File file = new File(REPLAYS_DIRECTORY, model.getPlayer().getName() + "_" + timestamp + ".replay");
+        try {
+            replayRecorder = new ReplayRecorder(file, model, model.getSeed());
+            model.getPlayer().setTradeListener(replayRecorder);
+            System.out.println("Recording replay to: " + file.getPath());
+        } catch (IOException e) {
+            System.err.println("Error starting replay recording: " + e.getMessage());
+            replayRecorder = null;
+        }
+    }
+
+    /**
+     * Finishes the current recording, if any.
+     */
+    private void stopRecording() {
+        if (replayRecorder != null) {
+            if (model.getPlayer() != null) {
+                model.getPlayer().setTradeListener(null);
+            }
+            replayRecorder.close();
+            replayRecorder = null;
+        }
+    }
+
+    /**
+     * Plays a recorded game back in the map view.
+     * <p>
+     * The initial snapshot of the replay is loaded like a saved game, then the
+     * recorded actions are applied as the game ticks reach them. The game's random
+     * numbers restart from the recorded seed, so animals make the same random
+     * choices in the same order. The order of those choices follows the animal
+     * timers, though, so at normal speed animals may still drift from their
+     * recorded paths; only the player's actions are repeated exactly. Playback
+     * runs at the recorded game speed, sped up by turbo mode.
+     * </p>
+     *
+     * @param file The replay file
+     * @param stepsPerFrame Turbo setting to play at, 0 to play in real time
+     * @return True if the replay was loaded, false otherwise
+     */
+    public boolean playReplay(File file, int stepsPerFrame) {
+        ReplayLog log;
+        try {
+            log = ReplayLog.read(file);
+        } catch (IOException e) {
+            showErrorMessage("Error loading replay: " + e.getMessage());
+            return false;
+        }
+
+        stopRecording();
+        Keyframe start = log.getInitialKeyframe();
+        File gridFile = null;
+        try {
+            gridFile = File.createTempFile("replay", ".txt");
+            start.writeGridFile(gridFile);
+
+            model.setPlayer(log.getPlayerName());
+            model.setGameDifficulty(log.getDifficulty());
+            model.setGameSpeed(start.getGameSpeed());
+            Player player = model.getPlayer();
+            player.updateCapital(start.getCapital() - player.getCapital());
+            for (TradeableItem item : start.getInventory()) {
+                player.addItemToInventory(ReplayItems.copy(item));
+            }
+            model.startGame();
+
+            loadMap(gridFile.getAbsolutePath());
+            model.setTick(start.getTick());
+            model.reseed(log.getSeed());
+        } catch (IOException e) {
+            System.err.println("Error loading replay: " + e.getMessage());
+            showErrorMessage("Error loading replay: " + e.getMessage());
+            return false;
+        } finally {
+            if (gridFile != null) {
+                gridFile.delete();
+            }
+        }
+
+        replay = log;
+        replayEventIndex = start.getEventIndex();
+        System.out.println("Playing replay " + file.getName() + " with " + log.getEvents().size() + " events");
+        applyReplayEvents();
+        setTurbo(stepsPerFrame);
+        return true;
+    }
+
+    /**
+     * Stops replay playback and hands control back to the player.
+     */
+    public void stopReplay() {
+        replay = null;
+        replayEventIndex = 0;
+    }
+
+    /**
+     * Checks whether a replay is being played back.
+     *
+     * @return True while replay events are still being applied
+     */
+    public boolean isReplaying() {
+        return replay != null;
+    }
+
+    /**
+     * Applies every replay event recorded up to the current tick.
+     */
+    private void applyReplayEvents() {
+        if (replay == null) {
+            return;
+        }
+        List<ReplayEvent> events = replay.getEvents();
+        while (replayEventIndex < events.size() && events.get(replayEventIndex).getTick() <= model.getTick()) {
+            applyReplayEvent(events.get(replayEventIndex++));
+        }
+        if (replayEventIndex >= events.size() && model.getTick() >= replay.getLastTick()) {
+            System.out.println("Replay finished at tick " + model.getTick());
+            stopReplay();
+        }
+    }
+
+    /**
+     * Repeats one recorded player action.
+     */
+    private void applyReplayEvent(ReplayEvent event) {
+        Player player = model.getPlayer();
+        switch (event.getType()) {
+            case BUY:
+                player.buyItem(ReplayItems.copy(event.getItem()));
+                break;
+            case SELL:
+                for (TradeableItem owned : player.getInventory()) {
+                    if (ReplayItems.matches(owned, event.getItem())) {
+                        player.sellItem(owned);
+                        break;
+                    }
+                }
+                break;
+            case PLACE: {
+                TradeableItem item = ReplayItems.copy(event.getItem());
+                if (mapView != null && player.removeInventoryItem(item)) {
+                    mapView.placeItemAt(item, event.getRow(), event.getCol());
+                }
+                break;
+            }
+            case REMOVE:
+                if (mapView != null) {
+                    mapView.removeItemAt(event.getRow(), event.getCol());
+                }
+                break;
+            case SPEED:
+                model.setGameSpeed(event.getGameSpeed());
+                break;
+            default:
+                break;
+        }
     }
 
     /**
@@ -842,8 +1266,7 @@ public class GameController {
      * @param jeepPosition The position of the jeep
      */
     public void handleJeepCapitalUpdate(Coordinate jeepPosition) {
-        List<Animal> animalsInRange = mapView.getNearbyAnimals(jeepPosition.getX(), jeepPosition.getY(), 20);
-        int earned = mapView.calculateSatisfactionScore(animalsInRange);
+        int earned = model.getMap().getSatisfactionScore(jeepPosition.getX(), jeepPosition.getY(), 20);
         model.getPlayer().updateCapital(earned);
         dashboardView.showCapitalIncreasePopup(earned);
     }
@@ -899,8 +1322,16 @@ public class GameController {
      * @return The movement delay in milliseconds
      */
     public int getMovementDelayBasedOnGameSpeed() {
-        int gameSpeed = model.getGameSpeed();  // 1 = Hour, 2 = Day, 3 = Week
+        return getMovementDelayForSpeed(model.getGameSpeed());
+    }
 
+    /**
+     * Gets the movement delay for a game speed setting.
+     *
+     * @param gameSpeed The game speed (1=Hour, 2=Day, 3=Week)
+     * @return The movement delay in milliseconds
+     */
+    public static int getMovementDelayForSpeed(int gameSpeed) {
         switch (gameSpeed) {
             case 1:  // Hour-level detail = slowest movement
                 return 1000;
@@ -936,29 +1367,7 @@ public class GameController {
      * @return The capital amount needed to win
      */
     public double getCapitalThresholdToWin() {
-        String difficulty = model.getGameDifficulty();
-
-        // Default threshold in case difficulty is not recognized
-        double threshold = 1000.0;
-
-        if (difficulty != null) {
-            switch (difficulty.toLowerCase()) {
-                case "easy":
-                    threshold = 1500.0;
-                    break;
-                case "medium":
-                    threshold = 5000.0;
-                    break;
-                case "hard":
-                    threshold = 8000.0;
-                    break;
-                default:
-                    // Fall back to medium difficulty
-                    threshold = 5000.0;
-            }
-        }
-
-        return threshold;
+        return model.getCapitalThresholdToWin();
     }
 
     /**
@@ -1007,7 +1416,9 @@ public class GameController {
         model.endGame();
 
         // Stop timers to prevent further updates
+        setTurbo(0);
         stopGameTimer();
+        stopRecording();
 
         // If we're using animal timers in MapView, stop those too
         if (mapView != null) {
@@ -1399,25 +1810,7 @@ public class GameController {
             return;
         }
 
-        switch (difficulty.toLowerCase()) {
-            case "easy":
-                // More starting money
-                if (model.getPlayer() != null) {
-                    model.getPlayer().updateCapital(500); // Bonus starting capital
-                }
-                break;
-
-            case "medium":
-                // Normal settings - no changes
-                break;
-
-            case "hard":
-                // Less starting money
-                if (model.getPlayer() != null) {
-                    model.getPlayer().updateCapital(-200); // Start with less
-                }
-                break;
-        }
+        model.applyDifficultyEffects();
 
         System.out.println("Applied difficulty effects for level: " + difficulty);
     }
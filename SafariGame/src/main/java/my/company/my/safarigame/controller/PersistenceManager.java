@@ -1,5 +1,6 @@
 package my.company.my.safarigame.controller;
 
+import my.company.my.safarigame.metrics.MetricsRegistry;
 import my.company.my.safarigame.model.Grid;
 import my.company.my.safarigame.model.GridLoader;
 import my.company.my.safarigame.model.GridSaver;
@@ -102,8 +103,10 @@ public class PersistenceManager {
         String savePath = DEFAULT_SAVE_DIR + File.separator + fileName;
         
         // Save the grid
+        long start = System.nanoTime();
         Grid grid = gameModel.getMap().getGrid();
         GridSaver.saveGridToFile(grid, savePath);
+        MetricsRegistry.getInstance().histogram("persistence.save").recordSince(start);
         
         // Log the save
         System.out.println("Game saved to: " + savePath);
@@ -124,10 +127,12 @@ public class PersistenceManager {
     public boolean loadGameFromFile(String filePath) {
         try {
             // Create a new map or reset the existing one
+            long start = System.nanoTime();
             SafariMap map = new SafariMap(filePath, 48); // 48 is the cell size
             
             // Set the map in the game model
             gameModel.setMap(map);
+            MetricsRegistry.getInstance().histogram("persistence.load").recordSince(start);
             
             // Log the load
             System.out.println("Game loaded from: " + filePath);
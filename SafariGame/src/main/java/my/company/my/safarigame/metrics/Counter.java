@@ -0,0 +1,39 @@
+package my.company.my.safarigame.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A monotonically increasing count of events, such as ticks or market purchases.
+ * <p>
+ * Counters can be incremented from any thread.
+ * </p>
+ */
+public class Counter {
+
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * Adds one to the counter.
+     */
+    public void increment() {
+        count.increment();
+    }
+
+    /**
+     * Adds an amount to the counter.
+     *
+     * @param amount The amount to add
+     */
+    public void add(long amount) {
+        count.add(amount);
+    }
+
+    /**
+     * Gets the current count.
+     *
+     * @return The number of events counted
+     */
+    public long getCount() {
+        return count.sum();
+    }
+}
@@ -0,0 +1,184 @@
+package my.company.my.safarigame.metrics;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.LongSupplier;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Central registry of the game's counters, gauges and latency histograms.
+ * <p>
+ * Code that wants to be measured asks the registry for a named metric once and keeps
+ * the reference; recording is then a single lock-free update. Names are dotted, for
+ * example {@code tick.time} or {@code market.buy}. Histograms record nanoseconds and
+ * are reported in microseconds.
+ * </p>
+ * <p>
+ * The current values can be read as a flat {@link #snapshot()}, through JMX once
+ * {@link #registerMBean()} has been called, or written periodically to a file by a
+ * {@link MetricsReporter}.
+ * </p>
+ */
+public class MetricsRegistry {
+
+    /** JMX object name the registry is published under. */
+    public static final String OBJECT_NAME = "my.company.my.safarigame:type=Metrics";
+
+    private static MetricsRegistry instance;
+
+    private final Map<String, Counter> counters = new ConcurrentSkipListMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentSkipListMap<>();
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentSkipListMap<>();
+
+    /**
+     * Constructs a new, empty registry.
+     */
+    public MetricsRegistry() {
+    }
+
+    /**
+     * Gets the registry shared by the whole game.
+     *
+     * @return The shared registry
+     */
+    public static synchronized MetricsRegistry getInstance() {
+        if (instance == null) {
+            instance = new MetricsRegistry();
+            instance.registerJvmGauges();
+        }
+        return instance;
+    }
+
+    /**
+     * Gets or creates the counter with the given name.
+     *
+     * @param name The metric name
+     * @return The counter
+     */
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, n -> new Counter());
+    }
+
+    /**
+     * Gets or creates the latency histogram with the given name.
+     *
+     * @param name The metric name
+     * @return The histogram
+     */
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, n -> new LatencyHistogram());
+    }
+
+    /**
+     * Registers a gauge, replacing any gauge with the same name.
+     * <p>
+     * The supplier is called whenever the metrics are read, possibly from another
+     * thread, so it should only read a field or a collection size.
+     * </p>
+     *
+     * @param name The metric name
+     * @param supplier Supplies the current value
+     */
+    public void gauge(String name, LongSupplier supplier) {
+        gauges.put(name, supplier);
+    }
+
+    /**
+     * Reads every metric into a flat map of names to values.
+     * <p>
+     * Counters and gauges appear under their own names. Each histogram contributes
+     * {@code .count}, {@code .mean_us}, {@code .p50_us}, {@code .p99_us} and
+     * {@code .max_us} entries.
+     * </p>
+     *
+     * @return The current values in a stable order
+     */
+    public Map<String, Number> snapshot() {
+        Map<String, Number> values = new LinkedHashMap<>();
+        for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+            values.put(entry.getKey(), entry.getValue().getCount());
+        }
+        for (Map.Entry<String, LongSupplier> entry : gauges.entrySet()) {
+            long value;
+            try {
+                value = entry.getValue().getAsLong();
+            } catch (RuntimeException e) {
+                value = -1;
+            }
+            values.put(entry.getKey(), value);
+        }
+        for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+            String name = entry.getKey();
+            LatencyHistogram histogram = entry.getValue();
+            values.put(name + ".count", histogram.getCount());
+            values.put(name + ".mean_us", Math.round(histogram.getMean() / 1000.0));
+            values.put(name + ".p50_us", histogram.getValueAtPercentile(50) / 1000);
+            values.put(name + ".p99_us", histogram.getValueAtPercentile(99) / 1000);
+            values.put(name + ".max_us", histogram.getMax() / 1000);
+        }
+        return values;
+    }
+
+    /**
+     * Clears every latency histogram, e.g. after a warm-up period.
+     */
+    public void resetHistograms() {
+        for (LatencyHistogram histogram : histograms.values()) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * Publishes the registry on the platform MBean server so it can be browsed
+     * with JConsole or VisualVM.
+     *
+     * @return true if the registry is published, false if JMX is unavailable
+     */
+    public boolean registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new MetricsMBean(this), name);
+            }
+            return true;
+        } catch (Exception e) {
+            System.err.println("Could not register metrics MBean: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Registers gauges for heap usage, garbage collection and allocated bytes.
+     */
+    private void registerJvmGauges() {
+        gauge("jvm.heap.used", () -> ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed());
+        gauge("jvm.gc.count", () -> {
+            long total = 0;
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                total += Math.max(0, gc.getCollectionCount());
+            }
+            return total;
+        });
+
+        // Allocated bytes are only available on JVMs exposing the HotSpot extension
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) threads;
+            if (hotspot.isThreadAllocatedMemorySupported() && hotspot.isThreadAllocatedMemoryEnabled()) {
+                gauge("jvm.allocated.bytes", () -> {
+                    long total = 0;
+                    for (long bytes : hotspot.getThreadAllocatedBytes(hotspot.getAllThreadIds())) {
+                        total += Math.max(0, bytes);
+                    }
+                    return total;
+                });
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package my.company.my.safarigame.metrics;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes periodic snapshots of a {@link MetricsRegistry} to a file.
+ * <p>
+ * The file is created, or emptied, by the first call to {@link #report(long)} and
+ * kept open until {@link #close()}, so one reporter writes one session. In CSV
+ * format the first report writes a header row naming the metrics registered at
+ * that time, and every report appends one row with those columns; metrics
+ * registered later are left out, so that the file stays valid CSV. In JSON format
+ * each report appends one JSON object per line with every metric. Both start
+ * with the wall-clock time in milliseconds and the game tick, so long sessions
+ * can be charted afterwards.
+ * </p>
+ */
+public class MetricsReporter implements Closeable {
+
+    /** Output formats supported by the reporter. */
+    public enum Format { CSV, JSON }
+
+    private final MetricsRegistry registry;
+    private final File file;
+    private final Format format;
+
+    /** Metric names of the CSV header, fixed by the first report. */
+    private List<String> columns;
+
+    /** The open file, null before the first report and after closing. */
+    private BufferedWriter writer;
+
+    /**
+     * Constructs a new MetricsReporter.
+     *
+     * @param registry The registry to report
+     * @param file The file to write, replaced by the first report
+     * @param format The output format
+     */
+    public MetricsReporter(MetricsRegistry registry, File file, Format format) {
+        this.registry = registry;
+        this.file = file;
+        this.format = format;
+    }
+
+    /**
+     * Appends the current values of the metrics to the file.
+     *
+     * @param tick The current game tick
+     * @throws IOException If the file cannot be written
+     */
+    public void report(long tick) throws IOException {
+        Map<String, Number> snapshot = registry.snapshot();
+        if (writer == null) {
+            File parent = file.getAbsoluteFile().getParentFile();
+            if (parent != null && !parent.exists()) {
+                parent.mkdirs();
+            }
+            writer = new BufferedWriter(new FileWriter(file));
+        }
+
+        if (format == Format.JSON) {
+            writer.write(toJson(tick, snapshot));
+        } else {
+            if (columns == null) {
+                columns = new ArrayList<>(snapshot.keySet());
+                writer.write("timestamp,tick," + String.join(",", columns));
+                writer.newLine();
+            }
+            StringBuilder row = new StringBuilder();
+            row.append(System.currentTimeMillis()).append(',').append(tick);
+            for (String name : columns) {
+                Number value = snapshot.get(name);
+                row.append(',').append(value == null ? "" : value);
+            }
+            writer.write(row.toString());
+        }
+        writer.newLine();
+        // One row per second at most, so flushing keeps the file current cheaply
+        writer.flush();
+    }
+
+    /**
+     * Closes the file. A later report starts the file over.
+     */
+    @Override
+    public void close() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            System.err.println("Error closing metrics file: " + e.getMessage());
+        }
+        writer = null;
+        columns = null;
+    }
+
+    /**
+     * Gets the file the reporter writes.
+     *
+     * @return The output file
+     */
+    public File getFile() {
+        return file;
+    }
+
+    private static String toJson(long tick, Map<String, Number> snapshot) {
+        StringBuilder json = new StringBuilder();
+        json.append("{\"timestamp\":").append(System.currentTimeMillis());
+        json.append(",\"tick\":").append(tick);
+        for (Map.Entry<String, Number> entry : snapshot.entrySet()) {
+            json.append(",\"").append(entry.getKey()).append("\":").append(entry.getValue());
+        }
+        return json.append('}').toString();
+    }
+}
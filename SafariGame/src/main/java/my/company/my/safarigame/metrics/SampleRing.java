@@ -0,0 +1,118 @@
+package my.company.my.safarigame.metrics;
+
+/**
+ * Fixed-size ring of the most recent samples, such as frame times.
+ * <p>
+ * Adding a sample overwrites the oldest one once the ring is full, so recording
+ * never allocates. The ring is not thread-safe; it is meant to be written and read
+ * on the Swing event dispatch thread.
+ * </p>
+ */
+public class SampleRing {
+
+    private final long[] samples;
+    private int next = 0;
+    private int size = 0;
+
+    /**
+     * Constructs a new, empty SampleRing.
+     *
+     * @param capacity Number of samples kept
+     */
+    public SampleRing(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        samples = new long[capacity];
+    }
+
+    /**
+     * Adds a sample, dropping the oldest one if the ring is full.
+     *
+     * @param value The sample
+     */
+    public void add(long value) {
+        samples[next] = value;
+        next = (next + 1) % samples.length;
+        if (size < samples.length) {
+            size++;
+        }
+    }
+
+    /**
+     * Gets a sample by age.
+     *
+     * @param index 0 for the oldest sample, {@code size() - 1} for the newest
+     * @return The sample
+     */
+    public long get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of " + size);
+        }
+        return samples[(next - size + index + samples.length) % samples.length];
+    }
+
+    /**
+     * Gets the newest sample.
+     *
+     * @return The newest sample, or 0 if the ring is empty
+     */
+    public long getLatest() {
+        return size == 0 ? 0 : get(size - 1);
+    }
+
+    /**
+     * Gets the largest sample in the ring.
+     *
+     * @return The maximum, or 0 if the ring is empty
+     */
+    public long getMax() {
+        long max = 0;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, samples[i]);
+        }
+        return max;
+    }
+
+    /**
+     * Gets the mean of the samples in the ring.
+     *
+     * @return The mean, or 0 if the ring is empty
+     */
+    public double getMean() {
+        if (size == 0) {
+            return 0;
+        }
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += samples[i];
+        }
+        return (double) sum / size;
+    }
+
+    /**
+     * Gets the number of samples in the ring.
+     *
+     * @return The sample count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the maximum number of samples the ring keeps.
+     *
+     * @return The capacity
+     */
+    public int capacity() {
+        return samples.length;
+    }
+
+    /**
+     * Removes all samples.
+     */
+    public void clear() {
+        next = 0;
+        size = 0;
+    }
+}
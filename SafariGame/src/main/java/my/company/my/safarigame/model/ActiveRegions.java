@@ -0,0 +1,204 @@
+package my.company.my.safarigame.model;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Splits the map into regions of {@link Grid#CHUNK_SIZE} x {@link Grid#CHUNK_SIZE}
+ * cells and keeps track of which of them need simulating.
+ * <p>
+ * Only animals and water areas outside a pond change from tick to tick; ponds are
+ * updated by the {@link WaterManager}, plants are driven by the
+ * {@link VegetationManager} and roads and obstacles never change on their own. Each
+ * region keeps a list of those ticking objects. A region is awake while an animal
+ * is in it, and for one update after something wakes it, such as a plant event
+ * firing on one of its cells. Sleeping regions are skipped entirely, so a tick
+ * costs time for the regions with something going on rather than for the whole map.
+ * </p>
+ * <p>
+ * The water of a sleeping region does not evaporate; only animals drink it. A pond
+ * evaporates while any region it reaches into is awake.
+ * </p>
+ */
+public class ActiveRegions {
+
+    private final int rows;
+    private final int cols;
+    private final int regionCols;
+
+    /** The ticking objects of every region. */
+    private final List<List<LandScapeObject>> objects;
+
+    /** Number of animals in every region. */
+    private final int[] animals;
+
+    /** Regions with at least one animal. */
+    private final BitSet inhabited = new BitSet();
+
+    /** Regions woken for the next update. */
+    private final BitSet woken = new BitSet();
+
+    /** Ticking objects outside the grid, always simulated. */
+    private final List<LandScapeObject> outside = new ArrayList<>();
+
+    /** Region each ticking object was last filed under, by entity id. */
+    private final EntityTable<Integer> regionOf = new EntityTable<>();
+
+    /**
+     * Constructs ActiveRegions for a grid of the given size, with all regions asleep.
+     *
+     * @param rows Number of grid rows
+     * @param cols Number of grid columns
+     */
+    public ActiveRegions(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        int regionRows = (rows + Grid.CHUNK_SIZE - 1) >> Grid.CHUNK_BITS;
+        regionCols = (cols + Grid.CHUNK_SIZE - 1) >> Grid.CHUNK_BITS;
+        objects = new ArrayList<>(regionRows * regionCols);
+        for (int i = 0; i < regionRows * regionCols; i++) {
+            objects.add(new ArrayList<>());
+        }
+        animals = new int[regionRows * regionCols];
+    }
+
+    /**
+     * Checks whether an object changes from tick to tick and so belongs to a region.
+     *
+     * @param obj The object
+     * @return true for animals and water areas not part of a pond
+     */
+    public static boolean isTicking(LandScapeObject obj) {
+        return obj instanceof Animal || (obj instanceof WaterArea && ((WaterArea) obj).getBody() == null);
+    }
+
+    /**
+     * Files an object under the region of its position. Objects that do not tick
+     * are ignored. An animal wakes its region.
+     *
+     * @param obj The object, which must have an id
+     */
+    public void add(LandScapeObject obj) {
+        if (!isTicking(obj) || regionOf.containsKey(obj.getId())) {
+            return;
+        }
+        int region = regionAt(obj.getPosition());
+        regionOf.put(obj.getId(), region);
+        listOf(region).add(obj);
+        if (obj instanceof Animal && region >= 0) {
+            animals[region]++;
+            inhabited.set(region);
+        }
+    }
+
+    /**
+     * Removes an object from its region.
+     *
+     * @param obj The object
+     */
+    public void remove(LandScapeObject obj) {
+        Integer region = regionOf.get(obj.getId());
+        if (region == null) {
+            return;
+        }
+        regionOf.remove(obj.getId());
+        listOf(region).remove(obj);
+        if (obj instanceof Animal && region >= 0 && --animals[region] == 0) {
+            inhabited.clear(region);
+        }
+    }
+
+    /**
+     * Moves an object to the region of its new position if it crossed into
+     * another one, waking that region.
+     *
+     * @param obj The object that moved
+     */
+    public void onMoved(LandScapeObject obj) {
+        Integer region = regionOf.get(obj.getId());
+        if (region != null && region != regionAt(obj.getPosition())) {
+            remove(obj);
+            add(obj);
+        }
+    }
+
+    /**
+     * Wakes the region of a cell for the next update.
+     *
+     * @param pos The cell
+     */
+    public void wake(Coordinate pos) {
+        int region = regionAt(pos);
+        if (region >= 0) {
+            woken.set(region);
+        }
+    }
+
+    /**
+     * Runs an action on every ticking object of the awake regions, then lets the
+     * woken regions without animals fall asleep again.
+     * <p>
+     * The action must not add or remove objects; collect them and change the map
+     * afterwards.
+     * </p>
+     *
+     * @param action The action to run
+     */
+    public void forEachAwake(Consumer<LandScapeObject> action) {
+        woken.or(inhabited);
+        for (int region = woken.nextSetBit(0); region >= 0; region = woken.nextSetBit(region + 1)) {
+            objects.get(region).forEach(action);
+        }
+        outside.forEach(action);
+        woken.clear();
+    }
+
+    /**
+     * Checks whether a region is simulated in the next update.
+     *
+     * @param pos A cell of the region
+     * @return true if the region is inhabited or was woken
+     */
+    public boolean isAwake(Coordinate pos) {
+        int region = regionAt(pos);
+        return region < 0 || inhabited.get(region) || woken.get(region);
+    }
+
+    /**
+     * Gets the number of regions simulated in the next update.
+     *
+     * @return The number of awake regions
+     */
+    public int getAwakeCount() {
+        BitSet awake = (BitSet) woken.clone();
+        awake.or(inhabited);
+        return awake.cardinality();
+    }
+
+    /**
+     * Gets the number of regions.
+     *
+     * @return The number of regions the map is split into
+     */
+    public int getRegionCount() {
+        return objects.size();
+    }
+
+    /**
+     * Gets the region of a cell.
+     *
+     * @return The region index, or -1 if the cell is outside the grid
+     */
+    private int regionAt(Coordinate pos) {
+        if (pos == null || pos.getX() < 0 || pos.getX() >= rows || pos.getY() < 0 || pos.getY() >= cols) {
+            return -1;
+        }
+        return (pos.getX() >> Grid.CHUNK_BITS) * regionCols + (pos.getY() >> Grid.CHUNK_BITS);
+    }
+
+    private List<LandScapeObject> listOf(int region) {
+        return region < 0 ? outside : objects.get(region);
+    }
+}
@@ -37,14 +37,17 @@ public abstract class Animal extends LandScapeObject implements TradeableItem {
     /** Amount by which thirst decreases when drinking. */
     public int thirstDecreaseAmount = 20;
     
-    /** Counter for the drinking animation. */
-    private int drinkingAnimationCounter = 0;
+    /** Timer keeping the drinking animation going after the animal stops drinking. */
+    private TimingWheel.Timeout drinkingAnimation;
     
     /** Duration of the drinking animation in game cycles. */
     private static final int DRINKING_ANIMATION_DURATION = 20;
 
     /** Movement speed of the animal. */
     protected int speed = 1;
+
+    /** Id of the animal's species in the {@link SpeciesRegistry}, or {@link Species#UNKNOWN}. */
+    private final int speciesId;
     
     /** Maximum possible health for the animal. */
     protected int maxHealth = 100;
@@ -52,12 +55,6 @@ public abstract class Animal extends LandScapeObject implements TradeableItem {
     /** Price of the animal when traded. */
     protected double price;
     
-    /** Current position of the animal in the game world. */
-    protected Coordinate position;
-    
-    /** Type identifier for the animal. */
-    protected String type;
-
     /** Flag indicating if the animal is currently drinking. */
     public boolean isDrinking = false;
     
@@ -76,16 +73,49 @@ public abstract class Animal extends LandScapeObject implements TradeableItem {
     /** Flag indicating if the animal has a location tracking chip. */
     protected boolean hasLocationChip = false;
 
+    /** Wheel the animal's timed states are scheduled on. */
+    private TimingWheel timers;
+
+    /** Whether the wheel is private to this animal and advanced by its own lifecycle. */
+    private boolean ownsTimers = false;
+
     /**
      * Constructs a new Animal at the specified position with the given type.
+     * <p>
+     * If the type names a species of the {@link SpeciesRegistry}, the animal
+     * takes the speed and lifespan of the species.
+     * </p>
      *
      * @param position The initial position of the animal
      * @param type The type identifier for the animal
      */
     public Animal(Coordinate position, String type) {
         super(position, type);
-        this.type = type;
-        this.position = position;
+        Species species = SpeciesRegistry.getInstance().byName(type);
+        this.speciesId = species == null ? Species.UNKNOWN : species.getId();
+        if (species != null) {
+            this.speed = species.getSpeed();
+            this.lifespan = species.getLifespan();
+        }
+    }
+
+    /**
+     * Gets the id of the animal's species, for comparing species without
+     * comparing names.
+     *
+     * @return The species id, or {@link Species#UNKNOWN}
+     */
+    public int getSpeciesId() {
+        return speciesId;
+    }
+
+    /**
+     * Gets the species of the animal.
+     *
+     * @return The species, or null if it is not in the registry
+     */
+    public Species getSpecies() {
+        return speciesId == Species.UNKNOWN ? null : SpeciesRegistry.getInstance().get(speciesId);
     }
 
     /**
@@ -139,7 +169,48 @@ public abstract class Animal extends LandScapeObject implements TradeableItem {
      * @param destination The coordinate to move the animal to
      */
     public void move(Coordinate destination) {
-        this.position = destination;
+        setPosition(destination);
+    }
+
+    /**
+     * Sets the timing wheel the animal schedules its timed states on.
+     * <p>
+     * Animals on the map share the map's wheel, which is advanced once per
+     * lifecycle cycle for all of them. An animal without a shared wheel gets a
+     * private one that its own {@link #updateLifecycle()} advances.
+     * </p>
+     *
+     * @param timers The shared timing wheel
+     */
+    public void setTimers(TimingWheel timers) {
+        this.timers = timers;
+        this.ownsTimers = false;
+    }
+
+    /**
+     * Schedules an action after a number of lifecycle cycles.
+     *
+     * @param cycles Number of cycles to wait
+     * @param action The action to run
+     * @return A handle that can cancel the action
+     */
+    protected TimingWheel.Timeout after(int cycles, Runnable action) {
+        if (timers == null) {
+            timers = new TimingWheel();
+            ownsTimers = true;
+        }
+        return timers.schedule(cycles, action);
+    }
+
+    /**
+     * Cancels a timer if it is still pending.
+     *
+     * @param timeout The timer to cancel, may be null
+     */
+    protected static void cancel(TimingWheel.Timeout timeout) {
+        if (timeout != null) {
+            timeout.cancel();
+        }
     }
 
     /**
@@ -190,15 +261,6 @@ public abstract class Animal extends LandScapeObject implements TradeableItem {
         return "Generic Animal";
     }
 
-    /**
-     * Gets the current position of the animal.
-     *
-     * @return The coordinate representing the animal's position
-     */
-    public Coordinate getPosition() {
-        return position;
-    }
-
     /**
      * Gets the current health of the animal.
      *
@@ -290,20 +352,22 @@ public abstract class Animal extends LandScapeObject implements TradeableItem {
     public abstract Animal reproduce();
 
     /**
-     * Sets the position of the animal to the specified coordinates.
-     *
-     * @param x The x-coordinate
-     * @param y The y-coordinate
+     * Makes the animal drink, reducing its thirst.
      */
-    public void setPosition(int x, int y) {
-        this.position = new Coordinate(x, y);
+    public void drink() {
+        thirst = Math.max(0, thirst - 20);
     }
 
     /**
-     * Makes the animal drink, reducing its thirst.
+     * Advances the lifecycle by several cycles at once, for animals simulated
+     * coarsely. Stops early if the animal dies.
+     *
+     * @param cycles Number of cycles to advance
      */
-    public void drink() {
-        thirst = Math.max(0, thirst - 20);
+    public void advanceLifecycle(int cycles) {
+        for (int i = 0; i < cycles && !isDead() && health > 0; i++) {
+            updateLifecycle();
+        }
     }
 
     /**
@@ -311,6 +375,9 @@ public abstract class Animal extends LandScapeObject implements TradeableItem {
      * This method is called during each game update cycle.
      */
     public void updateLifecycle() {
+        if (ownsTimers) {
+            timers.advance();
+        }
         age++;
         hunger += 5;
 
@@ -328,17 +395,17 @@ public abstract class Animal extends LandScapeObject implements TradeableItem {
 
             // Reduce drinking duration
             drinkingDuration--;
-            drinkingAnimationCounter = DRINKING_ANIMATION_DURATION; // Reset animation timer
 
             // Stop drinking when thirst is completely satisfied or duration ends
             if (thirst <= 0 || drinkingDuration <= 0) {
                 isDrinking = false;
                 drinkingDuration = 0;
                 System.out.println(getDescription() + " finished drinking. Thirst: " + thirst);
+
+                // Keep animation going for a bit after drinking stops
+                cancel(drinkingAnimation);
+                drinkingAnimation = after(DRINKING_ANIMATION_DURATION, () -> drinkingAnimation = null);
             }
-        } else if (drinkingAnimationCounter > 0) {
-            // Keep animation going for a bit after drinking stops
-            drinkingAnimationCounter--;
         }
 
         // Enhanced health reduction based on thirst - more gradual
@@ -443,7 +510,6 @@ public abstract class Animal extends LandScapeObject implements TradeableItem {
         // Set drinking flag to stop movement
         isDrinking = true;
         drinkingDuration = 15; // Longer drinking duration for more benefit
-        drinkingAnimationCounter = DRINKING_ANIMATION_DURATION;
 
         // Significantly reduce thirst - but at a reasonable rate
         thirst = Math.max(0, thirst - 15); // Initial big reduction
@@ -464,7 +530,7 @@ public abstract class Animal extends LandScapeObject implements TradeableItem {
      * @return true if the animal is drinking or still in the drinking animation, false otherwise
      */
     public boolean isInDrinkingAnimation() {
-        return isDrinking || drinkingAnimationCounter > 0;
+        return isDrinking || drinkingAnimation != null;
     }
 
     /**
@@ -473,7 +539,10 @@ public abstract class Animal extends LandScapeObject implements TradeableItem {
      * @return The drinking animation counter value
      */
     public int getDrinkingAnimationCounter() {
-        return drinkingAnimationCounter;
+        if (isDrinking) {
+            return DRINKING_ANIMATION_DURATION;
+        }
+        return drinkingAnimation == null ? 0 : drinkingAnimation.getRemaining();
     }
 
     /**
@@ -12,6 +12,12 @@ import java.util.*;
  * This class allows for managing multiple animals as a cohesive group, providing
  * functionality to add, remove, and perform group operations such as movement and reproduction.
  * </p>
+ * <p>
+ * Groups are also the nodes of a union-find structure used by {@link HerdManager}:
+ * when two herds of the same species meet they are merged with {@link #union(AnimalGroup)},
+ * and {@link #find()} always returns the herd that currently owns the members. The
+ * first animal of the root group is the herd leader.
+ * </p>
  *
  * @author Muhammad Eman Aftab
  */
@@ -21,6 +27,33 @@ public class AnimalGroup {
     
     /** The list of animals belonging to this group. */
     private List<Animal> animals;
+
+    /** Parent node in the union-find structure, this group itself when it is a root. */
+    private AnimalGroup parent;
+
+    /** Members moved by the last planned step, in application order. */
+    private Animal[] plannedAnimals = new Animal[0];
+
+    /** Target cell of every planned move. */
+    private Coordinate[] plannedCells = new Coordinate[0];
+
+    /** Start cell of every planned move, kept while planning. */
+    private Coordinate[] plannedFrom = new Coordinate[0];
+
+    /** Number of moves in the last planned step. */
+    private int plannedCount = 0;
+
+    /** Followers sorted by distance to the leader's target, reused between steps. */
+    private Animal[] order = new Animal[0];
+
+    /** Distance of each sorted follower to the leader's target. */
+    private int[] orderDistance = new int[0];
+
+    /** Cells taken during the step being planned, by grid index; empty between steps. */
+    private final BitSet claimed = new BitSet();
+
+    /** Cells left during the step being planned, by grid index; empty between steps. */
+    private final BitSet vacated = new BitSet();
     
     /**
      * Constructs a new AnimalGroup for the specified species.
@@ -30,6 +63,7 @@ public class AnimalGroup {
     public AnimalGroup(String species) {
         this.species = species;
         this.animals = new ArrayList<>();
+        this.parent = this;
     }
     
     /**
@@ -93,4 +127,226 @@ public class AnimalGroup {
     public String getSpecies() {
         return species;
     }
+
+    /**
+     * Gets the leader of this group.
+     * <p>
+     * The leader is the longest-standing member of the herd and is the animal
+     * whose movement the rest of the group follows.
+     * </p>
+     *
+     * @return The leader, or null if the group is empty
+     */
+    public Animal getLeader() {
+        return animals.isEmpty() ? null : animals.get(0);
+    }
+
+    /**
+     * Gets the number of animals in this group.
+     *
+     * @return The group size
+     */
+    public int size() {
+        return animals.size();
+    }
+
+    /**
+     * Finds the root group this group has been merged into.
+     * <p>
+     * Uses path halving so repeated lookups stay close to constant time
+     * no matter how many merges have happened.
+     * </p>
+     *
+     * @return The root group owning the members
+     */
+    public AnimalGroup find() {
+        AnimalGroup group = this;
+        while (group.parent != group) {
+            group.parent = group.parent.parent;
+            group = group.parent;
+        }
+        return group;
+    }
+
+    /**
+     * Merges this group with another group of the same species.
+     * <p>
+     * The smaller herd is attached under the larger one, so only the members
+     * of the smaller herd are copied and the larger herd keeps its leader.
+     * </p>
+     *
+     * @param other The group to merge with
+     * @return The root group of the merged herd
+     */
+    public AnimalGroup union(AnimalGroup other) {
+        AnimalGroup a = find();
+        AnimalGroup b = other.find();
+        if (a == b) {
+            return a;
+        }
+        if (a.animals.size() < b.animals.size()) {
+            AnimalGroup tmp = a;
+            a = b;
+            b = tmp;
+        }
+        a.animals.addAll(b.animals);
+        b.animals.clear();
+        b.parent = a;
+        return a;
+    }
+
+    /**
+     * Plans a single step of the whole herd as one batched operation.
+     * <p>
+     * The leader steps to {@code leaderTarget} (or stays put when the target is its
+     * own cell) and every follower takes one step toward the leader's new position.
+     * Cells claimed earlier in the batch are not reused, and cells vacated earlier in
+     * the batch may be taken by later members, so the moves must be applied in
+     * order. Followers closest to the leader move first.
+     * </p>
+     * <p>
+     * The plan is kept in buffers of the group, read with
+     * {@link #getPlannedAnimal(int)} and {@link #getPlannedCell(int)}, so planning
+     * a step allocates nothing once the buffers have grown to the herd's size. The
+     * next call replaces the plan.
+     * </p>
+     *
+     * @param leaderTarget The cell the leader should move to
+     * @param grid The grid used to check for free cells
+     * @return The number of planned moves; 0 if the leader cannot move
+     */
+    public int planMove(Coordinate leaderTarget, Grid grid) {
+        plannedCount = 0;
+        Animal leader = getLeader();
+        if (leader == null || leader.getPosition() == null) {
+            return 0;
+        }
+        ensurePlanCapacity(animals.size());
+
+        Coordinate leaderPos = leader.getPosition();
+        int tx = leaderTarget.getX();
+        int ty = leaderTarget.getY();
+        if (tx != leaderPos.getX() || ty != leaderPos.getY()) {
+            if (!isFree(grid, tx, ty)) {
+                return 0;
+            }
+            plan(grid, leader, leaderPos, leaderTarget);
+        }
+
+        // Followers closest to the leader move first so they free cells for the rest;
+        // an insertion sort keeps equally close followers in herd order
+        int followers = 0;
+        for (int i = 1; i < animals.size(); i++) {
+            Animal follower = animals.get(i);
+            Coordinate pos = follower.getPosition();
+            if (pos == null || follower.isBeingRemoved) {
+                continue;
+            }
+            int d = distance(pos, tx, ty);
+            if (d <= 1) {
+                continue;
+            }
+            int j = followers++;
+            while (j > 0 && orderDistance[j - 1] > d) {
+                order[j] = order[j - 1];
+                orderDistance[j] = orderDistance[j - 1];
+                j--;
+            }
+            order[j] = follower;
+            orderDistance[j] = d;
+        }
+
+        for (int i = 0; i < followers; i++) {
+            Animal follower = order[i];
+            order[i] = null;
+            Coordinate pos = follower.getPosition();
+            int dx = Integer.compare(tx, pos.getX());
+            int dy = Integer.compare(ty, pos.getY());
+            // Try the diagonal step first, then each of its two straight parts
+            for (int option = 0; option < 3; option++) {
+                int sx = option == 2 ? 0 : dx;
+                int sy = option == 1 ? 0 : dy;
+                if (sx == 0 && sy == 0) {
+                    continue;
+                }
+                int nx = pos.getX() + sx;
+                int ny = pos.getY() + sy;
+                if (isFree(grid, nx, ny)) {
+                    plan(grid, follower, pos, Coordinate.of(nx, ny));
+                    break;
+                }
+            }
+        }
+
+        for (int i = 0; i < plannedCount; i++) {
+            claimed.clear(grid.index(plannedCells[i].getX(), plannedCells[i].getY()));
+            vacated.clear(grid.index(plannedFrom[i].getX(), plannedFrom[i].getY()));
+            plannedFrom[i] = null;
+        }
+        return plannedCount;
+    }
+
+    /**
+     * Gets a member moved by the last planned step.
+     *
+     * @param i The index of the move, below the count returned by {@link #planMove}
+     * @return The animal to move
+     */
+    public Animal getPlannedAnimal(int i) {
+        return plannedAnimals[i];
+    }
+
+    /**
+     * Gets the cell a member moves to in the last planned step.
+     *
+     * @param i The index of the move, below the count returned by {@link #planMove}
+     * @return The cell to move the animal to
+     */
+    public Coordinate getPlannedCell(int i) {
+        return plannedCells[i];
+    }
+
+    private void ensurePlanCapacity(int size) {
+        if (plannedAnimals.length < size) {
+            plannedAnimals = new Animal[size];
+            plannedCells = new Coordinate[size];
+            plannedFrom = new Coordinate[size];
+            order = new Animal[size];
+            orderDistance = new int[size];
+        }
+    }
+
+    /**
+     * Adds a move to the plan, claiming its target cell and vacating its start.
+     */
+    private void plan(Grid grid, Animal animal, Coordinate from, Coordinate to) {
+        plannedAnimals[plannedCount] = animal;
+        plannedCells[plannedCount] = to;
+        plannedFrom[plannedCount] = from;
+        plannedCount++;
+        claimed.set(grid.index(to.getX(), to.getY()));
+        vacated.set(grid.index(from.getX(), from.getY()));
+    }
+
+    /**
+     * Checks whether a cell can be entered during a batched herd move.
+     */
+    private boolean isFree(Grid grid, int row, int col) {
+        if (row < 0 || row >= grid.getRows() || col < 0 || col >= grid.getColumns()) {
+            return false;
+        }
+        int index = grid.index(row, col);
+        if (claimed.get(index)) {
+            return false;
+        }
+        return vacated.get(index)
+                || (grid.getCellType(row, col) == '-' && !grid.isOccupied(row, col));
+    }
+
+    /**
+     * Chebyshev distance between a coordinate and a cell.
+     */
+    static int distance(Coordinate pos, int row, int col) {
+        return Math.max(Math.abs(pos.getX() - row), Math.abs(pos.getY() - col));
+    }
 }
\ No newline at end of file
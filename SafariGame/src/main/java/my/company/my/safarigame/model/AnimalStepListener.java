@@ -0,0 +1,52 @@
+package my.company.my.safarigame.model;
+
+/**
+ * Interface for being notified of what the animals do in their turns.
+ * <p>
+ * The {@link AnimalStepper} changes the map and the grid itself; views implement
+ * this interface to redraw the affected cells and play the animations.
+ * </p>
+ */
+public interface AnimalStepListener {
+
+    /**
+     * Called after an animal has moved to a neighbouring cell.
+     *
+     * @param animal The animal, already at its new position
+     * @param from The cell it left
+     */
+    void onAnimalMoved(Animal animal, Coordinate from);
+
+    /**
+     * Called when an animal has started drinking.
+     *
+     * @param animal The animal
+     */
+    void onAnimalDrinking(Animal animal);
+
+    /**
+     * Called after a carnivore has attacked a herbivore.
+     *
+     * @param hunter The carnivore
+     * @param prey The herbivore, which is removed next if it was killed
+     * @param killed true if the attack killed the prey
+     */
+    void onAnimalHunted(Carnivore hunter, Herbivore prey, boolean killed);
+
+    /**
+     * Called after a herbivore has eaten the plant on a cell, which is grass now.
+     *
+     * @param herbivore The herbivore
+     * @param row The row of the plant's cell
+     * @param col The column of the plant's cell
+     */
+    void onPlantEaten(Herbivore herbivore, int row, int col);
+
+    /**
+     * Called after a dead or killed animal has been taken off the map.
+     *
+     * @param animal The animal
+     * @param position The cell it died on
+     */
+    void onAnimalRemoved(Animal animal, Coordinate position);
+}
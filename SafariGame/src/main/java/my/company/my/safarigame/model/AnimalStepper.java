@@ -0,0 +1,507 @@
+package my.company.my.safarigame.model;
+
+import java.util.List;
+
+/**
+ * Runs the turns of the animals: ageing, drinking, grazing, hunting and moving.
+ * <p>
+ * These are the rules of the game for every animal, whoever drives the steps: the
+ * map view's timers in the game and the {@code HeadlessSimulation} in batch runs
+ * and replays. In each turn an animal ages and dies when its health runs out.
+ * Otherwise, unless it is still drinking, a thirsty herbivore drinks from an
+ * adjacent pond or follows the water field, and a very thirsty carnivore does the
+ * same for water within {@link #WATER_RADIUS} steps. Herbivores then eat the
+ * plants next to them, and hurt ones follow the grazing field to the nearest
+ * plant. Carnivores attack adjacent prey or close in on prey within
+ * {@link #HUNT_RADIUS} cells. Animals with nothing to do wander in a random
+ * direction, and herbivores graze the grass of every cell they step onto.
+ * </p>
+ * <p>
+ * Herd followers do not move on their own: their leader takes them along with
+ * every step it makes, see {@link AnimalGroup#planMove(Coordinate, Grid)}.
+ * </p>
+ * <p>
+ * Which animals take a full turn in a step, and which a coarse one covering
+ * {@link LevelOfDetail#STRIDE} steps, is decided by the map's
+ * {@link LevelOfDetail}. The stepper changes the map and the grid itself and
+ * tells its {@link AnimalStepListener} what happened, so views can follow.
+ * Random choices come from the game's seeded random numbers.
+ * </p>
+ */
+public class AnimalStepper {
+
+    /** Distance within which carnivores close in on prey. */
+    public static final int HUNT_RADIUS = 3;
+
+    /** Thirst above which carnivores go for water. */
+    public static final int CARNIVORE_THIRST = 70;
+
+    /** Steps within which very thirsty carnivores go for water. */
+    public static final int WATER_RADIUS = 5;
+
+    private static final int[] DX = {-1, 0, 1, -1, 1, -1, 0, 1};
+    private static final int[] DY = {-1, -1, -1, 0, 0, 1, 1, 1};
+
+    /** Up, down, left and right, the directions animals wander in. */
+    private static final int[][] DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+
+    /** The game whose animals are stepped; its map may be replaced between steps. */
+    private final SafariGameModel model;
+
+    /** Listener told about the animals' actions, may be null. */
+    private AnimalStepListener listener;
+
+    /** The map of the turn being run. */
+    private SafariMap map;
+
+    /** The grid of the turn being run. */
+    private Grid grid;
+
+    /** Coarse turns taken so far. */
+    private long coarseSteps = 0;
+
+    /**
+     * Constructs a new AnimalStepper for the animals of a game.
+     *
+     * @param model The game model
+     */
+    public AnimalStepper(SafariGameModel model) {
+        this.model = model;
+    }
+
+    /**
+     * Sets the listener notified of the animals' actions.
+     *
+     * @param listener The listener, or null to remove it
+     */
+    public void setListener(AnimalStepListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Runs the turn of an animal in a simulation step. Animals the level of detail
+     * simulates coarsely only take a turn on their coarse turn.
+     *
+     * @param animal The animal
+     * @param step The number of the simulation step
+     * @return true if the animal took a turn
+     */
+    public boolean step(Animal animal, long step) {
+        if (animal.isBeingRemoved || animal.getPosition() == null) {
+            return false;
+        }
+        map = model.getMap();
+        grid = map.getGrid();
+        if (map.getLevelOfDetail().isDetailed(animal, map)) {
+            stepAnimal(animal, 1);
+            return true;
+        }
+        if (LevelOfDetail.isCoarseTurn(animal, step)) {
+            stepAnimal(animal, LevelOfDetail.STRIDE);
+            coarseSteps++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets the number of coarse turns taken by animals so far.
+     *
+     * @return The number of coarse turns
+     */
+    public long getCoarseSteps() {
+        return coarseSteps;
+    }
+
+    /**
+     * Runs a turn covering the given number of steps at once for animals
+     * simulated coarsely.
+     */
+    private void stepAnimal(Animal animal, int steps) {
+        animal.updateLifecycle();
+        if (isDead(animal)) {
+            removeAnimal(animal);
+            return;
+        }
+        if (!animal.isDrinking()) {
+            if (animal instanceof Carnivore) {
+                stepCarnivore((Carnivore) animal, steps);
+            } else if (animal instanceof Herbivore) {
+                stepHerbivore((Herbivore) animal, steps);
+            }
+        }
+        if (steps > 1 && !animal.isBeingRemoved) {
+            // The rest of a coarse turn's lifecycle comes after its moves, as it would one step at a time
+            animal.advanceLifecycle(steps - 1);
+            if (isDead(animal)) {
+                removeAnimal(animal);
+            }
+        }
+    }
+
+    private void stepHerbivore(Herbivore herbivore, int steps) {
+        Coordinate pos = herbivore.getPosition();
+
+        // Thirsty herbivores drink from adjacent water or follow the water field
+        if (herbivore.isThirsty()) {
+            WaterArea water = findAdjacentWater(pos.getX(), pos.getY());
+            if (water != null) {
+                drink(herbivore, water);
+                return;
+            }
+            if (followField(herbivore, map.getFlowFields().getWaterField(grid), Math.max(1, steps - 1))) {
+                // A coarse turn drinks on arrival, in the step after the last move
+                Coordinate at = herbivore.getPosition();
+                water = steps > 1 ? findAdjacentWater(at.getX(), at.getY()) : null;
+                if (water != null) {
+                    drink(herbivore, water);
+                }
+                return;
+            }
+        }
+
+        // Eat adjacent vegetation, as often as the steps a coarse turn covers
+        if (grazeAdjacent(herbivore, steps)) {
+            if (isHerdLeader(herbivore)) {
+                // Gather the followers around the grazing leader
+                moveHerd(herbivore, pos.getX(), pos.getY());
+            }
+            return;
+        }
+
+        if (isFollower(herbivore)) {
+            return;
+        }
+
+        // Hurt herbivores head for the nearest vegetation, taking their herd along
+        if (!herbivore.isAtMaxHealth()
+                && followField(herbivore, map.getFlowFields().getGrazingField(grid), Math.max(1, steps - 1))) {
+            if (steps > 1) {
+                grazeAdjacent(herbivore, 1);
+            }
+            return;
+        }
+
+        wander(herbivore, wanderMoves(steps));
+    }
+
+    private void stepCarnivore(Carnivore carnivore, int steps) {
+        Coordinate pos = carnivore.getPosition();
+        int x = pos.getX();
+        int y = pos.getY();
+
+        // Very thirsty carnivores drink if water is close enough
+        if (carnivore.getThirst() > CARNIVORE_THIRST) {
+            FlowField waterField = map.getFlowFields().getWaterField(grid);
+            int waterDistance = waterField.getDistance(x, y);
+            if (waterDistance == 1) {
+                drinkFromWater(carnivore);
+                return;
+            } else if (waterDistance > 1 && waterDistance <= WATER_RADIUS) {
+                followField(carnivore, waterField, Math.max(1, steps - 1));
+                Coordinate at = carnivore.getPosition();
+                if (steps > 1 && waterField.getDistance(at.getX(), at.getY()) == 1) {
+                    drinkFromWater(carnivore);
+                }
+                return;
+            }
+        }
+
+        // Attack adjacent prey
+        Herbivore prey = carnivore.findNearbyHerbivore(grid, map);
+        if (prey != null) {
+            attack(carnivore, prey, steps);
+            return;
+        }
+
+        // Close in on prey nearby, nearest rings first
+        SpeciesRegistry species = SpeciesRegistry.getInstance();
+        for (int r = 1; r <= HUNT_RADIUS; r++) {
+            for (int dx = -r; dx <= r; dx++) {
+                for (int dy = -r; dy <= r; dy++) {
+                    if (Math.abs(dx) != r && Math.abs(dy) != r) {
+                        continue;
+                    }
+                    if (species.isPrey(grid.getCellType(x + dx, y + dy))) {
+                        // Coarse turns close in until next to the prey and attack with the steps left
+                        int moved = approach(carnivore, Coordinate.of(x + dx, y + dy), Math.max(1, Math.min(steps, r - 1)));
+                        if (moved == 0) {
+                            wander(carnivore, wanderMoves(steps));
+                        } else if (moved < steps) {
+                            Herbivore reached = carnivore.findNearbyHerbivore(grid, map);
+                            if (reached != null) {
+                                attack(carnivore, reached, steps - moved);
+                            }
+                        }
+                        return;
+                    }
+                }
+            }
+        }
+
+        // Pack members wander with their leader
+        if (!isFollower(carnivore)) {
+            wander(carnivore, wanderMoves(steps));
+        }
+    }
+
+    /**
+     * Moves a carnivore along a path to its prey, around whatever stands in the
+     * way, stopping next to the prey.
+     *
+     * @return The number of cells moved, at most the given number
+     */
+    private int approach(Carnivore carnivore, Coordinate prey, int cells) {
+        List<Coordinate> path = map.findPath(MovementClass.ANIMAL, carnivore.getPosition(), prey);
+        int moved = 0;
+        for (int i = 1; i < path.size() - 1 && moved < cells; i++) {
+            if (!moveAnimal(carnivore, path.get(i).getX(), path.get(i).getY())) {
+                break;
+            }
+            moved++;
+        }
+        return moved;
+    }
+
+    /**
+     * Lets a carnivore attack its prey up to the given number of times, until the prey dies.
+     */
+    private void attack(Carnivore carnivore, Herbivore prey, int attacks) {
+        for (int i = 0; i < attacks; i++) {
+            boolean killed = carnivore.hunt(prey);
+            if (listener != null) {
+                listener.onAnimalHunted(carnivore, prey, killed);
+            }
+            if (killed) {
+                removeAnimal(prey);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Eats the vegetation next to a herbivore, at most the given number of plants.
+     *
+     * @return true if the herbivore ate
+     */
+    private boolean grazeAdjacent(Herbivore herbivore, int plants) {
+        Coordinate pos = herbivore.getPosition();
+        int eaten = 0;
+        for (int i = 0; i < DX.length && eaten < plants; i++) {
+            int nx = pos.getX() + DX[i];
+            int ny = pos.getY() + DY[i];
+            char cellType = grid.getCellType(nx, ny);
+            if (cellType == 'p' || cellType == 'b' || cellType == 'h') {
+                herbivore.grazePlant(cellType);
+                eatPlant(nx, ny, cellType);
+                eaten++;
+                if (listener != null) {
+                    listener.onPlantEaten(herbivore, nx, ny);
+                }
+            }
+        }
+        return eaten > 0;
+    }
+
+    /**
+     * Removes an eaten plant and lets it grow back later. Plant cells the map does
+     * not track, such as those drawn into the grid file, grow back as a new plant.
+     */
+    private void eatPlant(int row, int col, char cellType) {
+        Plant eaten = null;
+        for (LandScapeObject obj : map.getLandscapeObjects()) {
+            if (obj instanceof Plant && obj.getPosition().getX() == row && obj.getPosition().getY() == col) {
+                eaten = (Plant) obj;
+                break;
+            }
+        }
+        if (eaten != null) {
+            map.removeLandscapeObject(eaten);
+        } else if (cellType == 'p') {
+            eaten = new Plant(new Coordinate(row, col), "plant", 150.0);
+        } else if (cellType == 'b') {
+            eaten = new Plant(new Coordinate(row, col), "bush", 100.0);
+        } else {
+            eaten = new Plant(new Coordinate(row, col), "shrub", 200.0);
+        }
+        map.getVegetation().onPlantGrazed(eaten);
+        grid.clearCell(row, col);
+    }
+
+    private void drink(Animal animal, WaterArea water) {
+        animal.drinkFromWaterArea(water);
+        if (listener != null) {
+            listener.onAnimalDrinking(animal);
+        }
+    }
+
+    private void drinkFromWater(Carnivore carnivore) {
+        carnivore.drinkFromWater();
+        if (listener != null) {
+            listener.onAnimalDrinking(carnivore);
+        }
+    }
+
+    /**
+     * Moves an animal up to the given number of cells in a random direction,
+     * stopping at the first cell that is not free.
+     */
+    private void wander(Animal animal, int cells) {
+        int[] direction = DIRECTIONS[model.getRandom().nextInt(DIRECTIONS.length)];
+        for (int i = 0; i < cells; i++) {
+            Coordinate pos = animal.getPosition();
+            if (!move(animal, pos.getX() + direction[0], pos.getY() + direction[1])) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Gets how far an animal wanders in a turn covering the given number of steps.
+     */
+    private static int wanderMoves(int steps) {
+        return steps == 1 ? 1 : LevelOfDetail.WANDER_MOVES;
+    }
+
+    /**
+     * Moves an animal along a flow field for up to the given number of cells.
+     *
+     * @return false if the field has no step from where the animal stands
+     */
+    private boolean followField(Animal animal, FlowField field, int cells) {
+        for (int i = 0; i < cells; i++) {
+            Coordinate pos = animal.getPosition();
+            Coordinate step = field.getFreeStep(pos.getX(), pos.getY());
+            if (step == null) {
+                return i > 0;
+            }
+            if (!move(animal, step.getX(), step.getY())) {
+                return true;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Moves an animal to a neighbouring cell, taking its herd along if it leads one.
+     *
+     * @return true if the animal moved
+     */
+    private boolean move(Animal animal, int row, int col) {
+        if (!isHerdLeader(animal)) {
+            return moveAnimal(animal, row, col);
+        }
+        moveHerd(animal, row, col);
+        Coordinate pos = animal.getPosition();
+        return pos.getX() == row && pos.getY() == col;
+    }
+
+    /**
+     * Moves a whole herd one step as a single batched operation. The leader steps
+     * to the given cell, or stays when it is its own cell, and every follower
+     * closes in on the leader.
+     */
+    private void moveHerd(Animal leader, int row, int col) {
+        HerdManager herds = map.getHerds();
+        AnimalGroup herd = herds.getHerd(leader);
+        int moves = herd.planMove(Coordinate.of(row, col), grid);
+        for (int i = 0; i < moves; i++) {
+            Coordinate cell = herd.getPlannedCell(i);
+            relocate(herd.getPlannedAnimal(i), cell.getX(), cell.getY());
+        }
+        herds.detachStragglers(herd);
+    }
+
+    /**
+     * Moves an animal to a free cell it may enter.
+     *
+     * @return true if the animal moved
+     */
+    private boolean moveAnimal(Animal animal, int row, int col) {
+        Cell target = grid.getCell(row, col);
+        if (target == null || target.isOccupied() || !MovementClass.ANIMAL.canEnter(target.getCellType())) {
+            return false;
+        }
+        relocate(animal, row, col);
+        return true;
+    }
+
+    /**
+     * Moves an animal to a cell known to be free, updating the grid.
+     */
+    private void relocate(Animal animal, int row, int col) {
+        Coordinate from = animal.getPosition();
+        char cellType = cellTypeOf(animal);
+        Cell current = grid.getCell(from.getX(), from.getY());
+        if (current != null && current.getCellType() == cellType) {
+            grid.clearCell(from.getX(), from.getY());
+        }
+        boolean grass = grid.getCellType(row, col) == '-';
+        animal.move(Coordinate.of(row, col));
+        grid.setCellType(row, col, cellType);
+        grid.getCell(row, col).setOccupied(true);
+        if (grass && animal instanceof Herbivore) {
+            ((Herbivore) animal).graze();
+        }
+        if (listener != null) {
+            listener.onAnimalMoved(animal, from);
+        }
+    }
+
+    /**
+     * Takes a dead or killed animal off the map.
+     */
+    private void removeAnimal(Animal animal) {
+        if (animal.isBeingRemoved) {
+            return;
+        }
+        animal.isBeingRemoved = true;
+        Coordinate pos = animal.getPosition();
+        if (grid.getCellType(pos.getX(), pos.getY()) == cellTypeOf(animal)) {
+            grid.clearCell(pos.getX(), pos.getY());
+        }
+        map.removeLandscapeObject(animal);
+        if (listener != null) {
+            listener.onAnimalRemoved(animal, pos);
+        }
+    }
+
+    /**
+     * Gets the cell type an animal shows as on the grid.
+     */
+    private char cellTypeOf(Animal animal) {
+        Species species = animal.getSpecies();
+        if (species != null) {
+            return species.getMapChar();
+        }
+        Coordinate pos = animal.getPosition();
+        return grid.getCellType(pos.getX(), pos.getY());
+    }
+
+    private boolean isHerdLeader(Animal animal) {
+        AnimalGroup herd = map.getHerds().getHerd(animal);
+        return herd != null && herd.size() > 1 && herd.getLeader() == animal;
+    }
+
+    private boolean isFollower(Animal animal) {
+        return map.getHerds().isFollower(animal);
+    }
+
+    private static boolean isDead(Animal animal) {
+        return animal.isDead() || animal.getHealth() <= 0;
+    }
+
+    private WaterArea findAdjacentWater(int x, int y) {
+        for (int i = 0; i < DX.length; i++) {
+            int nx = x + DX[i];
+            int ny = y + DY[i];
+            if (grid.getCellType(nx, ny) == 'P') {
+                WaterArea water = map.getWater().getAreaAt(nx, ny);
+                if (water != null) {
+                    return water;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -10,11 +10,17 @@ package my.company.my.safarigame.model;
  */
 public class Carnivore extends Animal {
 
+    /** Row offsets of the eight cells around a carnivore, the hunting range. */
+    private static final int[] NEIGHBOUR_DX = {-1, 0, 1, -1, 1, -1, 0, 1};
+
+    /** Column offsets of the eight cells around a carnivore, the hunting range. */
+    private static final int[] NEIGHBOUR_DY = {-1, -1, -1, 0, 0, 1, 1, 1};
+
     /** Flag indicating if the carnivore is currently hunting. */
     protected boolean isHunting = false;
     
-    /** Duration of the current hunting activity. */
-    protected int huntingDuration = 0;
+    /** Timer ending the current hunting activity. */
+    protected TimingWheel.Timeout huntingTimer;
     
     /** Damage dealt when attacking herbivores. */
     protected int attackPower = 20;
@@ -34,6 +40,11 @@ public class Carnivore extends Animal {
     public Carnivore(Coordinate position, String type) {
         super(position, type);
         this.price = 150.0;
+        Species species = getSpecies();
+        if (species != null) {
+            this.price = species.getPrice();
+            this.attackPower = species.getAttackPower();
+        }
         this.atMaxHealth = (health >= maxHealth);
     }
 
@@ -54,7 +65,8 @@ public class Carnivore extends Animal {
 
         // Start hunting animation
         isHunting = true;
-        huntingDuration = 5;
+        cancel(huntingTimer);
+        huntingTimer = after(5, () -> isHunting = false);
 
         // Record health before change
         int oldHealth = this.health;
@@ -119,35 +131,25 @@ public class Carnivore extends Animal {
      * @return The first herbivore found within hunting range, or null if none is found
      */
     public Herbivore findNearbyHerbivore(Grid grid, SafariMap map) {
+        Coordinate position = getPosition();
         if (position == null) {
             return null;
         }
 
-        // Define search radius (1 cell in all directions)
-        int[] dx = {-1, 0, 1, -1, 1, -1, 0, 1};
-        int[] dy = {-1, -1, -1, 0, 0, 1, 1, 1};
-
         // Check surrounding cells
-        for (int i = 0; i < dx.length; i++) {
-            int checkX = position.getX() + dx[i];
-            int checkY = position.getY() + dy[i];
+        for (int i = 0; i < NEIGHBOUR_DX.length; i++) {
+            int checkX = position.getX() + NEIGHBOUR_DX[i];
+            int checkY = position.getY() + NEIGHBOUR_DY[i];
 
             // Ensure coordinates are within bounds
             if (checkX >= 0 && checkX < grid.getRows() && checkY >= 0 && checkY < grid.getColumns()) {
                 char cellType = grid.getCellType(checkX, checkY);
 
-                // Check if cell contains a herbivore (cow or deer)
-                if (cellType == 'c' || cellType == 'd') {
-                    // Find the actual herbivore object at this location
-                    for (LandScapeObject obj : map.getLandscapeObjects()) {
-                        if (obj instanceof Herbivore) {
-                            Herbivore herbivore = (Herbivore) obj;
-                            if (herbivore.getPosition().getX() == checkX
-                                    && herbivore.getPosition().getY() == checkY
-                                    && !herbivore.isDead()) {
-                                return herbivore;
-                            }
-                        }
+                // Check if cell contains a herbivore
+                if (SpeciesRegistry.getInstance().isPrey(cellType)) {
+                    Animal animal = map.getAnimalAt(checkX, checkY);
+                    if (animal instanceof Herbivore && !animal.isDead()) {
+                        return (Herbivore) animal;
                     }
                 }
             }
@@ -181,8 +183,8 @@ public class Carnivore extends Animal {
     /**
      * Updates the carnivore's lifecycle status.
      * <p>
-     * Extends the base Animal updateLifecycle method with carnivore-specific behavior,
-     * particularly handling the hunting animation duration.
+     * Extends the base Animal updateLifecycle method, skipping the update once the
+     * carnivore is dead. The hunting animation ends through its timer.
      * </p>
      */
     @Override
@@ -193,14 +195,6 @@ public class Carnivore extends Animal {
         }
 
         super.updateLifecycle();
-
-        // Any additional carnivore-specific update logic
-        if (isHunting && huntingDuration > 0) {
-            huntingDuration--;
-            if (huntingDuration <= 0) {
-                isHunting = false;
-            }
-        }
     }
 
     /**
@@ -227,7 +221,7 @@ public class Carnivore extends Animal {
      */
     @Override
     public Animal reproduce() {
-        return new Carnivore(position, type);
+        return new Carnivore(getPosition(), type);
     }
 
     /**
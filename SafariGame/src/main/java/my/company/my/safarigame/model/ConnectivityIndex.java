@@ -0,0 +1,298 @@
+package my.company.my.safarigame.model;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Labels the connected areas of a grid for one movement class, so that whether a
+ * cell can be reached from another is known without searching.
+ * <p>
+ * Every passable cell carries a component label, and labels that turned out to be
+ * connected are merged with a union-find table. The index listens to its grid: a
+ * cell becoming passable joins the components around it at once. A cell becoming
+ * impassable can only split its component if the passable cells around it are not
+ * connected to each other within their 3 x 3 block, so most removals, like a
+ * pond placed in open grass, need no work at all. Otherwise the cells around it
+ * are flood filled with fresh labels before the next query.
+ * </p>
+ * <p>
+ * Animals and rangers share the {@link MovementClass#ANIMAL} terrain, and animals
+ * walking across grass do not change it.
+ * </p>
+ */
+public class ConnectivityIndex implements TerrainListener {
+
+    /** Row offsets of the neighbour directions; the first four are straight steps. */
+    private static final int[] DX = {-1, 1, 0, 0, -1, -1, 1, 1};
+
+    /** Column offsets of the neighbour directions; the first four are straight steps. */
+    private static final int[] DY = {0, 0, -1, 1, -1, 1, -1, 1};
+
+    /** Component of cells that cannot be entered. */
+    public static final int NONE = -1;
+
+    private final Grid grid;
+    private final MovementClass movementClass;
+    private final int rows;
+    private final int cols;
+    private final int directions;
+
+    /** Label of every cell, or {@link #NONE}; null until the first query. */
+    private int[] label;
+
+    /** Union-find parent of every label. */
+    private int[] parent = new int[16];
+
+    /** Number of labels handed out. */
+    private int labelCount = 0;
+
+    /** Cells that became impassable and may have split their component. */
+    private final BitSet pending = new BitSet();
+
+    /** Queue for flood fills, kept between fills. */
+    private int[] queue;
+
+    /** Number of cells labelled by flood fills, including the first labelling. */
+    private long relabelledCells = 0;
+
+    /**
+     * Constructs a ConnectivityIndex. The grid is labelled on the first query.
+     *
+     * @param grid The grid to label
+     * @param movementClass The movement class deciding which cells are passable and connected
+     */
+    public ConnectivityIndex(Grid grid, MovementClass movementClass) {
+        this.grid = grid;
+        this.movementClass = movementClass;
+        this.rows = grid.getRows();
+        this.cols = grid.getColumns();
+        this.directions = movementClass.allowsDiagonal() ? 8 : 4;
+        grid.addTerrainListener(this);
+    }
+
+    /**
+     * Checks whether one cell can be reached from another.
+     *
+     * @param from The first cell
+     * @param to The second cell
+     * @return true if both cells are passable and in the same component
+     */
+    public boolean isConnected(Coordinate from, Coordinate to) {
+        int component = getComponent(from.getX(), from.getY());
+        return component != NONE && component == getComponent(to.getX(), to.getY());
+    }
+
+    /**
+     * Gets the component of a cell.
+     * <p>
+     * Component numbers are only meant for comparing with each other; they can
+     * change when the terrain does.
+     * </p>
+     *
+     * @param row Row index
+     * @param col Column index
+     * @return The component, or {@link #NONE} if the cell is outside the grid or impassable
+     */
+    public int getComponent(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            return NONE;
+        }
+        ensureCurrent();
+        int l = label[row * cols + col];
+        return l == NONE ? NONE : find(l);
+    }
+
+    /**
+     * Gets the number of cells labelled by flood fills so far, useful to check that
+     * terrain changes are handled without relabelling the grid.
+     *
+     * @return The number of cells labelled
+     */
+    public long getRelabelledCells() {
+        return relabelledCells;
+    }
+
+    /**
+     * Gets the movement class the components are built for.
+     *
+     * @return The movement class
+     */
+    public MovementClass getMovementClass() {
+        return movementClass;
+    }
+
+    /**
+     * Joins cells that became passable to their neighbours and notes cells that
+     * became impassable.
+     */
+    @Override
+    public void onTerrainChanged(int top, int left, int bottom, int right) {
+        if (label == null) {
+            return;
+        }
+        for (int r = Math.max(0, top); r < Math.min(rows, bottom); r++) {
+            for (int c = Math.max(0, left); c < Math.min(cols, right); c++) {
+                int cell = r * cols + c;
+                boolean passable = isPassable(r, c);
+                if (passable && label[cell] == NONE) {
+                    join(r, c);
+                } else if (!passable && label[cell] != NONE) {
+                    label[cell] = NONE;
+                    // Exact labels stay exact if the cell was not holding its neighbours together
+                    if (!pending.isEmpty() || !neighboursStayConnected(r, c)) {
+                        pending.set(cell);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Labels the whole grid on first use, and relabels the components that may
+     * have split since the last query.
+     */
+    private void ensureCurrent() {
+        if (label == null || labelCount > rows * cols) {
+            // Start over once the abandoned labels outnumber the cells
+            label = new int[rows * cols];
+            Arrays.fill(label, NONE);
+            labelCount = 0;
+            pending.clear();
+            for (int cell = 0; cell < label.length; cell++) {
+                if (label[cell] == NONE && isPassable(cell / cols, cell % cols)) {
+                    flood(cell, newLabel());
+                }
+            }
+            return;
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+        int fresh = labelCount;
+        for (int cell = pending.nextSetBit(0); cell >= 0; cell = pending.nextSetBit(cell + 1)) {
+            int row = cell / cols;
+            int col = cell % cols;
+            for (int d = 0; d < directions; d++) {
+                int nr = row + DX[d];
+                int nc = col + DY[d];
+                if (isPassable(nr, nc) && label[nr * cols + nc] < fresh) {
+                    flood(nr * cols + nc, newLabel());
+                }
+            }
+        }
+        pending.clear();
+    }
+
+    /**
+     * Gives a cell that became passable a label shared with its labelled neighbours.
+     */
+    private void join(int row, int col) {
+        int root = NONE;
+        for (int d = 0; d < directions; d++) {
+            int nr = row + DX[d];
+            int nc = col + DY[d];
+            // Neighbours changed in the same batch are joined when their own turn comes
+            if (!isPassable(nr, nc) || label[nr * cols + nc] == NONE) {
+                continue;
+            }
+            int other = find(label[nr * cols + nc]);
+            if (root == NONE) {
+                root = other;
+            } else if (other != root) {
+                parent[other] = root;
+            }
+        }
+        label[row * cols + col] = root == NONE ? newLabel() : root;
+    }
+
+    /**
+     * Checks whether the passable neighbours of a cell are connected to each other
+     * within the 3 x 3 block around it, without passing through the cell.
+     */
+    private boolean neighboursStayConnected(int row, int col) {
+        boolean[] open = new boolean[8];
+        int first = -1;
+        for (int d = 0; d < 8; d++) {
+            open[d] = isPassable(row + DX[d], col + DY[d]);
+            if (open[d] && d < directions && first < 0) {
+                first = d;
+            }
+        }
+        if (first < 0) {
+            return true;
+        }
+        boolean[] reached = new boolean[8];
+        int[] stack = new int[8];
+        int size = 0;
+        reached[first] = true;
+        stack[size++] = first;
+        while (size > 0) {
+            int d = stack[--size];
+            for (int e = 0; e < 8; e++) {
+                if (open[e] && !reached[e] && areNeighbours(DX[d], DY[d], DX[e], DY[e])) {
+                    reached[e] = true;
+                    stack[size++] = e;
+                }
+            }
+        }
+        for (int d = 0; d < directions; d++) {
+            if (open[d] && !reached[d]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean areNeighbours(int r1, int c1, int r2, int c2) {
+        int dr = Math.abs(r1 - r2);
+        int dc = Math.abs(c1 - c2);
+        return movementClass.allowsDiagonal() ? Math.max(dr, dc) == 1 : dr + dc == 1;
+    }
+
+    /**
+     * Labels every passable cell reachable from a cell.
+     */
+    private void flood(int start, int newLabel) {
+        if (queue == null) {
+            queue = new int[rows * cols];
+        }
+        int head = 0;
+        int tail = 0;
+        label[start] = newLabel;
+        queue[tail++] = start;
+        while (head < tail) {
+            int cell = queue[head++];
+            int row = cell / cols;
+            int col = cell % cols;
+            for (int d = 0; d < directions; d++) {
+                int nr = row + DX[d];
+                int nc = col + DY[d];
+                if (isPassable(nr, nc) && label[nr * cols + nc] != newLabel) {
+                    label[nr * cols + nc] = newLabel;
+                    queue[tail++] = nr * cols + nc;
+                }
+            }
+        }
+        relabelledCells += tail;
+    }
+
+    private int newLabel() {
+        if (labelCount == parent.length) {
+            parent = Arrays.copyOf(parent, parent.length * 2);
+        }
+        parent[labelCount] = labelCount;
+        return labelCount++;
+    }
+
+    private int find(int l) {
+        while (parent[l] != l) {
+            parent[l] = parent[parent[l]];
+            l = parent[l];
+        }
+        return l;
+    }
+
+    private boolean isPassable(int row, int col) {
+        return row >= 0 && row < rows && col >= 0 && col < cols && movementClass.canEnter(grid.getCellType(row, col));
+    }
+}
@@ -12,6 +12,11 @@ package my.company.my.safarigame.model;
  * Coordinates are used throughout the game to track positions of animals,
  * cells, and other objects in the safari world.
  * </p>
+ * <p>
+ * Positions change on every move, so code that runs every step should get its
+ * coordinates from {@link #of(int, int)}, which hands out shared instances for
+ * all cells of a map instead of allocating a new object each time.
+ * </p>
  *
  * @author Muhammad Eman Aftab
  */
@@ -21,6 +26,12 @@ public class Coordinate {
     
     /** The y-coordinate (vertical position). */
     public final int y;
+
+    /** Number of rows and columns covered by the shared instances. */
+    private static final int CACHE_SIZE = 256;
+
+    /** Shared instances by {@code x * CACHE_SIZE + y}, created on first use. */
+    private static final Coordinate[] CACHE = new Coordinate[CACHE_SIZE * CACHE_SIZE];
     
     /**
      * Constructs a new Coordinate with the specified x and y values.
@@ -33,6 +44,32 @@ public class Coordinate {
         this.y = y;
     }
     
+    /**
+     * Gets the coordinate for the given values, reusing a shared instance for
+     * coordinates between 0 and 255.
+     * <p>
+     * Coordinates are immutable, so shared instances can be used anywhere a new
+     * one would be. Two threads may briefly create the same coordinate twice,
+     * which is harmless since instances are only ever compared with equals.
+     * </p>
+     *
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     * @return A coordinate equal to {@code new Coordinate(x, y)}
+     */
+    public static Coordinate of(int x, int y) {
+        if (x < 0 || x >= CACHE_SIZE || y < 0 || y >= CACHE_SIZE) {
+            return new Coordinate(x, y);
+        }
+        int index = x * CACHE_SIZE + y;
+        Coordinate coordinate = CACHE[index];
+        if (coordinate == null) {
+            coordinate = new Coordinate(x, y);
+            CACHE[index] = coordinate;
+        }
+        return coordinate;
+    }
+
     /**
      * Returns a string representation of this coordinate.
      * <p>
@@ -0,0 +1,27 @@
+package my.company.my.safarigame.model;
+
+/**
+ * Interface for game objects that can be referred to by a compact id.
+ * <p>
+ * Animals, plants and the other landscape objects, jeeps, rangers and tourists
+ * get their id from the {@link EntityIds} of the map they are added to. Objects
+ * that are not on a map, such as items in the market or the inventory, have the
+ * id {@link EntityIds#NONE}.
+ * </p>
+ */
+public interface Entity {
+
+    /**
+     * Gets the id of this entity.
+     *
+     * @return The id, or {@link EntityIds#NONE} if the entity has none
+     */
+    int getId();
+
+    /**
+     * Sets the id of this entity. Called by {@link EntityIds} only.
+     *
+     * @param id The new id
+     */
+    void setId(int id);
+}
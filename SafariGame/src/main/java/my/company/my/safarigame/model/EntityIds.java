@@ -0,0 +1,156 @@
+package my.company.my.safarigame.model;
+
+import java.util.Arrays;
+
+/**
+ * Hands out generational ids for entities.
+ * <p>
+ * An id packs a slot index into its low {@value #INDEX_BITS} bits and the
+ * generation of the slot above them. Slots of released ids are reused, so the
+ * indices stay small enough to index plain arrays, see {@link EntityTable}.
+ * Every reuse bumps the generation of the slot, so an id kept after its entity
+ * was removed never matches the entity that takes the slot next.
+ * </p>
+ * <p>
+ * Each slot also remembers the entity registered with it, so an entity that
+ * brings an id from elsewhere, such as another map, never shares it with the
+ * entity holding that id here.
+ * </p>
+ */
+public class EntityIds {
+
+    /** The id of entities that have none. */
+    public static final int NONE = 0;
+
+    /** Number of bits holding the slot index. */
+    public static final int INDEX_BITS = 20;
+
+    private static final int INDEX_MASK = (1 << INDEX_BITS) - 1;
+
+    /** Generations wrap to 1 before they would make an id negative. */
+    private static final int MAX_GENERATION = (Integer.MAX_VALUE >>> INDEX_BITS);
+
+    /** Current generation of each slot. */
+    private int[] generations = new int[64];
+
+    /** Entity registered with each slot, null for ids that were only allocated. */
+    private Entity[] owners = new Entity[64];
+
+    /** Number of slots handed out so far. */
+    private int slots = 0;
+
+    /** Released slots waiting to be reused. */
+    private int[] free = new int[16];
+
+    /** Number of entries in {@link #free}. */
+    private int freeCount = 0;
+
+    /** Number of ids currently alive. */
+    private int alive = 0;
+
+    /**
+     * Allocates a new id.
+     *
+     * @return The id, never {@link #NONE}
+     * @throws IllegalStateException If all slots are in use
+     */
+    public int allocate() {
+        int index;
+        if (freeCount > 0) {
+            index = free[--freeCount];
+        } else {
+            if (slots > INDEX_MASK) {
+                throw new IllegalStateException("Out of entity ids");
+            }
+            index = slots++;
+            if (index == generations.length) {
+                generations = Arrays.copyOf(generations, index * 2);
+                owners = Arrays.copyOf(owners, index * 2);
+            }
+            generations[index] = 1;
+        }
+        alive++;
+        return (generations[index] << INDEX_BITS) | index;
+    }
+
+    /**
+     * Releases an id so its slot can be reused. Releasing an id that is not
+     * alive does nothing.
+     *
+     * @param id The id to release
+     */
+    public void release(int id) {
+        if (!isAlive(id)) {
+            return;
+        }
+        int index = indexOf(id);
+        int generation = generations[index] + 1;
+        generations[index] = generation > MAX_GENERATION ? 1 : generation;
+        owners[index] = null;
+        if (freeCount == free.length) {
+            free = Arrays.copyOf(free, freeCount * 2);
+        }
+        free[freeCount++] = index;
+        alive--;
+    }
+
+    /**
+     * Checks whether an id was allocated here and has not been released.
+     *
+     * @param id The id to check
+     * @return true if the id is alive
+     */
+    public boolean isAlive(int id) {
+        if (id <= NONE) {
+            return false;
+        }
+        int index = indexOf(id);
+        return index < slots && generations[index] == generationOf(id);
+    }
+
+    /**
+     * Gives an entity an id, unless it already has one that was registered
+     * here for it and is still alive.
+     *
+     * @param entity The entity
+     * @return The id of the entity
+     */
+    public int register(Entity entity) {
+        int id = entity.getId();
+        if (!isAlive(id) || owners[indexOf(id)] != entity) {
+            id = allocate();
+            owners[indexOf(id)] = entity;
+            entity.setId(id);
+        }
+        return id;
+    }
+
+    /**
+     * Gets the number of ids currently alive.
+     *
+     * @return The number of live ids
+     */
+    public int size() {
+        return alive;
+    }
+
+    /**
+     * Gets the slot index of an id, for indexing arrays.
+     *
+     * @param id The id
+     * @return The slot index
+     */
+    public static int indexOf(int id) {
+        return id & INDEX_MASK;
+    }
+
+    /**
+     * Gets the generation of an id.
+     *
+     * @param id The id
+     * @return The generation
+     */
+    public static int generationOf(int id) {
+        return id >>> INDEX_BITS;
+    }
+}
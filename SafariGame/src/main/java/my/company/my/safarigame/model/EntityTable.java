@@ -0,0 +1,166 @@
+package my.company.my.safarigame.model;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Maps entity ids to values in plain arrays, indexed by the slot of the id.
+ * <p>
+ * Replaces hash maps keyed by entity objects. Lookups are an array access and a
+ * compare of the stored id, so an id whose entity was removed and whose slot was
+ * reused finds nothing instead of the new entity's value.
+ * </p>
+ *
+ * @param <T> The type of the values
+ */
+public class EntityTable<T> {
+
+    /** The id stored in each slot, {@link EntityIds#NONE} if the slot is empty. */
+    private int[] ids = new int[64];
+
+    /** The value stored in each slot. */
+    private Object[] values = new Object[64];
+
+    /** Number of entries. */
+    private int size = 0;
+
+    /**
+     * Gets the value stored for an id.
+     *
+     * @param id The id
+     * @return The value, or null if there is none
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int id) {
+        int index = EntityIds.indexOf(id);
+        if (id == EntityIds.NONE || index >= ids.length || ids[index] != id) {
+            return null;
+        }
+        return (T) values[index];
+    }
+
+    /**
+     * Checks whether a value is stored for an id.
+     *
+     * @param id The id
+     * @return true if the table has an entry for the id
+     */
+    public boolean containsKey(int id) {
+        int index = EntityIds.indexOf(id);
+        return id != EntityIds.NONE && index < ids.length && ids[index] == id;
+    }
+
+    /**
+     * Stores a value for an id, replacing the entry of any older id in the same slot.
+     *
+     * @param id The id
+     * @param value The value
+     * @return The value previously stored for the id, or null
+     * @throws IllegalArgumentException If the id is {@link EntityIds#NONE} or the value is null
+     */
+    public T put(int id, T value) {
+        if (id == EntityIds.NONE || value == null) {
+            throw new IllegalArgumentException("Cannot store " + value + " for entity id " + id);
+        }
+        int index = EntityIds.indexOf(id);
+        if (index >= ids.length) {
+            int length = Math.max(index + 1, ids.length * 2);
+            ids = Arrays.copyOf(ids, length);
+            values = Arrays.copyOf(values, length);
+        }
+        T old = get(id);
+        if (ids[index] == EntityIds.NONE) {
+            size++;
+        }
+        ids[index] = id;
+        values[index] = value;
+        return old;
+    }
+
+    /**
+     * Removes the entry of an id.
+     *
+     * @param id The id
+     * @return The value that was stored, or null
+     */
+    public T remove(int id) {
+        T old = get(id);
+        if (old != null) {
+            int index = EntityIds.indexOf(id);
+            ids[index] = EntityIds.NONE;
+            values[index] = null;
+            size--;
+        }
+        return old;
+    }
+
+    /**
+     * Gets the number of entries.
+     *
+     * @return The number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the ids of all entries, in slot order.
+     *
+     * @return A new array of ids
+     */
+    public int[] keys() {
+        int[] keys = new int[size];
+        int n = 0;
+        for (int i = 0; i < ids.length && n < size; i++) {
+            if (ids[i] != EntityIds.NONE) {
+                keys[n++] = ids[i];
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Gets the number of slots, for walking the entries in place with
+     * {@link #keyAt(int)}.
+     *
+     * @return The number of slots
+     */
+    public int capacity() {
+        return ids.length;
+    }
+
+    /**
+     * Gets the id stored in a slot. Walking the slots up to {@link #capacity()}
+     * visits the entries without copying them, and keeps working while entries
+     * are removed on the way.
+     *
+     * @param slot The slot index
+     * @return The id, or {@link EntityIds#NONE} if the slot is empty
+     */
+    public int keyAt(int slot) {
+        return ids[slot];
+    }
+
+    /**
+     * Passes every value to a consumer, in slot order.
+     *
+     * @param action The consumer
+     */
+    @SuppressWarnings("unchecked")
+    public void forEachValue(Consumer<? super T> action) {
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] != EntityIds.NONE) {
+                action.accept((T) values[i]);
+            }
+        }
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        Arrays.fill(ids, EntityIds.NONE);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+}
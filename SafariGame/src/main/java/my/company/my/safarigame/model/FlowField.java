@@ -0,0 +1,217 @@
+package my.company.my.safarigame.model;
+
+import java.util.*;
+
+/**
+ * A precomputed map of directions toward a shared target.
+ * <p>
+ * The field is built with a single breadth-first search that starts from every
+ * target cell at once (for example all pond cells). Afterwards every cell knows its
+ * distance to the nearest target and which neighbour lies one step closer, so any
+ * number of animals heading for the same target only need an array lookup to pick
+ * their next step.
+ * </p>
+ * <p>
+ * A field only looks at terrain. It remembers the terrain version of the grid it
+ * was built from, and {@link FlowFieldCache} rebuilds it when the terrain changes.
+ * </p>
+ */
+public class FlowField {
+
+    /** Row offsets of the neighbour directions; the first four are straight steps. */
+    private static final int[] DX = {-1, 1, 0, 0, -1, -1, 1, 1};
+
+    /** Column offsets of the neighbour directions; the first four are straight steps. */
+    private static final int[] DY = {0, 0, -1, 1, -1, 1, -1, 1};
+
+    /** Marker for cells from which no target can be reached. */
+    public static final int UNREACHABLE = -1;
+
+    /** The grid this field was built for. */
+    private final Grid grid;
+
+    /** Terrain version of the grid for the movement class when the field was built. */
+    private final long terrainVersion;
+
+    /** The movement class the field was built for. */
+    private final MovementClass movementClass;
+
+    /** Number of columns, used to compute cell indices. */
+    private final int cols;
+
+    /** Distance of every cell to the nearest target, or {@link #UNREACHABLE}. */
+    private final int[] distance;
+
+    /** Direction index of the best next step for every cell, or -1. */
+    private final byte[] next;
+
+    /**
+     * Builds a flow field toward the given target cells.
+     *
+     * @param grid The grid to build the field on
+     * @param movementClass The movement class that will follow the field
+     * @param targets The target cells
+     */
+    public FlowField(Grid grid, MovementClass movementClass, Collection<Coordinate> targets) {
+        this.grid = grid;
+        this.terrainVersion = grid.getTerrainVersion(movementClass);
+        this.movementClass = movementClass;
+        this.cols = grid.getColumns();
+        int rows = grid.getRows();
+        this.distance = new int[rows * cols];
+        this.next = new byte[rows * cols];
+        Arrays.fill(distance, UNREACHABLE);
+        Arrays.fill(next, (byte) -1);
+
+        int directions = movementClass.allowsDiagonal() ? 8 : 4;
+        int[] queue = new int[rows * cols];
+        int head = 0;
+        int tail = 0;
+        for (Coordinate target : targets) {
+            if (inBounds(target.getX(), target.getY())) {
+                int index = target.getX() * cols + target.getY();
+                if (distance[index] == UNREACHABLE) {
+                    distance[index] = 0;
+                    queue[tail++] = index;
+                }
+            }
+        }
+
+        while (head < tail) {
+            int index = queue[head++];
+            int row = index / cols;
+            int col = index % cols;
+            for (int d = 0; d < directions; d++) {
+                int nr = row + DX[d];
+                int nc = col + DY[d];
+                if (!inBounds(nr, nc) || !movementClass.canEnter(grid.getCellType(nr, nc))) {
+                    continue;
+                }
+                int neighbour = nr * cols + nc;
+                if (distance[neighbour] == UNREACHABLE) {
+                    distance[neighbour] = distance[index] + 1;
+                    // The neighbour steps back the way the search came
+                    next[neighbour] = (byte) opposite(d);
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether this field still matches the terrain of a grid.
+     *
+     * @param grid The grid to check against
+     * @return True if the field was built for this grid and its terrain has not changed since
+     */
+    public boolean isCurrent(Grid grid) {
+        return this.grid == grid && terrainVersion == grid.getTerrainVersion(movementClass);
+    }
+
+    /**
+     * Gets the distance from a cell to the nearest target.
+     *
+     * @param row Row index
+     * @param col Column index
+     * @return Number of steps, 0 on a target, or {@link #UNREACHABLE}
+     */
+    public int getDistance(int row, int col) {
+        return inBounds(row, col) ? distance[row * cols + col] : UNREACHABLE;
+    }
+
+    /**
+     * Gets the next step toward the nearest target, ignoring occupants.
+     *
+     * @param row Row index
+     * @param col Column index
+     * @return The next cell, or null if the cell is a target or cannot reach one
+     */
+    public Coordinate getNextStep(int row, int col) {
+        if (!inBounds(row, col)) {
+            return null;
+        }
+        int d = next[row * cols + col];
+        return d < 0 ? null : Coordinate.of(row + DX[d], col + DY[d]);
+    }
+
+    /**
+     * Gets a free next step toward the nearest target.
+     * <p>
+     * The precomputed step is tried first. If another object is standing there,
+     * any other free neighbour that is also closer to the target is used instead,
+     * so animals crowding toward the same pond flow around each other. Target
+     * cells themselves are never returned.
+     * </p>
+     *
+     * @param row Row index
+     * @param col Column index
+     * @return A free cell one step closer to the target, or null if there is none
+     */
+    public Coordinate getFreeStep(int row, int col) {
+        Coordinate best = getNextStep(row, col);
+        if (best != null && isFreeStep(best.getX(), best.getY())) {
+            return best;
+        }
+        int current = getDistance(row, col);
+        if (current <= 1) {
+            return null;
+        }
+        int directions = movementClass.allowsDiagonal() ? 8 : 4;
+        for (int d = 0; d < directions; d++) {
+            int nr = row + DX[d];
+            int nc = col + DY[d];
+            int dist = getDistance(nr, nc);
+            if (dist != UNREACHABLE && dist < current && isFreeStep(nr, nc)) {
+                return Coordinate.of(nr, nc);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Follows the field from a cell all the way to the nearest target.
+     *
+     * @param row Starting row
+     * @param col Starting column
+     * @return The path including the start and target cells, or an empty list if no target is reachable
+     */
+    public List<Coordinate> tracePath(int row, int col) {
+        List<Coordinate> path = new ArrayList<>();
+        if (getDistance(row, col) == UNREACHABLE) {
+            return path;
+        }
+        Coordinate current = Coordinate.of(row, col);
+        path.add(current);
+        while (getDistance(current.getX(), current.getY()) > 0) {
+            current = getNextStep(current.getX(), current.getY());
+            path.add(current);
+        }
+        return path;
+    }
+
+    /**
+     * Gets the movement class this field was built for.
+     *
+     * @return The movement class
+     */
+    public MovementClass getMovementClass() {
+        return movementClass;
+    }
+
+    private boolean isFreeStep(int row, int col) {
+        return getDistance(row, col) > 0
+                && movementClass.canEnter(grid.getCellType(row, col))
+                && !grid.isOccupied(row, col);
+    }
+
+    private boolean inBounds(int row, int col) {
+        return row >= 0 && row < grid.getRows() && col >= 0 && col < cols;
+    }
+
+    /**
+     * Gets the index of the direction pointing the opposite way.
+     */
+    private static int opposite(int d) {
+        return d < 4 ? d ^ 1 : 11 - d;
+    }
+}
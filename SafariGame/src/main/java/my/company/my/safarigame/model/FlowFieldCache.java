@@ -0,0 +1,112 @@
+package my.company.my.safarigame.model;
+
+import java.util.*;
+import my.company.my.safarigame.metrics.LatencyHistogram;
+import my.company.my.safarigame.metrics.MetricsRegistry;
+
+/**
+ * Caches the flow fields for the targets that many objects head for at once.
+ * <p>
+ * Fields are built the first time they are requested and reused until the terrain
+ * of the grid changes. Animals walking around do not count as terrain changes, so in
+ * normal play the water and grazing fields are only rebuilt when the player places or
+ * removes something, or a plant is eaten.
+ * </p>
+ */
+public class FlowFieldCache {
+
+    /** Key of the field leading to water. */
+    private static final String WATER = "water";
+
+    /** Key of the field leading to vegetation. */
+    private static final String GRAZING = "grazing";
+
+    /** Time spent building flow fields. */
+    private static final LatencyHistogram BUILD_TIME = MetricsRegistry.getInstance().histogram("path.flowfield.build");
+
+    /** The cached fields by target key. */
+    private final Map<String, FlowField> fields = new HashMap<>();
+
+    /** Number of fields built since the cache was created. */
+    private int buildCount = 0;
+
+    /**
+     * Gets the field leading animals to the nearest pond.
+     *
+     * @param grid The grid to navigate
+     * @return The water flow field
+     */
+    public FlowField getWaterField(Grid grid) {
+        return getField(WATER, grid, MovementClass.ANIMAL, "P");
+    }
+
+    /**
+     * Gets the field leading herbivores to the nearest plant, bush or shrub.
+     *
+     * @param grid The grid to navigate
+     * @return The grazing flow field
+     */
+    public FlowField getGrazingField(Grid grid) {
+        return getField(GRAZING, grid, MovementClass.ANIMAL, "pbh");
+    }
+
+    /**
+     * Gets the field leading to a single target cell, such as the safari exit.
+     *
+     * @param grid The grid to navigate
+     * @param movementClass The movement class following the field
+     * @param target The target cell
+     * @return The flow field toward the target
+     */
+    public FlowField getFieldTo(Grid grid, MovementClass movementClass, Coordinate target) {
+        String key = movementClass + "@" + target.getX() + "," + target.getY();
+        FlowField field = fields.get(key);
+        if (field == null || !field.isCurrent(grid)) {
+            long start = System.nanoTime();
+            field = new FlowField(grid, movementClass, Collections.singletonList(target));
+            BUILD_TIME.recordSince(start);
+            fields.put(key, field);
+            buildCount++;
+        }
+        return field;
+    }
+
+    /**
+     * Gets the number of fields that have been built, useful to check the cache is effective.
+     *
+     * @return The number of field builds
+     */
+    public int getBuildCount() {
+        return buildCount;
+    }
+
+    /**
+     * Drops all cached fields.
+     */
+    public void clear() {
+        fields.clear();
+    }
+
+    /**
+     * Returns a cached field, rebuilding it toward every cell of the given types if needed.
+     */
+    private FlowField getField(String key, Grid grid, MovementClass movementClass, String targetTypes) {
+        FlowField field = fields.get(key);
+        if (field == null || !field.isCurrent(grid)) {
+            List<Coordinate> targets = new ArrayList<>();
+            for (int r = 0; r < grid.getRows(); r++) {
+                for (int c = 0; c < grid.getColumns(); c++) {
+                    if (targetTypes.indexOf(grid.getCellType(r, c)) >= 0) {
+                        targets.add(Coordinate.of(r, c));
+                    }
+                }
+            }
+            long start = System.nanoTime();
+            field = new FlowField(grid, movementClass, targets);
+            BUILD_TIME.recordSince(start);
+            fields.put(key, field);
+            buildCount++;
+        }
+        return field;
+    }
+}
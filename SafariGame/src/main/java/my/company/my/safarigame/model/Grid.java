@@ -10,8 +10,23 @@ import java.util.*;
  * occupation status, and terrain type. It provides methods for accessing cells,
  * getting neighbors, and managing the grid layout.
  * </p>
+ * <p>
+ * Cells are stored in chunks of {@link #CHUNK_SIZE} x {@link #CHUNK_SIZE}. A chunk
+ * whose cells all have the same type and are unoccupied is stored as that type
+ * alone; its Cell objects are only created once a cell in it is fetched with
+ * {@link #getCell(int, int)} or changes. Reading types and occupation through
+ * {@link #getCellType(int, int)} and {@link #isOccupied(int, int)} never creates
+ * cells, so a large reserve that is mostly grass takes memory for its content only.
+ * </p>
  */
 public class Grid {
+
+    /** Number of bits of a row or column index within its chunk. */
+    public static final int CHUNK_BITS = 6;
+
+    /** Number of rows and columns of a chunk. */
+    public static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
     /** The number of rows in the grid. */
     private int rows;
     
@@ -21,13 +36,32 @@ public class Grid {
     /** The size of each cell in pixels. */
     private int cellSize;
     
-    /** The 2D array of cells that make up the grid. */
-    private Cell[][] cells;
+    /** Number of chunk rows and chunk columns. */
+    private final int chunkRows;
+    private final int chunkCols;
+
+    /** The cells of every chunk, row by row within the chunk, or null for a uniform chunk. */
+    private final Cell[][] chunks;
+
+    /** The cell type of every uniform chunk. */
+    private final char[] chunkFill;
+
+    /** Incremented whenever the terrain changes, so cached paths know to rebuild. */
+    private long terrainVersion = 0;
+
+    /** The movement classes, in the order of {@link #classVersions}. */
+    private static final MovementClass[] MOVEMENT_CLASSES = MovementClass.values();
+
+    /** Terrain version of every movement class, by ordinal. */
+    private final long[] classVersions = new long[MOVEMENT_CLASSES.length];
+
+    /** Listeners told about terrain changes. */
+    private final List<TerrainListener> terrainListeners = new ArrayList<>();
     
     /**
      * Constructs a new Grid with the specified dimensions and cell size.
      * <p>
-     * Initializes all cells with empty Cells at their respective coordinates.
+     * All cells start as unoccupied grass; no Cell objects are created until needed.
      * </p>
      *
      * @param rows The number of rows in the grid
@@ -38,12 +72,11 @@ public class Grid {
         this.rows = rows;
         this.columns = columns;
         this.cellSize = cellSize;
-        cells = new Cell[rows][columns];
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < columns; c++) {
-                cells[r][c] = new Cell(new Coordinate(r, c));
-            }
-        }
+        chunkRows = (rows + CHUNK_SIZE - 1) >> CHUNK_BITS;
+        chunkCols = (columns + CHUNK_SIZE - 1) >> CHUNK_BITS;
+        chunks = new Cell[chunkRows * chunkCols][];
+        chunkFill = new char[chunkRows * chunkCols];
+        Arrays.fill(chunkFill, '-');
     }
     
     /**
@@ -65,6 +98,10 @@ public class Grid {
     
     /**
      * Gets the cell at the specified row and column.
+     * <p>
+     * The cell may be changed by the caller, so the cells of its chunk are created
+     * if the chunk was uniform.
+     * </p>
      *
      * @param row Row index of the cell
      * @param col Column index of the cell
@@ -72,7 +109,7 @@ public class Grid {
      */
     public Cell getCell(int row, int col) {
         if (row >= 0 && row < rows && col >= 0 && col < columns)
-            return cells[row][col];
+            return materialize(chunkOf(row, col))[offsetInChunk(row, col)];
         return null;
     }
     
@@ -84,8 +121,11 @@ public class Grid {
      * @return true if the cell exists and is occupied, false otherwise
      */
     public boolean isOccupied(int row, int col) {
-        Cell cell = getCell(row, col);
-        return cell != null && cell.isOccupied();
+        if (row < 0 || row >= rows || col < 0 || col >= columns) {
+            return false;
+        }
+        Cell[] cells = chunks[chunkOf(row, col)];
+        return cells != null && cells[offsetInChunk(row, col)].isOccupied();
     }
     
     /**
@@ -96,8 +136,12 @@ public class Grid {
      * @return Character representing the cell type, or null character if out of bounds
      */
     public char getCellType(int row, int col) {
-        Cell cell = getCell(row, col);
-        return cell != null ? cell.getCellType() : '\0';
+        if (row < 0 || row >= rows || col < 0 || col >= columns) {
+            return '\0';
+        }
+        int chunk = chunkOf(row, col);
+        Cell[] cells = chunks[chunk];
+        return cells != null ? cells[offsetInChunk(row, col)].getCellType() : chunkFill[chunk];
     }
     
     /**
@@ -137,6 +181,41 @@ public class Grid {
      */
     public int getColumns() { return columns; }
     
+    /**
+     * Packs a cell position into a single index, row by row.
+     * <p>
+     * Code that visits many cells per step can keep indices in int arrays or
+     * bit sets instead of allocating coordinates.
+     * </p>
+     *
+     * @param row Row index of the cell
+     * @param col Column index of the cell
+     * @return The index, between 0 and {@code getRows() * getColumns() - 1} for cells on the grid
+     */
+    public int index(int row, int col) {
+        return row * columns + col;
+    }
+
+    /**
+     * Gets the row of a packed cell index.
+     *
+     * @param index The index from {@link #index(int, int)}
+     * @return The row
+     */
+    public int rowOf(int index) {
+        return index / columns;
+    }
+
+    /**
+     * Gets the column of a packed cell index.
+     *
+     * @param index The index from {@link #index(int, int)}
+     * @return The column
+     */
+    public int colOf(int index) {
+        return index % columns;
+    }
+
     /**
      * Gets the size of each cell in pixels.
      *
@@ -152,9 +231,14 @@ public class Grid {
      * @param cellType Character representing the new cell type
      */
     public void setCellType(int row, int col, char cellType) {
+        if (getCellType(row, col) == cellType && chunks[chunkOf(row, col)] == null) {
+            return;
+        }
         Cell cell = getCell(row, col);
         if (cell != null) {
+            char oldType = cell.getCellType();
             cell.setCellType(cellType);
+            markTerrainChange(row, col, oldType, cellType);
         }
     }
     
@@ -165,10 +249,240 @@ public class Grid {
      * @param col Column index of the cell
      */
     public void clearCell(int row, int col) {
+        if (getCellType(row, col) == '-' && chunks[chunkOf(row, col)] == null) {
+            return;
+        }
         Cell cell = getCell(row, col);
         if (cell != null) {
+            char oldType = cell.getCellType();
             cell.setOccupied(false);
             cell.setCellType('-'); // Reset to default grass type
+            markTerrainChange(row, col, oldType, '-');
+        }
+    }
+
+    /**
+     * Gets the terrain version of the grid.
+     * <p>
+     * The version increases every time a cell changes between passable and
+     * blocked for any movement class. Animals and rangers moving across grass do
+     * not change the version.
+     * </p>
+     *
+     * @return The current terrain version
+     */
+    public long getTerrainVersion() {
+        return terrainVersion;
+    }
+
+    /**
+     * Gets the terrain version of the grid as seen by one movement class.
+     * <p>
+     * The version increases only when a cell changes between passable and
+     * blocked for that class, so a plant being eaten does not outdate the
+     * routes of jeeps, and a road curve being laid does not outdate those of
+     * animals.
+     * </p>
+     *
+     * @param movementClass The movement class
+     * @return The current terrain version of the class
+     */
+    public long getTerrainVersion(MovementClass movementClass) {
+        return classVersions[movementClass.ordinal()];
+    }
+
+    /**
+     * Adds a listener to be told about terrain changes.
+     *
+     * @param listener The listener to add
+     */
+    public void addTerrainListener(TerrainListener listener) {
+        terrainListeners.add(listener);
+    }
+
+    /**
+     * Removes a terrain listener.
+     *
+     * @param listener The listener to remove
+     */
+    public void removeTerrainListener(TerrainListener listener) {
+        terrainListeners.remove(listener);
+    }
+
+    /**
+     * Gets the number of chunk rows.
+     *
+     * @return The number of chunks from top to bottom
+     */
+    public int getChunkRows() {
+        return chunkRows;
+    }
+
+    /**
+     * Gets the number of chunk columns.
+     *
+     * @return The number of chunks from left to right
+     */
+    public int getChunkColumns() {
+        return chunkCols;
+    }
+
+    /**
+     * Checks whether the cells of a chunk have been created.
+     *
+     * @param chunkRow Row of the chunk
+     * @param chunkCol Column of the chunk
+     * @return true if the chunk holds its own cells, false if it is uniform
+     */
+    public boolean isChunkMaterialized(int chunkRow, int chunkCol) {
+        return chunks[chunkRow * chunkCols + chunkCol] != null;
+    }
+
+    /**
+     * Gets the cell type of a uniform chunk.
+     *
+     * @param chunkRow Row of the chunk
+     * @param chunkCol Column of the chunk
+     * @return The type of all its cells, or the null character if the chunk is materialized
+     */
+    public char getChunkFill(int chunkRow, int chunkCol) {
+        int chunk = chunkRow * chunkCols + chunkCol;
+        return chunks[chunk] == null ? chunkFill[chunk] : '\0';
+    }
+
+    /**
+     * Makes a whole chunk uniform, dropping its cells. Its cells become unoccupied.
+     *
+     * @param chunkRow Row of the chunk
+     * @param chunkCol Column of the chunk
+     * @param cellType The type of all its cells
+     */
+    public void fillChunk(int chunkRow, int chunkCol, char cellType) {
+        int chunk = chunkRow * chunkCols + chunkCol;
+        boolean changed = chunks[chunk] != null || chunkFill[chunk] != cellType;
+        chunks[chunk] = null;
+        chunkFill[chunk] = cellType;
+        if (changed) {
+            terrainVersion++;
+            for (int i = 0; i < classVersions.length; i++) {
+                classVersions[i]++;
+            }
+            int top = chunkRow << CHUNK_BITS;
+            int left = chunkCol << CHUNK_BITS;
+            fireTerrainChanged(top, left, Math.min(rows, top + CHUNK_SIZE), Math.min(columns, left + CHUNK_SIZE));
+        }
+    }
+
+    /**
+     * Gets the number of chunks whose cells have been created.
+     *
+     * @return The number of materialized chunks
+     */
+    public int getMaterializedChunkCount() {
+        int count = 0;
+        for (Cell[] cells : chunks) {
+            if (cells != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Turns materialized chunks back into uniform ones where all their cells have
+     * the same type and are unoccupied and empty.
+     * <p>
+     * Cells of a compacted chunk fetched earlier with {@link #getCell(int, int)}
+     * are no longer part of the grid, so callers must not keep cells across a call.
+     * </p>
+     *
+     * @return The number of chunks compacted
+     */
+    public int compact() {
+        int compacted = 0;
+        for (int chunk = 0; chunk < chunks.length; chunk++) {
+            Cell[] cells = chunks[chunk];
+            if (cells == null) {
+                continue;
+            }
+            char type = '\0';
+            boolean uniform = true;
+            for (Cell cell : cells) {
+                if (cell == null) {
+                    continue; // Beyond the edge of the grid
+                }
+                if (type == '\0') {
+                    type = cell.getCellType();
+                }
+                if (cell.isOccupied() || cell.getObjectOnTop() != null || cell.getCellType() != type) {
+                    uniform = false;
+                    break;
+                }
+            }
+            if (uniform) {
+                chunks[chunk] = null;
+                chunkFill[chunk] = type;
+                compacted++;
+            }
+        }
+        return compacted;
+    }
+
+    private int chunkOf(int row, int col) {
+        return (row >> CHUNK_BITS) * chunkCols + (col >> CHUNK_BITS);
+    }
+
+    private static int offsetInChunk(int row, int col) {
+        return ((row & (CHUNK_SIZE - 1)) << CHUNK_BITS) | (col & (CHUNK_SIZE - 1));
+    }
+
+    /**
+     * Creates the cells of a chunk if it is uniform, all with the chunk's type.
+     */
+    private Cell[] materialize(int chunk) {
+        Cell[] cells = chunks[chunk];
+        if (cells == null) {
+            cells = new Cell[CHUNK_SIZE * CHUNK_SIZE];
+            int top = (chunk / chunkCols) << CHUNK_BITS;
+            int left = (chunk % chunkCols) << CHUNK_BITS;
+            int bottom = Math.min(rows, top + CHUNK_SIZE);
+            int right = Math.min(columns, left + CHUNK_SIZE);
+            for (int r = top; r < bottom; r++) {
+                for (int c = left; c < right; c++) {
+                    Cell cell = new Cell(Coordinate.of(r, c));
+                    cell.setCellType(chunkFill[chunk]);
+                    cells[offsetInChunk(r, c)] = cell;
+                }
+            }
+            chunks[chunk] = cells;
+        }
+        return cells;
+    }
+
+    /**
+     * Bumps the terrain versions of the movement classes a cell type change
+     * opens or closes the cell for, and tells the listeners if there are any.
+     */
+    private void markTerrainChange(int row, int col, char oldType, char newType) {
+        if (oldType == newType) {
+            return;
+        }
+        boolean changed = false;
+        for (MovementClass movementClass : MOVEMENT_CLASSES) {
+            if (movementClass.canEnter(oldType) != movementClass.canEnter(newType)) {
+                classVersions[movementClass.ordinal()]++;
+                changed = true;
+            }
+        }
+        if (changed) {
+            terrainVersion++;
+            fireTerrainChanged(row, col, row + 1, col + 1);
+        }
+    }
+
+    private void fireTerrainChanged(int top, int left, int bottom, int right) {
+        for (TerrainListener listener : terrainListeners) {
+            listener.onTerrainChanged(top, left, bottom, right);
         }
     }
 }
\ No newline at end of file
@@ -1,13 +1,19 @@
 package my.company.my.safarigame.model;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
+import java.io.DataInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
 
 /**
  * Utility class for loading safari game grid data from text files.
@@ -18,25 +24,9 @@ import java.util.List;
  * objects to the provided SafariMap.
  * </p>
  * <p>
- * The loader recognizes various cell types represented by different characters in the map file:
+ * The characters of the file are translated to cells and objects by the
+ * {@link TileCodec}, which lists the cell types of the game.
  * </p>
- * <ul>
- *   <li>'w', 'a', 's', 'l', 'g', 't' - Different types of walls and gates</li>
- *   <li>'b' - Bush plant</li>
- *   <li>'p' - Generic plant</li>
- *   <li>'h' - Shrub plant</li>
- *   <li>'|' - Vertical road</li>
- *   <li>'r' - Horizontal road</li>
- *   <li>'1', '2', '3', '4' - Curved road sections (different orientations)</li>
- *   <li>'P' - Water area/pond</li>
- *   <li>'c' - Cow (Herbivore)</li>
- *   <li>'d' - Deer (Herbivore)</li>
- *   <li>'y' - Lion (Carnivore)</li>
- *   <li>'z' - Wolf (Carnivore)</li>
- *   <li>'R' - Ranger</li>
- *   <li>'j' - Jeep</li>
- *   <li>'-' - Normal grass (default)</li>
- * </ul>
  */
 public class GridLoader {
 
@@ -51,7 +41,10 @@ public class GridLoader {
      * <p>
      * The method expects the grid file to contain a 50x50 character grid, where each
      * character represents a specific cell type. If the grid dimensions do not match
-     * 50x50, an IOException is thrown.
+     * 50x50, an IOException is thrown. Files saved by
+     * {@link GridSaver#saveCompressedGrid(Grid, String, boolean)} are recognized by
+     * their header and loaded by {@link #loadCompressedGrid(InputStream, SafariMap)},
+     * at the size they were saved with.
      * </p>
      *
      * @param filePath The path to the grid file (can be a local file system path or a resource path)
@@ -64,26 +57,24 @@ public class GridLoader {
         
         // Check if this is a local file path
         File localFile = new File(filePath);
-        if (localFile.exists() && localFile.isFile()) {
-            // Read from local file system
-            try (BufferedReader reader = new BufferedReader(new FileReader(localFile))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    lines.add(line);
-                }
+        boolean local = localFile.exists() && localFile.isFile();
+        InputStream source = local ? new FileInputStream(localFile) : GridLoader.class.getResourceAsStream(filePath);
+        if (source == null) {
+            throw new IOException("Grid file not found or empty: " + filePath);
+        }
+        try (BufferedInputStream in = new BufferedInputStream(source)) {
+            if (isCompressed(in)) {
+                Grid grid = loadCompressedGrid(in, map);
+                System.out.println("Loaded compressed grid from: " + filePath);
+                return grid;
             }
-            System.out.println("Loaded grid from local file: " + filePath);
-        } else {
-            // Try to read as a resource
-            try (InputStream is = GridLoader.class.getResourceAsStream(filePath); 
-                 BufferedReader reader = new BufferedReader(new InputStreamReader(is))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    lines.add(line);
-                }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
             }
-            System.out.println("Loaded grid from resource: " + filePath);
         }
+        System.out.println("Loaded grid from " + (local ? "local file: " : "resource: ") + filePath);
 
         // If we couldn't read any lines, the file couldn't be found
         if (lines.isEmpty()) {
@@ -105,208 +96,184 @@ public class GridLoader {
         Grid grid = new Grid(rows, cols, cellSize);
 
         // Fill grid with cell data
+        TileCodec codec = TileCodec.getInstance();
+        char[] tiles = new char[cols];
         for (int r = 0; r < rows; r++) {
             String line = lines.get(r);
-            for (int c = 0; c < cols; c++) {
-                if (c < line.length()) {
-                    char cellType = line.charAt(c);
-                    Cell cell = grid.getCell(r, c);
+            int length = Math.min(cols, line.length());
+            line.getChars(0, length, tiles, 0);
+            codec.decodeRow(grid, map, r, 0, tiles, length);
+        }
+
+        return grid;
+    }
 
-                    // Set cell properties based on character
-                    switch (cellType) {
-                        case 'w': // Regular wall
-                        case 'a': // Corner wall (top)
-                        case 's': // Corner wall (bottom)
-                        case 'l': // Side wall
-                        case 'g': // gate top
-                        case 't': // gate bottom
-                            // Mark as wall/occupied
-                            cell.setOccupied(true);
-                            cell.setCellType(cellType); // Preserve the actual character
-                            break;
-                        case 'b': // Bush
-                            // Add a plant at this location
-                            Plant bush = new Plant(
-                                    new Coordinate(r, c),
-                                    "bush", // You can customize plant species
-                                    10.0 // Default price
-                            );
-                            map.addLandscapeObject(bush);
-                            cell.setOccupied(true);
-                            cell.setCellType(cellType);
-                            break;
-                        case 'p': // Plant
-                            // Add a plant at this location
-                            Plant plant = new Plant(
-                                    new Coordinate(r, c),
-                                    "plant", // You can customize plant species
-                                    20.0 // Default price
-                            );
-                            map.addLandscapeObject(plant);
-                            cell.setOccupied(true);
-                            cell.setCellType(cellType);
-                            break;
-                        case 'h': // Shrub
-                            // Add a plant at this location
-                            Plant shrub = new Plant(
-                                    new Coordinate(r, c),
-                                    "shrub", // You can customize plant species
-                                    30.0 // Default price
-                            );
-                            map.addLandscapeObject(shrub);
-                            cell.setOccupied(true);
-                            cell.setCellType(cellType);
-                            break;
-                        case '|': // Vertical Road
-                            // Add a vertical road at this location
-                            Road verticalRoad = new Road(
-                                    new Coordinate(r, c),
-                                    1.0, // Default length
-                                    50.0, // Default price
-                                    "vertical"
-                            );
-                            map.addLandscapeObject(verticalRoad);
-                            cell.setOccupied(true);
-                            cell.setCellType(cellType);
-                            break;
-                        case 'r': // Horizontal Road
-                            // Add a horizontal road at this location
-                            Road horizontalRoad = new Road(
-                                    new Coordinate(r, c),
-                                    1.0, // Default length
-                                    50.0, // Default price
-                                    "horizontal"
-                            );
-                            map.addLandscapeObject(horizontalRoad);
-                            cell.setOccupied(true);
-                            cell.setCellType(cellType);
-                            break;
-                        case '1': // Right-down curve road
-                            Road rightDown = new Road(
-                                    new Coordinate(r, c),
-                                    1.0, // Default length
-                                    50.0, // Default price
-                                    "rightDown"
-                            );
-                            map.addLandscapeObject(rightDown);
-                            cell.setOccupied(true);
-                            cell.setCellType(cellType);
-                            break;
-                        case '2': // Right-up curve road
-                            Road rightUp = new Road(
-                                    new Coordinate(r, c),
-                                    1.0, // Default length
-                                    50.0, // Default price
-                                    "rightUp"
-                            );
-                            map.addLandscapeObject(rightUp);
-                            cell.setOccupied(true);
-                            cell.setCellType(cellType);
-                            break;
-                        case '3': // Left-up curve road
-                            Road leftUp = new Road(
-                                    new Coordinate(r, c),
-                                    1.0, // Default length
-                                    50.0, // Default price
-                                    "leftUp"
-                            );
-                            map.addLandscapeObject(leftUp);
-                            cell.setOccupied(true);
-                            cell.setCellType(cellType);
-                            break;
-                        case '4': // Left-down curve road
-                            Road leftDown = new Road(
-                                    new Coordinate(r, c),
-                                    1.0, // Default length
-                                    50.0, // Default price
-                                    "leftDown"
-                            );
-                            map.addLandscapeObject(leftDown);
-                            cell.setOccupied(true);
-                            cell.setCellType(cellType);
-                            break;
-                        case 'P': // Water area/pond
-                            WaterArea pond = new WaterArea(
-                                new Coordinate(r, c), 100.0 // Use proper coordinates
-                            );
-                            map.addLandscapeObject(pond);
-                            cell.setOccupied(true);
-                            cell.setCellType(cellType);
-                            break;
-                        case 'c': // Cow (Herbivore)
-                            Herbivore cow = new Herbivore(
-                                new Coordinate(r, c),
-                                "cow"
-                            );
-                            map.addLandscapeObject(cow);
-                            cell.setOccupied(true);
-                            cell.setCellType(cellType);
-                            break;
-                        case 'd': // Deer (Herbivore)
-                            Herbivore deer = new Herbivore(
-                                new Coordinate(r, c),
-                                "deer"
-                            );
-                            map.addLandscapeObject(deer);
-                            cell.setOccupied(true);
-                            cell.setCellType(cellType);
-                            break;
-                        case 'y': // Lion (Carnivore)
-                            Carnivore lion = new Carnivore(
-                                new Coordinate(r, c),
-                                "lion"
-                            );
-                            map.addLandscapeObject(lion);
-                            cell.setOccupied(true);
-                            cell.setCellType(cellType);
-                            break;
-                        case 'z': // Wolf (Carnivore)
-                            Carnivore wolf = new Carnivore(
-                                new Coordinate(r, c),
-                                "wolf"
-                            );
-                            map.addLandscapeObject(wolf);
-                            cell.setOccupied(true);
-                            cell.setCellType(cellType);
-                            break;
-                        case 'R': // Ranger
-                            Ranger ranger = new Ranger(
-                                new Coordinate(r, c)
-                            );
-                            map.addRanger(ranger);
-                            //map.addLandscapeObject(ranger);
-                            cell.setOccupied(true);
-                            cell.setCellType(cellType);
-                            break;
-                        case 'j': // Jeep
-                            Jeep jeep = new Jeep(
-                                new Coordinate(r, c)
-                            );
-                            map.addJeep(jeep);
-                            //map.addLandscapeObject(jeep);
-                            cell.setOccupied(true);
-                            cell.setCellType(cellType);
-                            break;
-                        case '-': // Normal grass
-                        default:
-                            // Not occupied
-                            cell.setOccupied(false);
+    /**
+     * Checks whether a stream holds a compressed grid, leaving the stream where it
+     * was.
+     */
+    private static boolean isCompressed(BufferedInputStream in) throws IOException {
+        in.mark(4);
+        int magic = 0;
+        for (int i = 0; i < 4; i++) {
+            int b = in.read();
+            if (b < 0) {
+                in.reset();
+                return false;
+            }
+            magic = (magic << 8) | b;
+        }
+        in.reset();
+        return magic == GridSaver.COMPRESSED_MAGIC;
+    }
 
-                            // If it's a valid character we know about, keep it
-                            if (cellType == '-') {
-                                cell.setCellType('-');
-                            } else {
-                                // For any unknown character, we'll still store it for rendering
-                                // but not mark as occupied
-                                cell.setCellType(cellType);
-                                System.out.println("Found unknown cell type: " + cellType + " at " + r + "," + c);
-                            }
-                            break;
+    /**
+     * Loads a grid saved by {@link GridSaver#saveCompressedGrid(Grid, String, boolean)}.
+     * <p>
+     * Runs of grass are skipped, as a new grid is all grass, so their chunks stay
+     * uniform without any cells. Runs of other tiles are decoded by the
+     * {@link TileCodec} and their objects added to the map.
+     * </p>
+     *
+     * @param in The file, positioned at its header; not closed
+     * @param map The SafariMap instance to which landscape objects will be added
+     * @return The loaded grid
+     * @throws IOException If the stream cannot be read, is not a compressed grid,
+     *         was written by a newer tile set or is cut off or malformed
+     */
+    public static Grid loadCompressedGrid(InputStream in, SafariMap map) throws IOException {
+        DataInputStream header = new DataInputStream(in);
+        if (header.readInt() != GridSaver.COMPRESSED_MAGIC) {
+            throw new IOException("Not a compressed grid file");
+        }
+        int version = header.readUnsignedByte();
+        if (version > TileCodec.VERSION) {
+            throw new IOException("Unsupported tile codec version: " + version);
+        }
+        int flags = header.readUnsignedByte();
+        int rows = header.readInt();
+        int cols = header.readInt();
+        if (rows <= 0 || cols <= 0) {
+            throw new IOException("Invalid grid size: " + rows + "x" + cols);
+        }
+
+        Inflater inflater = new Inflater();
+        try {
+            boolean deflated = (flags & GridSaver.FLAG_DEFLATE) != 0;
+            DataInputStream body = new DataInputStream(deflated ? new InflaterInputStream(in, inflater, 8192) : in);
+            Grid grid = new Grid(rows, cols, 48);
+            TileCodec codec = TileCodec.getInstance();
+            char[] tiles = new char[cols];
+            for (int r = 0; r < rows; r++) {
+                int c = 0;
+                while (c < cols) {
+                    char tile = body.readChar();
+                    int length = readLength(body);
+                    if (length <= 0 || length > cols - c) {
+                        throw new IOException("Run of " + length + " tiles overruns row " + r);
+                    }
+                    if (tile != TileCodec.GRASS) {
+                        Arrays.fill(tiles, 0, length, tile);
+                        codec.decodeRow(grid, map, r, c, tiles, length);
                     }
+                    c += length;
                 }
             }
+            return grid;
+        } finally {
+            inflater.end();
         }
+    }
 
-        return grid;
+    /**
+     * Reads a length written by GridSaver as an unsigned variable-length int.
+     */
+    private static int readLength(DataInputStream in) throws IOException {
+        int length = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            length |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return length;
+            }
+        }
+        throw new IOException("Malformed run length");
+    }
+
+    /**
+     * Loads a grid saved in chunks by {@link GridSaver#saveChunkedGrid(Grid, String)}.
+     * <p>
+     * Every chunk listed in the index is read from its own file with
+     * {@link #loadChunk(Grid, SafariMap, String, int, int)}. Chunks not listed are
+     * grass and stay uniform, without any cells.
+     * </p>
+     *
+     * @param dirPath The directory holding the index and the chunk files
+     * @param map The SafariMap instance to which landscape objects will be added
+     * @return The loaded grid
+     * @throws IOException If the index or a chunk file cannot be read or is malformed
+     */
+    public static Grid loadChunkedGrid(String dirPath, SafariMap map) throws IOException {
+        File index = new File(dirPath, GridSaver.CHUNK_INDEX_FILE);
+        try (BufferedReader reader = new BufferedReader(new FileReader(index))) {
+            String header = reader.readLine();
+            if (header == null) {
+                throw new IOException("Chunk index is empty: " + index);
+            }
+            String[] size = header.trim().split("\\s+");
+            if (size.length != 3 || Integer.parseInt(size[2]) != Grid.CHUNK_SIZE) {
+                throw new IOException("Unsupported chunk index header: " + header);
+            }
+            Grid grid = new Grid(Integer.parseInt(size[0]), Integer.parseInt(size[1]), 48);
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] entry = line.trim().split("\\s+");
+                if (entry.length != 2) {
+                    throw new IOException("Malformed chunk index entry: " + line);
+                }
+                int chunkRow = Integer.parseInt(entry[0]);
+                int chunkCol = Integer.parseInt(entry[1]);
+                if (chunkRow < 0 || chunkRow >= grid.getChunkRows() || chunkCol < 0 || chunkCol >= grid.getChunkColumns()) {
+                    throw new IOException("Chunk outside the grid: " + line);
+                }
+                loadChunk(grid, map, dirPath, chunkRow, chunkCol);
+            }
+            System.out.println("Loaded chunked grid from: " + dirPath + " (" + grid.getMaterializedChunkCount()
+                    + " of " + grid.getChunkRows() * grid.getChunkColumns() + " chunks with cells)");
+            return grid;
+        } catch (NumberFormatException e) {
+            throw new IOException("Malformed chunk index: " + index, e);
+        }
+    }
+
+    /**
+     * Loads one chunk of a grid from its file. The cells of the chunk are reset
+     * to grass first, and the objects on its cells are added to the map, as for a
+     * whole grid file.
+     *
+     * @param grid The grid to load into
+     * @param map The SafariMap instance to which landscape objects will be added
+     * @param dirPath The directory holding the chunk files
+     * @param chunkRow Row of the chunk
+     * @param chunkCol Column of the chunk
+     * @throws IOException If the chunk file cannot be read
+     */
+    public static void loadChunk(Grid grid, SafariMap map, String dirPath, int chunkRow, int chunkCol) throws IOException {
+        File file = new File(dirPath, GridSaver.chunkFileName(chunkRow, chunkCol));
+        grid.fillChunk(chunkRow, chunkCol, '-');
+        int top = chunkRow * Grid.CHUNK_SIZE;
+        int left = chunkCol * Grid.CHUNK_SIZE;
+        TileCodec codec = TileCodec.getInstance();
+        char[] tiles = new char[Grid.CHUNK_SIZE];
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String line;
+            for (int r = top; r < Math.min(grid.getRows(), top + Grid.CHUNK_SIZE)
+                    && (line = reader.readLine()) != null; r++) {
+                int length = Math.min(tiles.length, line.length());
+                line.getChars(0, length, tiles, 0);
+                codec.decodeRow(grid, map, r, left, tiles, length);
+            }
+        }
     }
-}
\ No newline at end of file
+}
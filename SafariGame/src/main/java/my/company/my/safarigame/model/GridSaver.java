@@ -1,12 +1,18 @@
 package my.company.my.safarigame.model;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedWriter;
+import java.io.DataOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
 
 /**
  * Utility class for saving safari game grid data to text files.
@@ -20,6 +26,7 @@ import java.nio.file.Paths;
  * </p>
  * <ul>
  *   <li>Saving to a specific file path</li>
+ *   <li>Saving large grids in chunks or in a compressed file</li>
  *   <li>Saving to the resources directory</li>
  *   <li>Creating timestamped backups</li>
  *   <li>Saving the complete game state</li>
@@ -57,15 +64,12 @@ public class GridSaver {
         try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath))) {
             int rows = grid.getRows();
             int cols = grid.getColumns();
-            
+            TileCodec codec = TileCodec.getInstance();
+            char[] tiles = new char[cols];
+
             // Write each row
             for (int r = 0; r < rows; r++) {
-                StringBuilder line = new StringBuilder();
-                for (int c = 0; c < cols; c++) {
-                    char cellType = grid.getCellType(r, c);
-                    line.append(cellType);
-                }
-                writer.write(line.toString());
+                writer.write(tiles, 0, codec.encodeRow(grid, r, 0, cols, tiles));
                 writer.newLine();
             }
             
@@ -73,6 +77,194 @@ public class GridSaver {
         }
     }
     
+    /** First bytes of a compressed grid file, "SGRD", which no text grid starts with. */
+    public static final int COMPRESSED_MAGIC = 0x53475244;
+
+    /** Header flag of a compressed grid file whose rows are deflated. */
+    public static final int FLAG_DEFLATE = 1;
+
+    /**
+     * Saves a grid to a compressed file, which {@link GridLoader#loadGridFromFile}
+     * tells apart from a text grid by its first bytes.
+     * <p>
+     * The file starts with a header: {@link #COMPRESSED_MAGIC}, the
+     * {@link TileCodec#VERSION} and the flags as one byte each, then the rows and
+     * columns. Each row follows as runs of equal tiles, every run being the tile
+     * as a char and its length as an unsigned variable-length int, seven bits per
+     * byte. Rows of grass take a few bytes whatever their width. With
+     * {@code deflate}, the runs are written through a {@link Deflater} and the
+     * header gets {@link #FLAG_DEFLATE}.
+     * </p>
+     *
+     * @param grid The grid to save
+     * @param filePath The path where to save the grid file
+     * @param deflate Whether to deflate the runs
+     * @throws IOException If an error occurs writing the file
+     * @throws IllegalArgumentException If the grid is null
+     */
+    public static void saveCompressedGrid(Grid grid, String filePath, boolean deflate) throws IOException {
+        if (grid == null) {
+            throw new IllegalArgumentException("Grid cannot be null");
+        }
+        Path parent = Paths.get(filePath).toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        Deflater deflater = new Deflater();
+        try (OutputStream file = new BufferedOutputStream(new FileOutputStream(filePath))) {
+            DataOutputStream header = new DataOutputStream(file);
+            header.writeInt(COMPRESSED_MAGIC);
+            header.writeByte(TileCodec.VERSION);
+            header.writeByte(deflate ? FLAG_DEFLATE : 0);
+            header.writeInt(grid.getRows());
+            header.writeInt(grid.getColumns());
+
+            DeflaterOutputStream zip = deflate ? new DeflaterOutputStream(file, deflater, 8192) : null;
+            DataOutputStream body = new DataOutputStream(zip != null ? zip : file);
+            writeRuns(grid, body);
+            if (zip != null) {
+                zip.finish();
+            }
+            body.flush();
+        } finally {
+            deflater.end();
+        }
+        System.out.println("Grid successfully saved compressed to: " + filePath);
+    }
+
+    /**
+     * Writes the rows of a grid as runs of equal tiles.
+     */
+    private static void writeRuns(Grid grid, DataOutputStream out) throws IOException {
+        int cols = grid.getColumns();
+        TileCodec codec = TileCodec.getInstance();
+        char[] tiles = new char[cols];
+        for (int r = 0; r < grid.getRows(); r++) {
+            codec.encodeRow(grid, r, 0, cols, tiles);
+            int start = 0;
+            while (start < cols) {
+                char tile = tiles[start];
+                int end = start + 1;
+                while (end < cols && tiles[end] == tile) {
+                    end++;
+                }
+                out.writeChar(tile);
+                writeLength(out, end - start);
+                start = end;
+            }
+        }
+    }
+
+    /**
+     * Writes a length as an unsigned variable-length int, the low seven bits
+     * first, with the high bit of a byte set when more bytes follow.
+     */
+    private static void writeLength(DataOutputStream out, int length) throws IOException {
+        while ((length & ~0x7F) != 0) {
+            out.writeByte((length & 0x7F) | 0x80);
+            length >>>= 7;
+        }
+        out.writeByte(length);
+    }
+
+    /** Name of the index file of a grid saved in chunks. */
+    public static final String CHUNK_INDEX_FILE = "grid.txt";
+
+    /**
+     * Saves a grid in chunks of {@link Grid#CHUNK_SIZE} cells square, one file per
+     * chunk with content.
+     * <p>
+     * The directory gets an index file whose first line holds the rows, columns and
+     * chunk size of the grid, followed by the row and column of every chunk that is
+     * not all grass. Each of those chunks is written to its own file by
+     * {@link #saveChunk(Grid, String, int, int)}. Grass chunks are left out, so the
+     * size of a save grows with the content of the grid rather than its area.
+     * </p>
+     *
+     * @param grid The grid to save
+     * @param dirPath The directory to save into, created if needed
+     * @throws IOException If an error occurs writing the files
+     * @throws IllegalArgumentException If the grid is null
+     */
+    public static void saveChunkedGrid(Grid grid, String dirPath) throws IOException {
+        if (grid == null) {
+            throw new IllegalArgumentException("Grid cannot be null");
+        }
+        Files.createDirectories(Paths.get(dirPath));
+
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(new File(dirPath, CHUNK_INDEX_FILE)))) {
+            writer.write(grid.getRows() + " " + grid.getColumns() + " " + Grid.CHUNK_SIZE);
+            writer.newLine();
+            for (int chunkRow = 0; chunkRow < grid.getChunkRows(); chunkRow++) {
+                for (int chunkCol = 0; chunkCol < grid.getChunkColumns(); chunkCol++) {
+                    if (isGrass(grid, chunkRow, chunkCol)) {
+                        continue;
+                    }
+                    saveChunk(grid, dirPath, chunkRow, chunkCol);
+                    writer.write(chunkRow + " " + chunkCol);
+                    writer.newLine();
+                }
+            }
+        }
+        System.out.println("Grid successfully saved in chunks to: " + dirPath);
+    }
+
+    /**
+     * Saves one chunk of a grid to its own file, one line per row of the chunk.
+     *
+     * @param grid The grid to save from
+     * @param dirPath The directory holding the chunk files
+     * @param chunkRow Row of the chunk
+     * @param chunkCol Column of the chunk
+     * @throws IOException If an error occurs writing the file
+     */
+    public static void saveChunk(Grid grid, String dirPath, int chunkRow, int chunkCol) throws IOException {
+        int top = chunkRow * Grid.CHUNK_SIZE;
+        int left = chunkCol * Grid.CHUNK_SIZE;
+        int bottom = Math.min(grid.getRows(), top + Grid.CHUNK_SIZE);
+        int right = Math.min(grid.getColumns(), left + Grid.CHUNK_SIZE);
+        TileCodec codec = TileCodec.getInstance();
+        char[] tiles = new char[right - left];
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(new File(dirPath, chunkFileName(chunkRow, chunkCol))))) {
+            for (int r = top; r < bottom; r++) {
+                writer.write(tiles, 0, codec.encodeRow(grid, r, left, right, tiles));
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Gets the name of the file a chunk is saved to.
+     *
+     * @param chunkRow Row of the chunk
+     * @param chunkCol Column of the chunk
+     * @return The file name within the save directory
+     */
+    public static String chunkFileName(int chunkRow, int chunkCol) {
+        return "chunk_" + chunkRow + "_" + chunkCol + ".txt";
+    }
+
+    /**
+     * Checks whether all cells of a chunk are grass, reading the cells of a
+     * materialized chunk without changing the grid.
+     */
+    private static boolean isGrass(Grid grid, int chunkRow, int chunkCol) {
+        if (!grid.isChunkMaterialized(chunkRow, chunkCol)) {
+            return grid.getChunkFill(chunkRow, chunkCol) == '-';
+        }
+        int top = chunkRow * Grid.CHUNK_SIZE;
+        int left = chunkCol * Grid.CHUNK_SIZE;
+        for (int r = top; r < Math.min(grid.getRows(), top + Grid.CHUNK_SIZE); r++) {
+            for (int c = left; c < Math.min(grid.getColumns(), left + Grid.CHUNK_SIZE); c++) {
+                if (grid.getCellType(r, c) != '-') {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
     /**
      * Saves a grid to a file in the resources directory.
      * <p>
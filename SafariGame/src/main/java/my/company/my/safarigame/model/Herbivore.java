@@ -17,8 +17,8 @@ public class Herbivore extends Animal {
     /** Flag to track if the herbivore is eating a plant/bush/shrub (not just grass). */
     protected boolean isEatingPlant = false;
     
-    /** Counter for the duration of the eating animation. */
-    protected int eatingDuration = 0;
+    /** Timer ending the eating animation. */
+    protected TimingWheel.Timeout eatingTimer;
     
     /** Amount of health to increase when eating. */
     protected int healthIncreaseAmount = 0;
@@ -29,8 +29,8 @@ public class Herbivore extends Animal {
     /** Flag to track if the herbivore has been recently attacked. */
     protected boolean isInjured = false;
     
-    /** Timer for showing the injury animation. */
-    protected int injuryTimer = 0;
+    /** Timer ending the injury animation. */
+    protected TimingWheel.Timeout injuryTimer;
 
     /**
      * Constructs a new Herbivore at the specified position with the given type.
@@ -40,7 +40,11 @@ public class Herbivore extends Animal {
      */
     public Herbivore(Coordinate position, String type) {
         super(position, type);
-        this.price = 50.0; // You could make price depend on species if you want
+        this.price = 50.0;
+        Species species = getSpecies();
+        if (species != null) {
+            this.price = species.getPrice();
+        }
     }
 
     /**
@@ -68,7 +72,8 @@ public class Herbivore extends Animal {
         } else {
             // Show injured status
             isInjured = true;
-            injuryTimer = 15; // Show injury animation for 15 cycles
+            cancel(injuryTimer);
+            injuryTimer = after(15, () -> isInjured = false); // Show injury animation for 15 cycles
         }
 
         // Log the damage
@@ -121,8 +126,8 @@ public class Herbivore extends Animal {
     /**
      * Updates the herbivore's lifecycle status.
      * <p>
-     * Extends the base Animal updateLifecycle method with herbivore-specific behavior,
-     * particularly handling the injury timer during drinking.
+     * Extends the base Animal updateLifecycle method with herbivore-specific behavior.
+     * The injury and eating animations end through their timers.
      * </p>
      */
     @Override
@@ -133,17 +138,6 @@ public class Herbivore extends Animal {
         }
 
         super.updateLifecycle();
-
-        // Any additional herbivore-specific update logic
-        if (isDrinking) {
-            // Update the injury timer while drinking
-            if (isInjured && injuryTimer > 0) {
-                injuryTimer--;
-                if (injuryTimer <= 0) {
-                    isInjured = false;
-                }
-            }
-        }
     }
 
     /**
@@ -165,7 +159,7 @@ public class Herbivore extends Animal {
         // Start eating animation
         isEating = true;
         isEatingPlant = false; // Just grass
-        eatingDuration = 5; // Animation will last for 5 update cycles
+        startEatingAnimation(5); // Animation will last for 5 update cycles
 
         // Determine health increase based on what we're eating
         healthIncreaseAmount = 0; // Default small health increase for grass
@@ -227,7 +221,7 @@ public class Herbivore extends Animal {
         // Start eating animation
         isEating = true;
         isEatingPlant = true; // This is a plant, not just grass
-        eatingDuration = 8; // Animation will last longer for plants
+        startEatingAnimation(8); // Animation will last longer for plants
 
         // Determine health increase based on plant type
         switch (plantType) {
@@ -263,6 +257,19 @@ public class Herbivore extends Animal {
         }
     }
 
+    /**
+     * Schedules the end of the eating animation.
+     *
+     * @param cycles Number of lifecycle cycles the animation lasts
+     */
+    private void startEatingAnimation(int cycles) {
+        cancel(eatingTimer);
+        eatingTimer = after(cycles, () -> {
+            isEating = false;
+            isEatingPlant = false;
+        });
+    }
+
     /**
      * Checks if the herbivore can eat at its current position on the grid.
      * <p>
@@ -280,6 +287,7 @@ public class Herbivore extends Animal {
             return false;
         }
 
+        Coordinate position = getPosition();
         if (position != null) {
             Cell cell = grid.getCell(position.x, position.y);
             if (cell != null) {
@@ -311,7 +319,7 @@ public class Herbivore extends Animal {
         if (isDead) {
             return null;
         }
-        return new Herbivore(position, type);
+        return new Herbivore(getPosition(), type);
     }
 
     /**
@@ -0,0 +1,276 @@
+package my.company.my.safarigame.model;
+
+import java.util.*;
+
+/**
+ * Keeps track of which animals belong to which herd.
+ * <p>
+ * Membership is maintained incrementally: every animal starts in its own
+ * {@link AnimalGroup}, and whenever an animal is placed or moves next to an animal of
+ * the same species their groups are merged with union-find. Only the eight cells
+ * around the animal that changed are inspected, so the cost of keeping herds up to
+ * date does not depend on how many animals are on the map.
+ * </p>
+ * <p>
+ * The manager also keeps a cell-to-animal index, replacing linear searches over
+ * every animal when looking up who stands on a cell. The root groups are stored in
+ * the list handed in by the owning {@link SafariMap}.
+ * </p>
+ */
+public class HerdManager {
+
+    /** Followers further than this many cells from their leader leave the herd. */
+    public static final int HERD_RADIUS = 3;
+
+    /** Number of rows of the tracked grid. */
+    private int rows;
+
+    /** Number of columns of the tracked grid. */
+    private int cols;
+
+    /** Animal standing on each cell, indexed by {@code row * cols + col}. */
+    private Animal[] occupants;
+
+    /** The group node each animal was registered with, by animal id. */
+    private final EntityTable<AnimalGroup> membership = new EntityTable<>();
+
+    /** Gives ids to animals registered without one. */
+    private final EntityIds ids;
+
+    /** Root groups, i.e. the herds currently on the map. */
+    private final List<AnimalGroup> herds;
+
+    /**
+     * Constructs a new HerdManager for a grid of the given size.
+     *
+     * @param rows Number of grid rows
+     * @param cols Number of grid columns
+     * @param herds List that will hold the current herds
+     */
+    public HerdManager(int rows, int cols, List<AnimalGroup> herds) {
+        this(rows, cols, herds, new EntityIds());
+    }
+
+    /**
+     * Constructs a new HerdManager sharing the entity ids of a map.
+     *
+     * @param rows Number of grid rows
+     * @param cols Number of grid columns
+     * @param herds List that will hold the current herds
+     * @param ids The ids of the map's entities
+     */
+    public HerdManager(int rows, int cols, List<AnimalGroup> herds, EntityIds ids) {
+        this.herds = herds;
+        this.ids = ids;
+        reset(rows, cols);
+    }
+
+    /**
+     * Forgets all animals and herds and resizes the cell index.
+     *
+     * @param rows Number of grid rows
+     * @param cols Number of grid columns
+     */
+    public void reset(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        this.occupants = new Animal[rows * cols];
+        membership.clear();
+        herds.clear();
+    }
+
+    /**
+     * Registers an animal at its current position and merges it with any
+     * adjacent herd of the same species.
+     *
+     * @param animal The animal to register
+     */
+    public void addAnimal(Animal animal) {
+        if (animal == null) {
+            return;
+        }
+        // Registers first, so an id the animal brought from another map cannot
+        // pass for the herd membership of the animal holding it here
+        if (membership.containsKey(ids.register(animal))) {
+            return;
+        }
+        AnimalGroup group = new AnimalGroup(speciesOf(animal));
+        group.addAnimal(animal);
+        membership.put(animal.getId(), group);
+        herds.add(group);
+        index(animal.getPosition(), animal);
+        mergeWithNeighbours(animal);
+    }
+
+    /**
+     * Removes an animal from its herd and from the cell index.
+     *
+     * @param animal The animal to remove
+     */
+    public void removeAnimal(Animal animal) {
+        AnimalGroup group = membership.remove(animal.getId());
+        if (group == null) {
+            return;
+        }
+        AnimalGroup root = group.find();
+        root.removeAnimal(animal);
+        if (root.size() == 0) {
+            herds.remove(root);
+        }
+        Coordinate pos = animal.getPosition();
+        if (pos != null && getAnimalAt(pos.getX(), pos.getY()) == animal) {
+            index(pos, null);
+        }
+    }
+
+    /**
+     * Updates the cell index after an animal has moved and merges it with any herd
+     * it now touches.
+     *
+     * @param animal The animal that moved
+     * @param oldPosition The position the animal moved from
+     */
+    public void onAnimalMoved(Animal animal, Coordinate oldPosition) {
+        if (!membership.containsKey(animal.getId())) {
+            return;
+        }
+        if (oldPosition != null && getAnimalAt(oldPosition.getX(), oldPosition.getY()) == animal) {
+            index(oldPosition, null);
+        }
+        index(animal.getPosition(), animal);
+        mergeWithNeighbours(animal);
+    }
+
+    /**
+     * Moves members that have fallen too far behind their leader into herds of
+     * their own.
+     *
+     * @param herd The herd to check
+     */
+    public void detachStragglers(AnimalGroup herd) {
+        AnimalGroup root = herd.find();
+        Animal leader = root.getLeader();
+        if (leader == null || root.size() < 2) {
+            return;
+        }
+        Coordinate lp = leader.getPosition();
+        for (Animal member : new ArrayList<>(root.getAnimals())) {
+            if (member == leader || member.getPosition() == null) {
+                continue;
+            }
+            if (AnimalGroup.distance(member.getPosition(), lp.getX(), lp.getY()) > HERD_RADIUS) {
+                root.removeAnimal(member);
+                AnimalGroup alone = new AnimalGroup(root.getSpecies());
+                alone.addAnimal(member);
+                membership.put(member.getId(), alone);
+                herds.add(alone);
+            }
+        }
+    }
+
+    /**
+     * Gets the herd an animal currently belongs to.
+     *
+     * @param animal The animal to look up
+     * @return The herd, or null if the animal is not registered
+     */
+    public AnimalGroup getHerd(Animal animal) {
+        AnimalGroup group = membership.get(animal.getId());
+        return group == null ? null : group.find();
+    }
+
+    /**
+     * Checks whether an animal is following another member of its herd.
+     * <p>
+     * Followers are moved together with their leader, so they do not need to
+     * pick a movement of their own.
+     * </p>
+     *
+     * @param animal The animal to check
+     * @return True if the animal is in a herd and is not its leader
+     */
+    public boolean isFollower(Animal animal) {
+        AnimalGroup herd = getHerd(animal);
+        return herd != null && herd.size() > 1 && herd.getLeader() != animal;
+    }
+
+    /**
+     * Gets the animal standing on a cell.
+     *
+     * @param row Row index
+     * @param col Column index
+     * @return The animal on the cell, or null if there is none
+     */
+    public Animal getAnimalAt(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            return null;
+        }
+        return occupants[row * cols + col];
+    }
+
+    /**
+     * Gets all herds currently on the map.
+     *
+     * @return List of herds
+     */
+    public List<AnimalGroup> getHerds() {
+        return herds;
+    }
+
+    /**
+     * Merges the herd of an animal with every same-species herd in the
+     * surrounding eight cells.
+     */
+    private void mergeWithNeighbours(Animal animal) {
+        Coordinate pos = animal.getPosition();
+        if (pos == null) {
+            return;
+        }
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                if (dx == 0 && dy == 0) {
+                    continue;
+                }
+                Animal neighbour = getAnimalAt(pos.getX() + dx, pos.getY() + dy);
+                if (neighbour == null || neighbour.isBeingRemoved || !sameSpecies(animal, neighbour)) {
+                    continue;
+                }
+                AnimalGroup mine = membership.get(animal.getId()).find();
+                AnimalGroup theirs = membership.get(neighbour.getId()).find();
+                if (mine != theirs) {
+                    // On a tie the existing herd absorbs the newcomer and keeps its leader
+                    AnimalGroup merged = theirs.union(mine);
+                    herds.remove(merged == mine ? theirs : mine);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stores an animal (or null) in the cell index.
+     */
+    private void index(Coordinate pos, Animal animal) {
+        if (pos != null && pos.getX() >= 0 && pos.getX() < rows && pos.getY() >= 0 && pos.getY() < cols) {
+            occupants[pos.getX() * cols + pos.getY()] = animal;
+        }
+    }
+
+    /**
+     * Checks whether two animals may share a herd, by species id for the species
+     * of the registry and by name for any other.
+     */
+    private static boolean sameSpecies(Animal a, Animal b) {
+        if (a.getSpeciesId() != b.getSpeciesId()) {
+            return false;
+        }
+        return a.getSpeciesId() != Species.UNKNOWN || speciesOf(a).equals(speciesOf(b));
+    }
+
+    /**
+     * Gets the species key used to name herds.
+     */
+    private static String speciesOf(Animal animal) {
+        String description = animal.getDescription();
+        return description == null ? "" : description.toLowerCase();
+    }
+}
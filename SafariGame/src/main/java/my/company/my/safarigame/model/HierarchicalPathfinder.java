@@ -0,0 +1,556 @@
+package my.company.my.safarigame.model;
+
+import java.util.*;
+import my.company.my.safarigame.metrics.LatencyHistogram;
+import my.company.my.safarigame.metrics.MetricsRegistry;
+
+/**
+ * Finds routes across large grids with hierarchical pathfinding (HPA*).
+ * <p>
+ * The grid is split into square clusters. Where a stretch of passable cells runs
+ * along the border of two clusters, one or two entrances are placed on it; the
+ * distances between the entrances of a cluster are found with a search that stays
+ * inside the cluster. A route is first searched on this small abstract graph of
+ * entrances, which gives a list of waypoints, and only the stretches between
+ * consecutive waypoints are then searched cell by cell with {@link #refine}. A
+ * route across the whole reserve therefore visits a few entrances per cluster
+ * instead of every cell on the way.
+ * </p>
+ * <p>
+ * Clusters are built the first time a search reaches them. The pathfinder listens
+ * to its grid, and a terrain change only drops the clusters it touches, which are
+ * rebuilt on the next search. Routes are close to the shortest, not always the
+ * shortest, since they pass through the chosen entrances.
+ * </p>
+ */
+public class HierarchicalPathfinder implements TerrainListener {
+
+    /** Row offsets of the neighbour directions; the first four are straight steps. */
+    private static final int[] DX = {-1, 1, 0, 0, -1, -1, 1, 1};
+
+    /** Column offsets of the neighbour directions; the first four are straight steps. */
+    private static final int[] DY = {0, 0, -1, 1, -1, 1, -1, 1};
+
+    /** Border stretches at least this long get an entrance at each end instead of one in the middle. */
+    private static final int LONG_ENTRANCE = 6;
+
+    /** Time spent building and repairing clusters. */
+    private static final LatencyHistogram REPAIR_TIME = MetricsRegistry.getInstance().histogram("path.hpa.repair");
+
+    /** Time spent searching the abstract graph. */
+    private static final LatencyHistogram SEARCH_TIME = MetricsRegistry.getInstance().histogram("path.hpa.search");
+
+    private final Grid grid;
+    private final MovementClass movementClass;
+    private final int clusterSize;
+    private final int rows;
+    private final int cols;
+    private final int clusterRows;
+    private final int clusterCols;
+    private final int directions;
+
+    /** Entrance cells of every cluster, or null while the cluster needs building. */
+    private final int[][] entrances;
+
+    /** Distances between the entrances of every cluster, one row per entrance, -1 if unreachable. */
+    private final int[][] entranceDistance;
+
+    /**
+     * Entrances crossing the east and south border of every cluster, as pairs of a
+     * cell on this side and the cell next to it on the other side; null while out
+     * of date.
+     */
+    private final int[][] eastPairs;
+    private final int[][] southPairs;
+
+    /** Number of clusters built since the pathfinder was created. */
+    private int buildCount = 0;
+
+    /** Abstract nodes expanded by the last search. */
+    private int lastExpanded = 0;
+
+    /**
+     * Constructs a HierarchicalPathfinder with clusters the size of the grid chunks.
+     *
+     * @param grid The grid to navigate
+     * @param movementClass The movement class following the routes
+     */
+    public HierarchicalPathfinder(Grid grid, MovementClass movementClass) {
+        this(grid, movementClass, Grid.CHUNK_SIZE);
+    }
+
+    /**
+     * Constructs a HierarchicalPathfinder.
+     *
+     * @param grid The grid to navigate
+     * @param movementClass The movement class following the routes
+     * @param clusterSize Number of rows and columns of a cluster
+     * @throws IllegalArgumentException if the cluster size is below 2
+     */
+    public HierarchicalPathfinder(Grid grid, MovementClass movementClass, int clusterSize) {
+        if (clusterSize < 2) {
+            throw new IllegalArgumentException("Cluster size must be at least 2");
+        }
+        this.grid = grid;
+        this.movementClass = movementClass;
+        this.clusterSize = clusterSize;
+        this.rows = grid.getRows();
+        this.cols = grid.getColumns();
+        this.clusterRows = (rows + clusterSize - 1) / clusterSize;
+        this.clusterCols = (cols + clusterSize - 1) / clusterSize;
+        this.directions = movementClass.allowsDiagonal() ? 8 : 4;
+        int clusters = clusterRows * clusterCols;
+        entrances = new int[clusters][];
+        entranceDistance = new int[clusters][];
+        eastPairs = new int[clusters][];
+        southPairs = new int[clusters][];
+        grid.addTerrainListener(this);
+    }
+
+    /**
+     * Finds a route between two cells, refined into single steps.
+     *
+     * @param from The start cell
+     * @param to The target cell
+     * @return The route including both cells, or an empty list if there is none
+     */
+    public List<Coordinate> findPath(Coordinate from, Coordinate to) {
+        List<Coordinate> waypoints = findWaypoints(from, to);
+        List<Coordinate> path = new ArrayList<>();
+        if (waypoints.isEmpty()) {
+            return path;
+        }
+        path.add(waypoints.get(0));
+        for (int i = 1; i < waypoints.size(); i++) {
+            path.addAll(refine(waypoints.get(i - 1), waypoints.get(i)));
+        }
+        return path;
+    }
+
+    /**
+     * Finds the waypoints of a route between two cells on the abstract graph.
+     * <p>
+     * Consecutive waypoints lie in the same cluster or on both sides of a cluster
+     * border; objects walking the route can refine one stretch at a time.
+     * </p>
+     *
+     * @param from The start cell, which must be passable
+     * @param to The target cell, which must be passable
+     * @return The waypoints from start to target, or an empty list if there is no route
+     */
+    public List<Coordinate> findWaypoints(Coordinate from, Coordinate to) {
+        List<Coordinate> waypoints = new ArrayList<>();
+        lastExpanded = 0;
+        if (!isPassable(from.getX(), from.getY()) || !isPassable(to.getX(), to.getY())) {
+            return waypoints;
+        }
+        int start = from.getX() * cols + from.getY();
+        int goal = to.getX() * cols + to.getY();
+        if (start == goal) {
+            waypoints.add(from);
+            return waypoints;
+        }
+        int startCluster = clusterOf(start);
+        int goalCluster = clusterOf(goal);
+        int[] startLocal = searchCluster(startCluster, start, null);
+        if (startCluster == goalCluster && startLocal[localIndex(startCluster, goal)] >= 0) {
+            waypoints.add(from);
+            waypoints.add(to);
+            return waypoints;
+        }
+
+        long searchStart = System.nanoTime();
+        int[] goalLocal = searchCluster(goalCluster, goal, null);
+        Map<Integer, Integer> cost = new HashMap<>();
+        Map<Integer, Integer> cameFrom = new HashMap<>();
+        PriorityQueue<long[]> open = new PriorityQueue<>(Comparator.comparingLong((long[] e) -> e[0]));
+        cost.put(start, 0);
+        open.add(new long[]{estimate(start, goal), start});
+        boolean found = false;
+        while (!open.isEmpty()) {
+            long[] entry = open.poll();
+            int cell = (int) entry[1];
+            int g = cost.get(cell);
+            if (entry[0] > g + estimate(cell, goal)) {
+                continue; // A cheaper way to this node was queued later
+            }
+            if (cell == goal) {
+                found = true;
+                break;
+            }
+            lastExpanded++;
+            int cluster = clusterOf(cell);
+            ensureCluster(cluster);
+            if (cell == start) {
+                for (int entrance : entrances[cluster]) {
+                    int d = startLocal[localIndex(cluster, entrance)];
+                    if (d >= 0) {
+                        relax(open, cost, cameFrom, cell, entrance, g + d, goal);
+                    }
+                }
+            } else {
+                int slot = slotOf(cluster, cell);
+                if (slot >= 0) {
+                    int[] ids = entrances[cluster];
+                    int[] distance = entranceDistance[cluster];
+                    for (int j = 0; j < ids.length; j++) {
+                        int d = distance[slot * ids.length + j];
+                        if (d > 0) {
+                            relax(open, cost, cameFrom, cell, ids[j], g + d, goal);
+                        }
+                    }
+                }
+            }
+            for (int partner : partnersOf(cluster, cell)) {
+                relax(open, cost, cameFrom, cell, partner, g + 1, goal);
+            }
+            if (cluster == goalCluster) {
+                int d = goalLocal[localIndex(cluster, cell)];
+                if (d >= 0) {
+                    relax(open, cost, cameFrom, cell, goal, g + d, goal);
+                }
+            }
+        }
+        SEARCH_TIME.recordSince(searchStart);
+        if (!found) {
+            return waypoints;
+        }
+        for (Integer cell = goal; cell != null; cell = cameFrom.get(cell)) {
+            waypoints.add(Coordinate.of(cell / cols, cell % cols));
+        }
+        Collections.reverse(waypoints);
+        return waypoints;
+    }
+
+    /**
+     * Finds the single steps between two consecutive waypoints.
+     *
+     * @param from The waypoint to start from
+     * @param to The next waypoint
+     * @return The steps after the first waypoint up to and including the second,
+     *         or an empty list if the second cannot be reached
+     */
+    public List<Coordinate> refine(Coordinate from, Coordinate to) {
+        List<Coordinate> steps = new ArrayList<>();
+        int start = from.getX() * cols + from.getY();
+        int goal = to.getX() * cols + to.getY();
+        int cluster = clusterOf(start);
+        if (cluster != clusterOf(goal)) {
+            // Waypoints in different clusters face each other across the border
+            steps.add(to);
+            return steps;
+        }
+        byte[] parent = new byte[clusterArea(cluster)];
+        int[] local = searchCluster(cluster, start, parent);
+        if (local[localIndex(cluster, goal)] < 0) {
+            return steps;
+        }
+        int row = to.getX();
+        int col = to.getY();
+        while (row * cols + col != start) {
+            steps.add(Coordinate.of(row, col));
+            int d = parent[localIndex(cluster, row * cols + col)];
+            row -= DX[d];
+            col -= DY[d];
+        }
+        Collections.reverse(steps);
+        return steps;
+    }
+
+    /**
+     * Drops the clusters touching the changed cells, and their neighbours where a
+     * changed cell lies on the border between them.
+     */
+    @Override
+    public void onTerrainChanged(int top, int left, int bottom, int right) {
+        int firstRow = Math.max(0, top) / clusterSize;
+        int lastRow = Math.min(rows - 1, bottom - 1) / clusterSize;
+        int firstCol = Math.max(0, left) / clusterSize;
+        int lastCol = Math.min(cols - 1, right - 1) / clusterSize;
+        for (int cr = firstRow; cr <= lastRow; cr++) {
+            for (int cc = firstCol; cc <= lastCol; cc++) {
+                int cluster = cr * clusterCols + cc;
+                entrances[cluster] = null;
+                eastPairs[cluster] = null;
+                southPairs[cluster] = null;
+                int clusterTop = cr * clusterSize;
+                int clusterLeft = cc * clusterSize;
+                if (cr > 0 && top <= clusterTop) {
+                    southPairs[cluster - clusterCols] = null;
+                    entrances[cluster - clusterCols] = null;
+                }
+                if (cc > 0 && left <= clusterLeft) {
+                    eastPairs[cluster - 1] = null;
+                    entrances[cluster - 1] = null;
+                }
+                if (cr < clusterRows - 1 && bottom >= clusterTop + clusterSize) {
+                    entrances[cluster + clusterCols] = null;
+                }
+                if (cc < clusterCols - 1 && right >= clusterLeft + clusterSize) {
+                    entrances[cluster + 1] = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the number of clusters built so far, including rebuilds after terrain changes.
+     *
+     * @return The number of cluster builds
+     */
+    public int getBuildCount() {
+        return buildCount;
+    }
+
+    /**
+     * Gets the number of abstract nodes the last search expanded.
+     *
+     * @return The number of expanded entrances
+     */
+    public int getLastExpandedCount() {
+        return lastExpanded;
+    }
+
+    /**
+     * Gets the movement class the routes are found for.
+     *
+     * @return The movement class
+     */
+    public MovementClass getMovementClass() {
+        return movementClass;
+    }
+
+    private void relax(PriorityQueue<long[]> open, Map<Integer, Integer> cost, Map<Integer, Integer> cameFrom,
+            int from, int to, int g, int goal) {
+        Integer known = cost.get(to);
+        if (known == null || g < known) {
+            cost.put(to, g);
+            cameFrom.put(to, from);
+            open.add(new long[]{g + estimate(to, goal), to});
+        }
+    }
+
+    /**
+     * Estimates the steps between two cells, never more than the real number.
+     */
+    private int estimate(int from, int to) {
+        int dr = Math.abs(from / cols - to / cols);
+        int dc = Math.abs(from % cols - to % cols);
+        return movementClass.allowsDiagonal() ? Math.max(dr, dc) : dr + dc;
+    }
+
+    /**
+     * Finds the entrances of a cluster and the distances between them, if it was
+     * dropped or never built.
+     */
+    private void ensureCluster(int cluster) {
+        if (entrances[cluster] != null) {
+            return;
+        }
+        long start = System.nanoTime();
+        Set<Integer> cells = new LinkedHashSet<>();
+        int[] pairs = eastPairsOf(cluster);
+        for (int i = 0; i < pairs.length; i += 2) {
+            cells.add(pairs[i]);
+        }
+        pairs = southPairsOf(cluster);
+        for (int i = 0; i < pairs.length; i += 2) {
+            cells.add(pairs[i]);
+        }
+        if (cluster % clusterCols > 0) {
+            pairs = eastPairsOf(cluster - 1);
+            for (int i = 1; i < pairs.length; i += 2) {
+                cells.add(pairs[i]);
+            }
+        }
+        if (cluster >= clusterCols) {
+            pairs = southPairsOf(cluster - clusterCols);
+            for (int i = 1; i < pairs.length; i += 2) {
+                cells.add(pairs[i]);
+            }
+        }
+
+        int[] ids = new int[cells.size()];
+        int n = 0;
+        for (int cell : cells) {
+            ids[n++] = cell;
+        }
+        int[] distance = new int[n * n];
+        for (int i = 0; i < n; i++) {
+            int[] local = searchCluster(cluster, ids[i], null);
+            for (int j = 0; j < n; j++) {
+                distance[i * n + j] = local[localIndex(cluster, ids[j])];
+            }
+        }
+        entrances[cluster] = ids;
+        entranceDistance[cluster] = distance;
+        buildCount++;
+        REPAIR_TIME.recordSince(start);
+    }
+
+    /**
+     * Gets the cells across the borders of a cluster that a cell of it connects to.
+     */
+    private List<Integer> partnersOf(int cluster, int cell) {
+        List<Integer> partners = new ArrayList<>(2);
+        addPartners(partners, eastPairsOf(cluster), cell, 0);
+        addPartners(partners, southPairsOf(cluster), cell, 0);
+        if (cluster % clusterCols > 0) {
+            addPartners(partners, eastPairsOf(cluster - 1), cell, 1);
+        }
+        if (cluster >= clusterCols) {
+            addPartners(partners, southPairsOf(cluster - clusterCols), cell, 1);
+        }
+        return partners;
+    }
+
+    private static void addPartners(List<Integer> partners, int[] pairs, int cell, int side) {
+        for (int i = 0; i < pairs.length; i += 2) {
+            if (pairs[i + side] == cell) {
+                partners.add(pairs[i + 1 - side]);
+            }
+        }
+    }
+
+    private int[] eastPairsOf(int cluster) {
+        if (eastPairs[cluster] == null) {
+            eastPairs[cluster] = findEntrances(cluster, true);
+        }
+        return eastPairs[cluster];
+    }
+
+    private int[] southPairsOf(int cluster) {
+        if (southPairs[cluster] == null) {
+            southPairs[cluster] = findEntrances(cluster, false);
+        }
+        return southPairs[cluster];
+    }
+
+    /**
+     * Places entrances on the stretches of passable cells facing each other across
+     * the east or south border of a cluster.
+     */
+    private int[] findEntrances(int cluster, boolean east) {
+        int cr = cluster / clusterCols;
+        int cc = cluster % clusterCols;
+        if ((east && cc == clusterCols - 1) || (!east && cr == clusterRows - 1)) {
+            return new int[0];
+        }
+        int top = cr * clusterSize;
+        int left = cc * clusterSize;
+        // Walk along the border: down the last column, or along the last row
+        int length = east ? Math.min(rows, top + clusterSize) - top : Math.min(cols, left + clusterSize) - left;
+        int row = east ? top : top + clusterSize - 1;
+        int col = east ? left + clusterSize - 1 : left;
+        int dRow = east ? 1 : 0;
+        int dCol = east ? 0 : 1;
+        int crossRow = east ? 0 : 1;
+        int crossCol = east ? 1 : 0;
+
+        List<Integer> pairs = new ArrayList<>();
+        int runStart = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean open = i < length
+                    && isPassable(row + i * dRow, col + i * dCol)
+                    && isPassable(row + i * dRow + crossRow, col + i * dCol + crossCol);
+            if (open && runStart < 0) {
+                runStart = i;
+            } else if (!open && runStart >= 0) {
+                int runEnd = i - 1;
+                if (runEnd - runStart + 1 >= LONG_ENTRANCE) {
+                    addPair(pairs, row, col, dRow, dCol, crossRow, crossCol, runStart);
+                    addPair(pairs, row, col, dRow, dCol, crossRow, crossCol, runEnd);
+                } else {
+                    addPair(pairs, row, col, dRow, dCol, crossRow, crossCol, (runStart + runEnd) / 2);
+                }
+                runStart = -1;
+            }
+        }
+        int[] result = new int[pairs.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = pairs.get(i);
+        }
+        return result;
+    }
+
+    private void addPair(List<Integer> pairs, int row, int col, int dRow, int dCol, int crossRow, int crossCol, int i) {
+        int r = row + i * dRow;
+        int c = col + i * dCol;
+        pairs.add(r * cols + c);
+        pairs.add((r + crossRow) * cols + c + crossCol);
+    }
+
+    /**
+     * Runs a breadth-first search from a cell that does not leave its cluster.
+     *
+     * @param parent Receives the direction each cell was reached by, or null
+     * @return The distance to every cell of the cluster, -1 if unreachable
+     */
+    private int[] searchCluster(int cluster, int from, byte[] parent) {
+        int top = (cluster / clusterCols) * clusterSize;
+        int left = (cluster % clusterCols) * clusterSize;
+        int bottom = Math.min(rows, top + clusterSize);
+        int right = Math.min(cols, left + clusterSize);
+        int width = right - left;
+        int[] distance = new int[clusterArea(cluster)];
+        Arrays.fill(distance, -1);
+        int[] queue = new int[distance.length];
+        int head = 0;
+        int tail = 0;
+        int origin = (from / cols - top) * width + from % cols - left;
+        distance[origin] = 0;
+        queue[tail++] = origin;
+        while (head < tail) {
+            int index = queue[head++];
+            int row = top + index / width;
+            int col = left + index % width;
+            for (int d = 0; d < directions; d++) {
+                int nr = row + DX[d];
+                int nc = col + DY[d];
+                if (nr < top || nr >= bottom || nc < left || nc >= right || !isPassable(nr, nc)) {
+                    continue;
+                }
+                int neighbour = (nr - top) * width + nc - left;
+                if (distance[neighbour] < 0) {
+                    distance[neighbour] = distance[index] + 1;
+                    if (parent != null) {
+                        parent[neighbour] = (byte) d;
+                    }
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+        return distance;
+    }
+
+    private int clusterOf(int cell) {
+        return (cell / cols / clusterSize) * clusterCols + (cell % cols) / clusterSize;
+    }
+
+    private int clusterArea(int cluster) {
+        int top = (cluster / clusterCols) * clusterSize;
+        int left = (cluster % clusterCols) * clusterSize;
+        return (Math.min(rows, top + clusterSize) - top) * (Math.min(cols, left + clusterSize) - left);
+    }
+
+    private int localIndex(int cluster, int cell) {
+        int top = (cluster / clusterCols) * clusterSize;
+        int left = (cluster % clusterCols) * clusterSize;
+        int width = Math.min(cols, left + clusterSize) - left;
+        return (cell / cols - top) * width + cell % cols - left;
+    }
+
+    private int slotOf(int cluster, int cell) {
+        int[] ids = entrances[cluster];
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == cell) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isPassable(int row, int col) {
+        return row >= 0 && row < rows && col >= 0 && col < cols && movementClass.canEnter(grid.getCellType(row, col));
+    }
+}
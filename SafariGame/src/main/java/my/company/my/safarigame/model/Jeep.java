@@ -11,7 +11,10 @@ import java.util.*;
  * purchased and sold within the game economy.
  * </p>
  */
-public class Jeep implements TradeableItem {
+public class Jeep implements TradeableItem, Entity {
+    /** The id of this jeep, assigned when it is added to a map. */
+    private int id = EntityIds.NONE;
+
     /** The price of the jeep when traded. */
     private final double price = 300;
     
@@ -39,7 +42,7 @@ public class Jeep implements TradeableItem {
     public Jeep(Coordinate position) {
         this.position = position;
         this.currentPassengers = new ArrayList<>();
-        this.lastPosition = new Coordinate(position.getX(), position.getY());  // Initialize last position
+        this.lastPosition = position;  // Initialize last position, coordinates are immutable
     }
 
     /**
@@ -52,7 +55,7 @@ public class Jeep implements TradeableItem {
      * @param destination The coordinate to move the jeep to
      */
     public void moveTo(Coordinate destination) {
-        this.lastPosition = new Coordinate(position.getX(), position.getY()); // Store current position as last
+        this.lastPosition = position; // Store current position as last
         this.position = destination;
     }
 
@@ -151,7 +154,7 @@ public class Jeep implements TradeableItem {
      * @param y The y-coordinate
      */
     public void setPosition(int x, int y) {
-        this.position = new Coordinate(x, y);
+        this.position = Coordinate.of(x, y);
     }
 
     /**
@@ -166,4 +169,24 @@ public class Jeep implements TradeableItem {
     public void setLastPosition(Coordinate lastPosition) {
         this.lastPosition = lastPosition;
     }
-}
\ No newline at end of file
+
+    /**
+     * Gets the id of this jeep.
+     *
+     * @return The id, or {@link EntityIds#NONE} if it is not on a map
+     */
+    @Override
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Sets the id of this jeep. Called by {@link EntityIds} only.
+     *
+     * @param id The new id
+     */
+    @Override
+    public void setId(int id) {
+        this.id = id;
+    }
+}
@@ -0,0 +1,350 @@
+package my.company.my.safarigame.model;
+
+import java.util.*;
+import my.company.my.safarigame.metrics.LatencyHistogram;
+import my.company.my.safarigame.metrics.MetricsRegistry;
+
+/**
+ * Finds paths for animals across open terrain with Jump Point Search.
+ * <p>
+ * Jump Point Search is A* on a grid with eight directions that does not put every
+ * open cell on the open list. From each node it only looks on in the directions a
+ * shortest path could continue, and it runs along each direction until it reaches
+ * the target or a cell where an obstacle next to the line forces a turn. Only those
+ * jump points are queued, so a route over open grass costs a handful of nodes
+ * instead of the whole diamond of equally short paths plain A* would expand.
+ * </p>
+ * <p>
+ * Runs along rows and columns are made 64 cells at a time: the search keeps one
+ * bit per cell telling whether it can be entered, row by row and again column by
+ * column, and a single word operation finds the next obstacle or forced turn in
+ * the next 64 cells. The bits follow the grid's terrain notifications.
+ * </p>
+ * <p>
+ * Diagonal steps may pass the corner of an obstacle, as they may for the flow
+ * fields. Straight steps cost 10 and diagonal ones 14, so among paths with the
+ * same number of steps the straighter one is chosen.
+ * </p>
+ */
+public class JumpPointSearch implements TerrainListener {
+
+    /** Cost of a straight step. */
+    private static final int STRAIGHT = 10;
+
+    /** Cost of a diagonal step. */
+    private static final int DIAGONAL = 14;
+
+    /** Row offsets of the eight directions. */
+    private static final int[] DX = {-1, 1, 0, 0, -1, -1, 1, 1};
+
+    /** Column offsets of the eight directions. */
+    private static final int[] DY = {0, 0, -1, 1, -1, 1, -1, 1};
+
+    /** Time spent searching. */
+    private static final LatencyHistogram SEARCH_TIME = MetricsRegistry.getInstance().histogram("path.jps.search");
+
+    private final Grid grid;
+    private final MovementClass movementClass;
+    private final int rows;
+    private final int cols;
+
+    /** Words per row of {@link #rowBits} and per column of {@link #columnBits}. */
+    private final int rowWords;
+    private final int columnWords;
+
+    /** Passable cells, one bit per cell, row by row. */
+    private final long[] rowBits;
+
+    /** Passable cells, one bit per cell, column by column. */
+    private final long[] columnBits;
+
+    /** Jump points expanded by the last search. */
+    private int lastExpanded = 0;
+
+    /**
+     * Constructs a JumpPointSearch.
+     *
+     * @param grid The grid to navigate
+     * @param movementClass The movement class following the paths
+     * @throws IllegalArgumentException if the movement class cannot move diagonally
+     */
+    public JumpPointSearch(Grid grid, MovementClass movementClass) {
+        if (!movementClass.allowsDiagonal()) {
+            throw new IllegalArgumentException("Jump point search needs diagonal moves");
+        }
+        this.grid = grid;
+        this.movementClass = movementClass;
+        this.rows = grid.getRows();
+        this.cols = grid.getColumns();
+        rowWords = (cols + 63) >> 6;
+        columnWords = (rows + 63) >> 6;
+        rowBits = new long[rows * rowWords];
+        columnBits = new long[cols * columnWords];
+        onTerrainChanged(0, 0, rows, cols);
+        grid.addTerrainListener(this);
+    }
+
+    /**
+     * Finds a shortest path between two cells.
+     *
+     * @param from The start cell
+     * @param to The target cell, which must be passable
+     * @return The path including both cells, or an empty list if there is none
+     */
+    public List<Coordinate> findPath(Coordinate from, Coordinate to) {
+        lastExpanded = 0;
+        List<Coordinate> path = new ArrayList<>();
+        if (!inBounds(from.getX(), from.getY()) || !isPassable(to.getX(), to.getY())) {
+            return path;
+        }
+        long searchStart = System.nanoTime();
+        int start = from.getX() * cols + from.getY();
+        int goal = to.getX() * cols + to.getY();
+        Map<Integer, Integer> cost = new HashMap<>();
+        Map<Integer, Integer> cameFrom = new HashMap<>();
+        PriorityQueue<long[]> open = new PriorityQueue<>(Comparator.comparingLong((long[] e) -> e[0]));
+        cost.put(start, 0);
+        open.add(new long[]{estimate(start, goal), start});
+        boolean found = false;
+        while (!open.isEmpty()) {
+            long[] entry = open.poll();
+            int node = (int) entry[1];
+            int g = cost.get(node);
+            if (entry[0] > g + estimate(node, goal)) {
+                continue; // A cheaper way to this node was queued later
+            }
+            if (node == goal) {
+                found = true;
+                break;
+            }
+            lastExpanded++;
+            int row = node / cols;
+            int col = node % cols;
+            Integer parent = cameFrom.get(node);
+            for (int d = 0; d < DX.length; d++) {
+                if (parent != null && !isNatural(row, col, parent, d)) {
+                    continue;
+                }
+                int jumpPoint = jump(row, col, DX[d], DY[d], goal);
+                if (jumpPoint < 0) {
+                    continue;
+                }
+                int next = g + distance(node, jumpPoint);
+                Integer known = cost.get(jumpPoint);
+                if (known == null || next < known) {
+                    cost.put(jumpPoint, next);
+                    cameFrom.put(jumpPoint, node);
+                    open.add(new long[]{next + estimate(jumpPoint, goal), jumpPoint});
+                }
+            }
+        }
+        SEARCH_TIME.recordSince(searchStart);
+        if (!found) {
+            return path;
+        }
+
+        // Fill in the cells along the straight and diagonal lines between jump points
+        List<Integer> jumpPoints = new ArrayList<>();
+        for (Integer node = goal; node != null; node = cameFrom.get(node)) {
+            jumpPoints.add(node);
+        }
+        Collections.reverse(jumpPoints);
+        int row = from.getX();
+        int col = from.getY();
+        path.add(from);
+        for (int i = 1; i < jumpPoints.size(); i++) {
+            int targetRow = jumpPoints.get(i) / cols;
+            int targetCol = jumpPoints.get(i) % cols;
+            int dr = Integer.signum(targetRow - row);
+            int dc = Integer.signum(targetCol - col);
+            while (row != targetRow || col != targetCol) {
+                row += dr;
+                col += dc;
+                path.add(Coordinate.of(row, col));
+            }
+        }
+        return path;
+    }
+
+    /**
+     * Updates the passable bits of the changed cells.
+     */
+    @Override
+    public void onTerrainChanged(int top, int left, int bottom, int right) {
+        for (int r = Math.max(0, top); r < Math.min(rows, bottom); r++) {
+            for (int c = Math.max(0, left); c < Math.min(cols, right); c++) {
+                long rowBit = 1L << (c & 63);
+                long columnBit = 1L << (r & 63);
+                if (movementClass.canEnter(grid.getCellType(r, c))) {
+                    rowBits[r * rowWords + (c >> 6)] |= rowBit;
+                    columnBits[c * columnWords + (r >> 6)] |= columnBit;
+                } else {
+                    rowBits[r * rowWords + (c >> 6)] &= ~rowBit;
+                    columnBits[c * columnWords + (r >> 6)] &= ~columnBit;
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the number of jump points the last search expanded.
+     *
+     * @return The number of expanded nodes
+     */
+    public int getLastExpandedCount() {
+        return lastExpanded;
+    }
+
+    /**
+     * Gets the movement class the paths are found for.
+     *
+     * @return The movement class
+     */
+    public MovementClass getMovementClass() {
+        return movementClass;
+    }
+
+    /**
+     * Checks whether a shortest path arriving at a cell from its parent can go on
+     * in a direction: straight ahead, or turning around an obstacle beside it.
+     */
+    private boolean isNatural(int row, int col, int parent, int d) {
+        int dr = Integer.signum(row - parent / cols);
+        int dc = Integer.signum(col - parent % cols);
+        int nr = DX[d];
+        int nc = DY[d];
+        if (dr != 0 && dc != 0) {
+            if ((nr == dr && nc == dc) || (nr == dr && nc == 0) || (nr == 0 && nc == dc)) {
+                return true;
+            }
+            // Forced neighbours behind the obstacles beside a diagonal move
+            return (nr == -dr && nc == dc && !isPassable(row - dr, col))
+                    || (nr == dr && nc == -dc && !isPassable(row, col - dc));
+        }
+        if (nr == dr && nc == dc) {
+            return true;
+        }
+        if (dr != 0) {
+            return nr == dr && nc != 0 && !isPassable(row, col + nc);
+        }
+        return nc == dc && nr != 0 && !isPassable(row + nr, col);
+    }
+
+    /**
+     * Runs from a cell in a direction until reaching the target or a jump point.
+     *
+     * @return The jump point, or -1 if the line runs into an obstacle
+     */
+    private int jump(int row, int col, int dr, int dc, int goal) {
+        int goalRow = goal / cols;
+        int goalCol = goal % cols;
+        if (dr == 0) {
+            int c = scan(rowBits, rowWords, rows, row, col, dc, row == goalRow ? goalCol : -1);
+            return c < 0 ? -1 : row * cols + c;
+        }
+        if (dc == 0) {
+            int r = scan(columnBits, columnWords, cols, col, row, dr, col == goalCol ? goalRow : -1);
+            return r < 0 ? -1 : r * cols + col;
+        }
+        while (true) {
+            row += dr;
+            col += dc;
+            if (!isPassable(row, col)) {
+                return -1;
+            }
+            int cell = row * cols + col;
+            if (cell == goal
+                    || (!isPassable(row - dr, col) && isPassable(row - dr, col + dc))
+                    || (!isPassable(row, col - dc) && isPassable(row + dr, col - dc))
+                    || scan(rowBits, rowWords, rows, row, col, dc, row == goalRow ? goalCol : -1) >= 0
+                    || scan(columnBits, columnWords, cols, col, row, dr, col == goalCol ? goalRow : -1) >= 0) {
+                return cell;
+            }
+        }
+    }
+
+    /**
+     * Runs along a row or column of a bit table, 64 cells at a time.
+     * <p>
+     * A straight run stops at the first cell that is the target, or that has an
+     * obstacle on one side with open ground diagonally ahead on the same side,
+     * where a shortest path may have to turn.
+     * </p>
+     *
+     * @param bits The passable bits, line by line
+     * @param words Words per line
+     * @param lines Number of lines
+     * @param line The line to run along
+     * @param from Position on the line to start from, not itself checked
+     * @param dir 1 to run toward higher positions, -1 toward lower ones
+     * @param goal Position of the target on the line, or -1
+     * @return The position of the jump point, or -1 if the run hits an obstacle or the edge
+     */
+    private static int scan(long[] bits, int words, int lines, int line, int from, int dir, int goal) {
+        int start = from + dir;
+        if (start < 0) {
+            return -1;
+        }
+        for (int w = start >> 6; w >= 0 && w < words; w += dir) {
+            long open = bits[line * words + w];
+            long events = ~open | forced(bits, words, lines, line - 1, w, dir) | forced(bits, words, lines, line + 1, w, dir);
+            if (goal >= 0 && goal >> 6 == w) {
+                events |= 1L << (goal & 63);
+            }
+            if (w == start >> 6) {
+                int bit = start & 63;
+                // Ignore the positions behind the start
+                events &= dir > 0 ? -1L << bit : (bit == 63 ? -1L : (1L << (bit + 1)) - 1);
+            }
+            if (events != 0) {
+                int bit = dir > 0 ? Long.numberOfTrailingZeros(events) : 63 - Long.numberOfLeadingZeros(events);
+                return (open & (1L << bit)) == 0 ? -1 : (w << 6) + bit;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Marks the positions of a word whose cell on a side line is blocked while the
+     * next cell in the running direction on that line is open.
+     */
+    private static long forced(long[] bits, int words, int lines, int side, int w, int dir) {
+        if (side < 0 || side >= lines) {
+            return 0;
+        }
+        long here = bits[side * words + w];
+        long ahead;
+        if (dir > 0) {
+            long next = w + 1 < words ? bits[side * words + w + 1] : 0;
+            ahead = (here >>> 1) | (next << 63);
+        } else {
+            long previous = w > 0 ? bits[side * words + w - 1] : 0;
+            ahead = (here << 1) | (previous >>> 63);
+        }
+        return ~here & ahead;
+    }
+
+    /**
+     * Gets the cost of the straight or diagonal line between two jump points.
+     */
+    private int distance(int from, int to) {
+        int dr = Math.abs(from / cols - to / cols);
+        int dc = Math.abs(from % cols - to % cols);
+        return DIAGONAL * Math.min(dr, dc) + STRAIGHT * Math.abs(dr - dc);
+    }
+
+    /**
+     * Estimates the cost between two cells, never more than the real cost.
+     */
+    private int estimate(int from, int to) {
+        return distance(from, to);
+    }
+
+    private boolean inBounds(int row, int col) {
+        return row >= 0 && row < rows && col >= 0 && col < cols;
+    }
+
+    private boolean isPassable(int row, int col) {
+        return inBounds(row, col) && (rowBits[row * rowWords + (col >> 6)] & (1L << (col & 63))) != 0;
+    }
+}
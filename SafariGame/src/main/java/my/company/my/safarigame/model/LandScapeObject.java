@@ -4,6 +4,8 @@
  */
 package my.company.my.safarigame.model;
 
+import java.util.Objects;
+
 /**
  * Abstract base class for all objects that can be placed in the safari landscape.
  * <p>
@@ -18,9 +20,15 @@ package my.company.my.safarigame.model;
  * method that subclasses must implement to handle their specific update logic.
  * </p>
  */
-public abstract class LandScapeObject implements TradeableItem {
+public abstract class LandScapeObject implements TradeableItem, Entity {
+    /** The id of this object, assigned when it is added to a map. */
+    private int id = EntityIds.NONE;
+
     /** The position of this object in the game world. */
-    public Coordinate position;
+    private Coordinate position;
+
+    /** Notified whenever the position changes, set by the map holding the object. */
+    private PositionListener positionListener;
     
     /** The type identifier for this landscape object. */
     protected String type;
@@ -44,6 +52,43 @@ public abstract class LandScapeObject implements TradeableItem {
     public Coordinate getPosition() {
         return position;
     }
+
+    /**
+     * Moves this landscape object to a new position.
+     * <p>
+     * This is the only way the position of an object changes, so the map's
+     * cell index and dirty cells follow every move through the
+     * {@link PositionListener}.
+     * </p>
+     *
+     * @param position The new position
+     */
+    public void setPosition(Coordinate position) {
+        Coordinate oldPosition = this.position;
+        this.position = position;
+        if (positionListener != null && !Objects.equals(oldPosition, position)) {
+            positionListener.onPositionChanged(this, oldPosition);
+        }
+    }
+
+    /**
+     * Moves this landscape object to the specified coordinates.
+     *
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     */
+    public void setPosition(int x, int y) {
+        setPosition(Coordinate.of(x, y));
+    }
+
+    /**
+     * Sets the listener notified when this object moves.
+     *
+     * @param positionListener The listener, or null to stop notifications
+     */
+    public void setPositionListener(PositionListener positionListener) {
+        this.positionListener = positionListener;
+    }
     
     /**
      * Gets the type identifier of this landscape object.
@@ -63,4 +108,24 @@ public abstract class LandScapeObject implements TradeableItem {
      * </p>
      */
     public abstract void update();
-}
\ No newline at end of file
+
+    /**
+     * Gets the id of this object.
+     *
+     * @return The id, or {@link EntityIds#NONE} if it is not on a map
+     */
+    @Override
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Sets the id of this object. Called by {@link EntityIds} only.
+     *
+     * @param id The new id
+     */
+    @Override
+    public void setId(int id) {
+        this.id = id;
+    }
+}
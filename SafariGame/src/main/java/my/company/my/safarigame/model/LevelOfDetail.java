@@ -0,0 +1,122 @@
+package my.company.my.safarigame.model;
+
+/**
+ * Decides which animals are simulated in full and which with a cheaper model.
+ * <p>
+ * An animal is observed when it is inside the viewport or within
+ * {@link #OBSERVER_RADIUS} cells of a jeep or a ranger. Observed animals take
+ * every step. The others take one coarse step every {@link #STRIDE} steps, in
+ * which their lifecycle is advanced by the whole stride at once and they move as
+ * far as the steps they skipped would have taken them: up to a stride along the
+ * water or grazing field, or {@link #WANDER_MOVES} cells in one random direction
+ * when wandering, the typical distance of a random walk of a stride's length.
+ * The coarse steps are spread over the stride by entity id, so each step handles
+ * about the same number of animals.
+ * </p>
+ * <p>
+ * Both kinds of turn are taken by the {@link AnimalStepper}, with the same rules
+ * in the game and in batch runs: a coarse herd leader takes its followers along
+ * every cell it moves, and followers wait for their leader either way.
+ * </p>
+ * <p>
+ * Coarse animals keep their real positions and state, so an animal coming into
+ * view simply continues with full steps. The level of detail is off until
+ * enabled, in which case every animal is observed.
+ * </p>
+ */
+public class LevelOfDetail {
+
+    /** Steps covered by one coarse step. */
+    public static final int STRIDE = 4;
+
+    /** Cells a coarse animal wanders in one coarse step. */
+    public static final int WANDER_MOVES = 2;
+
+    /** Distance within which jeeps and rangers observe animals. */
+    public static final int OBSERVER_RADIUS = 10;
+
+    private boolean enabled = false;
+
+    /** Viewport in cells, bottom and right exclusive; empty while nothing is shown. */
+    private int top, left, bottom, right;
+
+    /**
+     * Turns the cheaper model for unobserved animals on or off.
+     *
+     * @param enabled true to simulate unobserved animals coarsely
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Checks whether unobserved animals are simulated coarsely.
+     *
+     * @return true if the level of detail is on
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets the cells shown on screen.
+     *
+     * @param top First visible row
+     * @param left First visible column
+     * @param bottom Row after the last visible one
+     * @param right Column after the last visible one
+     */
+    public void setViewport(int top, int left, int bottom, int right) {
+        this.top = top;
+        this.left = left;
+        this.bottom = bottom;
+        this.right = right;
+    }
+
+    /**
+     * Checks whether an animal is simulated in full.
+     *
+     * @param animal The animal
+     * @param map The map holding the jeeps and rangers
+     * @return true if the level of detail is off or the animal is observed
+     */
+    public boolean isDetailed(Animal animal, SafariMap map) {
+        if (!enabled) {
+            return true;
+        }
+        Coordinate pos = animal.getPosition();
+        int row = pos.getX();
+        int col = pos.getY();
+        if (row >= top && row < bottom && col >= left && col < right) {
+            return true;
+        }
+        for (Jeep jeep : map.getJeeps()) {
+            if (isNear(jeep.getPosition(), row, col)) {
+                return true;
+            }
+        }
+        for (Ranger ranger : map.getRangers()) {
+            if (isNear(ranger.getPosition(), row, col)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether an unobserved animal takes its coarse step in a step.
+     *
+     * @param animal The animal
+     * @param step The number of the step
+     * @return true once every {@link #STRIDE} steps
+     */
+    public static boolean isCoarseTurn(Animal animal, long step) {
+        return Math.floorMod(step + animal.getId(), STRIDE) == 0;
+    }
+
+    private static boolean isNear(Coordinate observer, int row, int col) {
+        return observer != null
+                && Math.abs(observer.getX() - row) <= OBSERVER_RADIUS
+                && Math.abs(observer.getY() - col) <= OBSERVER_RADIUS;
+    }
+}
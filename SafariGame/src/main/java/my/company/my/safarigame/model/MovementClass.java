@@ -0,0 +1,56 @@
+package my.company.my.safarigame.model;
+
+/**
+ * The different ways objects can travel across the safari grid.
+ * <p>
+ * Each movement class decides which cell types can be entered and whether
+ * diagonal steps are allowed. Pathfinding structures such as {@link FlowField}
+ * are always built for one movement class.
+ * </p>
+ */
+public enum MovementClass {
+
+    /** Animals and rangers walking on open grass, in all eight directions. */
+    ANIMAL(true),
+
+    /** Jeeps driving along straight road tiles, in the four main directions. */
+    JEEP(false);
+
+    /** Whether diagonal steps are allowed for this movement class. */
+    private final boolean diagonal;
+
+    MovementClass(boolean diagonal) {
+        this.diagonal = diagonal;
+    }
+
+    /**
+     * Checks whether a cell of the given type can be entered.
+     * <p>
+     * Animals and rangers standing on grass do not block the terrain itself,
+     * so their cell codes, including those of every species of the
+     * {@link SpeciesRegistry}, count as walkable ground for animals.
+     * </p>
+     *
+     * @param cellType The cell type character
+     * @return True if the cell can be entered by this movement class
+     */
+    public boolean canEnter(char cellType) {
+        switch (this) {
+            case ANIMAL:
+                return cellType == '-' || cellType == 'R' || SpeciesRegistry.getInstance().isAnimal(cellType);
+            case JEEP:
+                return cellType == 'r' || cellType == '|';
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Checks whether diagonal steps are allowed.
+     *
+     * @return True if this movement class can move diagonally
+     */
+    public boolean allowsDiagonal() {
+        return diagonal;
+    }
+}
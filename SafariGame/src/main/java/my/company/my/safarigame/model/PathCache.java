@@ -0,0 +1,196 @@
+package my.company.my.safarigame.model;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the most recently used routes, so that objects asking again for the same
+ * route, like every jeep heading from the gate to the exit, get it without a search.
+ * <p>
+ * Routes are keyed by movement class, start cell and target cell. The cache holds
+ * a bounded number of routes and evicts the one used longest ago when full. Every
+ * route remembers the terrain version of its movement class on the grid it was
+ * found on, and is dropped when asked for after that terrain has changed; plants
+ * growing or being eaten leave jeep routes in place. Routes that do not exist are
+ * cached as empty lists like any other.
+ * </p>
+ */
+public class PathCache {
+
+    /** Number of routes kept unless another capacity is given. */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final int capacity;
+
+    /** Cached routes in order of use, the least recently used first. */
+    private final LinkedHashMap<Key, Entry> routes;
+
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+    private long invalidations = 0;
+
+    /**
+     * Constructs a PathCache holding {@link #DEFAULT_CAPACITY} routes.
+     */
+    public PathCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a PathCache.
+     *
+     * @param capacity Maximum number of routes kept
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public PathCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.routes = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > PathCache.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Gets a route, finding it with the given search if it is not cached or the
+     * terrain of its movement class has changed since it was found.
+     *
+     * @param grid The grid the route runs on
+     * @param movementClass The movement class following the route
+     * @param from The start cell
+     * @param to The target cell
+     * @param search Finds the route on a miss
+     * @return The route, which must not be changed
+     */
+    public List<Coordinate> getPath(Grid grid, MovementClass movementClass, Coordinate from, Coordinate to,
+            Supplier<List<Coordinate>> search) {
+        Key key = new Key(movementClass, from, to);
+        Entry entry = routes.get(key);
+        long terrainVersion = grid.getTerrainVersion(movementClass);
+        if (entry != null && entry.grid == grid && entry.terrainVersion == terrainVersion) {
+            hits++;
+            return entry.path;
+        }
+        if (entry != null) {
+            invalidations++;
+        }
+        misses++;
+        List<Coordinate> path = Collections.unmodifiableList(new ArrayList<>(search.get()));
+        routes.put(key, new Entry(grid, terrainVersion, path));
+        return path;
+    }
+
+    /**
+     * Drops all cached routes.
+     */
+    public void clear() {
+        routes.clear();
+    }
+
+    /**
+     * Gets the number of routes cached, including ones the terrain has outdated.
+     *
+     * @return The number of cached routes
+     */
+    public int size() {
+        return routes.size();
+    }
+
+    /**
+     * Gets the maximum number of routes kept.
+     *
+     * @return The capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the number of requests answered from the cache.
+     *
+     * @return The number of hits
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Gets the number of requests that needed a search.
+     *
+     * @return The number of misses
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Gets the number of routes evicted to make room for newer ones.
+     *
+     * @return The number of evictions
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Gets the number of cached routes found outdated by a terrain change.
+     *
+     * @return The number of invalidations
+     */
+    public long getInvalidations() {
+        return invalidations;
+    }
+
+    /**
+     * A route request.
+     */
+    private static final class Key {
+        private final MovementClass movementClass;
+        private final Coordinate from;
+        private final Coordinate to;
+
+        Key(MovementClass movementClass, Coordinate from, Coordinate to) {
+            this.movementClass = movementClass;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return movementClass == other.movementClass && from.equals(other.from) && to.equals(other.to);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(movementClass, from, to);
+        }
+    }
+
+    /**
+     * A cached route and the terrain it was found on.
+     */
+    private static final class Entry {
+        private final Grid grid;
+        private final long terrainVersion;
+        private final List<Coordinate> path;
+
+        Entry(Grid grid, long terrainVersion, List<Coordinate> path) {
+            this.grid = grid;
+            this.terrainVersion = terrainVersion;
+            this.path = path;
+        }
+    }
+}
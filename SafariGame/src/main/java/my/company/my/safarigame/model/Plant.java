@@ -29,6 +29,15 @@ public class Plant extends LandScapeObject {
     
     /** The species of the plant (e.g., "bush", "plant", "shrub"). */
     private String species;
+
+    /** Whether the plant has been eaten or has withered and is waiting to regrow. */
+    private boolean dormant;
+
+    /** Number of times the plant has grown back. */
+    private int regrowCount;
+
+    /** Growth stage at which a plant stops growing. */
+    public static final int MAX_GROWTH_STAGE = 5;
     
     /**
      * Constructs a new Plant at the specified position with the given species and price.
@@ -59,17 +68,89 @@ public class Plant extends LandScapeObject {
         growthStage++;
         health -= 1;
     }
+
+    /**
+     * Reduces the plant's health as it ages.
+     *
+     * @param amount The amount of health to lose
+     */
+    public void decay(int amount) {
+        health = Math.max(0, health - amount);
+    }
+
+    /**
+     * Marks the plant as eaten or withered, waiting to regrow.
+     */
+    public void makeDormant() {
+        dormant = true;
+    }
+
+    /**
+     * Brings a dormant plant back as a fresh seedling with full health.
+     */
+    public void regrow() {
+        dormant = false;
+        regrowCount++;
+        growthStage = 0;
+        health = 100;
+    }
     
     /**
      * Updates the plant's state during each game cycle.
      * <p>
-     * This implementation calls the grow method to advance the plant's
-     * growth stage and decrease its health.
+     * Plants no longer change every cycle. Growth, decay and regrowth are
+     * scheduled by the {@link VegetationManager}, so plants with nothing due
+     * cost nothing per tick.
      * </p>
      */
     @Override
     public void update() {
-        grow();
+        // Driven by VegetationManager events
+    }
+
+    /**
+     * Gets the current growth stage of the plant.
+     *
+     * @return The growth stage
+     */
+    public int getGrowthStage() {
+        return growthStage;
+    }
+
+    /**
+     * Gets the current health of the plant.
+     *
+     * @return The plant health
+     */
+    public int getHealth() {
+        return health;
+    }
+
+    /**
+     * Gets the number of times the plant has grown back.
+     *
+     * @return The regrowth count
+     */
+    public int getRegrowCount() {
+        return regrowCount;
+    }
+
+    /**
+     * Checks whether the plant is waiting to regrow.
+     *
+     * @return True if the plant has been eaten or has withered
+     */
+    public boolean isDormant() {
+        return dormant;
+    }
+
+    /**
+     * Gets the grid cell type character used for this plant's species.
+     *
+     * @return 'b' for bushes, 'h' for shrubs and 'p' for other plants
+     */
+    public char getCellType() {
+        return TileCodec.getInstance().plantTile(species);
     }
     
     /**
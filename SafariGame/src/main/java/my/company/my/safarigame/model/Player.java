@@ -7,6 +7,7 @@ package my.company.my.safarigame.model;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import my.company.my.safarigame.metrics.MetricsRegistry;
 
 /**
  * Represents a player in the safari game.
@@ -30,6 +31,9 @@ public class Player {
     
     /** The list of tradeable items owned by the player. */
     private List<TradeableItem> inventory;
+
+    /** Listener told about completed trades, may be null. */
+    private TradeListener tradeListener;
     
     /**
      * Constructs a new Player with the specified name.
@@ -58,6 +62,12 @@ public class Player {
         if (capital >= item.getPrice()) {
             capital -= item.getPrice();
             inventory.add(item);
+            MetricsRegistry.getInstance().counter("market.buy").increment();
+            if (tradeListener != null) {
+                tradeListener.onItemBought(item);
+            }
+        } else {
+            MetricsRegistry.getInstance().counter("market.buy.rejected").increment();
         }
     }
     
@@ -74,9 +84,22 @@ public class Player {
         if (inventory.contains(item)) {
             capital += item.getPrice();
             inventory.remove(item);
+            MetricsRegistry.getInstance().counter("market.sell").increment();
+            if (tradeListener != null) {
+                tradeListener.onItemSold(item);
+            }
         }
     }
     
+    /**
+     * Sets the listener told about every completed buy and sell.
+     *
+     * @param tradeListener The listener, or null to remove it
+     */
+    public void setTradeListener(TradeListener tradeListener) {
+        this.tradeListener = tradeListener;
+    }
+    
     /**
      * Updates the player's capital by the specified amount.
      * <p>
@@ -0,0 +1,20 @@
+package my.company.my.safarigame.model;
+
+/**
+ * Interface for being notified when a landscape object changes its position.
+ * <p>
+ * The {@link SafariMap} registers itself for every object it holds, so that
+ * its cell index and the cells to repaint follow every move, whichever part
+ * of the game made it.
+ * </p>
+ */
+public interface PositionListener {
+
+    /**
+     * Called after a landscape object has moved.
+     *
+     * @param object The object that moved
+     * @param oldPosition The position it moved from, null if it had none
+     */
+    void onPositionChanged(LandScapeObject object, Coordinate oldPosition);
+}
@@ -9,7 +9,10 @@ package my.company.my.safarigame.model;
  * through the game's market system.
  * </p>
  */
-public class Ranger implements TradeableItem {
+public class Ranger implements TradeableItem, Entity {
+    /** The id of this ranger, assigned when it is added to a map. */
+    private int id = EntityIds.NONE;
+
     /** The current position of the ranger in the game world. */
     private Coordinate position;
     
@@ -75,7 +78,7 @@ public class Ranger implements TradeableItem {
      * @param y The y-coordinate
      */
     public void setPosition(int x, int y) {
-        this.position = new Coordinate(x, y);
+        this.position = Coordinate.of(x, y);
     }
     
     /**
@@ -112,4 +115,24 @@ public class Ranger implements TradeableItem {
     public String getName() {
         return name;
     }
-}
\ No newline at end of file
+
+    /**
+     * Gets the id of this ranger.
+     *
+     * @return The id, or {@link EntityIds#NONE} if it is not on a map
+     */
+    @Override
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Sets the id of this ranger. Called by {@link EntityIds} only.
+     *
+     * @param id The new id
+     */
+    @Override
+    public void setId(int id) {
+        this.id = id;
+    }
+}
@@ -1,5 +1,7 @@
 package my.company.my.safarigame.model;
 
+import java.util.Random;
+
 /**
  * Main model class for the Safari Game.
  * <p>
@@ -36,6 +38,15 @@ public class SafariGameModel {
     
     /** The player's current score. */
     private int score;
+
+    /** Number of game ticks that have passed since the game was created. */
+    private long tick = 0;
+
+    /** Seed {@link #random} was last started from. */
+    private long seed = System.nanoTime();
+
+    /** Source of the random choices of the game, such as where animals wander. */
+    private final Random random = new Random(seed);
     
     /** Default grid file path. */
     private static final String DEFAULT_GRID_FILE = "/grids/grid1.txt";
@@ -139,9 +150,74 @@ public class SafariGameModel {
      * The amount of time advancement depends on the game speed:
      * 1 = Hourly, 2 = Daily, 3 = Weekly
      * </p>
+     * <p>
+     * Each call is one game tick, which also processes any vegetation events
+     * that have come due.
+     * </p>
      */
     public void updateTime() {
         currentTime.advanceTime(gameSpeed);
+        tick++;
+        map.updateVegetation(tick);
+        map.getDispatcher().onTimeAdvanced(currentTime);
+    }
+
+    /**
+     * Gets the number of game ticks that have passed.
+     *
+     * @return The current tick
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Gets the source of the random choices of the game.
+     * <p>
+     * Game logic draws its randomness from here rather than from
+     * {@code Math.random()}, so that a game restarted from the same seed makes
+     * the same choices in the same order.
+     * </p>
+     *
+     * @return The random number generator
+     */
+    public Random getRandom() {
+        return random;
+    }
+
+    /**
+     * Restarts the random choices of the game from a seed.
+     *
+     * @param seed The seed, such as the one of a recorded game
+     */
+    public void reseed(long seed) {
+        this.seed = seed;
+        random.setSeed(seed);
+    }
+
+    /**
+     * Gets the seed the random choices were last started from.
+     *
+     * @return The seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Sets the number of game ticks that have passed.
+     * <p>
+     * Used when a recorded game is restored at a later point in time.
+     * </p>
+     *
+     * @param tick The tick to continue from
+     * @throws IllegalArgumentException If the tick is negative
+     */
+    public void setTick(long tick) {
+        if (tick < 0) {
+            throw new IllegalArgumentException("Tick cannot be negative: " + tick);
+        }
+        this.tick = tick;
     }
 
     /**
@@ -269,6 +345,68 @@ public class SafariGameModel {
         this.gameDifficulty = gameDifficulty;
     }
 
+    /**
+     * Gets the capital threshold required to win based on the difficulty.
+     * <p>
+     * Different difficulty levels have different capital requirements to win the game.
+     * An unrecognized difficulty falls back to medium, and no difficulty at all to 1000.
+     * </p>
+     *
+     * @return The capital amount needed to win
+     */
+    public double getCapitalThresholdToWin() {
+        // Default threshold in case difficulty is not set
+        double threshold = 1000.0;
+
+        if (gameDifficulty != null) {
+            switch (gameDifficulty.toLowerCase()) {
+                case "easy":
+                    threshold = 1500.0;
+                    break;
+                case "medium":
+                    threshold = 5000.0;
+                    break;
+                case "hard":
+                    threshold = 8000.0;
+                    break;
+                default:
+                    // Fall back to medium difficulty
+                    threshold = 5000.0;
+            }
+        }
+
+        return threshold;
+    }
+
+    /**
+     * Adjusts the player's starting capital to the difficulty.
+     * <p>
+     * Easy games start with 500 extra, hard games with 200 less. Does nothing
+     * if there is no player or no difficulty.
+     * </p>
+     */
+    public void applyDifficultyEffects() {
+        if (gameDifficulty == null || player == null) {
+            return;
+        }
+
+        switch (gameDifficulty.toLowerCase()) {
+            case "easy":
+                // More starting money
+                player.updateCapital(500); // Bonus starting capital
+                break;
+
+            case "medium":
+                // Normal settings - no changes
+                break;
+
+            case "hard":
+                // Less starting money
+                player.updateCapital(-200); // Start with less
+                break;
+        }
+    }
+
     /**
      * Gets the current game time.
      *
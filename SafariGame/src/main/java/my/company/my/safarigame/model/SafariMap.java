@@ -2,6 +2,7 @@ package my.company.my.safarigame.model;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.function.IntConsumer;
 
 /**
  * Represents the safari map in the game, containing all game objects and the grid.
@@ -12,7 +13,7 @@ import java.util.*;
  * adding, removing, and updating objects within the safari.
  * </p>
  */
-public class SafariMap {
+public class SafariMap implements PositionListener {
 
     /** The grid representing the layout of the safari. */
     private Grid grid;
@@ -22,6 +23,57 @@ public class SafariMap {
     
     /** List of animal groups in the safari. */
     private List<AnimalGroup> animalGroups;
+
+    /** Tracks herd membership of the animals on the map. */
+    private HerdManager herds;
+
+    /** Cached flow fields toward shared targets such as water. */
+    private final FlowFieldCache flowFields = new FlowFieldCache();
+
+    /** Hierarchical pathfinders for routes across the map, by movement class. */
+    private final Map<MovementClass, HierarchicalPathfinder> pathfinders = new EnumMap<>(MovementClass.class);
+
+    /** Connected areas of the grid, by movement class. */
+    private final Map<MovementClass, ConnectivityIndex> connectivity = new EnumMap<>(MovementClass.class);
+
+    /** Path search for animals, created for the current grid on first use. */
+    private JumpPointSearch animalPaths;
+
+    /** Recently found routes. */
+    private final PathCache pathCache = new PathCache();
+
+    /** Schedules growth, decay and regrowth of the plants. */
+    private VegetationManager vegetation;
+
+    /** Timing wheel for the timed states of the animals, advanced once per lifecycle cycle. */
+    private final TimingWheel animalTimers = new TimingWheel();
+
+    /** Queues the arriving tourists and sends the jeeps out with them. */
+    private final TourDispatcher dispatcher = new TourDispatcher(this);
+
+    /** Hands out the ids of the entities on the map. */
+    private final EntityIds entityIds = new EntityIds();
+
+    /** The entities on the map, by id. */
+    private final EntityTable<Entity> entities = new EntityTable<>();
+
+    /** Cells whose content moved since the view last repainted them, by packed index. */
+    private final BitSet dirtyCells = new BitSet();
+
+    /** Animals of every species per cell, for the satisfaction of jeep tours. */
+    private SpeciesDensity density;
+
+    /** The regions of the map that need simulating. */
+    private ActiveRegions regions;
+
+    /** The ponds formed by the water areas of the map. */
+    private WaterManager water;
+
+    /** Which animals are simulated in full. */
+    private final LevelOfDetail levelOfDetail = new LevelOfDetail();
+
+    /** Cells already counted by {@link #getAnimalsNear(int, int, int)}, reused between calls. */
+    private final BitSet nearbySeen = new BitSet();
     
     /** List of jeeps (vehicles) in the safari. */
     private List<Jeep> jeeps;
@@ -61,6 +113,8 @@ public class SafariMap {
         initializeCollections();
         // Load the grid with default file path
         loadGrid(DEFAULT_GRID_FILE, cellSize, rows, cols);
+        herds = new HerdManager(grid.getRows(), grid.getColumns(), animalGroups, entityIds);
+        indexAnimals();
     }
 
     /**
@@ -73,6 +127,8 @@ public class SafariMap {
         initializeCollections();
         // Load the grid with specified file path
         loadGrid(gridFilePath, cellSize, 50, 50); // Default to 50x50 if loading fails
+        herds = new HerdManager(grid.getRows(), grid.getColumns(), animalGroups, entityIds);
+        indexAnimals();
     }
 
     /**
@@ -89,6 +145,7 @@ public class SafariMap {
         tourists = new ArrayList<>();
         rangers = new ArrayList<>();
         obstacles = new ArrayList<>();
+        vegetation = new VegetationManager(this);
     }
 
     /**
@@ -135,6 +192,15 @@ public class SafariMap {
     public boolean reloadGrid(String gridFilePath) {
         try {
             grid = Grid.fromFile(gridFilePath, DEFAULT_CELL_SIZE, this);
+            herds.reset(grid.getRows(), grid.getColumns());
+            indexAnimals();
+            dirtyCells.clear();
+            flowFields.clear();
+            pathfinders.clear();
+            connectivity.clear();
+            animalPaths = null;
+            pathCache.clear();
+            rescheduleVegetation();
             return true;
         } catch (IOException e) {
             System.err.println("Failed to reload grid: " + e.getMessage());
@@ -172,11 +238,45 @@ public class SafariMap {
 
     /**
      * Adds a landscape object to the safari.
+     * <p>
+     * From then on the map follows the object's moves: animals are kept in the
+     * cell index used by {@link #getAnimalAt(int, int)} and every cell an object
+     * leaves or enters is marked dirty.
+     * </p>
      *
      * @param obj The landscape object to add
      */
     public void addLandscapeObject(LandScapeObject obj) {
+        addLandscapeObject(obj, true);
+    }
+
+    /**
+     * Adds a landscape object to the safari, optionally without handing a plant
+     * to the vegetation. Plants growing back already have their life scheduled by
+     * the {@link VegetationManager}.
+     *
+     * @param obj The landscape object to add
+     * @param schedule Whether a plant is to be scheduled by the vegetation
+     */
+    void addLandscapeObject(LandScapeObject obj, boolean schedule) {
         landscapeObjects.add(obj);
+        register(obj);
+        obj.setPositionListener(this);
+        if (obj instanceof Animal && herds != null) {
+            herds.addAnimal((Animal) obj);
+            density.add((Animal) obj);
+        }
+        if (obj instanceof WaterArea && water != null) {
+            // Joins the pond first, so that the region does not tick it on its own
+            water.add((WaterArea) obj);
+        }
+        if (regions != null) {
+            regions.add(obj);
+        }
+        if (obj instanceof Plant && schedule) {
+            vegetation.addPlant((Plant) obj);
+        }
+        markDirty(obj.getPosition());
     }
 
     /**
@@ -186,6 +286,137 @@ public class SafariMap {
      */
     public void removeLandscapeObject(LandScapeObject obj) {
         landscapeObjects.remove(obj);
+        obj.setPositionListener(null);
+        if (obj instanceof Animal) {
+            herds.removeAnimal((Animal) obj);
+            density.remove((Animal) obj);
+        }
+        if (obj instanceof WaterArea && water != null) {
+            water.remove((WaterArea) obj);
+        }
+        if (regions != null) {
+            regions.remove(obj);
+        }
+        unregister(obj);
+        markDirty(obj.getPosition());
+    }
+
+    /**
+     * Keeps the cell index and the dirty cells up to date when an object moves.
+     *
+     * @param object The object that moved
+     * @param oldPosition The position it moved from
+     */
+    @Override
+    public void onPositionChanged(LandScapeObject object, Coordinate oldPosition) {
+        if (object instanceof Animal) {
+            herds.onAnimalMoved((Animal) object, oldPosition);
+            density.move((Animal) object, oldPosition);
+        }
+        if (object instanceof WaterArea && water != null) {
+            water.onMoved((WaterArea) object, oldPosition);
+        }
+        if (regions != null) {
+            regions.onMoved(object);
+        }
+        markDirty(oldPosition);
+        markDirty(object.getPosition());
+    }
+
+    /**
+     * Gets an entity on the map by its id.
+     *
+     * @param id The id of the entity
+     * @return The entity, or null if no entity on the map has this id
+     */
+    public Entity getEntity(int id) {
+        return entities.get(id);
+    }
+
+    /**
+     * Gets an animal on the map by its id.
+     *
+     * @param id The id of the animal
+     * @return The animal, or null if no animal on the map has this id
+     */
+    public Animal getAnimal(int id) {
+        Entity entity = entities.get(id);
+        return entity instanceof Animal ? (Animal) entity : null;
+    }
+
+    /**
+     * Gets the number of entities on the map.
+     *
+     * @return The number of entities with an id
+     */
+    public int getEntityCount() {
+        return entities.size();
+    }
+
+    private void register(Entity entity) {
+        entities.put(entityIds.register(entity), entity);
+    }
+
+    /**
+     * Frees the id of a removed entity. The entity keeps the old id, so tables
+     * keyed by it can still drop their entries; the id no longer finds anything here.
+     */
+    private void unregister(Entity entity) {
+        if (entities.get(entity.getId()) == entity) {
+            entities.remove(entity.getId());
+            entityIds.release(entity.getId());
+        }
+    }
+
+    /**
+     * Gets the animal standing on a cell, without searching the landscape objects.
+     *
+     * @param row Row index
+     * @param col Column index
+     * @return The animal on the cell, or null if there is none
+     */
+    public Animal getAnimalAt(int row, int col) {
+        return herds.getAnimalAt(row, col);
+    }
+
+    /**
+     * Hands every cell marked dirty since the last call to a consumer and clears the marks.
+     *
+     * @param consumer Receives the packed index of each dirty cell, see {@link Grid#index(int, int)}
+     * @return The number of dirty cells
+     */
+    public int drainDirtyCells(IntConsumer consumer) {
+        int count = 0;
+        for (int i = dirtyCells.nextSetBit(0); i >= 0; i = dirtyCells.nextSetBit(i + 1)) {
+            consumer.accept(i);
+            count++;
+        }
+        dirtyCells.clear();
+        return count;
+    }
+
+    private void markDirty(Coordinate pos) {
+        if (pos != null && grid != null && grid.getCell(pos.getX(), pos.getY()) != null) {
+            dirtyCells.set(grid.index(pos.getX(), pos.getY()));
+        }
+    }
+
+    /**
+     * Registers every animal on the map with the cell index and the species
+     * counts, and forms the ponds, after they were created or reset.
+     */
+    private void indexAnimals() {
+        density = new SpeciesDensity(grid.getRows(), grid.getColumns());
+        water = new WaterManager(grid.getRows(), grid.getColumns());
+        water.build(landscapeObjects);
+        regions = new ActiveRegions(grid.getRows(), grid.getColumns());
+        for (LandScapeObject obj : landscapeObjects) {
+            regions.add(obj);
+            if (obj instanceof Animal && !((Animal) obj).isDead()) {
+                herds.addAnimal((Animal) obj);
+                density.add((Animal) obj);
+            }
+        }
     }
 
     /**
@@ -204,6 +435,8 @@ public class SafariMap {
      */
     public void addJeep(Jeep jeep) {
         jeeps.add(jeep);
+        register(jeep);
+        dispatcher.addJeep(jeep);
     }
 
     /**
@@ -213,23 +446,44 @@ public class SafariMap {
      */
     public void addTourist(Tourist tourist) {
         tourists.add(tourist);
+        register(tourist);
+    }
+
+    /**
+     * Removes a tourist who has left the safari.
+     *
+     * @param tourist The tourist to remove
+     */
+    public void removeTourist(Tourist tourist) {
+        tourists.remove(tourist);
+        unregister(tourist);
+    }
+
+    /**
+     * Gets the dispatcher of the jeep tours.
+     *
+     * @return The tour dispatcher
+     */
+    public TourDispatcher getDispatcher() {
+        return dispatcher;
     }
 
     /**
      * Updates the state of all objects in the safari.
      * <p>
-     * This method is called during each game cycle to update all landscape objects,
-     * remove dead animals, and update the state of jeeps and tourists. Dead animals
-     * are removed from both the landscape objects list and any animal groups they
-     * belong to.
+     * This method is called during each game cycle to update the animals and ponds
+     * of the regions that are awake, see {@link ActiveRegions}, remove dead
+     * animals, and update the state of jeeps and tourists. Dead animals are removed
+     * from both the landscape objects list and any animal groups they belong to.
      * </p>
      */
     public void updateMap() {
         // Track animals to remove
         List<LandScapeObject> objectsToRemove = new ArrayList<>();
 
-        // Update all landscape objects
-        for (LandScapeObject obj : landscapeObjects) {
+        // Update the ponds and animals of the awake regions; everything else is static
+        water.update(regions);
+        regions.forEachAwake(obj -> {
             // Update the object
             obj.update();
 
@@ -239,17 +493,14 @@ public class SafariMap {
                 if (animal.isDead()) {
                     System.out.println(animal.getDescription() + " died at " + animal.getPosition());
                     objectsToRemove.add(obj);
-
-                    // Also remove from animal groups if needed
-                    for (AnimalGroup group : animalGroups) {
-                        group.getAnimals().remove(animal);
-                    }
                 }
             }
-        }
+        });
 
-        // Remove dead objects
-        landscapeObjects.removeAll(objectsToRemove);
+        // Remove dead objects, which also takes them out of their herds
+        for (LandScapeObject obj : objectsToRemove) {
+            removeLandscapeObject(obj);
+        }
 
         // Update all jeeps
         for (Jeep jeep : jeeps) {
@@ -262,6 +513,142 @@ public class SafariMap {
         }
     }
 
+    /**
+     * Gets the regions of the map and which of them are simulated.
+     *
+     * @return The active regions
+     */
+    public ActiveRegions getRegions() {
+        return regions;
+    }
+
+    /**
+     * Gets the ponds of the map and the water area on every cell.
+     *
+     * @return The water manager
+     */
+    public WaterManager getWater() {
+        return water;
+    }
+
+    /**
+     * Gets the level of detail deciding which animals are simulated in full.
+     *
+     * @return The level of detail
+     */
+    public LevelOfDetail getLevelOfDetail() {
+        return levelOfDetail;
+    }
+
+    /**
+     * Advances the scheduled vegetation events to the given tick.
+     * <p>
+     * Only plants with a growth, decay or regrowth event due are touched.
+     * </p>
+     *
+     * @param tick The current simulation tick
+     */
+    public void updateVegetation(long tick) {
+        vegetation.advanceTo(tick);
+    }
+
+    /**
+     * Gets the live animals within a square around a cell.
+     * <p>
+     * Only one animal is counted per cell, as in the jeep tours.
+     * </p>
+     *
+     * @param row Row of the centre cell
+     * @param col Column of the centre cell
+     * @param radius Maximum row and column distance from the centre
+     * @return The animals in range
+     */
+    public List<Animal> getAnimalsNear(int row, int col, int radius) {
+        List<Animal> nearby = new ArrayList<>();
+        nearbySeen.clear();
+        for (LandScapeObject obj : landscapeObjects) {
+            if (obj instanceof Animal && !((Animal) obj).isDead()) {
+                Coordinate pos = obj.getPosition();
+                if (Math.abs(pos.getX() - row) <= radius && Math.abs(pos.getY() - col) <= radius
+                        && markSeen(pos)) {
+                    nearby.add((Animal) obj);
+                }
+            }
+        }
+        return nearby;
+    }
+
+    /**
+     * Marks a cell in {@link #nearbySeen}.
+     *
+     * @return true if the cell was not marked yet
+     */
+    private boolean markSeen(Coordinate pos) {
+        if (grid == null || grid.getCell(pos.getX(), pos.getY()) == null) {
+            return true;
+        }
+        int index = grid.index(pos.getX(), pos.getY());
+        if (nearbySeen.get(index)) {
+            return false;
+        }
+        nearbySeen.set(index);
+        return true;
+    }
+
+    /**
+     * Calculates how satisfied the tourists of a jeep tour are with the animals they saw.
+     * <p>
+     * Every species seen is worth 50, every single animal 1, so diversity pays more
+     * than numbers.
+     * </p>
+     *
+     * @param animals The animals seen on the tour
+     * @return The satisfaction score, paid out as capital
+     */
+    public static int calculateSatisfactionScore(Collection<Animal> animals) {
+        Set<String> uniqueSpecies = new HashSet<>();
+        for (Animal a : animals) {
+            uniqueSpecies.add(a.getDescription());
+        }
+        return (uniqueSpecies.size() * 50) + animals.size();
+    }
+
+    /**
+     * Calculates the satisfaction of a jeep tour ending at a cell, scored like
+     * {@link #calculateSatisfactionScore(Collection)} for the animals within a
+     * square around the cell.
+     * <p>
+     * Uses the species counts kept up to date as animals move, so it takes time
+     * in the number of species rather than the number of animals.
+     * </p>
+     *
+     * @param row Row of the centre cell
+     * @param col Column of the centre cell
+     * @param radius Maximum row and column distance from the centre
+     * @return The satisfaction score, paid out as capital
+     */
+    public int getSatisfactionScore(int row, int col, int radius) {
+        return density.countSpecies(row, col, radius) * 50 + density.countAnimals(row, col, radius);
+    }
+
+    /**
+     * Gets the timing wheel the animals on the map schedule their timed states on.
+     *
+     * @return The animal timing wheel
+     */
+    public TimingWheel getAnimalTimers() {
+        return animalTimers;
+    }
+
+    /**
+     * Gets the vegetation manager scheduling plant growth and regrowth.
+     *
+     * @return The vegetation manager
+     */
+    public VegetationManager getVegetation() {
+        return vegetation;
+    }
+
     /**
      * Gets the grid representing the safari layout.
      *
@@ -325,6 +712,90 @@ public class SafariMap {
         return animalGroups;
     }
 
+    /**
+     * Gets the herd manager tracking which animals move together.
+     *
+     * @return The herd manager
+     */
+    public HerdManager getHerds() {
+        return herds;
+    }
+
+    /**
+     * Gets the cached flow fields used to steer objects toward shared targets.
+     *
+     * @return The flow field cache
+     */
+    public FlowFieldCache getFlowFields() {
+        return flowFields;
+    }
+
+    /**
+     * Gets the pathfinder for routes between two cells, created for the current
+     * grid on first use.
+     *
+     * @param movementClass The movement class following the routes
+     * @return The hierarchical pathfinder
+     */
+    public HierarchicalPathfinder getPathfinder(MovementClass movementClass) {
+        return pathfinders.computeIfAbsent(movementClass, mc -> new HierarchicalPathfinder(grid, mc));
+    }
+
+    /**
+     * Gets the index of the connected areas of the current grid, created on first use.
+     *
+     * @param movementClass The movement class whose areas are wanted
+     * @return The connectivity index
+     */
+    public ConnectivityIndex getConnectivity(MovementClass movementClass) {
+        return connectivity.computeIfAbsent(movementClass, mc -> new ConnectivityIndex(grid, mc));
+    }
+
+    /**
+     * Gets the path search animals use to head for a single cell, such as prey.
+     *
+     * @return The jump point search over the animal terrain
+     */
+    public JumpPointSearch getAnimalPaths() {
+        if (animalPaths == null) {
+            animalPaths = new JumpPointSearch(grid, MovementClass.ANIMAL);
+        }
+        return animalPaths;
+    }
+
+    /**
+     * Finds a route between two cells, reusing a recent one if the terrain has not
+     * changed since.
+     * <p>
+     * Cells that are not connected are rejected without a search. Animals use the
+     * jump point search and other movement classes the hierarchical pathfinder.
+     * </p>
+     *
+     * @param movementClass The movement class following the route
+     * @param from The start cell
+     * @param to The target cell
+     * @return The route including both cells, or an empty list if there is none; it must not be changed
+     */
+    public List<Coordinate> findPath(MovementClass movementClass, Coordinate from, Coordinate to) {
+        return pathCache.getPath(grid, movementClass, from, to, () -> {
+            if (!getConnectivity(movementClass).isConnected(from, to)) {
+                return Collections.emptyList();
+            }
+            return movementClass == MovementClass.ANIMAL
+                    ? getAnimalPaths().findPath(from, to)
+                    : getPathfinder(movementClass).findPath(from, to);
+        });
+    }
+
+    /**
+     * Gets the cache of recently found routes.
+     *
+     * @return The path cache
+     */
+    public PathCache getPathCache() {
+        return pathCache;
+    }
+
     /**
      * Gets all jeeps on the map.
      *
@@ -368,6 +839,7 @@ public class SafariMap {
      */
     public void addRanger(Ranger ranger) {
         rangers.add(ranger);
+        register(ranger);
     }
 
     /**
@@ -386,5 +858,28 @@ public class SafariMap {
      */
     public void setGrid(Grid grid) {
         this.grid = grid;
+        herds.reset(grid.getRows(), grid.getColumns());
+        indexAnimals();
+        dirtyCells.clear();
+        flowFields.clear();
+        pathfinders.clear();
+        connectivity.clear();
+        animalPaths = null;
+        pathCache.clear();
+        rescheduleVegetation();
+    }
+
+    /**
+     * Reschedules the plants after the grid has been replaced, keeping a single
+     * plant per cell.
+     */
+    private void rescheduleVegetation() {
+        vegetation.clear();
+        Set<Coordinate> seen = new HashSet<>();
+        for (LandScapeObject obj : landscapeObjects) {
+            if (obj instanceof Plant && seen.add(obj.getPosition())) {
+                vegetation.addPlant((Plant) obj);
+            }
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,162 @@
+package my.company.my.safarigame.model;
+
+/**
+ * The data of one animal species, as loaded by the {@link SpeciesRegistry}.
+ * <p>
+ * Every species has a small id, given in the order the species are listed in the
+ * configuration, so that code telling species apart compares ids and indexes
+ * arrays rather than comparing names.
+ * </p>
+ */
+public class Species {
+
+    /** Id of animals whose species is not in the registry. */
+    public static final int UNKNOWN = -1;
+
+    /**
+     * What a species eats, which decides whether its animals are herbivores or
+     * carnivores.
+     */
+    public enum Diet {
+        /** Grazes and eats plants; hunted by carnivores. */
+        HERBIVORE,
+        /** Hunts herbivores. */
+        CARNIVORE
+    }
+
+    private final int id;
+    private final String name;
+    private final Diet diet;
+    private final char mapChar;
+    private final int speed;
+    private final int lifespan;
+    private final int attackPower;
+    private final double price;
+    private final String sprite;
+
+    /**
+     * Constructs a Species.
+     *
+     * @param id The id of the species in its registry
+     * @param name The name, in lower case, such as "cow"
+     * @param diet What the species eats
+     * @param mapChar The cell type character of the species in grid files
+     * @param speed Movement speed of its animals
+     * @param lifespan Age at which its animals die
+     * @param attackPower Damage its animals deal when hunting, 0 for herbivores
+     * @param price Market price of one animal
+     * @param sprite Resource path of the image of the species
+     */
+    Species(int id, String name, Diet diet, char mapChar, int speed, int lifespan, int attackPower,
+            double price, String sprite) {
+        this.id = id;
+        this.name = name;
+        this.diet = diet;
+        this.mapChar = mapChar;
+        this.speed = speed;
+        this.lifespan = lifespan;
+        this.attackPower = attackPower;
+        this.price = price;
+        this.sprite = sprite;
+    }
+
+    /**
+     * Creates an animal of this species.
+     *
+     * @param position The position of the animal
+     * @return A new herbivore or carnivore, depending on the diet
+     */
+    public Animal create(Coordinate position) {
+        return diet == Diet.HERBIVORE ? new Herbivore(position, name) : new Carnivore(position, name);
+    }
+
+    /**
+     * Gets the id of the species.
+     *
+     * @return The id, from 0 to the number of species in the registry
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Gets the name of the species.
+     *
+     * @return The name, in lower case
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets what the species eats.
+     *
+     * @return The diet
+     */
+    public Diet getDiet() {
+        return diet;
+    }
+
+    /**
+     * Checks whether the species is hunted by carnivores.
+     *
+     * @return true for herbivores
+     */
+    public boolean isHerbivore() {
+        return diet == Diet.HERBIVORE;
+    }
+
+    /**
+     * Gets the cell type character of the species in grid files.
+     *
+     * @return The map character
+     */
+    public char getMapChar() {
+        return mapChar;
+    }
+
+    /**
+     * Gets the movement speed of the species.
+     *
+     * @return The speed
+     */
+    public int getSpeed() {
+        return speed;
+    }
+
+    /**
+     * Gets the age at which animals of the species die.
+     *
+     * @return The lifespan
+     */
+    public int getLifespan() {
+        return lifespan;
+    }
+
+    /**
+     * Gets the damage animals of the species deal when hunting.
+     *
+     * @return The attack power
+     */
+    public int getAttackPower() {
+        return attackPower;
+    }
+
+    /**
+     * Gets the market price of one animal of the species.
+     *
+     * @return The price
+     */
+    public double getPrice() {
+        return price;
+    }
+
+    /**
+     * Gets the resource path of the image of the species.
+     *
+     * @return The sprite path, such as "/tiles/cow.png"
+     */
+    public String getSprite() {
+        return sprite;
+    }
+}
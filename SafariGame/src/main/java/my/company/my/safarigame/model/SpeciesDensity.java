@@ -0,0 +1,208 @@
+package my.company.my.safarigame.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts the animals of every species over the grid, so that the animals a jeep
+ * sees can be counted without looking at each animal.
+ * <p>
+ * Every species has a two-dimensional Fenwick tree of animal counts per cell, a
+ * prefix sum table that can be updated in place. A further tree counts the cells
+ * holding at least one animal. Adding, removing or moving an animal updates the
+ * trees in O(log rows * log columns), and the number of animals and species in a
+ * square takes four prefix sums per species, however many animals there are.
+ * </p>
+ * <p>
+ * As in the jeep tours, animals sharing a cell are counted once.
+ * </p>
+ */
+public class SpeciesDensity {
+
+    private final int rows;
+    private final int cols;
+
+    /** Animals per cell, to know when a cell becomes empty or occupied. */
+    private final int[] animalsInCell;
+
+    /** Tree over the cells holding at least one animal. */
+    private final int[] occupiedTree;
+
+    /** Tree of animal counts per species, in the order the species were first seen. */
+    private final List<int[]> speciesTrees = new ArrayList<>();
+
+    /** Tree of every species of the registry by species id, or -1 before it is seen. */
+    private int[] treeOfSpecies = new int[0];
+
+    /** Tree of every species not in the registry, by name. */
+    private final Map<String, Integer> speciesIndex = new HashMap<>();
+
+    /**
+     * Constructs an empty SpeciesDensity.
+     *
+     * @param rows Number of grid rows
+     * @param cols Number of grid columns
+     */
+    public SpeciesDensity(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        animalsInCell = new int[rows * cols];
+        occupiedTree = new int[(rows + 1) * (cols + 1)];
+    }
+
+    /**
+     * Counts an animal at its position. Animals outside the grid are ignored.
+     *
+     * @param animal The animal
+     */
+    public void add(Animal animal) {
+        Coordinate pos = animal.getPosition();
+        if (pos != null) {
+            update(animal, pos.getX(), pos.getY(), 1);
+        }
+    }
+
+    /**
+     * Stops counting an animal at its position.
+     *
+     * @param animal The animal
+     */
+    public void remove(Animal animal) {
+        Coordinate pos = animal.getPosition();
+        if (pos != null) {
+            update(animal, pos.getX(), pos.getY(), -1);
+        }
+    }
+
+    /**
+     * Moves an animal from its old position to its current one.
+     *
+     * @param animal The animal
+     * @param oldPosition The position it was counted at
+     */
+    public void move(Animal animal, Coordinate oldPosition) {
+        if (oldPosition != null) {
+            update(animal, oldPosition.getX(), oldPosition.getY(), -1);
+        }
+        add(animal);
+    }
+
+    /**
+     * Counts the cells holding animals within a square around a cell.
+     *
+     * @param row Row of the centre cell
+     * @param col Column of the centre cell
+     * @param radius Maximum row and column distance from the centre
+     * @return The number of occupied cells in range
+     */
+    public int countAnimals(int row, int col, int radius) {
+        return rangeSum(occupiedTree, row, col, radius);
+    }
+
+    /**
+     * Counts the species with at least one animal within a square around a cell.
+     *
+     * @param row Row of the centre cell
+     * @param col Column of the centre cell
+     * @param radius Maximum row and column distance from the centre
+     * @return The number of distinct species in range
+     */
+    public int countSpecies(int row, int col, int radius) {
+        int species = 0;
+        for (int[] tree : speciesTrees) {
+            if (rangeSum(tree, row, col, radius) > 0) {
+                species++;
+            }
+        }
+        return species;
+    }
+
+    private void update(Animal animal, int row, int col, int delta) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            return;
+        }
+        int index = treeOf(animal, delta > 0);
+        if (index < 0) {
+            return;
+        }
+        add(speciesTrees.get(index), row, col, delta);
+
+        int cell = row * cols + col;
+        int before = animalsInCell[cell];
+        animalsInCell[cell] = Math.max(0, before + delta);
+        if (before == 0 && animalsInCell[cell] > 0) {
+            add(occupiedTree, row, col, 1);
+        } else if (before > 0 && animalsInCell[cell] == 0) {
+            add(occupiedTree, row, col, -1);
+        }
+    }
+
+    /**
+     * Gets the tree of an animal's species, by id without comparing names unless
+     * the species is not in the registry.
+     *
+     * @param create Whether to start a tree for a species not seen before
+     * @return The index of the tree, or -1 if there is none
+     */
+    private int treeOf(Animal animal, boolean create) {
+        int id = animal.getSpeciesId();
+        if (id != Species.UNKNOWN) {
+            if (id >= treeOfSpecies.length) {
+                int known = treeOfSpecies.length;
+                treeOfSpecies = Arrays.copyOf(treeOfSpecies, Math.max(id + 1, SpeciesRegistry.getInstance().size()));
+                Arrays.fill(treeOfSpecies, known, treeOfSpecies.length, -1);
+            }
+            if (treeOfSpecies[id] < 0 && create) {
+                treeOfSpecies[id] = newTree();
+            }
+            return treeOfSpecies[id];
+        }
+        Integer index = speciesIndex.get(animal.getDescription());
+        if (index == null && create) {
+            index = newTree();
+            speciesIndex.put(animal.getDescription(), index);
+        }
+        return index == null ? -1 : index;
+    }
+
+    private int newTree() {
+        speciesTrees.add(new int[(rows + 1) * (cols + 1)]);
+        return speciesTrees.size() - 1;
+    }
+
+    private void add(int[] tree, int row, int col, int delta) {
+        for (int i = row + 1; i <= rows; i += i & -i) {
+            for (int j = col + 1; j <= cols; j += j & -j) {
+                tree[i * (cols + 1) + j] += delta;
+            }
+        }
+    }
+
+    /**
+     * Sums a tree over the rows and columns before the given ones.
+     */
+    private int prefixSum(int[] tree, int row, int col) {
+        int sum = 0;
+        for (int i = row; i > 0; i -= i & -i) {
+            for (int j = col; j > 0; j -= j & -j) {
+                sum += tree[i * (cols + 1) + j];
+            }
+        }
+        return sum;
+    }
+
+    private int rangeSum(int[] tree, int row, int col, int radius) {
+        int top = Math.max(0, row - radius);
+        int left = Math.max(0, col - radius);
+        int bottom = Math.min(rows, row + radius + 1);
+        int right = Math.min(cols, col + radius + 1);
+        if (top >= bottom || left >= right) {
+            return 0;
+        }
+        return prefixSum(tree, bottom, right) - prefixSum(tree, top, right)
+                - prefixSum(tree, bottom, left) + prefixSum(tree, top, left);
+    }
+}
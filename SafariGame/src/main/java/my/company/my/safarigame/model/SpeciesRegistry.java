@@ -0,0 +1,213 @@
+package my.company.my.safarigame.model;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * The animal species of the game, each with a small id and its data, loaded from
+ * a configuration file.
+ * <p>
+ * The configuration has one species per line: name, diet ("herbivore" or
+ * "carnivore"), map character, speed, lifespan, attack power, price and sprite,
+ * separated by whitespace. Empty lines and lines starting with '#' are skipped.
+ * New species are added by adding lines; grid files, the map and the animals pick
+ * them up from the registry.
+ * </p>
+ * <p>
+ * Lookups by map character index an array, so telling animals apart on the grid,
+ * such as a carnivore looking for prey, costs no string comparison.
+ * </p>
+ */
+public class SpeciesRegistry {
+
+    /** Resource path of the species configuration of the game. */
+    public static final String DEFAULT_CONFIG = "/species.txt";
+
+    /** Cell type characters of the terrain, which species may not use. */
+    private static final String RESERVED_CHARS = "-wasltgbph|r1234PRjHD";
+
+    /** Species by id. */
+    private final List<Species> species = new ArrayList<>();
+
+    /** Species by name. */
+    private final Map<String, Species> byName = new HashMap<>();
+
+    /** Species by map character, indexed by the character. */
+    private final Species[] byChar = new Species[128];
+
+    /**
+     * Lazily loads the registry of the game on first use.
+     */
+    private static final class Holder {
+        private static final SpeciesRegistry INSTANCE = loadDefault();
+    }
+
+    /**
+     * Gets the registry of the game, loaded from {@link #DEFAULT_CONFIG}.
+     *
+     * @return The shared registry
+     */
+    public static SpeciesRegistry getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private static SpeciesRegistry loadDefault() {
+        try (InputStream in = SpeciesRegistry.class.getResourceAsStream(DEFAULT_CONFIG)) {
+            if (in == null) {
+                throw new IOException("Resource not found: " + DEFAULT_CONFIG);
+            }
+            return load(in);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Failed to load species: " + e.getMessage());
+            return new SpeciesRegistry();
+        }
+    }
+
+    /**
+     * Loads a registry from a species configuration.
+     *
+     * @param in The configuration
+     * @return The registry
+     * @throws IOException If the configuration cannot be read
+     * @throws IllegalArgumentException If a line is malformed, or a name or map
+     *         character is used twice or by the terrain
+     */
+    public static SpeciesRegistry load(InputStream in) throws IOException {
+        SpeciesRegistry registry = new SpeciesRegistry();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            try {
+                registry.add(line.split("\\s+"));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+        return registry;
+    }
+
+    private void add(String[] fields) {
+        if (fields.length != 8) {
+            throw new IllegalArgumentException("Expected 8 fields but found " + fields.length);
+        }
+        String name = fields[0].toLowerCase();
+        Species.Diet diet = Species.Diet.valueOf(fields[1].toUpperCase());
+        if (fields[2].length() != 1) {
+            throw new IllegalArgumentException("Map character must be a single character: " + fields[2]);
+        }
+        char mapChar = fields[2].charAt(0);
+        if (mapChar >= byChar.length || RESERVED_CHARS.indexOf(mapChar) >= 0 || byChar[mapChar] != null) {
+            throw new IllegalArgumentException("Map character is not free: " + mapChar);
+        }
+        if (byName.containsKey(name)) {
+            throw new IllegalArgumentException("Species listed twice: " + name);
+        }
+        Species entry = new Species(species.size(), name, diet, mapChar, Integer.parseInt(fields[3]),
+                Integer.parseInt(fields[4]), Integer.parseInt(fields[5]), Double.parseDouble(fields[6]), fields[7]);
+        species.add(entry);
+        byName.put(name, entry);
+        byChar[mapChar] = entry;
+    }
+
+    /**
+     * Gets a species by id.
+     *
+     * @param id The id
+     * @return The species
+     * @throws IndexOutOfBoundsException If no species has the id
+     */
+    public Species get(int id) {
+        return species.get(id);
+    }
+
+    /**
+     * Gets a species by name, ignoring case.
+     *
+     * @param name The name, such as "Cow"
+     * @return The species, or null if there is none of that name
+     */
+    public Species byName(String name) {
+        return name == null ? null : byName.get(name.toLowerCase());
+    }
+
+    /**
+     * Gets the species of a map character.
+     *
+     * @param mapChar The cell type character
+     * @return The species, or null if the character is not an animal
+     */
+    public Species byChar(char mapChar) {
+        return mapChar < byChar.length ? byChar[mapChar] : null;
+    }
+
+    /**
+     * Gets the id of a species by name, ignoring case.
+     *
+     * @param name The name
+     * @return The id, or {@link Species#UNKNOWN}
+     */
+    public int idOf(String name) {
+        Species entry = byName(name);
+        return entry == null ? Species.UNKNOWN : entry.getId();
+    }
+
+    /**
+     * Checks whether a cell type character stands for an animal.
+     *
+     * @param mapChar The cell type character
+     * @return true if a species uses the character
+     */
+    public boolean isAnimal(char mapChar) {
+        return byChar(mapChar) != null;
+    }
+
+    /**
+     * Checks whether a cell type character stands for an animal carnivores hunt.
+     *
+     * @param mapChar The cell type character
+     * @return true if a herbivore species uses the character
+     */
+    public boolean isPrey(char mapChar) {
+        Species entry = byChar(mapChar);
+        return entry != null && entry.isHerbivore();
+    }
+
+    /**
+     * Checks whether a cell type character stands for a hunting animal.
+     *
+     * @param mapChar The cell type character
+     * @return true if a carnivore species uses the character
+     */
+    public boolean isPredator(char mapChar) {
+        Species entry = byChar(mapChar);
+        return entry != null && !entry.isHerbivore();
+    }
+
+    /**
+     * Gets the number of species.
+     *
+     * @return The number of species, one more than the highest id
+     */
+    public int size() {
+        return species.size();
+    }
+
+    /**
+     * Gets all species, in order of id.
+     *
+     * @return The species, which must not be changed
+     */
+    public List<Species> getAll() {
+        return Collections.unmodifiableList(species);
+    }
+}
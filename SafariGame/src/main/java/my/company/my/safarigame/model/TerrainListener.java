@@ -0,0 +1,23 @@
+package my.company.my.safarigame.model;
+
+/**
+ * Interface for being notified when the terrain of a {@link Grid} changes.
+ * <p>
+ * Only changes that bump the terrain version are reported, so animals and
+ * rangers walking across grass do not cause notifications. Pathfinding
+ * structures implement this interface to repair the part of the grid that
+ * changed instead of starting over.
+ * </p>
+ */
+public interface TerrainListener {
+
+    /**
+     * Called after the terrain of a block of cells has changed.
+     *
+     * @param top First changed row
+     * @param left First changed column
+     * @param bottom Row after the last changed one
+     * @param right Column after the last changed one
+     */
+    void onTerrainChanged(int top, int left, int bottom, int right);
+}
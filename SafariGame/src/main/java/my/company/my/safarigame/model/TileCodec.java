@@ -0,0 +1,283 @@
+package my.company.my.safarigame.model;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Translates between the characters of grid files and the cells and objects of a
+ * map, in both directions.
+ * <p>
+ * Every tile character has an entry in lookup tables of {@link #TABLE_SIZE}
+ * entries: whether the character is known, whether it occupies its cell, and the
+ * factory placing the object it stands for on the map. Decoding a row of a grid
+ * file is a loop over those tables, without a case per tile. Encoding goes the
+ * other way, from the type of a placed item to its character, and from the cells
+ * of a grid row to its characters.
+ * </p>
+ * <ul>
+ *   <li>'w', 'a', 's', 'l', 'g', 't' - Different types of walls and gates</li>
+ *   <li>'b', 'p', 'h' - Bush, generic plant and shrub</li>
+ *   <li>'|', 'r' - Vertical and horizontal road</li>
+ *   <li>'1', '2', '3', '4' - Curved road sections (different orientations)</li>
+ *   <li>'P' - Water area/pond</li>
+ *   <li>'R' - Ranger</li>
+ *   <li>'j' - Jeep</li>
+ *   <li>The map character of every species of the {@link SpeciesRegistry}</li>
+ *   <li>'-' - Normal grass (default)</li>
+ * </ul>
+ */
+public class TileCodec {
+
+    /** Number of entries of the lookup tables; characters beyond are unknown. */
+    public static final int TABLE_SIZE = 256;
+
+    /** The tile of an empty cell. */
+    public static final char GRASS = '-';
+
+    /**
+     * Version of the tile set, written to compressed grid files. Raised when a
+     * tile changes its meaning, so that older readers reject newer files.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Places the object a tile stands for on the map.
+     */
+    @FunctionalInterface
+    public interface TileFactory {
+        /**
+         * Places the object of a tile.
+         *
+         * @param map The map to add the object to
+         * @param position The cell of the tile
+         */
+        void place(SafariMap map, Coordinate position);
+    }
+
+    /** Whether a tile is one of the game, by character. */
+    private final boolean[] known = new boolean[TABLE_SIZE];
+
+    /** Whether a tile occupies its cell, by character. */
+    private final boolean[] occupied = new boolean[TABLE_SIZE];
+
+    /** The factory of the object a tile stands for, by character, or null. */
+    private final TileFactory[] factories = new TileFactory[TABLE_SIZE];
+
+    /** Tile of every road type, by lower case road type, in order of registration. */
+    private final Map<String, Character> roadTiles = new LinkedHashMap<>();
+
+    /** Tile of every plant species, by lower case species, in order of registration. */
+    private final Map<String, Character> plantTiles = new LinkedHashMap<>();
+
+    /**
+     * Lazily builds the codec of the game on first use.
+     */
+    private static final class Holder {
+        private static final TileCodec INSTANCE = new TileCodec(SpeciesRegistry.getInstance());
+    }
+
+    /**
+     * Gets the codec of the game, knowing the species of the game's registry.
+     *
+     * @return The shared codec
+     */
+    public static TileCodec getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Constructs a TileCodec for the tiles of the game and the given species.
+     *
+     * @param species The species whose map characters are animal tiles
+     */
+    public TileCodec(SpeciesRegistry species) {
+        register(GRASS, false, null);
+        for (char wall : "wasltg".toCharArray()) {
+            register(wall, true, null);
+        }
+        plant('b', "bush", 10.0);
+        plant('p', "plant", 20.0);
+        plant('h', "shrub", 30.0);
+        road('|', "vertical");
+        road('r', "horizontal");
+        road('1', "rightDown");
+        road('2', "rightUp");
+        road('3', "leftUp");
+        road('4', "leftDown");
+        register('P', true, (map, pos) -> map.addLandscapeObject(new WaterArea(pos, 100.0)));
+        register('R', true, (map, pos) -> map.addRanger(new Ranger(pos)));
+        register('j', true, (map, pos) -> map.addJeep(new Jeep(pos)));
+        for (Species entry : species.getAll()) {
+            register(entry.getMapChar(), true, (map, pos) -> map.addLandscapeObject(entry.create(pos)));
+        }
+    }
+
+    private void register(char tile, boolean occupies, TileFactory factory) {
+        known[tile] = true;
+        occupied[tile] = occupies;
+        factories[tile] = factory;
+    }
+
+    private void plant(char tile, String species, double price) {
+        register(tile, true, (map, pos) -> map.addLandscapeObject(new Plant(pos, species, price)));
+        plantTiles.put(species, tile);
+    }
+
+    private void road(char tile, String roadType) {
+        register(tile, true, (map, pos) -> map.addLandscapeObject(new Road(pos, 1.0, 50.0, roadType)));
+        roadTiles.put(roadType.toLowerCase(), tile);
+    }
+
+    /**
+     * Sets the cells of a row, or part of one, from their tiles and adds the
+     * objects they stand for to the map.
+     * <p>
+     * Grass is the type of a new grid, so grass cells are cleared without being
+     * created, and chunks holding only grass keep no cells. Unknown tiles are
+     * kept for rendering but do not occupy their cells.
+     * </p>
+     *
+     * @param grid The grid to set the cells of
+     * @param map The map to add the objects to
+     * @param row The row
+     * @param left The column of the first tile
+     * @param tiles The tiles
+     * @param length The number of tiles, cut off at the end of the row
+     */
+    public void decodeRow(Grid grid, SafariMap map, int row, int left, char[] tiles, int length) {
+        int end = Math.min(length, grid.getColumns() - left);
+        for (int i = 0; i < end; i++) {
+            char tile = tiles[i];
+            if (tile == GRASS) {
+                grid.clearCell(row, left + i);
+                continue;
+            }
+            int entry = tile < TABLE_SIZE ? tile : 0;
+            Cell cell = grid.getCell(row, left + i);
+            cell.setOccupied(occupied[entry]);
+            cell.setCellType(tile);
+            TileFactory factory = factories[entry];
+            if (factory != null) {
+                factory.place(map, new Coordinate(row, left + i));
+            } else if (!known[entry]) {
+                System.out.println("Found unknown cell type: " + tile + " at " + row + "," + (left + i));
+            }
+        }
+    }
+
+    /**
+     * Reads the tiles of a row, or part of one, from a grid. Uniform chunks are
+     * copied from their type without reading cells.
+     *
+     * @param grid The grid to read
+     * @param row The row
+     * @param left The first column
+     * @param right The column after the last one
+     * @param tiles Receives the tiles, at least {@code right - left} long
+     * @return The number of tiles read
+     */
+    public int encodeRow(Grid grid, int row, int left, int right, char[] tiles) {
+        int chunkRow = row >> Grid.CHUNK_BITS;
+        int c = left;
+        while (c < right) {
+            int chunkCol = c >> Grid.CHUNK_BITS;
+            int end = Math.min(right, (chunkCol + 1) << Grid.CHUNK_BITS);
+            if (grid.isChunkMaterialized(chunkRow, chunkCol)) {
+                for (; c < end; c++) {
+                    tiles[c - left] = grid.getCellType(row, c);
+                }
+            } else {
+                Arrays.fill(tiles, c - left, end - left, grid.getChunkFill(chunkRow, chunkCol));
+                c = end;
+            }
+        }
+        return right - left;
+    }
+
+    /**
+     * Gets the tile an item takes when it is placed on the map.
+     *
+     * @param item The item being placed
+     * @return The tile, or {@link #GRASS} if the item leaves the cell as grass
+     */
+    public char encode(TradeableItem item) {
+        if (item instanceof Plant) {
+            return plantTile(((Plant) item).getDescription());
+        } else if (item instanceof Road) {
+            return roadTile(((Road) item).getRoadType());
+        } else if (item instanceof WaterArea) {
+            return 'P';
+        } else if (item instanceof Animal && ((Animal) item).getSpecies() != null) {
+            return ((Animal) item).getSpecies().getMapChar();
+        } else if (item instanceof Herbivore) {
+            return item.getDescription().toLowerCase().contains("cow") ? 'c' : 'd'; // Deer
+        } else if (item instanceof Carnivore) {
+            return item.getDescription().toLowerCase().contains("lion") ? 'y' : 'z'; // Wolf
+        } else if (item instanceof Ranger) {
+            return 'R';
+        } else if (item instanceof Jeep) {
+            return 'j';
+        }
+        return GRASS;
+    }
+
+    /**
+     * Gets the tile of a plant species. Descriptions naming a species, such as
+     * "Red Bush", take the tile of that species.
+     *
+     * @param species The species, such as "bush"
+     * @return The tile, 'p' for species without a tile of their own
+     */
+    public char plantTile(String species) {
+        return lookup(plantTiles, species, 'p');
+    }
+
+    /**
+     * Gets the tile of a road type. Types naming a road type, such as
+     * "curve rightDown", take the tile of that type.
+     *
+     * @param roadType The road type, such as "rightDown"
+     * @return The tile, 'r' for road types without a tile of their own
+     */
+    public char roadTile(String roadType) {
+        return lookup(roadTiles, roadType, 'r');
+    }
+
+    private static char lookup(Map<String, Character> tiles, String name, char fallback) {
+        if (name == null) {
+            return fallback;
+        }
+        String key = name.toLowerCase();
+        Character tile = tiles.get(key);
+        if (tile != null) {
+            return tile;
+        }
+        for (Map.Entry<String, Character> entry : tiles.entrySet()) {
+            if (key.contains(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return fallback;
+    }
+
+    /**
+     * Checks whether a tile is one of the game.
+     *
+     * @param tile The tile
+     * @return true if the codec knows the tile
+     */
+    public boolean isKnown(char tile) {
+        return tile < TABLE_SIZE && known[tile];
+    }
+
+    /**
+     * Checks whether a tile occupies its cell.
+     *
+     * @param tile The tile
+     * @return true for every known tile but grass
+     */
+    public boolean isOccupied(char tile) {
+        return tile < TABLE_SIZE && occupied[tile];
+    }
+}
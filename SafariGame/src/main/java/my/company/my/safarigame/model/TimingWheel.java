@@ -0,0 +1,277 @@
+package my.company.my.safarigame.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel firing scheduled actions after a number of ticks.
+ * <p>
+ * Timed states such as a drinking animation or an injury used to be counters that
+ * every object decremented on every cycle. With the wheel, objects register the
+ * moment their state expires and the wheel runs the action when that tick comes.
+ * Advancing one tick only looks at the slot due on that tick, so the cost is
+ * proportional to the number of expiring timers, not to the number of objects.
+ * </p>
+ * <p>
+ * The wheel has {@link #LEVELS} levels of {@link #SLOTS} slots. Level 0 holds timers
+ * due within the current block of 64 ticks, level 1 those due within the current
+ * block of 4096 ticks, and so on. When a lower level wraps around, the matching slot
+ * of the level above is cascaded down. Timers further away than the top level are
+ * kept in an overflow list.
+ * </p>
+ */
+public class TimingWheel {
+
+    /** Number of bits used for a slot index on each level. */
+    private static final int BITS = 6;
+
+    /** Number of slots on each level. */
+    public static final int SLOTS = 1 << BITS;
+
+    /** Number of levels in the wheel. */
+    public static final int LEVELS = 4;
+
+    private static final int MASK = SLOTS - 1;
+
+    /**
+     * Handle to a scheduled action, which can be used to cancel it.
+     */
+    public final class Timeout {
+        private final long deadline;
+        private final Runnable action;
+        private boolean cancelled = false;
+        private boolean expired = false;
+
+        private Timeout(long deadline, Runnable action) {
+            this.deadline = deadline;
+            this.action = action;
+        }
+
+        /**
+         * Cancels the timeout so its action is never run.
+         *
+         * @return true if the timeout was still pending, false otherwise
+         */
+        public boolean cancel() {
+            if (!isPending()) {
+                return false;
+            }
+            cancelled = true;
+            pending--;
+            return true;
+        }
+
+        /**
+         * Checks whether the timeout is still waiting to fire.
+         *
+         * @return true if it has neither fired nor been cancelled
+         */
+        public boolean isPending() {
+            return !cancelled && !expired;
+        }
+
+        /**
+         * Checks whether the action of the timeout has run.
+         *
+         * @return true if the timeout has fired
+         */
+        public boolean isExpired() {
+            return expired;
+        }
+
+        /**
+         * Gets the number of ticks left before the timeout fires.
+         *
+         * @return The remaining ticks, or 0 if it is no longer pending
+         */
+        public int getRemaining() {
+            return isPending() ? (int) Math.max(0, deadline - currentTick) : 0;
+        }
+
+        /**
+         * Gets the tick at which the timeout fires.
+         *
+         * @return The deadline tick
+         */
+        public long getDeadline() {
+            return deadline;
+        }
+    }
+
+    /** Slots of every level, created when first used. */
+    private final List<Timeout>[][] wheel;
+
+    /** Timers due beyond the range of the top level. */
+    private final List<Timeout> overflow = new ArrayList<>();
+
+    /** The last tick the wheel has advanced to. */
+    private long currentTick = 0;
+
+    /** Number of timers that have not fired or been cancelled. */
+    private int pending = 0;
+
+    /**
+     * Constructs a new, empty TimingWheel starting at tick 0.
+     */
+    public TimingWheel() {
+        wheel = newWheel();
+    }
+
+    /**
+     * Schedules an action to run after a number of ticks.
+     *
+     * @param delay Ticks to wait, at least 1
+     * @param action The action to run
+     * @return A handle that can cancel the action
+     */
+    public Timeout schedule(int delay, Runnable action) {
+        if (action == null) {
+            throw new IllegalArgumentException("Action cannot be null");
+        }
+        Timeout timeout = new Timeout(currentTick + Math.max(1, delay), action);
+        pending++;
+        insert(timeout);
+        return timeout;
+    }
+
+    /**
+     * Advances the wheel by one tick, running every action that falls due.
+     */
+    public void advance() {
+        currentTick++;
+        if ((currentTick & MASK) == 0) {
+            cascade(1);
+        }
+
+        List<Timeout> due = wheel[0][(int) (currentTick & MASK)];
+        if (due == null || due.isEmpty()) {
+            return;
+        }
+        wheel[0][(int) (currentTick & MASK)] = null;
+        for (Timeout timeout : due) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            timeout.expired = true;
+            pending--;
+            try {
+                timeout.action.run();
+            } catch (Exception e) {
+                System.err.println("Error running scheduled action: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Advances the wheel until it reaches the given tick.
+     *
+     * @param tick The tick to advance to
+     */
+    public void advanceTo(long tick) {
+        while (currentTick < tick) {
+            advance();
+        }
+    }
+
+    /**
+     * Gets the last tick the wheel has advanced to.
+     *
+     * @return The current tick
+     */
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Gets the number of timers still waiting to fire.
+     *
+     * @return The number of pending timers
+     */
+    public int getPendingCount() {
+        return pending;
+    }
+
+    /**
+     * Cancels every pending timer.
+     */
+    public void clear() {
+        for (List<Timeout>[] level : wheel) {
+            for (List<Timeout> slot : level) {
+                cancelAll(slot);
+            }
+            Arrays.fill(level, null);
+        }
+        cancelAll(overflow);
+        overflow.clear();
+        pending = 0;
+    }
+
+    /**
+     * Puts a timer on the lowest level whose current block contains its deadline.
+     */
+    private void insert(Timeout timeout) {
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = BITS * (level + 1);
+            if ((timeout.deadline >> shift) == (currentTick >> shift)) {
+                int slot = (int) ((timeout.deadline >> (BITS * level)) & MASK);
+                if (wheel[level][slot] == null) {
+                    wheel[level][slot] = new ArrayList<>();
+                }
+                wheel[level][slot].add(timeout);
+                return;
+            }
+        }
+        overflow.add(timeout);
+    }
+
+    /**
+     * Moves the timers of the slot that has just come up on a level down to the
+     * levels below. Higher levels are cascaded first so their timers can drop all
+     * the way down in one go.
+     */
+    private void cascade(int level) {
+        if (level >= LEVELS) {
+            List<Timeout> far = new ArrayList<>(overflow);
+            overflow.clear();
+            reinsert(far);
+            return;
+        }
+        int slot = (int) ((currentTick >> (BITS * level)) & MASK);
+        if (slot == 0) {
+            cascade(level + 1);
+        }
+        List<Timeout> timers = wheel[level][slot];
+        wheel[level][slot] = null;
+        reinsert(timers);
+    }
+
+    private void reinsert(List<Timeout> timers) {
+        if (timers == null) {
+            return;
+        }
+        for (Timeout timeout : timers) {
+            if (!timeout.cancelled) {
+                insert(timeout);
+            }
+        }
+    }
+
+    private void cancelAll(List<Timeout> timers) {
+        if (timers == null) {
+            return;
+        }
+        for (Timeout timeout : timers) {
+            timeout.cancelled = true;
+        }
+    }
+
+    /**
+     * Creates the slot arrays. Java cannot create arrays of a generic type, so
+     * this is the one place that creates a raw one.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static List<Timeout>[][] newWheel() {
+        return new List[LEVELS][SLOTS];
+    }
+}
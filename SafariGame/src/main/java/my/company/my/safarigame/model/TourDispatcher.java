@@ -0,0 +1,366 @@
+package my.company.my.safarigame.model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lets tourists queue at the entrance and sends the jeeps out with them.
+ * <p>
+ * The dispatcher is advanced once per simulation step, the same step that moves
+ * every animal once. A tourist arrives every {@link #getStepsPerTourist()} steps
+ * and joins the back of the queue. An idle jeep leaves as soon as enough tourists
+ * wait to fill it to its capacity; the first tourists in the queue board first
+ * and the jeeps are served in the order they were added. A tour lasts
+ * {@link #getTourSteps()} steps, after which the jeep waits at that end of the
+ * route and the next tour drives back the other way.
+ * </p>
+ * <p>
+ * The dispatcher counts the tourists served and how long they waited, in steps,
+ * and the served tourists per game day, see {@link #onTimeAdvanced(Time)}.
+ * </p>
+ */
+public class TourDispatcher {
+
+    /** Real-time interval between two tourist arrivals in the game, in milliseconds. */
+    public static final int TOURIST_INTERVAL_MILLIS = 5000;
+
+    /** Most tourists that queue at the entrance; further arrivals turn away. */
+    public static final int MAX_QUEUE_LENGTH = 100;
+
+    /** State of a jeep of the fleet. */
+    private static final class FleetJeep {
+        private final Jeep jeep;
+
+        /** Steps left on the current tour, 0 while waiting for tourists. */
+        private int stepsLeft;
+
+        /** Direction of the current or last tour, true toward the end of the route. */
+        private boolean forward = false;
+
+        private FleetJeep(Jeep jeep) {
+            this.jeep = jeep;
+        }
+    }
+
+    /** The map the tourists are added to while they are in the park. */
+    private final SafariMap map;
+
+    /** Tourists waiting at the entrance, first arrived first. */
+    private final ArrayDeque<Tourist> queue = new ArrayDeque<>();
+
+    /** The jeeps, in the order they are served. */
+    private final List<FleetJeep> fleet = new ArrayList<>();
+
+    private TourListener listener;
+
+    private int stepsPerTourist = 1;
+
+    /** Steps of a single tour, 0 while the jeeps have no route. */
+    private int tourSteps = 0;
+
+    /** Number of steps run so far. */
+    private long step = 0;
+
+    private long touristsServed = 0;
+    private long touristsTurnedAway = 0;
+    private long totalWaitSteps = 0;
+
+    /** Day the current count of served tourists started, as days since the calendar start. */
+    private int currentDay = -1;
+    private long servedToday = 0;
+    private long servedInPastDays = 0;
+    private int pastDays = 0;
+
+    /**
+     * Constructs a new TourDispatcher.
+     *
+     * @param map The map the tourists arrive on
+     */
+    public TourDispatcher(SafariMap map) {
+        this.map = map;
+    }
+
+    /**
+     * Sets the listener told about tours starting and ending.
+     *
+     * @param listener The listener, or null for none
+     */
+    public void setTourListener(TourListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Adds a jeep to the fleet. The jeep waits at the start of the route until
+     * enough tourists arrive.
+     *
+     * @param jeep The jeep to add
+     */
+    public void addJeep(Jeep jeep) {
+        for (FleetJeep entry : fleet) {
+            if (entry.jeep == jeep) {
+                return;
+            }
+        }
+        fleet.add(new FleetJeep(jeep));
+    }
+
+    /**
+     * Runs one simulation step: a tourist may arrive, touring jeeps drive on and
+     * idle jeeps leave if enough tourists wait.
+     */
+    public void step() {
+        step++;
+        if (step % stepsPerTourist == 0) {
+            touristArrives();
+        }
+        if (tourSteps == 0) {
+            return;
+        }
+        for (FleetJeep entry : fleet) {
+            if (entry.stepsLeft > 0) {
+                // A tour shortened by road changes ends early
+                entry.stepsLeft = Math.min(entry.stepsLeft, tourSteps) - 1;
+                if (entry.stepsLeft == 0) {
+                    finishTour(entry);
+                }
+            } else if (queue.size() >= entry.jeep.getCapacity()) {
+                startTour(entry);
+            }
+        }
+    }
+
+    /**
+     * Puts a new tourist at the back of the queue.
+     *
+     * @return The tourist, or null if the queue is full and the tourist turned away
+     */
+    public Tourist touristArrives() {
+        if (queue.size() >= MAX_QUEUE_LENGTH) {
+            touristsTurnedAway++;
+            return null;
+        }
+        Tourist tourist = new Tourist(map.getEntrance());
+        tourist.setArrivalStep(step);
+        queue.addLast(tourist);
+        map.addTourist(tourist);
+        return tourist;
+    }
+
+    private void startTour(FleetJeep entry) {
+        Jeep jeep = entry.jeep;
+        while (jeep.getCurrentPassengers().size() < jeep.getCapacity() && !queue.isEmpty()) {
+            Tourist tourist = queue.pollFirst();
+            tourist.setRiding(true);
+            jeep.pickUp(tourist);
+            totalWaitSteps += step - tourist.getArrivalStep();
+        }
+        entry.forward = !entry.forward;
+        entry.stepsLeft = tourSteps;
+        if (listener != null) {
+            listener.onTourStarted(jeep, jeep.getCurrentPassengers(), entry.forward);
+        }
+    }
+
+    private void finishTour(FleetJeep entry) {
+        Jeep jeep = entry.jeep;
+        List<Tourist> passengers = new ArrayList<>(jeep.getCurrentPassengers());
+        if (listener != null) {
+            listener.onTourFinished(jeep, passengers, entry.forward);
+        }
+        for (Tourist tourist : passengers) {
+            tourist.setRiding(false);
+            jeep.dropOff(tourist);
+            map.removeTourist(tourist);
+        }
+        touristsServed += passengers.size();
+        servedToday += passengers.size();
+    }
+
+    /**
+     * Counts the served tourists per game day. Called whenever the game time advances.
+     *
+     * @param time The new game time
+     */
+    public void onTimeAdvanced(Time time) {
+        int day = time.getMonth() * 30 + time.getDay();
+        if (currentDay < 0) {
+            currentDay = day;
+        } else if (day > currentDay) {
+            servedInPastDays += servedToday;
+            pastDays += day - currentDay;
+            servedToday = 0;
+            currentDay = day;
+        }
+    }
+
+    /**
+     * Gets the position of a jeep on the route, for drawing it.
+     *
+     * @param jeep The jeep
+     * @return Index into the route, from 0 to {@link #getTourSteps()} - 1, or -1 if the
+     *         jeep is not in the fleet or there is no route
+     */
+    public int getRouteIndex(Jeep jeep) {
+        if (tourSteps == 0) {
+            return -1;
+        }
+        for (FleetJeep entry : fleet) {
+            if (entry.jeep == jeep) {
+                if (entry.stepsLeft == 0) {
+                    // Waiting where the last tour ended, or at the start before the first one
+                    return entry.forward ? tourSteps - 1 : 0;
+                }
+                int driven = Math.min(tourSteps - Math.min(entry.stepsLeft, tourSteps), tourSteps - 1);
+                return entry.forward ? driven : tourSteps - 1 - driven;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks whether a jeep is out on a tour.
+     *
+     * @param jeep The jeep
+     * @return true if the jeep is driving, false if it waits or is not in the fleet
+     */
+    public boolean isTouring(Jeep jeep) {
+        for (FleetJeep entry : fleet) {
+            if (entry.jeep == jeep) {
+                return entry.stepsLeft > 0;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the direction of a jeep's current or last tour.
+     *
+     * @param jeep The jeep
+     * @return true if the jeep drives, or last drove, toward the end of the route
+     */
+    public boolean isForward(Jeep jeep) {
+        for (FleetJeep entry : fleet) {
+            if (entry.jeep == jeep) {
+                return entry.forward;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sets the number of steps between two arriving tourists.
+     *
+     * @param stepsPerTourist Steps per tourist
+     * @throws IllegalArgumentException If the number is not positive
+     */
+    public void setStepsPerTourist(int stepsPerTourist) {
+        if (stepsPerTourist < 1) {
+            throw new IllegalArgumentException("Steps per tourist must be positive: " + stepsPerTourist);
+        }
+        this.stepsPerTourist = stepsPerTourist;
+    }
+
+    /**
+     * Gets the number of steps between two arriving tourists.
+     *
+     * @return Steps per tourist
+     */
+    public int getStepsPerTourist() {
+        return stepsPerTourist;
+    }
+
+    /**
+     * Sets the number of steps a tour takes, the length of the jeep route.
+     *
+     * @param tourSteps Steps per tour, 0 if the jeeps have no route
+     * @throws IllegalArgumentException If the number is negative
+     */
+    public void setTourSteps(int tourSteps) {
+        if (tourSteps < 0) {
+            throw new IllegalArgumentException("Tour steps must not be negative: " + tourSteps);
+        }
+        this.tourSteps = tourSteps;
+    }
+
+    /**
+     * Gets the number of steps a tour takes.
+     *
+     * @return Steps per tour, 0 if the jeeps have no route
+     */
+    public int getTourSteps() {
+        return tourSteps;
+    }
+
+    /**
+     * Gets the tourists waiting at the entrance.
+     *
+     * @return A copy of the queue, first arrived first
+     */
+    public List<Tourist> getQueue() {
+        return new ArrayList<>(queue);
+    }
+
+    /**
+     * Gets the number of tourists waiting at the entrance.
+     *
+     * @return The queue length
+     */
+    public int getWaitingTourists() {
+        return queue.size();
+    }
+
+    /**
+     * Gets the number of jeeps in the fleet.
+     *
+     * @return The fleet size
+     */
+    public int getFleetSize() {
+        return fleet.size();
+    }
+
+    /**
+     * Gets the number of tourists that finished a tour.
+     *
+     * @return Tourists served
+     */
+    public long getTouristsServed() {
+        return touristsServed;
+    }
+
+    /**
+     * Gets the number of tourists that left because the queue was full.
+     *
+     * @return Tourists turned away
+     */
+    public long getTouristsTurnedAway() {
+        return touristsTurnedAway;
+    }
+
+    /**
+     * Gets how long the boarded tourists waited in the queue on average.
+     *
+     * @return The average wait in simulation steps, 0 if nobody boarded yet
+     */
+    public double getAverageWaitSteps() {
+        long boarded = touristsServed + ridingTourists();
+        return boarded == 0 ? 0 : (double) totalWaitSteps / boarded;
+    }
+
+    /**
+     * Gets the average number of tourists served per completed game day.
+     *
+     * @return Tourists per day, 0 before the first day has passed
+     */
+    public double getTouristsServedPerDay() {
+        return pastDays == 0 ? 0 : (double) servedInPastDays / pastDays;
+    }
+
+    private int ridingTourists() {
+        int riding = 0;
+        for (FleetJeep entry : fleet) {
+            riding += entry.jeep.getCurrentPassengers().size();
+        }
+        return riding;
+    }
+}
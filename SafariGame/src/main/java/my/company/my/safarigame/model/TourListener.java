@@ -0,0 +1,31 @@
+package my.company.my.safarigame.model;
+
+import java.util.List;
+
+/**
+ * Interface for being notified when a jeep starts or finishes a tour.
+ * <p>
+ * The {@link TourDispatcher} calls the listener from its step, so tours begin
+ * and end in the same order in the game view and in headless runs.
+ * </p>
+ */
+public interface TourListener {
+
+    /**
+     * Called when a jeep has taken tourists on board and leaves.
+     *
+     * @param jeep The jeep
+     * @param passengers The tourists on board
+     * @param forward true if the jeep drives from the start of the route to its end
+     */
+    void onTourStarted(Jeep jeep, List<Tourist> passengers, boolean forward);
+
+    /**
+     * Called when a jeep has arrived at the end of its tour, before the tourists leave.
+     *
+     * @param jeep The jeep
+     * @param passengers The tourists on board
+     * @param forward true if the jeep drove from the start of the route to its end
+     */
+    void onTourFinished(Jeep jeep, List<Tourist> passengers, boolean forward);
+}
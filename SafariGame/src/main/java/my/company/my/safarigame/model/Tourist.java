@@ -15,7 +15,10 @@ package my.company.my.safarigame.model;
  *
  * @author Muhammad Eman Aftab
  */
-public class Tourist {
+public class Tourist implements Entity {
+    /** The id of this tourist, assigned when it is added to a map. */
+    private int id = EntityIds.NONE;
+
     /** The satisfaction level of the tourist (0-100). */
     public int satisfaction;
     
@@ -27,6 +30,9 @@ public class Tourist {
     
     /** The current position of the tourist in the safari. */
     private Coordinate position;
+
+    /** The simulation step the tourist arrived at the entrance. */
+    private long arrivalStep;
     
     /**
      * Constructs a new Tourist with the specified destination.
@@ -77,6 +83,33 @@ public class Tourist {
         return isRiding;
     }
     
+    /**
+     * Sets whether the tourist is riding in a jeep.
+     *
+     * @param riding true when the tourist boards, false when they leave the jeep
+     */
+    public void setRiding(boolean riding) {
+        this.isRiding = riding;
+    }
+
+    /**
+     * Gets the simulation step the tourist arrived at the entrance.
+     *
+     * @return The arrival step
+     */
+    public long getArrivalStep() {
+        return arrivalStep;
+    }
+
+    /**
+     * Sets the simulation step the tourist arrived at the entrance.
+     *
+     * @param arrivalStep The arrival step
+     */
+    public void setArrivalStep(long arrivalStep) {
+        this.arrivalStep = arrivalStep;
+    }
+
     /**
      * Gets the current position of the tourist.
      *
@@ -98,4 +131,24 @@ public class Tourist {
     public void setPosition(Coordinate position) {
         this.position = position;
     }
-}
\ No newline at end of file
+
+    /**
+     * Gets the id of this tourist.
+     *
+     * @return The id, or {@link EntityIds#NONE} if it is not on a map
+     */
+    @Override
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Sets the id of this tourist. Called by {@link EntityIds} only.
+     *
+     * @param id The new id
+     */
+    @Override
+    public void setId(int id) {
+        this.id = id;
+    }
+}
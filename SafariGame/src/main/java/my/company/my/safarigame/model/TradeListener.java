@@ -0,0 +1,25 @@
+package my.company.my.safarigame.model;
+
+/**
+ * Interface for being notified when the player buys or sells an item.
+ * <p>
+ * The {@link Player} calls the listener only for trades that went through,
+ * after its capital and inventory have been updated.
+ * </p>
+ */
+public interface TradeListener {
+
+    /**
+     * Called when the player has bought an item.
+     *
+     * @param item The item that was bought
+     */
+    void onItemBought(TradeableItem item);
+
+    /**
+     * Called when the player has sold an item.
+     *
+     * @param item The item that was sold
+     */
+    void onItemSold(TradeableItem item);
+}
@@ -0,0 +1,25 @@
+package my.company.my.safarigame.model;
+
+/**
+ * Interface for being notified when vegetation appears on or disappears from the map.
+ * <p>
+ * The {@link VegetationManager} changes the grid when plants regrow or wither;
+ * views implement this interface to redraw the affected cells.
+ * </p>
+ */
+public interface VegetationListener {
+
+    /**
+     * Called when a dormant plant has grown back on its cell.
+     *
+     * @param plant The plant that regrew
+     */
+    void onPlantRegrown(Plant plant);
+
+    /**
+     * Called when a plant has withered away and left its cell as grass.
+     *
+     * @param plant The plant that withered
+     */
+    void onPlantWithered(Plant plant);
+}
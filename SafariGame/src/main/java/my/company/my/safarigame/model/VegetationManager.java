@@ -0,0 +1,275 @@
+package my.company.my.safarigame.model;
+
+import java.util.*;
+
+/**
+ * Schedules the growth, decay and regrowth of the plants on the map.
+ * <p>
+ * Instead of updating every plant on every tick, each plant has its next change
+ * queued as an event keyed by the tick it is due. Advancing the simulation only
+ * pops the events that have come due, so plants that are fully grown or waiting
+ * to regrow cost nothing until their time comes.
+ * </p>
+ * <p>
+ * A grazed or withered plant becomes dormant: its cell turns back into grass and a
+ * regrowth event is queued. When the event fires the plant grows back on the same
+ * cell, or tries again a little later if an animal is standing there. A plant
+ * whose cell has been built over, or that stays blocked for
+ * {@link #MAX_REGROWTH_RETRIES} tries, is gone for good.
+ * </p>
+ */
+public class VegetationManager {
+
+    /** Ticks between two growth stages of a young plant. */
+    public static final int GROWTH_INTERVAL = 3;
+
+    /** Ticks between two decay steps of a plant. */
+    public static final int DECAY_INTERVAL = 12;
+
+    /** Health a plant loses at each decay step. */
+    public static final int DECAY_AMOUNT = 10;
+
+    /** Ticks a grazed or withered plant needs to grow back. */
+    public static final int REGROWTH_DELAY = 8;
+
+    /** Ticks to wait before retrying a regrowth blocked by an occupied cell. */
+    public static final int REGROWTH_RETRY = 2;
+
+    /** Number of times a blocked regrowth is retried before the plant is dropped. */
+    public static final int MAX_REGROWTH_RETRIES = 20;
+
+    /** The kinds of scheduled vegetation events. */
+    private enum EventType { GROW, DECAY, REGROW }
+
+    /**
+     * A plant change due at a given tick.
+     */
+    private static class VegetationEvent {
+        final long tick;
+        final long sequence;
+        final Plant plant;
+        final EventType type;
+        final int id;
+        final int retries;
+
+        VegetationEvent(long tick, long sequence, Plant plant, EventType type, int retries) {
+            this.tick = tick;
+            this.sequence = sequence;
+            this.plant = plant;
+            this.type = type;
+            this.id = plant.getId();
+            this.retries = retries;
+        }
+    }
+
+    /** The map whose plants are managed. */
+    private final SafariMap map;
+
+    /** Pending events ordered by due tick, then by scheduling order. */
+    private final PriorityQueue<VegetationEvent> events = new PriorityQueue<>(
+            Comparator.comparingLong((VegetationEvent e) -> e.tick).thenComparingLong(e -> e.sequence));
+
+    /** The last tick the manager has advanced to. */
+    private long currentTick = 0;
+
+    /** Counter keeping events due on the same tick in scheduling order. */
+    private long sequence = 0;
+
+    /** Listener told about plants appearing and disappearing, may be null. */
+    private VegetationListener listener;
+
+    /**
+     * Constructs a new VegetationManager for a map.
+     *
+     * @param map The map whose plants are managed
+     */
+    public VegetationManager(SafariMap map) {
+        this.map = map;
+    }
+
+    /**
+     * Sets the listener notified when plants regrow or wither.
+     *
+     * @param listener The listener, or null to remove it
+     */
+    public void setListener(VegetationListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Starts scheduling a plant that has just been placed on the map.
+     *
+     * @param plant The plant to schedule
+     */
+    public void addPlant(Plant plant) {
+        scheduleLife(plant);
+    }
+
+    /**
+     * Handles a plant being eaten by a herbivore.
+     * <p>
+     * The plant becomes dormant and is scheduled to grow back after
+     * {@link #REGROWTH_DELAY} ticks. The caller is responsible for clearing
+     * the plant's cell.
+     * </p>
+     *
+     * @param plant The plant that was eaten
+     */
+    public void onPlantGrazed(Plant plant) {
+        if (plant.isDormant()) {
+            return;
+        }
+        plant.makeDormant();
+        schedule(plant, EventType.REGROW, REGROWTH_DELAY);
+    }
+
+    /**
+     * Advances the vegetation to the given tick, processing every event that has come due.
+     *
+     * @param tick The new current tick
+     */
+    public void advanceTo(long tick) {
+        while (!events.isEmpty() && events.peek().tick <= tick) {
+            VegetationEvent event = events.poll();
+            // Follow-up events are scheduled relative to when this one was due
+            currentTick = Math.max(currentTick, event.tick);
+            if (event.id != event.plant.getId()) {
+                // Left over from before the plant was picked up or regrew
+                continue;
+            }
+            if (map.getRegions() != null) {
+                map.getRegions().wake(event.plant.getPosition());
+            }
+            switch (event.type) {
+                case GROW:
+                    handleGrow(event.plant);
+                    break;
+                case DECAY:
+                    handleDecay(event.plant);
+                    break;
+                case REGROW:
+                    handleRegrow(event.plant, event.retries);
+                    break;
+            }
+        }
+        currentTick = Math.max(currentTick, tick);
+    }
+
+    /**
+     * Gets the number of events waiting to be processed.
+     *
+     * @return The number of pending events
+     */
+    public int getPendingEventCount() {
+        return events.size();
+    }
+
+    /**
+     * Gets the last tick the vegetation has been advanced to.
+     *
+     * @return The current tick
+     */
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Drops all scheduled events.
+     */
+    public void clear() {
+        events.clear();
+    }
+
+    private void handleGrow(Plant plant) {
+        if (!isOnMap(plant)) {
+            return;
+        }
+        plant.grow();
+        if (plant.getGrowthStage() < Plant.MAX_GROWTH_STAGE) {
+            schedule(plant, EventType.GROW, GROWTH_INTERVAL);
+        }
+    }
+
+    private void handleDecay(Plant plant) {
+        if (!isOnMap(plant)) {
+            return;
+        }
+        plant.decay(DECAY_AMOUNT);
+        if (plant.getHealth() > 0) {
+            schedule(plant, EventType.DECAY, DECAY_INTERVAL);
+            return;
+        }
+
+        // Withered: clear the cell and let the plant come back later
+        Coordinate pos = plant.getPosition();
+        map.getGrid().clearCell(pos.getX(), pos.getY());
+        map.removeLandscapeObject(plant);
+        plant.makeDormant();
+        schedule(plant, EventType.REGROW, REGROWTH_DELAY);
+        if (listener != null) {
+            listener.onPlantWithered(plant);
+        }
+    }
+
+    private void handleRegrow(Plant plant, int retries) {
+        if (!plant.isDormant()) {
+            return;
+        }
+        Coordinate pos = plant.getPosition();
+        Grid grid = map.getGrid();
+        if (pos == null || grid.getCellType(pos.getX(), pos.getY()) == '\0') {
+            return;
+        }
+        char cellType = grid.getCellType(pos.getX(), pos.getY());
+        if (cellType != '-' && !SpeciesRegistry.getInstance().isAnimal(cellType)) {
+            // Built over by a road, pond or another plant: the plant is gone
+            return;
+        }
+        if (cellType != '-' || grid.isOccupied(pos.getX(), pos.getY())) {
+            // An animal is standing on the spot, try again shortly
+            if (retries < MAX_REGROWTH_RETRIES) {
+                schedule(plant, EventType.REGROW, REGROWTH_RETRY, retries + 1);
+            }
+            return;
+        }
+
+        plant.regrow();
+        grid.setCellType(pos.getX(), pos.getY(), plant.getCellType());
+        grid.getCell(pos.getX(), pos.getY()).setOccupied(true);
+        map.addLandscapeObject(plant, false);
+        scheduleLife(plant);
+        if (listener != null) {
+            listener.onPlantRegrown(plant);
+        }
+    }
+
+    /**
+     * Queues the first growth and decay events of a living plant.
+     */
+    private void scheduleLife(Plant plant) {
+        if (plant.getGrowthStage() < Plant.MAX_GROWTH_STAGE) {
+            schedule(plant, EventType.GROW, GROWTH_INTERVAL);
+        }
+        schedule(plant, EventType.DECAY, DECAY_INTERVAL);
+    }
+
+    private void schedule(Plant plant, EventType type, int delay) {
+        schedule(plant, type, delay, 0);
+    }
+
+    private void schedule(Plant plant, EventType type, int delay, int retries) {
+        events.add(new VegetationEvent(currentTick + delay, sequence++, plant, type, retries));
+    }
+
+    /**
+     * Checks that a plant is still alive, on the map and standing on its cell.
+     * Events for plants that were eaten, removed or replaced are dropped.
+     */
+    private boolean isOnMap(Plant plant) {
+        if (plant.isDormant() || plant.getPosition() == null || map.getEntity(plant.getId()) != plant) {
+            return false;
+        }
+        Coordinate pos = plant.getPosition();
+        return map.getGrid().getCellType(pos.getX(), pos.getY()) == plant.getCellType();
+    }
+}
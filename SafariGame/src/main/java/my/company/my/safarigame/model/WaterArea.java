@@ -13,11 +13,19 @@ package my.company.my.safarigame.model;
  * thirst. As a landscape object, water areas can be placed in the game world and
  * potentially traded, though their tradability might be limited in actual gameplay.
  * </p>
+ * <p>
+ * On the map, every water area is one cell of a {@link WaterBody}, and the water
+ * areas of a pond share the pond's water. Filling, evaporation and the capacity
+ * of such an area are those of the whole pond.
+ * </p>
  */
 public class WaterArea extends LandScapeObject {
-    /** The water capacity of this water area. */
+    /** The water capacity of this water area while it is not part of a pond. */
     private double capacity;
-    
+
+    /** The pond this water area belongs to, or null. */
+    private WaterBody body;
+
     /**
      * Constructs a new WaterArea at the specified position with the given capacity.
      *
@@ -36,7 +44,11 @@ public class WaterArea extends LandScapeObject {
      * </p>
      */
     public void fill() {
-        capacity += 10;
+        if (body != null) {
+            body.fill();
+        } else {
+            capacity += 10;
+        }
     }
     
     /**
@@ -46,7 +58,11 @@ public class WaterArea extends LandScapeObject {
      * </p>
      */
     public void evaporate() {
-        capacity -= 5;
+        if (body != null) {
+            body.evaporate();
+        } else {
+            capacity -= 5;
+        }
     }
     
     /**
@@ -54,11 +70,48 @@ public class WaterArea extends LandScapeObject {
      * <p>
      * This implementation calls the evaporate method to gradually
      * reduce the water capacity over time, simulating natural water loss.
+     * Water areas of a pond are left alone; the pond is updated once for all
+     * of them.
      * </p>
      */
     @Override
     public void update() {
-        evaporate();
+        if (body == null) {
+            evaporate();
+        }
+    }
+
+    /**
+     * Gets the water available at this water area, which is that of its pond.
+     *
+     * @return The capacity
+     */
+    public double getCapacity() {
+        return body != null ? body.getCapacity() : capacity;
+    }
+
+    /**
+     * Gets the pond this water area belongs to.
+     *
+     * @return The water body, or null if the area is not on the map
+     */
+    public WaterBody getBody() {
+        return body;
+    }
+
+    void setBody(WaterBody body) {
+        this.body = body;
+    }
+
+    /**
+     * Gets the water this area holds apart from any pond.
+     */
+    double getOwnCapacity() {
+        return capacity;
+    }
+
+    void setOwnCapacity(double capacity) {
+        this.capacity = capacity;
     }
     
     /**
@@ -86,6 +139,6 @@ public class WaterArea extends LandScapeObject {
      */
     @Override
     public String getDescription() {
-        return "WaterArea with capacity: " + capacity;
+        return "WaterArea with capacity: " + getCapacity();
     }
 }
\ No newline at end of file
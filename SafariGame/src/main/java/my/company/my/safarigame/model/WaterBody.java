@@ -0,0 +1,159 @@
+package my.company.my.safarigame.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A pond: the water areas of connected water cells, sharing one supply of water.
+ * <p>
+ * The body holds the capacity of all its areas together, so evaporation and
+ * refilling are simulated once per pond rather than once per water cell. Both
+ * scale with the number of cells, so a pond loses and gains as much water as its
+ * cells did on their own. Bodies are formed and kept up to date by the
+ * {@link WaterManager}.
+ * </p>
+ */
+public class WaterBody {
+
+    /** Water a cell of the pond loses to evaporation every update. */
+    public static final double EVAPORATION_PER_CELL = 5;
+
+    /** Water a cell of the pond gains when the pond is refilled. */
+    public static final double REFILL_PER_CELL = 10;
+
+    /** The water areas of the pond. */
+    private final List<WaterArea> areas = new ArrayList<>();
+
+    /** One cell of every region the pond reaches into. */
+    private final List<Coordinate> regionCells = new ArrayList<>();
+
+    /** The water of the whole pond. */
+    private double capacity = 0;
+
+    /**
+     * Adds a water area to the pond, together with its water.
+     *
+     * @param area The water area
+     */
+    void join(WaterArea area) {
+        areas.add(area);
+        capacity += area.getOwnCapacity();
+        area.setBody(this);
+        addRegionOf(area.getPosition());
+    }
+
+    /**
+     * Takes a water area out of the pond, handing it its share of the water.
+     *
+     * @param area The water area
+     */
+    void leave(WaterArea area) {
+        double share = getShare();
+        areas.remove(area);
+        capacity -= share;
+        area.setBody(null);
+        area.setOwnCapacity(share);
+        regionCells.clear();
+        for (WaterArea other : areas) {
+            addRegionOf(other.getPosition());
+        }
+    }
+
+    private void addRegionOf(Coordinate pos) {
+        for (Coordinate cell : regionCells) {
+            if (cell.getX() >> Grid.CHUNK_BITS == pos.getX() >> Grid.CHUNK_BITS
+                    && cell.getY() >> Grid.CHUNK_BITS == pos.getY() >> Grid.CHUNK_BITS) {
+                return;
+            }
+        }
+        regionCells.add(pos);
+    }
+
+    /**
+     * Takes every water area out of the pond, handing each its share of the water.
+     */
+    void dissolve() {
+        double share = getShare();
+        for (WaterArea area : areas) {
+            area.setBody(null);
+            area.setOwnCapacity(share);
+        }
+        areas.clear();
+        regionCells.clear();
+        capacity = 0;
+    }
+
+    /**
+     * Adds water to the pond, simulating rainfall or other water sources.
+     */
+    public void fill() {
+        capacity += REFILL_PER_CELL * areas.size();
+    }
+
+    /**
+     * Lets water of the pond evaporate, down to an empty pond.
+     */
+    public void evaporate() {
+        capacity = Math.max(0, capacity - EVAPORATION_PER_CELL * areas.size());
+    }
+
+    /**
+     * Updates the pond's state during each game cycle.
+     */
+    public void update() {
+        evaporate();
+    }
+
+    /**
+     * Checks whether the pond is simulated in the next update, which it is as long
+     * as one of the regions it reaches into is awake.
+     *
+     * @param regions The regions of the map
+     * @return true if a region of the pond is awake
+     */
+    public boolean isAwake(ActiveRegions regions) {
+        for (Coordinate cell : regionCells) {
+            if (regions.isAwake(cell)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the water of the whole pond.
+     *
+     * @return The capacity
+     */
+    public double getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the water each cell of the pond holds on average.
+     *
+     * @return The capacity per cell
+     */
+    public double getShare() {
+        return areas.isEmpty() ? 0 : capacity / areas.size();
+    }
+
+    /**
+     * Gets the number of water cells of the pond.
+     *
+     * @return The number of water areas
+     */
+    public int getSize() {
+        return areas.size();
+    }
+
+    /**
+     * Gets the water areas of the pond.
+     *
+     * @return The water areas, which must not be changed
+     */
+    public List<WaterArea> getAreas() {
+        return Collections.unmodifiableList(areas);
+    }
+}
@@ -0,0 +1,302 @@
+package my.company.my.safarigame.model;
+
+import java.util.*;
+
+/**
+ * Groups the water areas of a map into ponds.
+ * <p>
+ * Water areas on neighbouring cells, up, down, left or right of each other, form
+ * one {@link WaterBody}. The ponds are found by labelling the connected water
+ * cells once the map is loaded, and kept up to date afterwards: a water area
+ * placed next to ponds joins them into one, and a water area taken out of the
+ * middle of a pond splits it if its neighbours are no longer connected. Each pond
+ * is updated once per tick, so the cost of simulating water depends on the number
+ * of ponds rather than the number of water cells.
+ * </p>
+ * <p>
+ * The manager also keeps a cell-to-water-area index, replacing linear searches
+ * over every landscape object when an animal drinks.
+ * </p>
+ */
+public class WaterManager {
+
+    /** Row offsets of the cells next to a cell. */
+    private static final int[] DX = {-1, 1, 0, 0};
+
+    /** Column offsets of the cells next to a cell. */
+    private static final int[] DY = {0, 0, -1, 1};
+
+    /** Number of rows of the tracked grid. */
+    private final int rows;
+
+    /** Number of columns of the tracked grid. */
+    private final int cols;
+
+    /** Water area on each cell, indexed by {@code row * cols + col}. */
+    private final WaterArea[] areas;
+
+    /** The ponds on the map, in the order they were formed. */
+    private final Set<WaterBody> bodies = new LinkedHashSet<>();
+
+    /**
+     * Constructs a new WaterManager for a grid of the given size, without water.
+     *
+     * @param rows Number of grid rows
+     * @param cols Number of grid columns
+     */
+    public WaterManager(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        this.areas = new WaterArea[rows * cols];
+    }
+
+    /**
+     * Forms the ponds of a map from scratch by labelling its connected water cells.
+     *
+     * @param objects The landscape objects of the map
+     */
+    public void build(Collection<LandScapeObject> objects) {
+        for (WaterBody body : bodies) {
+            body.dissolve();
+        }
+        bodies.clear();
+        Arrays.fill(areas, null);
+        for (LandScapeObject obj : objects) {
+            if (obj instanceof WaterArea) {
+                WaterArea area = (WaterArea) obj;
+                if (area.getBody() != null) {
+                    // Still part of a pond of a previous map
+                    area.getBody().leave(area);
+                }
+                int cell = indexOf(area.getPosition());
+                if (cell >= 0 && areas[cell] == null) {
+                    areas[cell] = area;
+                }
+            }
+        }
+        int[] queue = new int[areas.length];
+        for (int start = 0; start < areas.length; start++) {
+            if (areas[start] == null || areas[start].getBody() != null) {
+                continue;
+            }
+            WaterBody body = new WaterBody();
+            body.join(areas[start]);
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = start;
+            while (head < tail) {
+                int cell = queue[head++];
+                for (int d = 0; d < DX.length; d++) {
+                    int next = neighbour(cell, d);
+                    if (next >= 0 && areas[next] != null && areas[next].getBody() == null) {
+                        body.join(areas[next]);
+                        queue[tail++] = next;
+                    }
+                }
+            }
+            bodies.add(body);
+        }
+    }
+
+    /**
+     * Adds a water area to the pond next to it, joining all the ponds it touches
+     * into one. Water areas outside the grid, or on a cell already holding one,
+     * stay on their own.
+     *
+     * @param area The water area
+     */
+    public void add(WaterArea area) {
+        int cell = indexOf(area.getPosition());
+        if (cell < 0 || areas[cell] != null || area.getBody() != null) {
+            return;
+        }
+        areas[cell] = area;
+        WaterBody joined = null;
+        for (int d = 0; d < DX.length; d++) {
+            int next = neighbour(cell, d);
+            if (next < 0 || areas[next] == null) {
+                continue;
+            }
+            WaterBody other = areas[next].getBody();
+            if (joined == null) {
+                joined = other;
+            } else if (other != joined) {
+                joined = merge(joined, other);
+            }
+        }
+        if (joined == null) {
+            joined = new WaterBody();
+            bodies.add(joined);
+        }
+        joined.join(area);
+    }
+
+    /**
+     * Takes a water area out of its pond, splitting the pond if the area was what
+     * held it together.
+     *
+     * @param area The water area
+     */
+    public void remove(WaterArea area) {
+        remove(area, area.getPosition());
+    }
+
+    /**
+     * Moves a water area to the pond of its new position.
+     *
+     * @param area The water area that moved
+     * @param oldPosition The position it moved from
+     */
+    public void onMoved(WaterArea area, Coordinate oldPosition) {
+        if (area.getBody() != null) {
+            remove(area, oldPosition);
+            add(area);
+        }
+    }
+
+    /**
+     * Gets the water area on a cell.
+     *
+     * @param row Row index
+     * @param col Column index
+     * @return The water area, or null if there is none
+     */
+    public WaterArea getAreaAt(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            return null;
+        }
+        return areas[row * cols + col];
+    }
+
+    /**
+     * Gets the pond a cell belongs to.
+     *
+     * @param row Row index
+     * @param col Column index
+     * @return The water body, or null if the cell holds no water area
+     */
+    public WaterBody getBodyAt(int row, int col) {
+        WaterArea area = getAreaAt(row, col);
+        return area == null ? null : area.getBody();
+    }
+
+    /**
+     * Updates every pond reaching into an awake region once.
+     * <p>
+     * Must be called before the regions are updated, while the regions woken for
+     * this update are still awake.
+     * </p>
+     *
+     * @param regions The regions of the map
+     */
+    public void update(ActiveRegions regions) {
+        for (WaterBody body : bodies) {
+            if (body.isAwake(regions)) {
+                body.update();
+            }
+        }
+    }
+
+    /**
+     * Gets the ponds on the map.
+     *
+     * @return The water bodies, which must not be changed
+     */
+    public Collection<WaterBody> getBodies() {
+        return Collections.unmodifiableSet(bodies);
+    }
+
+    private void remove(WaterArea area, Coordinate position) {
+        int cell = indexOf(position);
+        if (cell < 0 || areas[cell] != area) {
+            return;
+        }
+        areas[cell] = null;
+        WaterBody body = area.getBody();
+        body.leave(area);
+        if (body.getSize() == 0) {
+            bodies.remove(body);
+            return;
+        }
+        split(body, cell);
+    }
+
+    /**
+     * Moves the water areas of the smaller pond into the larger one.
+     *
+     * @return The pond left
+     */
+    private WaterBody merge(WaterBody a, WaterBody b) {
+        WaterBody larger = a.getSize() >= b.getSize() ? a : b;
+        WaterBody smaller = larger == a ? b : a;
+        List<WaterArea> moved = new ArrayList<>(smaller.getAreas());
+        smaller.dissolve();
+        for (WaterArea area : moved) {
+            larger.join(area);
+        }
+        bodies.remove(smaller);
+        return larger;
+    }
+
+    /**
+     * Splits a pond into the parts still connected after a cell was taken out of
+     * it. The parts share the pond's water by their number of cells.
+     *
+     * @param body The pond the cell was taken out of
+     * @param removed The cell taken out
+     */
+    private void split(WaterBody body, int removed) {
+        List<List<WaterArea>> parts = new ArrayList<>();
+        Set<WaterArea> reached = new HashSet<>();
+        for (int d = 0; d < DX.length; d++) {
+            int start = neighbour(removed, d);
+            if (start < 0 || areas[start] == null || areas[start].getBody() != body
+                    || reached.contains(areas[start])) {
+                continue;
+            }
+            List<WaterArea> part = new ArrayList<>();
+            Deque<Integer> queue = new ArrayDeque<>();
+            reached.add(areas[start]);
+            part.add(areas[start]);
+            queue.add(start);
+            while (!queue.isEmpty()) {
+                int cell = queue.poll();
+                for (int e = 0; e < DX.length; e++) {
+                    int next = neighbour(cell, e);
+                    if (next >= 0 && areas[next] != null && areas[next].getBody() == body
+                            && reached.add(areas[next])) {
+                        part.add(areas[next]);
+                        queue.add(next);
+                    }
+                }
+            }
+            if (part.size() == body.getSize()) {
+                // The rest of the pond is still connected
+                return;
+            }
+            parts.add(part);
+        }
+        // The first part keeps the pond; the others become ponds of their own
+        for (int i = 1; i < parts.size(); i++) {
+            WaterBody other = new WaterBody();
+            for (WaterArea area : parts.get(i)) {
+                body.leave(area);
+                other.join(area);
+            }
+            bodies.add(other);
+        }
+    }
+
+    private int neighbour(int cell, int direction) {
+        int row = cell / cols + DX[direction];
+        int col = cell % cols + DY[direction];
+        return row < 0 || row >= rows || col < 0 || col >= cols ? -1 : row * cols + col;
+    }
+
+    private int indexOf(Coordinate pos) {
+        if (pos == null || pos.getX() < 0 || pos.getX() >= rows || pos.getY() < 0 || pos.getY() >= cols) {
+            return -1;
+        }
+        return pos.getX() * cols + pos.getY();
+    }
+}
@@ -0,0 +1,187 @@
+package my.company.my.safarigame.replay;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import my.company.my.safarigame.model.Grid;
+import my.company.my.safarigame.model.SafariGameModel;
+import my.company.my.safarigame.model.TradeableItem;
+
+/**
+ * Full snapshot of a game at one tick, from which a replay can be resumed.
+ * <p>
+ * A keyframe holds the grid cell types, which is everything a save file
+ * holds, plus the player's capital, inventory and the game speed. The first
+ * keyframe of a replay is the initial snapshot; later ones let playback seek
+ * without replaying every event from the start.
+ * </p>
+ */
+public class Keyframe {
+
+    private final long tick;
+    private final double capital;
+    private final int gameSpeed;
+    private final int rows;
+    private final int cols;
+    private final char[] cells;
+    private final List<TradeableItem> inventory;
+
+    /** Number of events recorded before this keyframe. */
+    private int eventIndex;
+
+    /**
+     * Constructs a new Keyframe.
+     *
+     * @param tick The game tick
+     * @param capital The player's capital
+     * @param gameSpeed The game speed
+     * @param rows Number of grid rows
+     * @param cols Number of grid columns
+     * @param cells The cell types row by row, rows * cols long
+     * @param inventory The items in the player's inventory
+     * @throws IllegalArgumentException If the cells do not match the grid size
+     */
+    public Keyframe(long tick, double capital, int gameSpeed, int rows, int cols, char[] cells,
+            List<TradeableItem> inventory) {
+        if (rows <= 0 || cols <= 0 || cells.length != rows * cols) {
+            throw new IllegalArgumentException("Keyframe cells do not match a " + rows + "x" + cols + " grid");
+        }
+        this.tick = tick;
+        this.capital = capital;
+        this.gameSpeed = gameSpeed;
+        this.rows = rows;
+        this.cols = cols;
+        this.cells = cells;
+        this.inventory = new ArrayList<>(inventory);
+    }
+
+    /**
+     * Takes a snapshot of a running game.
+     *
+     * @param model The game model
+     * @return The keyframe
+     */
+    public static Keyframe capture(SafariGameModel model) {
+        Grid grid = model.getMap().getGrid();
+        int rows = grid.getRows();
+        int cols = grid.getColumns();
+        char[] cells = new char[rows * cols];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                cells[r * cols + c] = grid.getCellType(r, c);
+            }
+        }
+        return new Keyframe(model.getTick(), model.getPlayer().getCapital(), model.getGameSpeed(),
+                rows, cols, cells, model.getPlayer().getInventory());
+    }
+
+    /**
+     * Writes the grid in the save file format, so it can be loaded like a saved game.
+     *
+     * @param file The file to write
+     * @throws IOException If the file cannot be written
+     */
+    public void writeGridFile(File file) throws IOException {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+            for (int r = 0; r < rows; r++) {
+                writer.write(cells, r * cols, cols);
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Gets the game tick of the snapshot.
+     *
+     * @return The tick
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Gets the player's capital.
+     *
+     * @return The capital
+     */
+    public double getCapital() {
+        return capital;
+    }
+
+    /**
+     * Gets the game speed.
+     *
+     * @return The game speed (1=Hour, 2=Day, 3=Week)
+     */
+    public int getGameSpeed() {
+        return gameSpeed;
+    }
+
+    /**
+     * Gets the number of grid rows.
+     *
+     * @return The rows
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Gets the number of grid columns.
+     *
+     * @return The columns
+     */
+    public int getColumns() {
+        return cols;
+    }
+
+    /**
+     * Gets the type of a cell.
+     *
+     * @param row The row
+     * @param col The column
+     * @return The cell type character
+     */
+    public char getCellType(int row, int col) {
+        return cells[row * cols + col];
+    }
+
+    /**
+     * Gets the items in the player's inventory.
+     *
+     * @return An unmodifiable list of items
+     */
+    public List<TradeableItem> getInventory() {
+        return Collections.unmodifiableList(inventory);
+    }
+
+    /**
+     * Gets the number of events recorded before this keyframe, which is the
+     * index of the first event to replay after resuming from it.
+     *
+     * @return The event index
+     */
+    public int getEventIndex() {
+        return eventIndex;
+    }
+
+    /**
+     * Sets the number of events recorded before this keyframe.
+     *
+     * @param eventIndex The event index
+     */
+    void setEventIndex(int eventIndex) {
+        this.eventIndex = eventIndex;
+    }
+
+    /**
+     * Gets the cell types row by row.
+     */
+    char[] getCells() {
+        return cells;
+    }
+}
@@ -0,0 +1,173 @@
+package my.company.my.safarigame.replay;
+
+import my.company.my.safarigame.model.TradeableItem;
+
+/**
+ * One player action in a replay, stamped with the game tick it happened in.
+ * <p>
+ * Only the fields used by the event's type are set: the item for buys, sells
+ * and placements, the cell for placements and removals, and the speed for
+ * speed changes.
+ * </p>
+ */
+public class ReplayEvent {
+
+    /**
+     * The kinds of player action a replay records.
+     */
+    public enum Type {
+        /** An item was bought in the market. */
+        BUY,
+        /** An item was sold in the market. */
+        SELL,
+        /** An inventory item was placed on the map. */
+        PLACE,
+        /** An item was removed from the map into the inventory. */
+        REMOVE,
+        /** The game speed was changed. */
+        SPEED
+    }
+
+    private final Type type;
+    private final long tick;
+    private final TradeableItem item;
+    private final int row;
+    private final int col;
+    private final int gameSpeed;
+
+    private ReplayEvent(Type type, long tick, TradeableItem item, int row, int col, int gameSpeed) {
+        this.type = type;
+        this.tick = tick;
+        this.item = item;
+        this.row = row;
+        this.col = col;
+        this.gameSpeed = gameSpeed;
+    }
+
+    /**
+     * Creates a market buy.
+     *
+     * @param tick The game tick
+     * @param item The item bought
+     * @return The event
+     */
+    public static ReplayEvent buy(long tick, TradeableItem item) {
+        return new ReplayEvent(Type.BUY, tick, item, -1, -1, 0);
+    }
+
+    /**
+     * Creates a market sell.
+     *
+     * @param tick The game tick
+     * @param item The item sold
+     * @return The event
+     */
+    public static ReplayEvent sell(long tick, TradeableItem item) {
+        return new ReplayEvent(Type.SELL, tick, item, -1, -1, 0);
+    }
+
+    /**
+     * Creates a placement on the map.
+     *
+     * @param tick The game tick
+     * @param item The item placed
+     * @param row The row of the cell
+     * @param col The column of the cell
+     * @return The event
+     */
+    public static ReplayEvent place(long tick, TradeableItem item, int row, int col) {
+        return new ReplayEvent(Type.PLACE, tick, item, row, col, 0);
+    }
+
+    /**
+     * Creates a removal from the map.
+     *
+     * @param tick The game tick
+     * @param row The row of the cell
+     * @param col The column of the cell
+     * @return The event
+     */
+    public static ReplayEvent remove(long tick, int row, int col) {
+        return new ReplayEvent(Type.REMOVE, tick, null, row, col, 0);
+    }
+
+    /**
+     * Creates a game speed change.
+     *
+     * @param tick The game tick
+     * @param gameSpeed The new game speed (1=Hour, 2=Day, 3=Week)
+     * @return The event
+     */
+    public static ReplayEvent speed(long tick, int gameSpeed) {
+        return new ReplayEvent(Type.SPEED, tick, null, -1, -1, gameSpeed);
+    }
+
+    /**
+     * Gets the kind of action.
+     *
+     * @return The type
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Gets the game tick the action happened in.
+     *
+     * @return The tick
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Gets the item bought, sold or placed.
+     *
+     * @return The item, or null for removals and speed changes
+     */
+    public TradeableItem getItem() {
+        return item;
+    }
+
+    /**
+     * Gets the row of a placement or removal.
+     *
+     * @return The row, or -1
+     */
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * Gets the column of a placement or removal.
+     *
+     * @return The column, or -1
+     */
+    public int getCol() {
+        return col;
+    }
+
+    /**
+     * Gets the new game speed of a speed change.
+     *
+     * @return The game speed, or 0
+     */
+    public int getGameSpeed() {
+        return gameSpeed;
+    }
+
+    @Override
+    public String toString() {
+        switch (type) {
+            case BUY:
+            case SELL:
+                return tick + " " + type + " " + item.getDescription();
+            case PLACE:
+                return tick + " " + type + " " + item.getDescription() + " at (" + row + "," + col + ")";
+            case REMOVE:
+                return tick + " " + type + " at (" + row + "," + col + ")";
+            default:
+                return tick + " " + type + " " + gameSpeed;
+        }
+    }
+}
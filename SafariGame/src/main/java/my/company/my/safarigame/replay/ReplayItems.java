@@ -0,0 +1,151 @@
+package my.company.my.safarigame.replay;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import my.company.my.safarigame.model.Carnivore;
+import my.company.my.safarigame.model.Coordinate;
+import my.company.my.safarigame.model.Herbivore;
+import my.company.my.safarigame.model.Jeep;
+import my.company.my.safarigame.model.Plant;
+import my.company.my.safarigame.model.Ranger;
+import my.company.my.safarigame.model.Road;
+import my.company.my.safarigame.model.TerrainObstacle;
+import my.company.my.safarigame.model.TradeableItem;
+import my.company.my.safarigame.model.WaterArea;
+
+/**
+ * Reads and writes tradeable items in the binary replay format.
+ * <p>
+ * An item is stored as a kind byte followed by whatever the market needs to
+ * create the same item again: the species of animals and plants, the type of
+ * roads and obstacles, and the price where it varies between items of a kind.
+ * Items are read back as new instances at a placeholder position, like the ones
+ * the market hands out.
+ * </p>
+ */
+public final class ReplayItems {
+
+    private static final int HERBIVORE = 0;
+    private static final int CARNIVORE = 1;
+    private static final int PLANT = 2;
+    private static final int ROAD = 3;
+    private static final int WATER = 4;
+    private static final int JEEP = 5;
+    private static final int RANGER = 6;
+    private static final int OBSTACLE = 7;
+
+    private ReplayItems() {
+    }
+
+    /**
+     * Writes an item.
+     *
+     * @param out The output to write to
+     * @param item The item
+     * @throws IOException If writing fails
+     * @throws IllegalArgumentException If the item is not sold in the market
+     */
+    public static void write(DataOutput out, TradeableItem item) throws IOException {
+        if (item instanceof Herbivore) {
+            out.writeByte(HERBIVORE);
+            out.writeUTF(item.getDescription());
+        } else if (item instanceof Carnivore) {
+            out.writeByte(CARNIVORE);
+            out.writeUTF(item.getDescription());
+        } else if (item instanceof Plant) {
+            out.writeByte(PLANT);
+            out.writeUTF(item.getDescription());
+            out.writeDouble(item.getPrice());
+        } else if (item instanceof Road) {
+            out.writeByte(ROAD);
+            out.writeUTF(((Road) item).getRoadType());
+            out.writeDouble(item.getPrice());
+        } else if (item instanceof WaterArea) {
+            out.writeByte(WATER);
+        } else if (item instanceof Jeep) {
+            out.writeByte(JEEP);
+        } else if (item instanceof Ranger) {
+            out.writeByte(RANGER);
+        } else if (item instanceof TerrainObstacle) {
+            out.writeByte(OBSTACLE);
+            out.writeUTF(((TerrainObstacle) item).getObstacleType());
+        } else {
+            throw new IllegalArgumentException("Item cannot be recorded: " + item);
+        }
+    }
+
+    /**
+     * Reads an item written by {@link #write(DataOutput, TradeableItem)}.
+     *
+     * @param in The input to read from
+     * @return A new instance of the item
+     * @throws IOException If reading fails or the kind is unknown
+     */
+    public static TradeableItem read(DataInput in) throws IOException {
+        Coordinate position = new Coordinate(0, 0);
+        int kind = in.readByte();
+        switch (kind) {
+            case HERBIVORE:
+                return new Herbivore(position, in.readUTF());
+            case CARNIVORE:
+                return new Carnivore(position, in.readUTF());
+            case PLANT: {
+                String species = in.readUTF();
+                return new Plant(position, species, in.readDouble());
+            }
+            case ROAD: {
+                String type = in.readUTF();
+                return new Road(position, 1.0, in.readDouble(), type);
+            }
+            case WATER:
+                return new WaterArea(position, 100.0);
+            case JEEP:
+                return new Jeep(position);
+            case RANGER:
+                return new Ranger(position);
+            case OBSTACLE:
+                return new TerrainObstacle(position, in.readUTF());
+            default:
+                throw new IOException("Unknown item kind in replay: " + kind);
+        }
+    }
+
+    /**
+     * Creates a new instance of an item, as the market would sell it.
+     * <p>
+     * Used by playback so that items placed on a map never carry state over
+     * from an earlier playback of the same replay.
+     * </p>
+     *
+     * @param item The item
+     * @return A new, unplaced item of the same kind
+     * @throws IllegalArgumentException If the item is not sold in the market
+     */
+    public static TradeableItem copy(TradeableItem item) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            write(new DataOutputStream(bytes), item);
+            return read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Checks whether two items are the same kind of market item, the way the
+     * player's inventory matches items.
+     *
+     * @param a The first item
+     * @param b The second item
+     * @return true if both have the same class and description
+     */
+    public static boolean matches(TradeableItem a, TradeableItem b) {
+        return a.getClass().equals(b.getClass()) && a.getDescription().equals(b.getDescription());
+    }
+}
@@ -0,0 +1,290 @@
+package my.company.my.safarigame.replay;
+
+import java.io.BufferedInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.InflaterInputStream;
+import my.company.my.safarigame.model.TradeableItem;
+
+/**
+ * A recorded game read back from a replay file.
+ * <p>
+ * The file is a deflate stream holding a header followed by records. The header
+ * is the magic number, the format version, the session seed, the player name,
+ * the difficulty and the starting tick. Every record starts with a tag byte and
+ * the number of ticks since the previous record as a variable-length integer,
+ * followed by the payload of its type:
+ * </p>
+ * <ul>
+ *   <li>buy and sell: the item</li>
+ *   <li>place: the item, the row and the column</li>
+ *   <li>remove: the row and the column</li>
+ *   <li>speed: the new game speed as one byte</li>
+ *   <li>keyframe: capital, game speed, rows, columns, one byte per cell and the inventory</li>
+ * </ul>
+ * <p>
+ * The first record is always a keyframe, the initial snapshot. A file cut off in
+ * the middle of a record, as happens when the game is killed, is read up to the
+ * last complete record.
+ * </p>
+ */
+public class ReplayLog {
+
+    /** Magic number at the start of every replay file, "SRPL". */
+    static final int MAGIC = 0x5352504C;
+
+    /** Version of the replay format. */
+    static final int VERSION = 1;
+
+    static final int TAG_BUY = 1;
+    static final int TAG_SELL = 2;
+    static final int TAG_PLACE = 3;
+    static final int TAG_REMOVE = 4;
+    static final int TAG_SPEED = 5;
+    static final int TAG_KEYFRAME = 6;
+
+    private final long seed;
+    private final String playerName;
+    private final String difficulty;
+    private final List<ReplayEvent> events = new ArrayList<>();
+    private final List<Keyframe> keyframes = new ArrayList<>();
+
+    private ReplayLog(long seed, String playerName, String difficulty) {
+        this.seed = seed;
+        this.playerName = playerName;
+        this.difficulty = difficulty;
+    }
+
+    /**
+     * Reads a replay file.
+     *
+     * @param file The replay file
+     * @return The recorded game
+     * @throws IOException If the file cannot be read, is not a replay or has no initial snapshot
+     */
+    public static ReplayLog read(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(
+                new BufferedInputStream(new FileInputStream(file))))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a replay file: " + file);
+            }
+            int version = in.readByte();
+            if (version != VERSION) {
+                throw new IOException("Unsupported replay version " + version + " in " + file);
+            }
+            ReplayLog log = new ReplayLog(in.readLong(), in.readUTF(), in.readUTF());
+            long tick = readVarLong(in);
+            while (true) {
+                int tag;
+                try {
+                    tag = in.read();
+                    if (tag < 0) {
+                        break;
+                    }
+                    tick += readVarLong(in);
+                    log.readRecord(in, tag, tick);
+                } catch (EOFException e) {
+                    // Truncated last record, keep what was complete
+                    break;
+                }
+            }
+            if (log.keyframes.isEmpty()) {
+                throw new IOException("Replay has no initial snapshot: " + file);
+            }
+            return log;
+        }
+    }
+
+    private void readRecord(DataInput in, int tag, long tick) throws IOException {
+        switch (tag) {
+            case TAG_BUY:
+                events.add(ReplayEvent.buy(tick, ReplayItems.read(in)));
+                break;
+            case TAG_SELL:
+                events.add(ReplayEvent.sell(tick, ReplayItems.read(in)));
+                break;
+            case TAG_PLACE: {
+                TradeableItem item = ReplayItems.read(in);
+                int row = (int) readVarLong(in);
+                int col = (int) readVarLong(in);
+                events.add(ReplayEvent.place(tick, item, row, col));
+                break;
+            }
+            case TAG_REMOVE: {
+                int row = (int) readVarLong(in);
+                int col = (int) readVarLong(in);
+                events.add(ReplayEvent.remove(tick, row, col));
+                break;
+            }
+            case TAG_SPEED:
+                events.add(ReplayEvent.speed(tick, in.readByte()));
+                break;
+            case TAG_KEYFRAME:
+                keyframes.add(readKeyframe(in, tick));
+                break;
+            default:
+                throw new IOException("Unknown replay record: " + tag);
+        }
+    }
+
+    private Keyframe readKeyframe(DataInput in, long tick) throws IOException {
+        double capital = in.readDouble();
+        int gameSpeed = in.readByte();
+        int rows = (int) readVarLong(in);
+        int cols = (int) readVarLong(in);
+        char[] cells = new char[rows * cols];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = (char) (in.readByte() & 0xFF);
+        }
+        int inventorySize = (int) readVarLong(in);
+        List<TradeableItem> inventory = new ArrayList<>(inventorySize);
+        for (int i = 0; i < inventorySize; i++) {
+            inventory.add(ReplayItems.read(in));
+        }
+        Keyframe keyframe = new Keyframe(tick, capital, gameSpeed, rows, cols, cells, inventory);
+        keyframe.setEventIndex(events.size());
+        return keyframe;
+    }
+
+    /**
+     * Gets the seed of the recorded session.
+     *
+     * @return The seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the name of the recorded player.
+     *
+     * @return The player name
+     */
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    /**
+     * Gets the difficulty of the recorded game.
+     *
+     * @return The difficulty, empty if none was set
+     */
+    public String getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * Gets the player actions in the order they happened.
+     *
+     * @return An unmodifiable list of events
+     */
+    public List<ReplayEvent> getEvents() {
+        return Collections.unmodifiableList(events);
+    }
+
+    /**
+     * Gets the keyframes in tick order, the first being the initial snapshot.
+     *
+     * @return An unmodifiable list of keyframes
+     */
+    public List<Keyframe> getKeyframes() {
+        return Collections.unmodifiableList(keyframes);
+    }
+
+    /**
+     * Gets the initial snapshot of the game.
+     *
+     * @return The first keyframe
+     */
+    public Keyframe getInitialKeyframe() {
+        return keyframes.get(0);
+    }
+
+    /**
+     * Finds the latest keyframe at or before a tick, the best point to seek from.
+     *
+     * @param tick The tick to seek to
+     * @return The keyframe, or the initial snapshot if the tick lies before it
+     */
+    public Keyframe getKeyframeAtOrBefore(long tick) {
+        int low = 0;
+        int high = keyframes.size() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (keyframes.get(mid).getTick() <= tick) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return keyframes.get(low);
+    }
+
+    /**
+     * Gets the last tick the replay covers.
+     *
+     * @return The tick of the last event or keyframe
+     */
+    public long getLastTick() {
+        long last = keyframes.get(keyframes.size() - 1).getTick();
+        if (!events.isEmpty()) {
+            last = Math.max(last, events.get(events.size() - 1).getTick());
+        }
+        return last;
+    }
+
+    /**
+     * Gets the record tag of an event type.
+     */
+    static int tagOf(ReplayEvent.Type type) {
+        switch (type) {
+            case BUY:
+                return TAG_BUY;
+            case SELL:
+                return TAG_SELL;
+            case PLACE:
+                return TAG_PLACE;
+            case REMOVE:
+                return TAG_REMOVE;
+            default:
+                return TAG_SPEED;
+        }
+    }
+
+    /**
+     * Writes a non-negative number in seven-bit groups, low group first.
+     */
+    static void writeVarLong(DataOutput out, long value) throws IOException {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative value in replay: " + value);
+        }
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    /**
+     * Reads a number written by {@link #writeVarLong(DataOutput, long)}.
+     */
+    static long readVarLong(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readByte() & 0xFF;
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed number in replay");
+    }
+}
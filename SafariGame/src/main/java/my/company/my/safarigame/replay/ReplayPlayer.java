@@ -0,0 +1,220 @@
+package my.company.my.safarigame.replay;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Collections;
+import java.util.List;
+import my.company.my.safarigame.batch.HeadlessSimulation;
+import my.company.my.safarigame.model.AnimalStepper;
+import my.company.my.safarigame.model.Carnivore;
+import my.company.my.safarigame.model.Herbivore;
+import my.company.my.safarigame.model.Player;
+import my.company.my.safarigame.model.TradeableItem;
+
+/**
+ * Plays a replay back without any Swing components, as fast as the CPU allows.
+ * <p>
+ * Playback restores a {@link Keyframe} into a {@link HeadlessSimulation} and then
+ * steps the simulation, applying each recorded action once its tick is reached.
+ * Seeking starts from the latest keyframe before the target tick, so only the
+ * events after it are replayed.
+ * </p>
+ * <p>
+ * Player actions and the map at every keyframe are reproduced exactly. Animal
+ * movement between keyframes is not recorded; it is simulated again from the
+ * recorded seed by the same {@link AnimalStepper} as in the game, but the
+ * simulation steps every animal in turn where the map view runs a timer per
+ * animal, so animals may take other paths than in the recorded game. Playing the
+ * same replay twice gives the same result.
+ * </p>
+ * <p>
+ * Usage: {@code java my.company.my.safarigame.replay.ReplayPlayer FILE [--to TICK] [--verbose]}
+ * plays the replay up to the given tick, or to its end, and prints the resulting state.
+ * </p>
+ */
+public class ReplayPlayer {
+
+    private final ReplayLog log;
+    private HeadlessSimulation simulation;
+
+    /** Index of the next event to apply. */
+    private int nextEvent;
+
+    /** Number of recorded actions that could not be applied. */
+    private int skippedEvents = 0;
+
+    /**
+     * Constructs a new ReplayPlayer positioned at the initial snapshot.
+     *
+     * @param log The replay to play
+     * @throws IOException If the snapshot cannot be restored
+     */
+    public ReplayPlayer(ReplayLog log) throws IOException {
+        this.log = log;
+        restore(log.getInitialKeyframe());
+    }
+
+    /**
+     * Plays a replay from the command line.
+     *
+     * @param args The replay file, optionally followed by {@code --to TICK} and {@code --verbose}
+     */
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.err.println("Usage: ReplayPlayer FILE [--to TICK] [--verbose]");
+            System.exit(2);
+            return;
+        }
+        long toTick = -1;
+        boolean verbose = false;
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("--verbose")) {
+                verbose = true;
+            } else if (args[i].equals("--to") && i + 1 < args.length) {
+                toTick = Long.parseLong(args[++i]);
+            } else {
+                System.err.println("Unknown option: " + args[i]);
+                System.exit(2);
+                return;
+            }
+        }
+
+        PrintStream console = System.out;
+        if (!verbose) {
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        }
+        try {
+            long start = System.nanoTime();
+            ReplayLog log = ReplayLog.read(new File(args[0]));
+            ReplayPlayer player = new ReplayPlayer(log);
+            long target = toTick < 0 ? log.getLastTick() : toTick;
+            player.seek(target);
+            HeadlessSimulation simulation = player.getSimulation();
+            console.println(String.format("Replayed %s to tick %d in %.2f s: %d events, %d skipped, capital %.1f,"
+                    + " %d herbivores, %d carnivores",
+                    log.getPlayerName(), simulation.getModel().getTick(), (System.nanoTime() - start) / 1e9,
+                    player.nextEvent, player.skippedEvents, simulation.getModel().getPlayer().getCapital(),
+                    simulation.countAnimals(Herbivore.class), simulation.countAnimals(Carnivore.class)));
+        } catch (IOException e) {
+            System.err.println("Replay failed: " + e.getMessage());
+            System.exit(1);
+        } finally {
+            System.setOut(console);
+        }
+    }
+
+    /**
+     * Moves playback to a tick, going forward from the current state or from the
+     * nearest keyframe, whichever is closer.
+     *
+     * @param tick The tick to play to
+     * @throws IOException If a keyframe cannot be restored
+     */
+    public void seek(long tick) throws IOException {
+        Keyframe keyframe = log.getKeyframeAtOrBefore(tick);
+        long current = simulation.getModel().getTick();
+        if (tick < current || keyframe.getTick() > current) {
+            restore(keyframe);
+        }
+        playTo(tick);
+    }
+
+    /**
+     * Steps the simulation up to a tick, applying the events that come due.
+     *
+     * @param tick The tick to play to; nothing happens if it has passed already
+     */
+    public void playTo(long tick) {
+        applyDueEvents();
+        while (simulation.getModel().getTick() < tick) {
+            if (simulation.step()) {
+                applyDueEvents();
+            }
+        }
+    }
+
+    /**
+     * Gets the simulation being played.
+     *
+     * @return The simulation, replaced whenever playback restores a keyframe
+     */
+    public HeadlessSimulation getSimulation() {
+        return simulation;
+    }
+
+    /**
+     * Gets the number of recorded actions applied so far, counted from the start of the replay.
+     *
+     * @return The index of the next event
+     */
+    public int getEventIndex() {
+        return nextEvent;
+    }
+
+    /**
+     * Gets the number of recorded actions that could not be applied, such as a
+     * placement on a cell the re-simulated animals had moved onto.
+     *
+     * @return The number of skipped events
+     */
+    public int getSkippedEvents() {
+        return skippedEvents;
+    }
+
+    /**
+     * Replaces the simulation with one resumed from a keyframe.
+     */
+    private void restore(Keyframe keyframe) throws IOException {
+        File gridFile = File.createTempFile("replay", ".txt");
+        try {
+            keyframe.writeGridFile(gridFile);
+            String difficulty = log.getDifficulty().isEmpty() ? null : log.getDifficulty();
+            simulation = new HeadlessSimulation(gridFile.getAbsolutePath(), difficulty, keyframe.getGameSpeed(), 0,
+                    Collections.emptyMap(), log.getSeed() + keyframe.getTick());
+        } finally {
+            gridFile.delete();
+        }
+        simulation.getModel().setTick(keyframe.getTick());
+        Player player = simulation.getModel().getPlayer();
+        player.updateCapital(keyframe.getCapital() - player.getCapital());
+        player.getInventory().clear();
+        for (TradeableItem item : keyframe.getInventory()) {
+            player.addItemToInventory(ReplayItems.copy(item));
+        }
+        nextEvent = keyframe.getEventIndex();
+    }
+
+    /**
+     * Applies every event recorded up to the current tick.
+     */
+    private void applyDueEvents() {
+        List<ReplayEvent> events = log.getEvents();
+        long tick = simulation.getModel().getTick();
+        while (nextEvent < events.size() && events.get(nextEvent).getTick() <= tick) {
+            if (!apply(events.get(nextEvent))) {
+                skippedEvents++;
+            }
+            nextEvent++;
+        }
+    }
+
+    private boolean apply(ReplayEvent event) {
+        switch (event.getType()) {
+            case BUY:
+                return simulation.buy(ReplayItems.copy(event.getItem()));
+            case SELL:
+                return simulation.sell(event.getItem());
+            case PLACE:
+                return simulation.placeItem(ReplayItems.copy(event.getItem()), event.getRow(), event.getCol());
+            case REMOVE:
+                return simulation.removeItemAt(event.getRow(), event.getCol());
+            case SPEED:
+                simulation.setGameSpeed(event.getGameSpeed());
+                return true;
+            default:
+                return false;
+        }
+    }
+}
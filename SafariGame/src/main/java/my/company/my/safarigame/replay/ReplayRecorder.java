@@ -0,0 +1,219 @@
+package my.company.my.safarigame.replay;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.zip.DeflaterOutputStream;
+import my.company.my.safarigame.model.SafariGameModel;
+import my.company.my.safarigame.model.TradeListener;
+import my.company.my.safarigame.model.TradeableItem;
+
+/**
+ * Records a game to a replay file as it is played.
+ * <p>
+ * The recorder writes the header and the initial snapshot when it is created,
+ * then one record per player action and a {@link Keyframe} every
+ * {@link #KEYFRAME_INTERVAL} ticks. Market trades are picked up by registering
+ * the recorder as the player's {@link TradeListener}; placements, removals and
+ * speed changes are reported by the controller.
+ * </p>
+ * <p>
+ * The file is deflate-compressed and flushed after every record, so a game that
+ * ends abruptly still leaves a readable replay up to its last action. See
+ * {@link ReplayLog} for the format.
+ * </p>
+ */
+public class ReplayRecorder implements TradeListener, AutoCloseable {
+
+    /** Number of game ticks between two keyframes. */
+    public static final int KEYFRAME_INTERVAL = 50;
+
+    private final SafariGameModel model;
+    private final DataOutputStream out;
+    private long lastTick;
+    private boolean closed = false;
+
+    /**
+     * Starts recording a game, writing the header and the initial snapshot.
+     *
+     * @param file The replay file to create
+     * @param model The game being recorded, with its map and player set up
+     * @param seed The seed the game's random numbers were started from, see
+     *             {@link SafariGameModel#reseed(long)}
+     * @throws IOException If the file cannot be written
+     */
+    public ReplayRecorder(File file, SafariGameModel model, long seed) throws IOException {
+        this.model = model;
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Cannot create replay directory " + parent);
+        }
+        out = new DataOutputStream(new DeflaterOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file)), true));
+        out.writeInt(ReplayLog.MAGIC);
+        out.writeByte(ReplayLog.VERSION);
+        out.writeLong(seed);
+        out.writeUTF(model.getPlayer().getName());
+        out.writeUTF(model.getGameDifficulty() == null ? "" : model.getGameDifficulty());
+        lastTick = model.getTick();
+        ReplayLog.writeVarLong(out, lastTick);
+        writeKeyframe(Keyframe.capture(model));
+    }
+
+    /**
+     * Records an item bought in the market.
+     *
+     * @param item The item bought
+     */
+    @Override
+    public void onItemBought(TradeableItem item) {
+        record(ReplayEvent.buy(model.getTick(), item));
+    }
+
+    /**
+     * Records an item sold in the market.
+     *
+     * @param item The item sold
+     */
+    @Override
+    public void onItemSold(TradeableItem item) {
+        record(ReplayEvent.sell(model.getTick(), item));
+    }
+
+    /**
+     * Records an item placed on the map.
+     *
+     * @param item The item placed
+     * @param row The row of the cell
+     * @param col The column of the cell
+     */
+    public void recordPlace(TradeableItem item, int row, int col) {
+        record(ReplayEvent.place(model.getTick(), item, row, col));
+    }
+
+    /**
+     * Records an item removed from the map by the player.
+     *
+     * @param row The row of the cell
+     * @param col The column of the cell
+     */
+    public void recordRemove(int row, int col) {
+        record(ReplayEvent.remove(model.getTick(), row, col));
+    }
+
+    /**
+     * Records a change of the game speed.
+     *
+     * @param gameSpeed The new game speed
+     */
+    public void recordSpeed(int gameSpeed) {
+        record(ReplayEvent.speed(model.getTick(), gameSpeed));
+    }
+
+    /**
+     * Called after every game tick; writes a keyframe when one is due.
+     */
+    public void onTick() {
+        if (!closed && model.getTick() % KEYFRAME_INTERVAL == 0) {
+            try {
+                writeKeyframe(Keyframe.capture(model));
+            } catch (IOException | IllegalArgumentException e) {
+                fail(e);
+            }
+        }
+    }
+
+    /**
+     * Writes one event record. A failed write stops the recording but not the game.
+     *
+     * @param event The event
+     */
+    public void record(ReplayEvent event) {
+        if (closed) {
+            return;
+        }
+        try {
+            writeHead(ReplayLog.tagOf(event.getType()), event.getTick());
+            switch (event.getType()) {
+                case BUY:
+                case SELL:
+                    ReplayItems.write(out, event.getItem());
+                    break;
+                case PLACE:
+                    ReplayItems.write(out, event.getItem());
+                    ReplayLog.writeVarLong(out, event.getRow());
+                    ReplayLog.writeVarLong(out, event.getCol());
+                    break;
+                case REMOVE:
+                    ReplayLog.writeVarLong(out, event.getRow());
+                    ReplayLog.writeVarLong(out, event.getCol());
+                    break;
+                case SPEED:
+                    out.writeByte(event.getGameSpeed());
+                    break;
+                default:
+                    break;
+            }
+            out.flush();
+        } catch (IOException | IllegalArgumentException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * Checks whether the recorder still writes records.
+     *
+     * @return true until the recorder is closed or a write fails
+     */
+    public boolean isRecording() {
+        return !closed;
+    }
+
+    /**
+     * Finishes the replay file.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            out.close();
+        } catch (IOException e) {
+            System.err.println("Error closing replay: " + e.getMessage());
+        }
+    }
+
+    private void writeKeyframe(Keyframe keyframe) throws IOException {
+        writeHead(ReplayLog.TAG_KEYFRAME, keyframe.getTick());
+        out.writeDouble(keyframe.getCapital());
+        out.writeByte(keyframe.getGameSpeed());
+        ReplayLog.writeVarLong(out, keyframe.getRows());
+        ReplayLog.writeVarLong(out, keyframe.getColumns());
+        for (char cell : keyframe.getCells()) {
+            out.writeByte(cell);
+        }
+        ReplayLog.writeVarLong(out, keyframe.getInventory().size());
+        for (TradeableItem item : keyframe.getInventory()) {
+            ReplayItems.write(out, item);
+        }
+        out.flush();
+    }
+
+    /**
+     * Writes the record tag and the ticks passed since the previous record.
+     */
+    private void writeHead(int tag, long tick) throws IOException {
+        out.writeByte(tag);
+        ReplayLog.writeVarLong(out, Math.max(0, tick - lastTick));
+        lastTick = Math.max(lastTick, tick);
+    }
+
+    private void fail(Exception e) {
+        System.err.println("Error writing replay, recording stopped: " + e.getMessage());
+        close();
+    }
+}
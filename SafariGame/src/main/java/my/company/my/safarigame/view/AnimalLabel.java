@@ -3,6 +3,7 @@ package my.company.my.safarigame.view;
 import my.company.my.safarigame.model.Animal;
 import my.company.my.safarigame.model.Herbivore;
 import my.company.my.safarigame.model.Carnivore;
+import my.company.my.safarigame.model.TimingWheel;
 
 import javax.swing.*;
 import java.awt.*;
@@ -32,14 +33,17 @@ public class AnimalLabel extends JLabel {
     /** Flag indicating if the maximum health indicator should be shown. */
     private boolean showMaxHealthIndicator = false;
     
-    /** Timer for controlling the duration of the maximum health indicator. */
-    private int maxHealthIndicatorTimer = 0;
+    /** Timer hiding the maximum health indicator. */
+    private TimingWheel.Timeout maxHealthIndicatorTimer;
     
     /** Flag indicating if the death animation should be shown. */
     private boolean showDeathAnimation = false;
     
+    /** Number of frames the death animation lasts. */
+    private static final int DEATH_ANIMATION_FRAMES = 50;
+
     /** Timer for controlling the duration of the death animation. */
-    private int deathAnimationTimer = 0;
+    private TimingWheel.Timeout deathAnimationTimer;
     
     /** Opacity value for the death animation fade effect. */
     private float deathAnimationOpacity = 1.0f;
@@ -48,7 +52,7 @@ public class AnimalLabel extends JLabel {
     private boolean isDrinking = false;
     
     /** Timer for controlling the duration of the drinking animation. */
-    private int drinkingAnimationTimer = 0;
+    private TimingWheel.Timeout drinkingAnimationTimer;
 
     /** Label component for displaying the animal's thirst level. */
     private JLabel thirstIndicator;
@@ -225,8 +229,7 @@ public class AnimalLabel extends JLabel {
 
                 // If animal tries to eat while at max health, show max health indicator
                 if (isMaxHealth && herbivore.isEating()) {
-                    showMaxHealthIndicator = true;
-                    maxHealthIndicatorTimer = 10;
+                    startMaxHealthIndicator(10);
                 }
             } else if (animal instanceof Carnivore) {
                 Carnivore carnivore = (Carnivore) animal;
@@ -234,8 +237,7 @@ public class AnimalLabel extends JLabel {
 
                 // If animal is hunting while at max health, show max health indicator
                 if (isMaxHealth && carnivore.isHunting()) {
-                    showMaxHealthIndicator = true;
-                    maxHealthIndicatorTimer = 10;
+                    startMaxHealthIndicator(10);
                 }
             }
 
@@ -323,17 +325,23 @@ public class AnimalLabel extends JLabel {
                     }
                 }
             }
-
-            // Update max health indicator timer
-            if (showMaxHealthIndicator) {
-                maxHealthIndicatorTimer--;
-                if (maxHealthIndicatorTimer <= 0) {
-                    showMaxHealthIndicator = false;
-                }
-            }
         }
     }
 
+    /**
+     * Shows the max health indicator for a number of animation frames.
+     *
+     * @param frames Number of frames to show the indicator for
+     */
+    private void startMaxHealthIndicator(int frames) {
+        showMaxHealthIndicator = true;
+        AnimationClock.cancel(maxHealthIndicatorTimer);
+        maxHealthIndicatorTimer = AnimationClock.afterFrames(frames, () -> {
+            showMaxHealthIndicator = false;
+            repaint();
+        });
+    }
+
     /**
      * Paints visualization for a dead animal.
      * <p>
@@ -344,9 +352,9 @@ public class AnimalLabel extends JLabel {
      */
     private void paintDeadAnimal(Graphics2D g2d) {
         // Create fading effect for dead animal
-        if (deathAnimationTimer > 0) {
+        if (deathAnimationTimer != null && deathAnimationTimer.isPending()) {
             // Calculate opacity based on timer
-            deathAnimationOpacity = (float) deathAnimationTimer / 50.0f;
+            deathAnimationOpacity = (float) deathAnimationTimer.getRemaining() / DEATH_ANIMATION_FRAMES;
 
             // Set composite for transparency
             AlphaComposite alphaComposite = AlphaComposite.getInstance(
@@ -365,13 +373,8 @@ public class AnimalLabel extends JLabel {
             g2d.setFont(new Font("Arial", Font.BOLD, 12));
             g2d.drawString("DEAD", cellSize / 2 - 15, cellSize / 2 + 5);
 
-            // Update timer
-            deathAnimationTimer--;
-
             // Request repaint to continue animation
-            if (deathAnimationTimer > 0) {
-                repaint(50); // Repaint every 50ms
-            }
+            repaint(AnimationClock.FRAME_MILLIS);
         }
     }
 
@@ -450,8 +453,7 @@ public class AnimalLabel extends JLabel {
 
             // Check for herbivore death
             if (animal instanceof Herbivore && ((Herbivore) animal).isDead()) {
-                showDeathAnimation = true;
-                deathAnimationTimer = 50; // Longer death animation
+                startDeathAnimation(); // Longer death animation
             }
         }
         repaint();
@@ -465,8 +467,7 @@ public class AnimalLabel extends JLabel {
      * </p>
      */
     public void showMaxHealthReached() {
-        showMaxHealthIndicator = true;
-        maxHealthIndicatorTimer = 20; // Show for longer
+        startMaxHealthIndicator(20); // Show for longer
         repaint();
     }
 
@@ -477,11 +478,19 @@ public class AnimalLabel extends JLabel {
      * </p>
      */
     public void showDeathAnimation() {
-        showDeathAnimation = true;
-        deathAnimationTimer = 50; // Show for 50 cycles
+        startDeathAnimation(); // Show for 50 frames
         repaint();
     }
 
+    /**
+     * Starts the fading death animation.
+     */
+    private void startDeathAnimation() {
+        showDeathAnimation = true;
+        AnimationClock.cancel(deathAnimationTimer);
+        deathAnimationTimer = AnimationClock.afterFrames(DEATH_ANIMATION_FRAMES, this::repaint);
+    }
+
     /**
      * Shows attack animation on this animal.
      * <p>
@@ -503,7 +512,7 @@ public class AnimalLabel extends JLabel {
      * @return true if death animation is active, false otherwise
      */
     public boolean isShowingDeathAnimation() {
-        return showDeathAnimation && deathAnimationTimer > 0;
+        return showDeathAnimation && deathAnimationTimer != null && deathAnimationTimer.isPending();
     }
 
     /**
@@ -514,7 +523,12 @@ public class AnimalLabel extends JLabel {
      */
     public void showDrinkingAnimation() {
         isDrinking = true;
-        drinkingAnimationTimer = 20; // Increased duration of drinking animation for better visibility
+        // Increased duration of drinking animation for better visibility
+        AnimationClock.cancel(drinkingAnimationTimer);
+        drinkingAnimationTimer = AnimationClock.afterFrames(20, () -> {
+            isDrinking = false;
+            repaint();
+        });
 
         // Repaint this label immediately
         repaint();
@@ -536,7 +550,8 @@ public class AnimalLabel extends JLabel {
         g2d.setColor(new Color(0, 150, 255));
 
         // Calculate number of droplets based on animation progress
-        int numDroplets = Math.min(5, Math.max(1, drinkingAnimationTimer / 4));
+        int framesLeft = drinkingAnimationTimer == null ? 0 : drinkingAnimationTimer.getRemaining();
+        int numDroplets = Math.min(5, Math.max(1, framesLeft / 4));
 
         // Draw water ripples
         int centerX = cellSize / 2;
@@ -556,7 +571,7 @@ public class AnimalLabel extends JLabel {
         for (int i = 0; i < numDroplets; i++) {
             // Randomize droplet position
             int dropX = centerX - 10 + (i * 5);
-            int dropY = bottom - (drinkingAnimationTimer % 10) - (i * 3);
+            int dropY = bottom - (framesLeft % 10) - (i * 3);
 
             // Droplet size
             int dropSize = 3 + (i % 2);
@@ -584,9 +599,7 @@ public class AnimalLabel extends JLabel {
             // If the animal is very thirsty, make the indicator pulse
             if (animal != null && animal.getThirst() > 70) {
                 // Apply pulsing effect to make it more noticeable
-                Timer pulseTimer = new Timer(500, e -> thirstIndicator.repaint());
-                pulseTimer.setRepeats(false);
-                pulseTimer.start();
+                AnimationClock.afterMillis(500, thirstIndicator::repaint);
             }
         }
     }
@@ -0,0 +1,76 @@
+package my.company.my.safarigame.view;
+
+import javax.swing.Timer;
+import my.company.my.safarigame.model.TimingWheel;
+
+/**
+ * Shared clock for short view animations and delayed UI actions.
+ * <p>
+ * Animation lengths and one-shot delays (death fades, removal after an animation,
+ * indicator pulses) are scheduled on a single {@link TimingWheel} that advances one
+ * frame every {@link #FRAME_MILLIS} milliseconds. A single Swing timer drives the
+ * wheel and only runs while something is scheduled, instead of every label counting
+ * down its own timers on each repaint or creating its own Swing timer.
+ * </p>
+ * <p>
+ * All actions run on the Swing event dispatch thread.
+ * </p>
+ */
+public final class AnimationClock {
+
+    /** Length of one animation frame in milliseconds. */
+    public static final int FRAME_MILLIS = 50;
+
+    /** Wheel holding the scheduled animation actions. */
+    private static final TimingWheel frames = new TimingWheel();
+
+    /** Swing timer advancing the wheel. */
+    private static final Timer clock = new Timer(FRAME_MILLIS, e -> tick());
+
+    private AnimationClock() {
+    }
+
+    /**
+     * Schedules an action after a number of animation frames.
+     *
+     * @param frameCount Number of frames to wait
+     * @param action The action to run
+     * @return A handle that can cancel the action
+     */
+    public static TimingWheel.Timeout afterFrames(int frameCount, Runnable action) {
+        TimingWheel.Timeout timeout = frames.schedule(frameCount, action);
+        if (!clock.isRunning()) {
+            clock.start();
+        }
+        return timeout;
+    }
+
+    /**
+     * Schedules an action after a delay in milliseconds, rounded up to whole frames.
+     *
+     * @param millis Delay in milliseconds
+     * @param action The action to run
+     * @return A handle that can cancel the action
+     */
+    public static TimingWheel.Timeout afterMillis(int millis, Runnable action) {
+        return afterFrames((millis + FRAME_MILLIS - 1) / FRAME_MILLIS, action);
+    }
+
+    /**
+     * Cancels a scheduled action if it is still pending.
+     *
+     * @param timeout The action to cancel, may be null
+     */
+    public static void cancel(TimingWheel.Timeout timeout) {
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    private static void tick() {
+        frames.advance();
+        if (frames.getPendingCount() == 0) {
+            clock.stop();
+        }
+    }
+}
@@ -35,6 +35,9 @@ public class DashboardView {
     /** Button for advancing time more quickly. */
     private JButton fastForwardButton;
 
+    /** Button cycling through the turbo settings. */
+    private JButton turboButton;
+
     /** Button for saving the game. */
     private JButton saveGameButton;
 
@@ -470,6 +473,16 @@ public class DashboardView {
 
         panel.add(fastForwardButton);
 
+        turboButton = createButton("Turbo: Off");
+        turboButton.addActionListener(e -> {
+            if (controller != null) {
+                int steps = controller.cycleTurbo();
+                turboButton.setText("Turbo: " + getTurboLabel(steps));
+            }
+        });
+
+        panel.add(turboButton);
+
         return panel;
     }
 
@@ -564,6 +577,19 @@ public class DashboardView {
         return button;
     }
 
+    /**
+     * Converts a turbo setting to a user-friendly label.
+     *
+     * @param steps Steps per frame, as returned by {@link GameController#cycleTurbo()}
+     * @return A label such as "Off", "16x" or "Max"
+     */
+    private String getTurboLabel(int steps) {
+        if (steps <= 0) {
+            return "Off";
+        }
+        return steps == GameController.TURBO_MAX ? "Max" : steps + "x";
+    }
+
     /**
      * Converts game speed value to a user-friendly label.
      *
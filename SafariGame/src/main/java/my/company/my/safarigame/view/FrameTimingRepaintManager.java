@@ -0,0 +1,102 @@
+package my.company.my.safarigame.view;
+
+import javax.swing.JComponent;
+import javax.swing.RepaintManager;
+import my.company.my.safarigame.metrics.SampleRing;
+
+/**
+ * Repaint manager that measures every Swing paint pass.
+ * <p>
+ * Each call to {@link #paintDirtyRegions()} is one rendered frame. The manager
+ * records how long the frame took, when it started and how many dirty regions
+ * were queued for it into ring buffers read by the {@link PerformanceOverlay}.
+ * It is only installed while the overlay is shown, so measuring costs nothing
+ * otherwise.
+ * </p>
+ */
+public class FrameTimingRepaintManager extends RepaintManager {
+
+    /** Number of frames kept in the rings. */
+    public static final int HISTORY = 120;
+
+    private final SampleRing frameNanos = new SampleRing(HISTORY);
+    private final SampleRing frameStarts = new SampleRing(HISTORY);
+    private final SampleRing regionCounts = new SampleRing(HISTORY);
+
+    /** Dirty regions queued since the last frame. */
+    private int pendingRegions = 0;
+
+    /** Manager that was current before this one was installed. */
+    private RepaintManager previous;
+
+    /**
+     * Makes this manager the current repaint manager.
+     */
+    public void install() {
+        if (previous == null) {
+            previous = RepaintManager.currentManager((JComponent) null);
+            RepaintManager.setCurrentManager(this);
+        }
+    }
+
+    /**
+     * Restores the repaint manager that was current before {@link #install()}.
+     */
+    public void uninstall() {
+        if (previous != null) {
+            RepaintManager.setCurrentManager(previous);
+            previous = null;
+        }
+    }
+
+    @Override
+    public void addDirtyRegion(JComponent c, int x, int y, int w, int h) {
+        pendingRegions++;
+        super.addDirtyRegion(c, x, y, w, h);
+    }
+
+    @Override
+    public void paintDirtyRegions() {
+        long start = System.nanoTime();
+        super.paintDirtyRegions();
+        frameStarts.add(start);
+        frameNanos.add(System.nanoTime() - start);
+        regionCounts.add(pendingRegions);
+        pendingRegions = 0;
+    }
+
+    /**
+     * Gets the durations of the recent frames in nanoseconds.
+     *
+     * @return The frame time ring
+     */
+    public SampleRing getFrameNanos() {
+        return frameNanos;
+    }
+
+    /**
+     * Gets the number of dirty regions painted in each recent frame.
+     *
+     * @return The region count ring
+     */
+    public SampleRing getRegionCounts() {
+        return regionCounts;
+    }
+
+    /**
+     * Gets the number of frames painted during the last second.
+     *
+     * @return Frames per second
+     */
+    public int getFramesPerSecond() {
+        long now = System.nanoTime();
+        int frames = 0;
+        for (int i = frameStarts.size() - 1; i >= 0; i--) {
+            if (now - frameStarts.get(i) > 1_000_000_000L) {
+                break;
+            }
+            frames++;
+        }
+        return frames;
+    }
+}
@@ -16,16 +16,27 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import my.company.my.safarigame.controller.GameController;
+import my.company.my.safarigame.metrics.LatencyHistogram;
+import my.company.my.safarigame.metrics.MetricsRegistry;
 import my.company.my.safarigame.model.Cell;
 import my.company.my.safarigame.model.Coordinate;
 import my.company.my.safarigame.model.Grid;
+import my.company.my.safarigame.model.AnimalStepListener;
+import my.company.my.safarigame.model.AnimalStepper;
+import my.company.my.safarigame.model.EntityTable;
+import my.company.my.safarigame.model.FlowFieldCache;
+import my.company.my.safarigame.model.MovementClass;
+import my.company.my.safarigame.model.HerdManager;
 import my.company.my.safarigame.model.LandScapeObject;
 import my.company.my.safarigame.model.Plant;
 import my.company.my.safarigame.model.Player;
 import my.company.my.safarigame.model.Road;
 import my.company.my.safarigame.model.SafariMap;
+import my.company.my.safarigame.model.TimingWheel;
+import my.company.my.safarigame.model.TourDispatcher;
+import my.company.my.safarigame.model.TourListener;
 import my.company.my.safarigame.model.TradeableItem;
-import java.util.Iterator;
+import my.company.my.safarigame.model.VegetationListener;
 import java.util.LinkedList;
 import java.util.Map;
 import java.util.Queue;
@@ -35,6 +46,9 @@ import my.company.my.safarigame.model.Carnivore;
 import my.company.my.safarigame.model.Herbivore;
 import my.company.my.safarigame.model.Jeep;
 import my.company.my.safarigame.model.Ranger;
+import my.company.my.safarigame.model.Species;
+import my.company.my.safarigame.model.SpeciesRegistry;
+import my.company.my.safarigame.model.TileCodec;
 import my.company.my.safarigame.model.Tourist;
 import my.company.my.safarigame.model.WaterArea;
 
@@ -42,7 +56,7 @@ import my.company.my.safarigame.model.WaterArea;
  * MapView class that displays the main game map and handles navigation Follows
  * MVC pattern by receiving the Grid model from the controller
  */
-public class MapView implements MiniMapView.NavigationCallback {
+public class MapView implements MiniMapView.NavigationCallback, VegetationListener, TourListener, AnimalStepListener {
 
     // Main components
     private JPanel mapPanel;
@@ -73,6 +87,9 @@ public class MapView implements MiniMapView.NavigationCallback {
     private Grid grid;
 
     private JPanel nightOverlayPanel;
+
+    // Toggleable frame time and entity count display, see togglePerformanceOverlay()
+    private PerformanceOverlay performanceOverlay;
     private float nightOpacity = 0.6f;
 
     // Terrain images
@@ -92,10 +109,8 @@ public class MapView implements MiniMapView.NavigationCallback {
     private ImageIcon rightdownRoadIcon;
     private ImageIcon leftupRoadIcon;
     private ImageIcon leftdownRoadIcon;
-    private ImageIcon cowIcon;
-    private ImageIcon deerIcon;
-    private ImageIcon lionIcon;
-    private ImageIcon wolfIcon;
+    /** Icon of every species of the registry, by species id. */
+    private ImageIcon[] speciesIcons = new ImageIcon[0];
     private ImageIcon pondIcon;
     private ImageIcon rangerIcon;
     private ImageIcon jeepIcon;
@@ -120,12 +135,30 @@ public class MapView implements MiniMapView.NavigationCallback {
     private final Color INVALID_PLACEMENT_COLOR = new Color(255, 0, 0, 80);
 
     private List<Animal> allAnimals = new ArrayList<>();
-    // This will keep track of animal groups (leader -> followers)
-    private Map<Animal, List<Animal>> carnivoreGroups = new HashMap<>();
-    private Map<Animal, List<Animal>> herbivoreGroups = new HashMap<>();
-    private int waitingTourists = 0;
 
-    private Map<Animal, Timer> animalTimers = new HashMap<>();
+    // Road cells the jeeps drive along, from the jeep start to the exit
+    private List<Coordinate> jeepRoute = new ArrayList<>();
+
+    // Queue length last shown in the tourist display
+    private int shownTourists = -1;
+
+    private final EntityTable<Timer> animalTimers = new EntityTable<>();
+
+    // Runs the animals' turns by the rules shared with the batch runs
+    private AnimalStepper animalStepper;
+
+    // Single clock advancing the timed states of all animals once per lifecycle cycle
+    private Timer lifecycleClock;
+
+    /** Ticks of the lifecycle clock, numbering the coarse turns of animals out of sight. */
+    private long simulationSteps = 0;
+
+    // Whether the animal timers are paused because turbo mode steps the animals
+    private boolean animalTimersPaused = false;
+
+    // Time spent in one animal's movement step and in jeep path finding
+    private final LatencyHistogram animalStepTime = MetricsRegistry.getInstance().histogram("animal.step");
+    private final LatencyHistogram pathFindTime = MetricsRegistry.getInstance().histogram("path.find");
 
     // removing an item.
     private boolean removalMode = false;
@@ -209,6 +242,19 @@ public class MapView implements MiniMapView.NavigationCallback {
             createScrollPane();
         }
 
+        createPerformanceOverlay();
+
+        // Redraw plants that regrow or wither on their own
+        if (controller != null && controller.getModel() != null && controller.getModel().getMap() != null) {
+            controller.getModel().getMap().getVegetation().setListener(this);
+        }
+
+        // Redraw what the animals do in their turns
+        if (controller != null && controller.getModel() != null) {
+            animalStepper = new AnimalStepper(controller.getModel());
+            animalStepper.setListener(this);
+        }
+
         // Always add mouse listener for removal mode
         mapPanel.addMouseListener(new MouseAdapter() {
             @Override
@@ -400,28 +446,9 @@ public class MapView implements MiniMapView.NavigationCallback {
             } else if (roadType.contains("leftdown")) {
                 placementIcon = leftdownRoadIcon;
             }
-        } else if (item instanceof Herbivore) {
-            String species = ((Herbivore) item).getDescription().toLowerCase();
-            if (species.contains("cow")) {
-                placementIcon = cowIcon;
-            } else if (species.contains("deer")) {
-                placementIcon = deerIcon;
-            } else if (species.contains("wolf")) {
-                placementIcon = wolfIcon;
-            } else if (species.contains("lion")) {
-                placementIcon = lionIcon;
-            } else {
-                placementIcon = plantIcon;
-            }
-        } else if (item instanceof Carnivore) {
-            String species = ((Carnivore) item).getDescription().toLowerCase();
-            if (species.contains("wolf")) {
-                placementIcon = wolfIcon;
-            } else if (species.contains("lion")) {
-                placementIcon = lionIcon;
-            } else {
-                placementIcon = plantIcon;
-            }
+        } else if (item instanceof Animal) {
+            ImageIcon icon = speciesIcon((Animal) item);
+            placementIcon = icon != null ? icon : plantIcon;
         } else if (item instanceof Jeep) {
             String species = ((Jeep) item).getDescription().toLowerCase();
             if (species.contains("jeep")) {
@@ -502,56 +529,6 @@ public class MapView implements MiniMapView.NavigationCallback {
         });
     }
 
-    private void moveHerbivoreFollowerTowardLeader(Animal follower, int leaderX, int leaderY) {
-        Coordinate followerPos = follower.getPosition();
-        int fx = followerPos.getX();
-        int fy = followerPos.getY();
-
-        int dx = Integer.compare(leaderX, fx);
-        int dy = Integer.compare(leaderY, fy);
-
-        int newFollowerX = fx + dx;
-        int newFollowerY = fy + dy;
-
-        if (isValidCell(newFollowerX, newFollowerY) && !grid.getCell(newFollowerX, newFollowerY).isOccupied()) {
-            moveAnimalTo(follower, newFollowerX, newFollowerY);
-        }
-    }
-
-    private List<Animal> findNearbySameSpeciesHerbivores(Animal leader) {
-        List<Animal> nearbyHerbivores = new ArrayList<>();
-        Coordinate pos = leader.getPosition();
-        int x = pos.getX();
-        int y = pos.getY();
-
-        System.out.println("Looking for nearby same-species herbivores around (" + x + "," + y + ")...");
-
-        // Check all 8 surrounding cells
-        for (int dx = -1; dx <= 1; dx++) {
-            for (int dy = -1; dy <= 1; dy++) {
-                if (dx == 0 && dy == 0) {
-                    continue; // Skip self
-                }
-                int newX = x + dx;
-                int newY = y + dy;
-
-                // Check if the cell contains an animal
-                if (isAnimalCell(newX, newY)) {
-                    Animal animal = getAnimalAtPosition(newX, newY); // Get the animal at this position
-
-                    // Check if the animal is of the same species
-                    if (animal != null && animal.getDescription().equalsIgnoreCase(leader.getDescription())) {
-                        System.out.println("Same species match! Adding to nearby list (Herbivore).");
-                        nearbyHerbivores.add(animal);
-                    }
-                }
-            }
-        }
-
-        System.out.println("Nearby same-species herbivores found: " + nearbyHerbivores.size());
-        return nearbyHerbivores;
-    }
-
     private char getAnimalTypeAtPosition(int row, int col) {
         if (row < 0 || row >= GRID_ROWS || col < 0 || col >= GRID_COLS) {
             return '-'; // out of bounds
@@ -559,240 +536,6 @@ public class MapView implements MiniMapView.NavigationCallback {
         return grid.getCellType(row, col);
     }
 
-    private void moveHerbivoreRandomly(Animal animal) {
-
-        if (!(animal instanceof Herbivore)) {
-            return;
-        }
-
-        if (animal.isBeingRemoved) {
-            return;
-        }
-        Herbivore herbivore = (Herbivore) animal;
-
-        if (herbivore.isDrinking()) {
-            System.out.println(herbivore.getDescription() + " is drinking. Skipping movement.");
-            return;
-        }
-
-        Coordinate position = herbivore.getPosition();
-        int x = position.getX();
-        int y = position.getY();
-
-        if (herbivore.isDead()) {
-            fixRemoveDeadAnimal(x, y, herbivore);
-            return;
-        }
-
-        // If thirsty, handle water in a direct way
-        if (herbivore.isThirsty()) {
-            System.out.println(herbivore.getDescription() + " is thirsty (thirst: " + herbivore.getThirst() + ")");
-
-            // 1. Check if already on water
-            char currentCell = grid.getCellType(x, y);
-            if (currentCell == 'P') {
-                // Already on water - force drinking
-                forceAnimalToDrink(herbivore, x, y);
-                return; // Stop movement
-            }
-
-            // 2. Check adjacent cells for water
-            boolean foundWater = false;
-            int waterX = -1;
-            int waterY = -1;
-
-            // Loop through all 8 surrounding cells
-            for (int dx = -1; dx <= 1; dx++) {
-                for (int dy = -1; dy <= 1; dy++) {
-                    if (dx == 0 && dy == 0) {
-                        continue; // Skip self
-                    }
-                    int nx = x + dx;
-                    int ny = y + dy;
-
-                    // Check if in bounds
-                    if (nx >= 0 && nx < GRID_ROWS && ny >= 0 && ny < GRID_COLS) {
-                        if (grid.getCellType(nx, ny) == 'P') {
-                            // Found water!
-                            foundWater = true;
-                            waterX = nx;
-                            waterY = ny;
-                            break;
-                        }
-                    }
-                }
-                if (foundWater) {
-                    break;
-                }
-            }
-
-            if (foundWater) {
-                System.out.println("Found nearby water at (" + waterX + ", " + waterY + ") - moving there");
-
-                // Force movement to water cell regardless of normal movement restrictions
-                // Clear current cell
-                grid.getCell(x, y).setOccupied(false);
-
-                // Move animal object
-                herbivore.setPosition(waterX, waterY);
-
-                // Handle UI update
-                try {
-                    // Clear old position
-                    if (mapCells[x][y] != null) {
-                        mapPanel.remove(mapCells[x][y]);
-                    }
-
-                    // Set old cell to grass
-                    JLabel grassLabel = new JLabel();
-                    grassLabel.setSize(CELL_SIZE, CELL_SIZE);
-                    grassLabel.setPreferredSize(new Dimension(CELL_SIZE, CELL_SIZE));
-                    grassLabel.setIcon(grassIcon);
-                    grassLabel.setHorizontalAlignment(SwingConstants.CENTER);
-                    grassLabel.setVerticalAlignment(SwingConstants.CENTER);
-                    grassLabel.setBounds(y * CELL_SIZE, x * CELL_SIZE, CELL_SIZE, CELL_SIZE);
-                    mapCells[x][y] = grassLabel;
-                    mapPanel.add(grassLabel);
-
-                    // Clear new position if needed
-                    if (mapCells[waterX][waterY] != null) {
-                        mapPanel.remove(mapCells[waterX][waterY]);
-                    }
-
-                    // Create new animal label
-                    AnimalLabel animalLabel = new AnimalLabel(herbivore, CELL_SIZE);
-
-                    // Set appropriate icon
-                    if (herbivore.getDescription().toLowerCase().contains("cow")) {
-                        animalLabel.setIcon(cowIcon);
-                    } else {
-                        animalLabel.setIcon(deerIcon);
-                    }
-
-                    // Set position
-                    animalLabel.setBounds(waterY * CELL_SIZE, waterX * CELL_SIZE, CELL_SIZE, CELL_SIZE);
-
-                    // Add to panel
-                    mapCells[waterX][waterY] = animalLabel;
-                    mapPanel.add(animalLabel);
-
-                    // Set water cell as occupied
-                    grid.getCell(waterX, waterY).setOccupied(true);
-
-                    // Update UI
-                    mapPanel.revalidate();
-                    mapPanel.repaint();
-
-                    System.out.println("Successfully moved to water cell");
-                } catch (Exception e) {
-                    System.err.println("Error moving to water: " + e.getMessage());
-                    e.printStackTrace();
-                }
-
-                // Force drinking at the water cell
-                forceAnimalToDrink(herbivore, waterX, waterY);
-
-                return; // Stop further movement
-            }
-
-            // 3. If we've previously found water, try to move toward it
-            if (herbivore.getLastWaterSourceLocation() != null) {
-                Coordinate waterPos = herbivore.getLastWaterSourceLocation();
-                System.out.println("Remembers water at " + waterPos + ", trying to move there");
-
-                // Calculate movement direction
-                int dirX = Integer.compare(waterPos.getX(), x);
-                int dirY = Integer.compare(waterPos.getY(), y);
-
-                int newX = x + dirX;
-                int newY = y + dirY;
-
-                // Check if valid move
-                if (newX >= 0 && newX < GRID_ROWS && newY >= 0 && newY < GRID_COLS) {
-                    char destCell = grid.getCellType(newX, newY);
-
-                    // Allow movement to water or empty cells
-                    if ((destCell == '-' || destCell == 'w') && !grid.getCell(newX, newY).isOccupied()) {
-                        moveAnimalTo(animal, newX, newY);
-
-                        // If we moved to water, force drinking
-                        if (destCell == 'w') {
-                            forceAnimalToDrink(herbivore, newX, newY);
-                        }
-
-                        return; // Stop further movement
-                    }
-                }
-            }
-        }
-
-        // Check for nearby vegetation first (in adjacent cells)
-        int[] dx = {-1, 0, 1, -1, 1, -1, 0, 1};
-        int[] dy = {-1, -1, -1, 0, 0, 1, 1, 1};
-
-        for (int i = 0; i < dx.length; i++) {
-            int newX = x + dx[i];
-            int newY = y + dy[i];
-
-            // Check if the new cell is within grid bounds
-            if (newX >= 0 && newX < GRID_ROWS && newY >= 0 && newY < GRID_COLS) {
-                char cellType = grid.getCellType(newX, newY);
-
-                // Check if the cell contains vegetation
-                if (cellType == 'p' || cellType == 'b' || cellType == 'h') {
-                    // Attempt to eat the plant
-                    herbivore.grazePlant(cellType);
-
-                    // Remove the plant from the map
-                    removeVegetation(newX, newY, cellType);
-
-                    System.out.println(herbivore.getDescription() + " ate vegetation at (" + newX + ", " + newY + ")");
-
-                    // If in a group, move followers towards the leader
-                    if (herbivoreGroups.containsKey(animal)) {
-                        List<Animal> group = herbivoreGroups.get(animal);
-                        for (Animal follower : group) {
-                            moveFollowerTowardLeader(follower, newX, newY);
-                        }
-                    }
-
-                    return; // Stop movement after eating
-                }
-            }
-        }
-
-        // Existing group movement logic for herbivores
-        if (herbivoreGroups.containsKey(animal)) {
-            List<Animal> group = herbivoreGroups.get(animal);
-
-            int randomDirection = (int) (Math.random() * 4);
-            int leaderNewX = x + dx[randomDirection * 2];
-            int leaderNewY = y + dy[randomDirection * 2];
-
-            if (isValidCell(leaderNewX, leaderNewY) && !grid.getCell(leaderNewX, leaderNewY).isOccupied()) {
-                moveAnimalTo(animal, leaderNewX, leaderNewY);
-
-                // Move followers
-                for (Animal follower : group) {
-                    moveFollowerTowardLeader(follower, leaderNewX, leaderNewY);
-                }
-            } else {
-                System.out.println("Herbivore leader move invalid, skipping move.");
-            }
-        } else {
-            // Not yet in a group, find nearby same-species
-            List<Animal> nearbySameSpecies = findNearbySameSpeciesHerbivores(animal);
-
-            if (!nearbySameSpecies.isEmpty()) {
-                herbivoreGroups.put(animal, nearbySameSpecies);
-                moveHerbivoreRandomly(animal); // Retry move with group
-            } else {
-                // Move randomly alone
-                moveAlone(animal);
-            }
-        }
-    }
-
     private boolean moveAnimalToWater(Animal animal) {
         if (animal == null) {
             return false;
@@ -856,7 +599,7 @@ public class MapView implements MiniMapView.NavigationCallback {
                         grid.getCell(x, y).setOccupied(false);
 
                         // Update the animal's position in the model
-                        animal.move(new Coordinate(newX, newY));
+                        animal.move(Coordinate.of(newX, newY));
 
                         // Set new position
                         grid.getCell(newX, newY).setOccupied(true);
@@ -917,7 +660,7 @@ public class MapView implements MiniMapView.NavigationCallback {
                         grid.getCell(x, y).setOccupied(false);
 
                         // Update the animal's position in the model
-                        animal.move(new Coordinate(newX, newY));
+                        animal.move(Coordinate.of(newX, newY));
 
                         // Set new position
                         grid.getCell(newX, newY).setOccupied(true);
@@ -1050,21 +793,7 @@ public class MapView implements MiniMapView.NavigationCallback {
             AnimalLabel animalLabel = new AnimalLabel(animal, CELL_SIZE);
 
             // Set appropriate icon
-            if (animal instanceof Herbivore) {
-                String species = animal.getDescription().toLowerCase();
-                if (species.contains("cow")) {
-                    animalLabel.setIcon(cowIcon);
-                } else if (species.contains("deer")) {
-                    animalLabel.setIcon(deerIcon);
-                }
-            } else if (animal instanceof Carnivore) {
-                String species = animal.getDescription().toLowerCase();
-                if (species.contains("lion")) {
-                    animalLabel.setIcon(lionIcon);
-                } else if (species.contains("wolf")) {
-                    animalLabel.setIcon(wolfIcon);
-                }
-            }
+            animalLabel.setIcon(speciesIcon(animal));
 
             animalLabel.setBounds(newY * CELL_SIZE, newX * CELL_SIZE, CELL_SIZE, CELL_SIZE);
             mapCells[newX][newY] = animalLabel;
@@ -1098,68 +827,132 @@ public class MapView implements MiniMapView.NavigationCallback {
         }
     }
 
-    private void removeVegetation(int row, int col, char cellType) {
-        try {
-            // Verify grid and controller exist
-            if (grid == null || controller == null || controller.getModel() == null) {
-                System.err.println("Cannot remove vegetation: Grid or Controller is null");
-                return;
-            }
-
-            SafariMap map = controller.getModel().getMap();
-            Player player = controller.getModel().getPlayer();
+    /**
+     * Redraws a plant that has grown back on its cell.
+     *
+     * @param plant The plant that regrew
+     */
+    @Override
+    public void onPlantRegrown(Plant plant) {
+        Coordinate pos = plant.getPosition();
+        if (mapCells[pos.getX()][pos.getY()] != null) {
+            setAppropriateIcon(mapCells[pos.getX()][pos.getY()], plant.getCellType());
+        }
+        notifyMiniMapUpdate();
+    }
 
-            if (map == null || player == null) {
-                System.err.println("Cannot remove vegetation: Map or Player is null");
-                return;
-            }
+    /**
+     * Redraws the grass left behind by a plant that has withered.
+     *
+     * @param plant The plant that withered
+     */
+    @Override
+    public void onPlantWithered(Plant plant) {
+        Coordinate pos = plant.getPosition();
+        if (mapCells[pos.getX()][pos.getY()] != null) {
+            mapCells[pos.getX()][pos.getY()].setIcon(grassIcon);
+        }
+        notifyMiniMapUpdate();
+    }
 
-            // Create a plant item based on the cell type
-            TradeableItem removedItem = null;
-            switch (cellType) {
-                case 'p':
-                    removedItem = new Plant(new Coordinate(row, col), "plant", 150.0);
-                    break;
-                case 'b':
-                    removedItem = new Plant(new Coordinate(row, col), "bush", 100.0);
-                    break;
-                case 'h':
-                    removedItem = new Plant(new Coordinate(row, col), "shrub", 200.0);
-                    break;
-                default:
-                    return;
-            }
-
-            // Remove the landscape object from the map
-            map.getLandscapeObjects().removeIf(obj
-                    -> obj instanceof Plant
-                    && obj.getPosition().x == row
-                    && obj.getPosition().y == col
-            );
+    /**
+     * Moves the label of an animal that has stepped to a neighbouring cell.
+     *
+     * @param animal The animal, already at its new position
+     * @param from The cell it left
+     */
+    @Override
+    public void onAnimalMoved(Animal animal, Coordinate from) {
+        int oldX = from.getX();
+        int oldY = from.getY();
+        if (mapCells[oldX][oldY] instanceof AnimalLabel && ((AnimalLabel) mapCells[oldX][oldY]).getAnimal() == animal) {
+            mapPanel.remove(mapCells[oldX][oldY]);
+            JLabel grassLabel = new JLabel();
+            grassLabel.setSize(CELL_SIZE, CELL_SIZE);
+            grassLabel.setPreferredSize(new Dimension(CELL_SIZE, CELL_SIZE));
+            grassLabel.setHorizontalAlignment(SwingConstants.CENTER);
+            grassLabel.setVerticalAlignment(SwingConstants.CENTER);
+            grassLabel.setIcon(isNightMode ? createDarkModeIcon() : grassIcon);
+            grassLabel.setBounds(oldY * CELL_SIZE, oldX * CELL_SIZE, CELL_SIZE, CELL_SIZE);
+            mapCells[oldX][oldY] = grassLabel;
+            mapPanel.add(grassLabel);
+        }
 
-            // Reset the cell in the grid
-            grid.setCellType(row, col, '-'); // Set to grass
-            Cell cell = grid.getCell(row, col);
-            if (cell != null) {
-                cell.setOccupied(false);
-            }
+        Coordinate pos = animal.getPosition();
+        int newX = pos.getX();
+        int newY = pos.getY();
+        if (mapCells[newX][newY] != null) {
+            mapPanel.remove(mapCells[newX][newY]);
+        }
+        AnimalLabel animalLabel = new AnimalLabel(animal, CELL_SIZE);
+        animalLabel.setIcon(speciesIcon(animal));
+        animalLabel.setBounds(newY * CELL_SIZE, newX * CELL_SIZE, CELL_SIZE, CELL_SIZE);
+        mapCells[newX][newY] = animalLabel;
+        mapPanel.add(animalLabel);
+        if (animal instanceof Herbivore && ((Herbivore) animal).isAtMaxHealth()) {
+            animalLabel.showMaxHealthReached();
+        }
+        mapPanel.repaint();
+    }
 
-            // Update the visual representation
-            if (mapCells[row][col] != null) {
-                mapCells[row][col].setIcon(grassIcon);
-            }
+    /**
+     * Shows an animal drinking.
+     *
+     * @param animal The animal
+     */
+    @Override
+    public void onAnimalDrinking(Animal animal) {
+        Coordinate pos = animal.getPosition();
+        if (mapCells[pos.getX()][pos.getY()] instanceof AnimalLabel) {
+            AnimalLabel label = (AnimalLabel) mapCells[pos.getX()][pos.getY()];
+            label.showDrinkingAnimation();
+            label.updateThirstIndicator();
+        }
+    }
 
-            // Notify the controller about the item removal if needed
-            if (controller != null) {
-                controller.onItemRemoved(row, col);
-            }
+    /**
+     * Shows a carnivore's attack on its prey.
+     *
+     * @param hunter The carnivore
+     * @param prey The herbivore
+     * @param killed true if the attack killed the prey
+     */
+    @Override
+    public void onAnimalHunted(Carnivore hunter, Herbivore prey, boolean killed) {
+        Coordinate pos = prey.getPosition();
+        if (mapCells[pos.getX()][pos.getY()] instanceof AnimalLabel) {
+            ((AnimalLabel) mapCells[pos.getX()][pos.getY()]).showAttackAnimation();
+        }
+        Coordinate at = hunter.getPosition();
+        if (mapCells[at.getX()][at.getY()] instanceof AnimalLabel) {
+            mapCells[at.getX()][at.getY()].repaint();
+        }
+    }
 
-            // Optional: Add removed vegetation to player's inventory
-            // player.addItemToInventory(removedItem);
-        } catch (Exception e) {
-            System.err.println("Error removing vegetation: " + e.getMessage());
-            e.printStackTrace();
+    /**
+     * Redraws the grass left behind by an eaten plant.
+     *
+     * @param herbivore The herbivore that ate the plant
+     * @param row The row of the plant's cell
+     * @param col The column of the plant's cell
+     */
+    @Override
+    public void onPlantEaten(Herbivore herbivore, int row, int col) {
+        if (mapCells[row][col] != null) {
+            mapCells[row][col].setIcon(grassIcon);
         }
+        notifyMiniMapUpdate();
+    }
+
+    /**
+     * Stops the timer of an animal that has died and plays its death animation.
+     *
+     * @param animal The animal, already taken off the map
+     * @param position The cell it died on
+     */
+    @Override
+    public void onAnimalRemoved(Animal animal, Coordinate position) {
+        showAnimalRemoved(position.getX(), position.getY(), animal);
     }
 
     // New method to update animal position without changing health
@@ -1170,7 +963,7 @@ public class MapView implements MiniMapView.NavigationCallback {
         int oldCol = oldPos.getY();
 
         // Update the animal's position in the model
-        animal.move(new Coordinate(newX, newY));
+        animal.move(Coordinate.of(newX, newY));
 
         // 1. Handle the old cell - return it to grass
         if (mapCells[oldRow][oldCol] != null) {
@@ -1212,21 +1005,7 @@ public class MapView implements MiniMapView.NavigationCallback {
         AnimalLabel animalLabel = new AnimalLabel(animal, CELL_SIZE);
 
         // Determine which icon to use based on animal type
-        if (animal instanceof Herbivore) {
-            String species = animal.getDescription().toLowerCase();
-            if (species.contains("cow")) {
-                animalLabel.setIcon(cowIcon);
-            } else if (species.contains("deer")) {
-                animalLabel.setIcon(deerIcon);
-            }
-        } else if (animal instanceof Carnivore) {
-            String species = animal.getDescription().toLowerCase();
-            if (species.contains("lion")) {
-                animalLabel.setIcon(lionIcon);
-            } else if (species.contains("wolf")) {
-                animalLabel.setIcon(wolfIcon);
-            }
-        }
+        animalLabel.setIcon(speciesIcon(animal));
 
         // *** ADDITIONAL FIX: Check if animal should be hidden in night mode ***
         if (isNightMode) {
@@ -1249,20 +1028,8 @@ public class MapView implements MiniMapView.NavigationCallback {
             newCell.setOccupied(true);
 
             // Set cell type based on animal type
-            if (animal instanceof Herbivore) {
-                String species = animal.getDescription().toLowerCase();
-                if (species.contains("cow")) {
-                    grid.setCellType(newX, newY, 'c');
-                } else if (species.contains("deer")) {
-                    grid.setCellType(newX, newY, 'd');
-                }
-            } else if (animal instanceof Carnivore) {
-                String species = animal.getDescription().toLowerCase();
-                if (species.contains("lion")) {
-                    grid.setCellType(newX, newY, 'y');
-                } else if (species.contains("wolf")) {
-                    grid.setCellType(newX, newY, 'z');
-                }
+            if (animal.getSpecies() != null) {
+                grid.setCellType(newX, newY, animal.getSpecies().getMapChar());
             }
         }
 
@@ -1270,9 +1037,7 @@ public class MapView implements MiniMapView.NavigationCallback {
         animalLabel.revalidate();
         animalLabel.repaint();
 
-        // Ensure the panel is updated
-        // At the end of the method
-        notifyMiniMapUpdate();
+        // Ensure the panel is updated, the minimap follows with the dirty cells
         mapPanel.revalidate();
         mapPanel.repaint();
     }
@@ -1309,38 +1074,6 @@ public class MapView implements MiniMapView.NavigationCallback {
         }
     }
 
-    private void forceAnimalToDrink(Animal animal, int x, int y) {
-        System.out.println("FORCING " + animal.getDescription() + " TO DRINK at (" + x + ", " + y + ")");
-
-        // First check if we need to create a water area
-        WaterArea waterArea = findWaterAreaAt(x, y);
-        if (waterArea == null) {
-            // No water area object exists - create one
-            waterArea = new WaterArea(new Coordinate(x, y), 100);
-            controller.getModel().getMap().addLandscapeObject(waterArea);
-            System.out.println("Created new WaterArea at (" + x + ", " + y + ")");
-        }
-
-        // Now force the animal to drink
-        animal.isDrinking = true;
-        animal.drinkingDuration = 5;
-
-        // DIRECTLY modify thirst
-        int oldThirst = animal.getThirst();
-        animal.thirst = Math.max(0, animal.getThirst() - 30);
-
-        // Remember this water location
-        animal.lastWaterSourceLocation = new Coordinate(x, y);
-
-        // Update visual display
-        if (mapCells[x][y] instanceof AnimalLabel) {
-            AnimalLabel label = (AnimalLabel) mapCells[x][y];
-            label.showDrinkingAnimation();
-            label.updateThirstIndicator();
-        }
-
-        System.out.println("SUCCESSFULLY REDUCED THIRST from " + oldThirst + " to " + animal.getThirst());
-    }
 // Method to update the animal's position on the map
     // Replace the existing updateAnimalOnMap method with this implementation:
 
@@ -1353,7 +1086,7 @@ public class MapView implements MiniMapView.NavigationCallback {
         int oldCol = oldPos.getY();
 
         // Update the animal's position in the model
-        animal.move(new Coordinate(newX, newY));
+        animal.move(Coordinate.of(newX, newY));
 
         // 1. Handle the old cell - return it to grass
         if (mapCells[oldRow][oldCol] != null) {
@@ -1401,21 +1134,7 @@ public class MapView implements MiniMapView.NavigationCallback {
         AnimalLabel animalLabel = new AnimalLabel(animal, CELL_SIZE);
 
         // Determine which icon to use based on animal type
-        if (animal instanceof Herbivore) {
-            String species = animal.getDescription().toLowerCase();
-            if (species.contains("cow")) {
-                animalLabel.setIcon(cowIcon);
-            } else if (species.contains("deer")) {
-                animalLabel.setIcon(deerIcon);
-            }
-        } else if (animal instanceof Carnivore) {
-            String species = animal.getDescription().toLowerCase();
-            if (species.contains("lion")) {
-                animalLabel.setIcon(lionIcon);
-            } else if (species.contains("wolf")) {
-                animalLabel.setIcon(wolfIcon);
-            }
-        }
+        animalLabel.setIcon(speciesIcon(animal));
 
         // Position the animal label
         animalLabel.setBounds(newY * CELL_SIZE, newX * CELL_SIZE, CELL_SIZE, CELL_SIZE);
@@ -1430,20 +1149,8 @@ public class MapView implements MiniMapView.NavigationCallback {
             newCell.setOccupied(true);
 
             // Set cell type based on animal type
-            if (animal instanceof Herbivore) {
-                String species = animal.getDescription().toLowerCase();
-                if (species.contains("cow")) {
-                    grid.setCellType(newX, newY, 'c');
-                } else if (species.contains("deer")) {
-                    grid.setCellType(newX, newY, 'd');
-                }
-            } else if (animal instanceof Carnivore) {
-                String species = animal.getDescription().toLowerCase();
-                if (species.contains("lion")) {
-                    grid.setCellType(newX, newY, 'y');
-                } else if (species.contains("wolf")) {
-                    grid.setCellType(newX, newY, 'z');
-                }
+            if (animal.getSpecies() != null) {
+                grid.setCellType(newX, newY, animal.getSpecies().getMapChar());
             }
         }
 
@@ -1517,11 +1224,9 @@ public class MapView implements MiniMapView.NavigationCallback {
         animalLabel.revalidate();
         animalLabel.repaint();
 
-        // Ensure the panel is updated
+        // Ensure the panel is updated, the minimap follows with the dirty cells
         mapPanel.revalidate();
         mapPanel.repaint();
-        // At the end of the method
-        notifyMiniMapUpdate();
     }
 
     public JButton createDecreaseHealthButton() {
@@ -1554,6 +1259,37 @@ public class MapView implements MiniMapView.NavigationCallback {
         return button;
     }
 
+    /**
+     * Places an item on a cell as if the player had clicked it in placement mode.
+     * <p>
+     * Used to play back recorded games.
+     * </p>
+     *
+     * @param item The item to place, already taken out of the inventory
+     * @param row The row of the cell
+     * @param col The column of the cell
+     */
+    public void placeItemAt(TradeableItem item, int row, int col) {
+        enablePlacementMode(item);
+        placeItem(row, col);
+    }
+
+    /**
+     * Removes the item on a cell into the inventory as if the player had
+     * clicked it in removal mode.
+     * <p>
+     * Used to play back recorded games.
+     * </p>
+     *
+     * @param row The row of the cell
+     * @param col The column of the cell
+     */
+    public void removeItemAt(int row, int col) {
+        if (grid != null && grid.isOccupied(row, col) && isRemovableItem(grid.getCellType(row, col))) {
+            removeItem(row, col, grid.getCellType(row, col));
+        }
+    }
+
 // In MapView.java - Modify the placeItem method to handle positioning properly
     private void placeItem(int row, int col) {
         // First, properly update the grid
@@ -1571,8 +1307,6 @@ public class MapView implements MiniMapView.NavigationCallback {
                 + "Type=" + grid.getCellType(row, col)
                 + ", Occupied=" + grid.isOccupied(row, col));
 
-        startTouristArrivalTimer();
-
         // Set specific cell type based on the item type
         if (itemToPlace instanceof Plant) {
             // Update grid with plant type
@@ -1580,8 +1314,8 @@ public class MapView implements MiniMapView.NavigationCallback {
             grid.setCellType(row, col, cellType);
             mapCells[row][col].setIcon(placementIcon);
 
-            // Update the plant's position - Plants use a Coordinate constructor rather than setPosition
-            ((Plant) itemToPlace).position = new Coordinate(row, col);
+            // Update the plant's position
+            ((Plant) itemToPlace).setPosition(row, col);
 
         } else if (itemToPlace instanceof Road) {
             // Update grid with road type
@@ -1590,7 +1324,8 @@ public class MapView implements MiniMapView.NavigationCallback {
             mapCells[row][col].setIcon(placementIcon);
 
             // Update the road's position
-            ((Road) itemToPlace).position = new Coordinate(row, col);
+            ((Road) itemToPlace).setPosition(row, col);
+            updateJeepRoute();
 
         } else if (itemToPlace instanceof Herbivore) {
             Animal animal = (Animal) itemToPlace;
@@ -1607,11 +1342,12 @@ public class MapView implements MiniMapView.NavigationCallback {
             animalLabel.setBounds(col * CELL_SIZE, row * CELL_SIZE, CELL_SIZE, CELL_SIZE);
             mapPanel.add(animalLabel);
 
-            // Set position on the animal object - Animals have setPosition method
+            // Set position on the animal object
             animal.setPosition(row, col);
 
             // Add to tracking collections
             allAnimals.add(animal);
+            trackAnimalAdded(animal);
 
             // Start animal movement
             startAnimalMovement(row, col, animal);
@@ -1636,6 +1372,7 @@ public class MapView implements MiniMapView.NavigationCallback {
 
             // Add to tracking collections
             allAnimals.add(animal);
+            trackAnimalAdded(animal);
 
             // Start animal movement
             startAnimalMovement(row, col, animal);
@@ -1657,7 +1394,7 @@ public class MapView implements MiniMapView.NavigationCallback {
             mapPanel.add(waterLabel);
 
             // Update the water area's position
-            ((WaterArea) itemToPlace).position = new Coordinate(row, col);
+            ((WaterArea) itemToPlace).setPosition(row, col);
 
         } else if (itemToPlace instanceof Ranger) {
             Ranger ranger = (Ranger) itemToPlace;
@@ -1767,7 +1504,7 @@ public class MapView implements MiniMapView.NavigationCallback {
         int[] dx = {-1, 1, 0, 0}; // directions
         int[] dy = {0, 0, -1, 1};
 
-        int randomDirection = (int) (Math.random() * 4);
+        int randomDirection = randomDirection(4);
         int newX = x + dx[randomDirection];
         int newY = y + dy[randomDirection];
 
@@ -1798,7 +1535,7 @@ public class MapView implements MiniMapView.NavigationCallback {
             if (newX >= 0 && newX < GRID_ROWS && newY >= 0 && newY < GRID_COLS) {
                 // Check if cell contains a carnivore
                 char cellType = grid.getCellType(newX, newY);
-                if (cellType == 'y' || cellType == 'z') {  // Lion or wolf
+                if (SpeciesRegistry.getInstance().isPredator(cellType)) {
 
                     // Get the animal at this position
                     if (mapCells[newX][newY] instanceof AnimalLabel) {
@@ -1871,134 +1608,19 @@ public class MapView implements MiniMapView.NavigationCallback {
             targetX = adjustedTarget.getX();
             targetY = adjustedTarget.getY();
         }
-        Queue<Coordinate> queue = new LinkedList<>();
-        boolean[][] visited = new boolean[GRID_ROWS][GRID_COLS];
-        Coordinate[][] parent = new Coordinate[GRID_ROWS][GRID_COLS];  // To track the parent coordinates
-
-        // Log the start and target to confirm the coordinates
-        System.out.println("Starting Point: (" + startX + ", " + startY + ")");
-        System.out.println("Target Point: (" + targetX + ", " + targetY + ")");
-
-        // Add the start coordinate to the queue
-        queue.add(new Coordinate(startX, startY));
-        visited[startX][startY] = true;
-        parent[startX][startY] = null;  // Start has no parent
-
-        int[][] directions = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}}; // Up, Down, Left, Right
-
-        // If start is the same as the target, return immediately
-        if (startX == targetX && startY == targetY) {
-            List<Coordinate> immediatePath = new ArrayList<>();
-            immediatePath.add(new Coordinate(startX, startY));
-            return immediatePath;
-        }
-
-        // Perform BFS
-        while (!queue.isEmpty()) {
-            Coordinate current = queue.poll();
-            System.out.println("Visiting: (" + current.getX() + ", " + current.getY() + ")"); // Debugging visit
-
-            if (current.getX() == targetX && current.getY() == targetY) {
-                System.out.println("Target reached: (" + current.getX() + ", " + current.getY() + ")");
-                break; // Reached destination
-            }
 
-            // Check all 4 directions
-            for (int[] dir : directions) {
-                int newX = current.getX() + dir[0];
-                int newY = current.getY() + dir[1];
-
-                // If valid and not visited
-                if (isValidJeepCell(newX, newY) && !visited[newX][newY]) {
-                    visited[newX][newY] = true;
-                    Coordinate neighbor = new Coordinate(newX, newY);
-                    queue.add(neighbor);
-                    parent[newX][newY] = current;  // Store the parent of this coordinate
-                    System.out.println("Added to queue: (" + newX + ", " + newY + ")");
-                }
-            }
+        if (controller == null || controller.getModel() == null) {
+            return new ArrayList<>();
         }
-
-        // Now reconstruct the path from the target to the start
-        List<Coordinate> path = new ArrayList<>();
-        Coordinate current = new Coordinate(targetX, targetY);
-
-// Debug log: Check if the target is reachable
-        System.out.println("Target: (" + targetX + ", " + targetY + ") -> Parent: " + parent[targetX][targetY]);
-
-// If target is not reachable, return an empty path
-        if (parent[targetX][targetY] == null) {
+        // Unreachable targets are rejected by the connectivity index, repeated routes come from the cache
+        long start = System.nanoTime();
+        List<Coordinate> path = controller.getModel().getMap().findPath(MovementClass.JEEP,
+                Coordinate.of(startX, startY), Coordinate.of(targetX, targetY));
+        pathFindTime.recordSince(start);
+        if (path.isEmpty()) {
             System.out.println("No path found. The target is not reachable.");
-            return path;
         }
-
-// Reconstruct the path by following the parent links
-        while (current != null) {
-            // Log the current coordinate
-            System.out.println("Adding to path: (" + current.getX() + ", " + current.getY() + ")");
-            path.add(current);
-
-            // Debug log: Print parent of the current coordinate
-            if (current.getX() >= 0 && current.getY() >= 0 && current.getX() < GRID_ROWS && current.getY() < GRID_COLS) {
-                System.out.println("Parent of (" + current.getX() + ", " + current.getY() + "): " + parent[current.getX()][current.getY()]);
-            }
-
-            // Move to the parent coordinate
-            current = parent[current.getX()][current.getY()];
-        }
-
-// After exiting the loop, log whether the current was null and check the path list
-        System.out.println("Exited while loop. Current: " + current);
-        System.out.println("Path before reversing:");
-        for (Coordinate coord : path) {
-            System.out.println("(" + coord.getX() + ", " + coord.getY() + ")");
-        }
-
-// Reverse the list to go from start to end
-        Collections.reverse(path);
-
-// Log the final path
-        System.out.println("Reversed Path:");
-        for (Coordinate coord : path) {
-            System.out.println("(" + coord.getX() + ", " + coord.getY() + ")");
-        }
-
         return path;
-
-    }
-
-    public List<Animal> getNearbyAnimals(int centerX, int centerY, int radius) {
-        Set<Coordinate> seen = new HashSet<>();
-        List<Animal> nearby = new ArrayList<>();
-
-        for (Animal animal : allAnimals) {
-            Coordinate pos = animal.getPosition();
-            int dx = Math.abs(pos.getX() - centerX);
-            int dy = Math.abs(pos.getY() - centerY);
-
-            if (dx <= radius && dy <= radius) {
-                // Prevent duplicate positions from being counted twice
-                if (seen.add(pos)) {
-                    nearby.add(animal);
-                    System.out.println("Found " + animal.getDescription() + " at (" + pos.getX() + ", " + pos.getY() + ")");
-                }
-            }
-        }
-
-        return nearby;
-    }
-
-    public int calculateSatisfactionScore(List<Animal> nearbyAnimals) {
-        Set<String> uniqueSpecies = new HashSet<>();
-        for (Animal a : nearbyAnimals) {
-            uniqueSpecies.add(a.getDescription());
-        }
-
-        int speciesCount = uniqueSpecies.size();
-        int totalAnimals = nearbyAnimals.size();
-
-        // You can weight diversity more if needed
-        return (speciesCount * 50) + totalAnimals;
     }
 
     int capital = 0;
@@ -2013,7 +1635,7 @@ public class MapView implements MiniMapView.NavigationCallback {
         mapCells[oldPos.getX()][oldPos.getY()].setIcon(getRoadIcon(oldType));
 //        System.out.println("Cleared old position at: (" + oldPos.getX() + ", " + oldPos.getY() + ")");
 
-        jeep.moveTo(new Coordinate(newX, newY));
+        jeep.moveTo(Coordinate.of(newX, newY));
         char newType = grid.getCellType(newX, newY);
 
         // Use different icons based on moving direction
@@ -2024,110 +1646,70 @@ public class MapView implements MiniMapView.NavigationCallback {
         }
 
         grid.getCell(newX, newY).setOccupied(true);
-        jeep.setLastPosition(new Coordinate(newX, newY));
+        jeep.setLastPosition(Coordinate.of(newX, newY));
 //        System.out.println("Moved jeep to: (" + newX + ", " + newY + ")");
 
-        List<Animal> animalsInRange = getNearbyAnimals(newX, newY, 20);
-
         mapPanel.repaint();
     }
 
-    private void startTouristArrivalTimer() {
-        Timer touristTimer = new Timer(5000, e -> {
-            waitingTourists++;
-            System.out.println("Tourist arrived. Total: " + waitingTourists);
-
-            if (controller != null) {
-                controller.updateTouristDisplay(waitingTourists);  // ✅ Move it inside the timer action
-            }
-        });
-        touristTimer.start();
-    }
-
     private void startJeepMovement(int row, int col, Jeep jeep, char startCellType) {
-        List<Coordinate> path = findPath(row, col, 0, 39);
+        updateJeepRoute();
+        if (jeepRoute.isEmpty()) {
+            System.out.println("The gate is not connected to the exit by road; the jeep waits until it is.");
+        }
+        startLifecycleClock();
+    }
 
-        if (path.isEmpty()) {
+    /**
+     * Finds the jeep route again, after a jeep was added or the roads changed.
+     */
+    private void updateJeepRoute() {
+        if (controller == null || controller.getModel() == null) {
             return;
         }
+        jeepRoute = findPath(48, 7, 0, 39);
+        controller.getModel().getMap().getDispatcher().setTourSteps(jeepRoute.size());
+    }
 
-        Timer timer = new Timer(controller.getMovementDelayBasedOnGameSpeed(), null);
-        final int[] currentIndex = {0};
-        final boolean[] forward = {true};
-
-        timer.addActionListener(new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                // When jeep reaches end/start of path
-                if (currentIndex[0] < 0 || currentIndex[0] >= path.size()) {
-                    timer.stop();
-
-                    List<Animal> animalsInRange = getNearbyAnimals(jeep.getPosition().getX(), jeep.getPosition().getY(), 20);
-                    int earned = calculateSatisfactionScore(animalsInRange);
-
-                    if (controller != null) {
-                        controller.handleJeepCapitalUpdate(jeep.getPosition());
-                    }
-
-                    // Wait until 4 tourists arrive before moving again
-                    Timer checkTouristsTimer = new Timer(500, null);
-                    checkTouristsTimer.addActionListener(new ActionListener() {
-                        @Override
-                        public void actionPerformed(ActionEvent evt) {
-                            if (waitingTourists >= 4) {
-                                waitingTourists -= 4;
-                                System.out.println("Jeep is starting with 4 tourists.");
-
-                                forward[0] = !forward[0];
-                                currentIndex[0] = forward[0] ? 0 : path.size() - 1;
-
-                                checkTouristsTimer.stop();
-                                timer.start();
-                            } else {
-                                System.out.println("Waiting for tourists... Current: " + waitingTourists);
-                            }
-                        }
-                    });
-                    checkTouristsTimer.start();
-
-                    return;
-                }
-
-                Coordinate next = path.get(currentIndex[0]);
-                int newX = next.getX();
-                int newY = next.getY();
-
-                if (jeep.getPosition().getX() != newX || jeep.getPosition().getY() != newY) {
-                    updateJeepOnMap(jeep, newX, newY, forward[0]);
-                    jeep.setPosition(newX, newY);
-                }
+    /**
+     * Runs one step of the tour dispatcher and draws the jeeps at their new cells.
+     * Called with every animal step, so tourists and jeeps keep the game speed.
+     */
+    private void stepFleet() {
+        SafariMap map = controller.getModel().getMap();
+        TourDispatcher dispatcher = map.getDispatcher();
+        dispatcher.step();
 
-                if (forward[0]) {
-                    currentIndex[0]++;
-                } else {
-                    currentIndex[0]--;
+        for (Jeep jeep : map.getJeeps()) {
+            int index = dispatcher.getRouteIndex(jeep);
+            if (index < 0 || index >= jeepRoute.size()) {
+                continue;
+            }
+            Coordinate next = jeepRoute.get(index);
+            if (!next.equals(jeep.getPosition())) {
+                updateJeepOnMap(jeep, next.getX(), next.getY(), dispatcher.isForward(jeep));
+                for (Tourist tourist : jeep.getCurrentPassengers()) {
+                    tourist.setPosition(next);
                 }
             }
-        });
+        }
 
-        // 🚫 Don't start movement right away — wait for 4 tourists at the beginning
-        Timer initialWait = new Timer(500, null);
-        initialWait.addActionListener(new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                if (waitingTourists >= 4) {
-                    waitingTourists -= 4;
-                    System.out.println("Initial jeep start with 4 tourists.");
-                    controller.updateTouristDisplay(waitingTourists);
+        if (dispatcher.getWaitingTourists() != shownTourists) {
+            shownTourists = dispatcher.getWaitingTourists();
+            controller.updateTouristDisplay(shownTourists);
+        }
+    }
 
-                    initialWait.stop();
-                    timer.start();
-                } else {
-                    System.out.println("Waiting for tourists at start... Current: " + waitingTourists);
-                }
-            }
-        });
-        initialWait.start();
+    @Override
+    public void onTourStarted(Jeep jeep, List<Tourist> passengers, boolean forward) {
+        System.out.println("Jeep is starting with " + passengers.size() + " tourists.");
+    }
+
+    @Override
+    public void onTourFinished(Jeep jeep, List<Tourist> passengers, boolean forward) {
+        if (controller != null) {
+            controller.handleJeepCapitalUpdate(jeep.getPosition());
+        }
     }
 
     private Icon getRoadIcon(char roadType) {
@@ -2146,36 +1728,41 @@ public class MapView implements MiniMapView.NavigationCallback {
         // Directions to check (up, down, left, right)
         int[][] directions = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
 
-        Queue<Coordinate> queue = new LinkedList<>();
+        // Queue of packed cell indices, each cell is queued at most once
+        int[] queue = new int[GRID_ROWS * GRID_COLS];
+        int head = 0;
+        int tail = 0;
         boolean[][] visited = new boolean[GRID_ROWS][GRID_COLS];
 
-        queue.add(new Coordinate(startX, startY));
+        queue[tail++] = grid.index(startX, startY);
         visited[startX][startY] = true;
 
         // Perform BFS to find the nearest road
-        while (!queue.isEmpty()) {
-            Coordinate current = queue.poll();
+        while (head < tail) {
+            int current = queue[head++];
+            int currentX = grid.rowOf(current);
+            int currentY = grid.colOf(current);
 
             // If we found a road tile, return it
-            if (isValidJeepCell(current.getX(), current.getY())) {
-                return current;
+            if (isValidJeepCell(currentX, currentY)) {
+                return Coordinate.of(currentX, currentY);
             }
 
             // Check all 4 directions
             for (int[] dir : directions) {
-                int newX = current.getX() + dir[0];
-                int newY = current.getY() + dir[1];
+                int newX = currentX + dir[0];
+                int newY = currentY + dir[1];
 
                 // If valid and not visited
                 if (newX >= 0 && newX < GRID_ROWS && newY >= 0 && newY < GRID_COLS && !visited[newX][newY]) {
                     visited[newX][newY] = true;
-                    queue.add(new Coordinate(newX, newY));
+                    queue[tail++] = grid.index(newX, newY);
                 }
             }
         }
 
         // Return the original coordinate if no road found (fallback, though this shouldn't happen)
-        return new Coordinate(startX, startY);
+        return Coordinate.of(startX, startY);
     }
 
     private boolean isValidJeepCell(int row, int col) {
@@ -2197,60 +1784,30 @@ public class MapView implements MiniMapView.NavigationCallback {
 
     // Helper methods to determine cell type chars
     private char getPlanCellTypeChar(String description) {
-        String desc = description.toLowerCase();
-        if (desc.contains("bush")) {
-            return 'b';
-        }
-        if (desc.contains("shrub")) {
-            return 'h';
-        }
-        if (desc.contains("plant")) {
-            return 'p';
-        }
-        return 'p'; // Default
+        return TileCodec.getInstance().plantTile(description);
     }
 
     private char getRoadCellTypeChar(String roadType) {
-        String type = roadType.toLowerCase();
-        if (type.equals("horizontal")) {
-            return 'r';
-        }
-        if (type.equals("vertical")) {
-            return '|';
-        }
-        if (type.contains("rightdown")) {
-            return '1';
-        }
-        if (type.contains("rightup")) {
-            return '2';
-        }
-        if (type.contains("leftup")) {
-            return '3';
-        }
-        if (type.contains("leftdown")) {
-            return '4';
-        }
-        if (type.contains("jeep")) {
+        if (roadType.toLowerCase().contains("jeep")) {
             return 'j';
         }
-        return 'r'; // Default
+        return TileCodec.getInstance().roadTile(roadType);
     }
 
     private char getAnimalCellTypeChar(String animalType) {
-        String type = animalType.toLowerCase();
-        if (type.equals("cow")) {
-            return 'c';
-        }
-        if (type.equals("deer")) {
-            return 'd';
-        }
-        if (type.contains("lion")) {
-            return 'y';
-        }
-        if (type.contains("wolf")) {
-            return 'z';
-        }
-        return 'r'; // Default
+        Species species = SpeciesRegistry.getInstance().byName(animalType);
+        return species != null ? species.getMapChar() : 'r'; // Default
+    }
+
+    /**
+     * Gets the icon of an animal's species.
+     *
+     * @param animal The animal
+     * @return The icon, or null if the species is not in the registry
+     */
+    private ImageIcon speciesIcon(Animal animal) {
+        int id = animal.getSpeciesId();
+        return id >= 0 && id < speciesIcons.length ? speciesIcons[id] : null;
     }
 
     private boolean isRemovableItem(char cellType) {
@@ -2282,8 +1839,7 @@ public class MapView implements MiniMapView.NavigationCallback {
             LandScapeObject objectToRemove = null;
 
             // Search through landscape objects
-            for (Iterator<LandScapeObject> it = map.getLandscapeObjects().iterator(); it.hasNext();) {
-                LandScapeObject obj = it.next();
+            for (LandScapeObject obj : map.getLandscapeObjects()) {
                 Coordinate pos = obj.getPosition();
 
                 if (pos.x == row && pos.y == col) {
@@ -2291,11 +1847,13 @@ public class MapView implements MiniMapView.NavigationCallback {
                     if (obj instanceof TradeableItem) {
                         removedItem = (TradeableItem) obj;
                         objectToRemove = obj;
-                        it.remove(); // Remove from map's landscape objects
                         break;
                     }
                 }
             }
+            if (objectToRemove != null) {
+                map.removeLandscapeObject(objectToRemove);
+            }
 
             // If no object was found, create a new one based on the cell type
             if (removedItem == null) {
@@ -2323,10 +1881,13 @@ public class MapView implements MiniMapView.NavigationCallback {
             if (mapCells[row][col] != null) {
                 mapCells[row][col].setIcon(grassIcon);
             }
+            if (removedItem instanceof Road) {
+                updateJeepRoute();
+            }
 
             // Notify the controller about the item removal if needed
             if (controller != null) {
-                controller.onItemRemoved(row, col);
+                controller.onItemRemovedByPlayer(row, col);
             }
         } catch (Exception e) {
             System.err.println("Error removing item: " + e.getMessage());
@@ -2407,10 +1968,11 @@ public class MapView implements MiniMapView.NavigationCallback {
             leftupRoadIcon = loadAndResizeImage("/tiles/road-3.png");
             leftdownRoadIcon = loadAndResizeImage("/tiles/road-6.png");
 
-            cowIcon = loadAndResizeImage("/tiles/cow.png");
-            deerIcon = loadAndResizeImage("/tiles/deer.png");
-            lionIcon = loadAndResizeImage("/tiles/lion.png");
-            wolfIcon = loadAndResizeImage("/tiles/wolf.png");
+            List<Species> species = SpeciesRegistry.getInstance().getAll();
+            speciesIcons = new ImageIcon[species.size()];
+            for (Species entry : species) {
+                speciesIcons[entry.getId()] = loadAndResizeImage(entry.getSprite());
+            }
 
             pondIcon = loadAndResizeImage("/tiles/pond1.png");
 
@@ -2581,7 +2143,40 @@ public class MapView implements MiniMapView.NavigationCallback {
             case KeyEvent.VK_DOWN:
                 moveViewport(0, delta);
                 break;
+            case KeyEvent.VK_F3:
+                togglePerformanceOverlay();
+                break;
+        }
+    }
+
+    private void createPerformanceOverlay() {
+        performanceOverlay = new PerformanceOverlay(
+                () -> allAnimals.size(),
+                () -> controller == null || controller.getModel() == null ? 0 : controller.getModel().getMap().getJeeps().size(),
+                () -> controller == null || controller.getModel() == null ? 0 : controller.getModel().getMap().getRangers().size());
+        mapPanel.add(performanceOverlay, JLayeredPane.DRAG_LAYER);
+        positionPerformanceOverlay();
+    }
+
+    /**
+     * Shows or hides the performance overlay in the top left corner of the view.
+     * Also bound to the F3 key.
+     */
+    public void togglePerformanceOverlay() {
+        performanceOverlay.setShown(!performanceOverlay.isShown());
+        positionPerformanceOverlay();
+    }
+
+    /**
+     * Keeps the performance overlay pinned to the visible part of the map.
+     */
+    private void positionPerformanceOverlay() {
+        if (performanceOverlay == null || !performanceOverlay.isShown()) {
+            return;
         }
+        performanceOverlay.setBounds(viewportX + 8, viewportY + 8, PerformanceOverlay.WIDTH, PerformanceOverlay.HEIGHT);
+        mapPanel.setComponentZOrder(performanceOverlay, 0);
+        mapPanel.repaint();
     }
 
     /**
@@ -2691,11 +2286,29 @@ public class MapView implements MiniMapView.NavigationCallback {
             if (viewportX != viewPos.x || viewportY != viewPos.y) {
                 viewportX = viewPos.x;
                 viewportY = viewPos.y;
+                positionPerformanceOverlay();
                 updateMiniMap();
             }
+            updateLevelOfDetailViewport();
         });
     }
 
+    /**
+     * Tells the level of detail which cells are on screen, so that the animals
+     * there take every step.
+     */
+    private void updateLevelOfDetailViewport() {
+        if (controller == null || controller.getModel() == null || controller.getModel().getMap() == null) {
+            return;
+        }
+        Rectangle view = scrollPane.getViewport().getViewRect();
+        controller.getModel().getMap().getLevelOfDetail().setViewport(
+                view.y / CELL_SIZE,
+                view.x / CELL_SIZE,
+                (view.y + view.height + CELL_SIZE - 1) / CELL_SIZE,
+                (view.x + view.width + CELL_SIZE - 1) / CELL_SIZE);
+    }
+
     // In MapView.java
     private boolean isNightMode = false;
 
@@ -2755,9 +2368,7 @@ public class MapView implements MiniMapView.NavigationCallback {
         }
 
         // Check if the cell contains an animal
-        if (cellType == 'c' || cellType == 'd'
-                || // Herbivores
-                cellType == 'y' || cellType == 'z') { // Carnivores
+        if (SpeciesRegistry.getInstance().isAnimal(cellType)) {
 
             // Get the animal at this position
             Animal animal = getAnimalAt(row, col);
@@ -2779,18 +2390,8 @@ public class MapView implements MiniMapView.NavigationCallback {
     }
 
     private Animal getAnimalAt(int row, int col) {
-        // Iterate through landscape objects to find the animal at this position
         if (controller != null && controller.getModel() != null) {
-            SafariMap map = controller.getModel().getMap();
-            for (LandScapeObject obj : map.getLandscapeObjects()) {
-                if (obj instanceof Animal) {
-                    Animal animal = (Animal) obj;
-                    Coordinate pos = animal.getPosition();
-                    if (pos.x == row && pos.y == col) {
-                        return animal;
-                    }
-                }
-            }
+            return controller.getModel().getMap().getAnimalAt(row, col);
         }
         return null;
     }
@@ -2896,18 +2497,6 @@ public class MapView implements MiniMapView.NavigationCallback {
             case '4':
                 cell.setIcon(leftdownRoadIcon);
                 break;
-            case 'c':
-                cell.setIcon(cowIcon);
-                break;
-            case 'd':
-                cell.setIcon(deerIcon);
-                break;
-            case 'y':
-                cell.setIcon(lionIcon);
-                break;
-            case 'z':
-                cell.setIcon(wolfIcon);
-                break;
             case 'j':
                 cell.setIcon(jeepIcon);
                 break;
@@ -2925,7 +2514,8 @@ public class MapView implements MiniMapView.NavigationCallback {
                 cell.setIcon(riverIcon);
                 break;
             default:
-                cell.setIcon(grassIcon);
+                Species species = SpeciesRegistry.getInstance().byChar(cellType);
+                cell.setIcon(species != null ? speciesIcons[species.getId()] : grassIcon);
                 break;
         }
     }
@@ -3012,268 +2602,68 @@ public class MapView implements MiniMapView.NavigationCallback {
 
         // Now update the animal's position using the normal method
         updateAnimalOnMap(animal, newX, newY);
-
-        // Update minimap
-        notifyMiniMapUpdate();
     }
 
-    private void moveFollowerTowardLeader(Animal follower, int leaderX, int leaderY) {
-        Coordinate followerPos = follower.getPosition();
-        int fx = followerPos.getX();
-        int fy = followerPos.getY();
-
-        int dx = Integer.compare(leaderX, fx); // -1, 0, or 1
-        int dy = Integer.compare(leaderY, fy); // -1, 0, or 1
-
-        int newFollowerX = fx + dx;
-        int newFollowerY = fy + dy;
-
-        if (isValidCell(newFollowerX, newFollowerY) && !grid.getCell(newFollowerX, newFollowerY).isOccupied()) {
-            moveAnimalTo(follower, newFollowerX, newFollowerY);
+    private FlowFieldCache getFlowFields() {
+        if (controller == null || controller.getModel() == null || controller.getModel().getMap() == null) {
+            return null;
         }
+        return controller.getModel().getMap().getFlowFields();
     }
 
-    private void moveAlone(Animal animal) {
-        Coordinate position = animal.getPosition();
-        int x = position.getX();
-        int y = position.getY();
-
-        int[] dx = {-1, 1, 0, 0};
-        int[] dy = {0, 0, -1, 1};
-        int randomDirection = (int) (Math.random() * 4);
-        int newX = x + dx[randomDirection];
-        int newY = y + dy[randomDirection];
-
-        if (isValidCell(newX, newY) && !grid.getCell(newX, newY).isOccupied()) {
-            moveAnimalTo(animal, newX, newY);
-        } else {
-            System.out.println("Animal move invalid, staying in place.");
+    /**
+     * Picks one of a number of directions from the game's seeded random numbers,
+     * so that a recorded game wanders the same way when played back.
+     */
+    private int randomDirection(int directions) {
+        if (controller == null || controller.getModel() == null) {
+            return (int) (Math.random() * directions);
         }
+        return controller.getModel().getRandom().nextInt(directions);
     }
 
-    private List<Animal> findNearbySameSpeciesCarnivores(Animal leader) {
-        List<Animal> nearbyCarnivores = new ArrayList<>();
-        Coordinate pos = leader.getPosition();
-        int x = pos.getX();
-        int y = pos.getY();
-
-        System.out.println("Looking for nearby same-species carnivores around (" + x + "," + y + ")...");
-
-        // Check all 8 surrounding cells
-        for (int dx = -1; dx <= 1; dx++) {
-            for (int dy = -1; dy <= 1; dy++) {
-                if (dx == 0 && dy == 0) {
-                    continue; // Skip self
-                }
-                int newX = x + dx;
-                int newY = y + dy;
-
-                // Check if the cell contains an animal
-                if (isAnimalCell(newX, newY)) {
-                    Animal animal = getAnimalAtPosition(newX, newY);
-
-                    // Check if the animal is of the same species
-                    if (animal != null && animal.getDescription().equalsIgnoreCase(leader.getDescription())) {
-                        System.out.println("Same species match! Adding to nearby list.");
-                        nearbyCarnivores.add(animal);
-                    }
-                }
-            }
+    private HerdManager getHerds() {
+        if (controller == null || controller.getModel() == null || controller.getModel().getMap() == null) {
+            return null;
         }
-
-        System.out.println("Nearby same-species carnivores found: " + nearbyCarnivores.size());
-        return nearbyCarnivores;
+        return controller.getModel().getMap().getHerds();
     }
 
-    private void moveCarnivoreRandomly(Animal animal) {
-        if (!(animal instanceof Carnivore)) {
-            return;
-        }
-
-        if (animal.isBeingRemoved) {
-            return;
+    private void trackAnimalAdded(Animal animal) {
+        HerdManager herds = getHerds();
+        if (herds != null) {
+            herds.addAnimal(animal);
+            animal.setTimers(controller.getModel().getMap().getAnimalTimers());
+            startLifecycleClock();
         }
-        Carnivore carnivore = (Carnivore) animal;
+    }
 
-        // Skip if carnivore is dead
-        if (carnivore.isDead()) {
+    private void startLifecycleClock() {
+        if (lifecycleClock != null) {
             return;
         }
-
-        Coordinate position = carnivore.getPosition();
-        int x = position.getX();
-        int y = position.getY();
-
-        System.out.println("Trying to move carnivore from position: (" + x + ", " + y + ")");
-
-        // Priority 1: If very thirsty, check for water
-        if (carnivore.getThirst() > 70) {
-            // Search for water in a larger radius (up to 5 cells away)
-            Coordinate waterLocation = findNearbyWater(x, y, 5);
-            if (waterLocation != null) {
-                System.out.println("Carnivore is thirsty and found water at: ("
-                        + waterLocation.getX() + ", " + waterLocation.getY() + ")");
-
-                // Move toward the water
-                moveTowardLocation(carnivore, waterLocation);
-
-                // If now at water location, drink
-                if (carnivore.getPosition().getX() == waterLocation.getX()
-                        && carnivore.getPosition().getY() == waterLocation.getY()) {
-                    carnivore.drinkFromWater();
-                }
-                return;
-            } else {
-                System.out.println("Carnivore is thirsty but couldn't find water nearby");
-            }
-        }
-
-        // Priority 2: Find prey (existing hunting logic)
-        Herbivore nearbyHerbivore = findNearbyHerbivore(carnivore);
-
-        if (nearbyHerbivore != null) {
-            // Found a herbivore to hunt!
-            System.out.println("Carnivore found a herbivore to hunt at: "
-                    + nearbyHerbivore.getPosition().getX() + ", "
-                    + nearbyHerbivore.getPosition().getY());
-
-            // Record health before hunting
-            int oldHealth = carnivore.getHealth();
-
-            // Attack the herbivore
-            boolean killed = carnivore.hunt(nearbyHerbivore);
-
-            // Log the health increase
-            int healthGained = carnivore.getHealth() - oldHealth;
-            System.out.println("Carnivore health increased from " + oldHealth + " to "
-                    + carnivore.getHealth() + " (+" + healthGained + ")");
-
-            // Get the targeted herbivore's position
-            int targetX = nearbyHerbivore.getPosition().getX();
-            int targetY = nearbyHerbivore.getPosition().getY();
-
-            // Find and update the herbivore's visual representation
-            if (mapCells[targetX][targetY] instanceof AnimalLabel) {
-                AnimalLabel targetLabel = (AnimalLabel) mapCells[targetX][targetY];
-                targetLabel.showAttackAnimation();
-
-                // If the herbivore was killed, show death animation
-                if (killed) {
-                    targetLabel.showDeathAnimation();
-
-                    // Schedule removal of the dead herbivore after animation
-                    Timer removalTimer = new Timer(3000, e -> {
-                        fixRemoveDeadAnimal(targetX, targetY, nearbyHerbivore);
-                    });
-                    removalTimer.setRepeats(false);
-                    removalTimer.start();
-                }
-            }
-
-            // Update carnivore's display to show hunting/health gain
-            if (mapCells[x][y] instanceof AnimalLabel) {
-                mapCells[x][y].repaint();
-            }
-
-            return; // Don't move if we're hunting
-        }
-
-        // Priority 3: If no prey found, move randomly towards potential prey
-        int newX = x;
-        int newY = y;
-
-        // Define search radius (larger for carnivores)
-        int searchRadius = 3;
-        boolean foundPotentialPrey = false;
-
-        // First, try to find any herbivore in a wider radius
-        for (int r = 1; r <= searchRadius && !foundPotentialPrey; r++) {
-            for (int dx = -r; dx <= r; dx++) {
-                for (int dy = -r; dy <= r; dy++) {
-                    // Only check cells at exact distance r
-                    if (Math.abs(dx) != r && Math.abs(dy) != r) {
-                        continue;
-                    }
-
-                    int checkX = x + dx;
-                    int checkY = y + dy;
-
-                    // Ensure coordinates are within bounds
-                    if (checkX >= 0 && checkX < GRID_ROWS && checkY >= 0 && checkY < GRID_COLS) {
-                        char cellType = grid.getCellType(checkX, checkY);
-
-                        // Check if cell contains a herbivore (cow or deer)
-                        if (cellType == 'c' || cellType == 'd') {
-                            // Move one step toward the prey
-                            int moveX = (dx > 0) ? 1 : (dx < 0) ? -1 : 0;
-                            int moveY = (dy > 0) ? 1 : (dy < 0) ? -1 : 0;
-
-                            newX = x + moveX;
-                            newY = y + moveY;
-
-                            System.out.println("Carnivore is moving toward potential prey at: (" + checkX + ", " + checkY + ")");
-                            foundPotentialPrey = true;
-                            break;
-                        }
-                    }
-                }
-                if (foundPotentialPrey) {
-                    break;
-                }
-            }
-        }
-
-        // If no potential prey found, just move randomly
-        if (!foundPotentialPrey) {
-            int[] dx = {-1, 1, 0, 0};
-            int[] dy = {0, 0, -1, 1};
-
-            int randomDirection = (int) (Math.random() * 4);
-            newX = x + dx[randomDirection];
-            newY = y + dy[randomDirection];
-        }
-
-        // Check if the new position is valid
-        if (isValidCell(newX, newY) && !grid.getCell(newX, newY).isOccupied()) {
-            System.out.println("New position (" + newX + ", " + newY + ") is valid.");
-
-            // Use moveAnimalTo method instead of manual cell updates
-            moveAnimalTo(animal, newX, newY);
-        } else {
-            System.out.println("New position (" + newX + ", " + newY + ") is not valid.");
+        SafariMap map = controller.getModel().getMap();
+        TimingWheel timers = map.getAnimalTimers();
+        int delay = controller.getMovementDelayBasedOnGameSpeed();
+        map.getDispatcher().setTourListener(this);
+        map.getDispatcher().setStepsPerTourist(Math.max(1, TourDispatcher.TOURIST_INTERVAL_MILLIS / delay));
+        updateLevelOfDetailViewport();
+        map.getLevelOfDetail().setEnabled(true);
+        lifecycleClock = new Timer(delay, e -> {
+            simulationSteps++;
+            timers.advance();
+            stepFleet();
+        });
+        if (!animalTimersPaused) {
+            lifecycleClock.start();
         }
     }
 
-    private Coordinate findNearbyWater(int startX, int startY, int searchRadius) {
-        System.out.println("Searching for water near (" + startX + ", " + startY + ")");
-
-        // Search in expanding radius
-        for (int radius = 1; radius <= searchRadius; radius++) {
-            for (int dx = -radius; dx <= radius; dx++) {
-                for (int dy = -radius; dy <= radius; dy++) {
-                    // Skip if not at exact radius
-                    if (Math.abs(dx) != radius && Math.abs(dy) != radius) {
-                        continue;
-                    }
-
-                    int checkX = startX + dx;
-                    int checkY = startY + dy;
-
-                    // Check if valid coordinates
-                    if (checkX >= 0 && checkX < GRID_ROWS && checkY >= 0 && checkY < GRID_COLS) {
-                        // Check if cell contains water - look for both 'w' and 'P' since code seems inconsistent
-                        char cellType = grid.getCellType(checkX, checkY);
-                        if (cellType == 'w' || cellType == 'P') {
-                            System.out.println("Found water at (" + checkX + ", " + checkY + ")");
-                            return new Coordinate(checkX, checkY);
-                        }
-                    }
-                }
-            }
+    private void trackAnimalRemoved(Animal animal) {
+        HerdManager herds = getHerds();
+        if (herds != null) {
+            herds.removeAnimal(animal);
         }
-
-        System.out.println("No water found near (" + startX + ", " + startY + ")");
-        return null;  // No water found
     }
 
     private void makeAnimalDrink(Animal animal, int waterX, int waterY) {
@@ -3288,7 +2678,7 @@ public class MapView implements MiniMapView.NavigationCallback {
         }
 
         // Remember this water location for future reference
-        animal.lastWaterSourceLocation = new Coordinate(waterX, waterY);
+        animal.lastWaterSourceLocation = Coordinate.of(waterX, waterY);
 
         System.out.println("Animal successfully drank at (" + waterX + ", " + waterY + ")");
     }
@@ -3410,7 +2800,7 @@ public class MapView implements MiniMapView.NavigationCallback {
         if (controller != null && controller.getModel() != null) {
             SafariMap map = controller.getModel().getMap();
             if (map != null) {
-                map.getLandscapeObjects().remove(deadAnimal);
+                map.removeLandscapeObject(deadAnimal);
             }
         }
 
@@ -3424,7 +2814,7 @@ public class MapView implements MiniMapView.NavigationCallback {
         if (controller != null && controller.getModel() != null) {
             SafariMap map = controller.getModel().getMap();
             if (map != null) {
-                map.getLandscapeObjects().remove(deadAnimal);
+                map.removeLandscapeObject(deadAnimal);
             }
         }
 
@@ -3436,7 +2826,7 @@ public class MapView implements MiniMapView.NavigationCallback {
                 animalLabel.showDeathAnimation();
 
                 // Remove after a brief delay to allow animation to play
-                Timer removalTimer = new Timer(1000, e -> {
+                AnimationClock.afterMillis(1000, () -> {
                     // Remove from UI
                     mapPanel.remove(mapCells[row][col]);
 
@@ -3469,9 +2859,6 @@ public class MapView implements MiniMapView.NavigationCallback {
                     mapPanel.revalidate();
                     mapPanel.repaint();
                 });
-
-                removalTimer.setRepeats(false);
-                removalTimer.start();
             } else {
                 // No animation label, remove immediately
                 mapPanel.remove(mapCells[row][col]);
@@ -3501,24 +2888,6 @@ public class MapView implements MiniMapView.NavigationCallback {
         System.out.println("Successfully removed carnivore from map");
     }
 
-    private void moveTowardLocation(Animal animal, Coordinate target) {
-        Coordinate current = animal.getPosition();
-        int dx = Integer.compare(target.getX() - current.getX(), 0);
-        int dy = Integer.compare(target.getY() - current.getY(), 0);
-
-        // Try to move one step closer
-        int newX = current.getX() + dx;
-        int newY = current.getY() + dy;
-
-        // Check if valid move
-        if (isValidCell(newX, newY)) {
-            updateAnimalOnMapWithoutHealthChange(animal, newX, newY);
-            System.out.println("Animal moved toward target location. New position: (" + newX + ", " + newY + ")");
-        } else {
-            System.out.println("Cannot move toward target - invalid cell: (" + newX + ", " + newY + ")");
-        }
-    }
-
     private WaterArea findWaterAreaAt(int row, int col) {
         System.out.println("Searching for WaterArea at (" + row + ", " + col + ")");
 
@@ -3529,23 +2898,17 @@ public class MapView implements MiniMapView.NavigationCallback {
         }
 
         try {
-            // Try to find an existing water area
+            // Look the water area up in the water index of the map
             SafariMap map = controller.getModel().getMap();
             if (map != null) {
-                for (LandScapeObject obj : map.getLandscapeObjects()) {
-                    if (obj instanceof WaterArea) {
-                        WaterArea water = (WaterArea) obj;
-                        Coordinate pos = water.getPosition();
-
-                        if (pos != null && pos.getX() == row && pos.getY() == col) {
-                            System.out.println("Found existing WaterArea at (" + row + ", " + col + ")");
-                            return water;
-                        }
-                    }
+                WaterArea water = map.getWater().getAreaAt(row, col);
+                if (water != null) {
+                    System.out.println("Found existing WaterArea at (" + row + ", " + col + ")");
+                    return water;
                 }
             }
 
-            // If we get here, no water area was found - create one
+            // If we get here, no water area was found - create one, which joins the index
             System.out.println("No WaterArea found at (" + row + ", " + col + ") - creating new one");
             WaterArea newWater = new WaterArea(new Coordinate(row, col), 100);
             controller.getModel().getMap().addLandscapeObject(newWater);
@@ -3566,59 +2929,11 @@ public class MapView implements MiniMapView.NavigationCallback {
         }
     }
 
-    private Herbivore findNearbyHerbivore(Carnivore carnivore) {
-        if (carnivore == null || carnivore.getPosition() == null) {
-            return null;
-        }
-
-        Coordinate position = carnivore.getPosition();
-        int x = position.getX();
-        int y = position.getY();
-
-        // Define search radius (1 cell in all directions)
-        int[] dx = {-1, 0, 1, -1, 1, -1, 0, 1};
-        int[] dy = {-1, -1, -1, 0, 0, 1, 1, 1};
-
-        // Check surrounding cells
-        for (int i = 0; i < dx.length; i++) {
-            int checkX = x + dx[i];
-            int checkY = y + dy[i];
-
-            // Ensure coordinates are within bounds
-            if (checkX >= 0 && checkX < GRID_ROWS && checkY >= 0 && checkY < GRID_COLS) {
-                char cellType = grid.getCellType(checkX, checkY);
-
-                // Check if cell contains a herbivore (cow or deer)
-                if (cellType == 'c' || cellType == 'd') {
-                    // Find the herbivore at this position
-                    if (mapCells[checkX][checkY] instanceof AnimalLabel) {
-                        AnimalLabel animalLabel = (AnimalLabel) mapCells[checkX][checkY];
-                        Animal animal = animalLabel.getAnimal();
-
-                        if (animal instanceof Herbivore) {
-                            Herbivore herbivore = (Herbivore) animal;
-                            if (!herbivore.isDead()) {
-                                return herbivore;
-                            }
-                        }
-                    }
-                }
-            }
-        }
-
-        return null; // No herbivore found nearby
-    }
-
     private void removeDeadAnimal(int row, int col, Animal deadAnimal) {
         System.out.println("Removing dead " + deadAnimal.getDescription() + " at position: (" + row + ", " + col + ")");
 
-        // Remove from groups first
-        if (carnivoreGroups.containsKey(deadAnimal)) {
-            carnivoreGroups.remove(deadAnimal);
-        }
-        if (herbivoreGroups.containsKey(deadAnimal)) {
-            herbivoreGroups.remove(deadAnimal);
-        }
+        // Remove from its herd first
+        trackAnimalRemoved(deadAnimal);
 
         // Remove the animal label
         if (mapCells[row][col] != null) {
@@ -3654,18 +2969,16 @@ public class MapView implements MiniMapView.NavigationCallback {
                     // Remove the dead animal from the map's landscape objects
                     SafariMap map = controller.getModel().getMap();
                     if (map != null) {
-                        map.getLandscapeObjects().remove(deadAnimal);
+                        map.removeLandscapeObject(deadAnimal);
                     }
 
                     // Remove from allAnimals list
                     allAnimals.remove(deadAnimal);
                 } else {
                     // If still animating, try again later
-                    Timer removalTimer = new Timer(1000, e -> {
+                    AnimationClock.afterMillis(1000, () -> {
                         fixRemoveDeadAnimal(row, col, deadAnimal);
                     });
-                    removalTimer.setRepeats(false);
-                    removalTimer.start();
                 }
             }
         }
@@ -3674,31 +2987,13 @@ public class MapView implements MiniMapView.NavigationCallback {
         notifyMiniMapUpdate();
     }
 
-    private boolean isAnimalCell(int row, int col) {
-        if (row < 0 || row >= GRID_ROWS || col < 0 || col >= GRID_COLS) {
-            return false;
-        }
-
-        char cellType = grid.getCellType(row, col);
-        return cellType == 'c' || cellType == 'd' || cellType == 'y' || cellType == 'z';
-    }
-
-    private Animal getAnimalAtPosition(int x, int y) {
-        for (Animal animal : allAnimals) {
-            if (animal.getPosition().getX() == x && animal.getPosition().getY() == y) {
-                return animal;
-            }
-        }
-        return null;
-    }
-
     private void startAnimalMovement(int row, int col, Animal animal) {
         Coordinate position = animal.getPosition();
         System.out.println("Starting animal movement at position: " + position);
 
         // Important: Check if this animal already has a timer and cancel it first
-        if (animalTimers.containsKey(animal)) {
-            Timer oldTimer = animalTimers.get(animal);
+        Timer oldTimer = animalTimers.get(animal.getId());
+        if (oldTimer != null) {
             oldTimer.stop();
             System.out.println("Stopped existing timer for animal at " + position);
         }
@@ -3707,68 +3002,92 @@ public class MapView implements MiniMapView.NavigationCallback {
         Timer timer = new Timer(controller.getMovementDelayBasedOnGameSpeed(), new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                // Skip if animal is being removed
-                if (animal.isBeingRemoved) {
-                    return;
-                }
-
                 // Debug logging to verify timer is active
                 System.out.println("Timer triggered for " + animal.getDescription() + " at " + animal.getPosition());
+                stepAnimal(animal);
+            }
+        });
 
-                // Update lifecycle
-                animal.updateLifecycle();
-
-                // Get current position (may have changed since timer started)
-                Coordinate currentPos = animal.getPosition();
-                if (currentPos == null) {
-                    return;
-                }
+        // Store the timer in our map
+        animalTimers.put(animal.getId(), timer);
 
-                int currentRow = currentPos.getX();
-                int currentCol = currentPos.getY();
+        // Start the timer, unless turbo mode is stepping the animals
+        if (!animalTimersPaused) {
+            timer.start();
+        }
+        System.out.println("Timer started for animal movement. Total active timers: " + animalTimers.size());
+    }
 
-                // Check if animal has died during lifecycle update
-                boolean isDead = false;
-                if (animal instanceof Herbivore) {
-                    isDead = ((Herbivore) animal).isDead() || animal.getHealth() <= 0;
-                } else if (animal instanceof Carnivore) {
-                    isDead = animal.getHealth() <= 0;
-                }
+    /**
+     * Runs the turn of an animal by the rules of the {@link AnimalStepper}, which
+     * also decides whether an animal out of sight takes its coarse turn.
+     */
+    private void stepAnimal(Animal animal) {
+        if (animalStepper == null || animal.isBeingRemoved) {
+            return;
+        }
 
-                // Handle death immediately if needed
-                if (isDead && !animal.isBeingRemoved) {
-                    fixRemoveDeadAnimal(currentRow, currentCol, animal);
-                    return; // Skip movement if animal just died
-                }
+        long stepStart = System.nanoTime();
+        if (!animalStepper.step(animal, simulationSteps)) {
+            return;
+        }
+        animalStepTime.recordSince(stepStart);
 
-                // Update thirst indicator if the label is visible
-                if (mapCells[currentRow][currentCol] instanceof AnimalLabel) {
-                    AnimalLabel animalLabel = (AnimalLabel) mapCells[currentRow][currentCol];
-                    animalLabel.updateThirstIndicator();
-                }
+        // Update thirst indicator if the label is visible
+        Coordinate pos = animal.getPosition();
+        if (!animal.isBeingRemoved && mapCells[pos.getX()][pos.getY()] instanceof AnimalLabel) {
+            ((AnimalLabel) mapCells[pos.getX()][pos.getY()]).updateThirstIndicator();
+        }
+    }
 
-                // If animal is currently drinking, skip movement
-                if (animal.isDrinking()) {
-                    return;
-                }
+    /**
+     * Runs one step of every animal and of the animal timing wheel.
+     * <p>
+     * Used by turbo mode, which pauses the per-animal timers and steps the whole
+     * population several times per frame. Swing coalesces the repaints, so only
+     * the state after the last step is drawn.
+     * </p>
+     */
+    public void stepAllAnimals() {
+        if (controller == null || controller.getModel() == null || controller.getModel().getMap() == null) {
+            return;
+        }
+        SafariMap map = controller.getModel().getMap();
+        simulationSteps++;
+        // Walks the slots in place; animals dying on the way only empty their slot
+        for (int slot = 0; slot < animalTimers.capacity(); slot++) {
+            Animal animal = map.getAnimal(animalTimers.keyAt(slot));
+            if (animal != null) {
+                stepAnimal(animal);
+            }
+        }
+        map.getAnimalTimers().advance();
+        if (lifecycleClock != null) {
+            stepFleet();
+        }
+    }
 
-                // Existing movement logic
-                if (animal instanceof Carnivore) {
-                    moveCarnivoreRandomly(animal);
-                } else if (animal instanceof Herbivore) {
-                    moveHerbivoreRandomly(animal);
-                } else {
-                    System.out.println("Unknown animal type, skipping movement.");
-                }
+    /**
+     * Pauses or resumes the per-animal movement timers and the lifecycle clock.
+     *
+     * @param paused true to pause the timers
+     */
+    public void setAnimalTimersPaused(boolean paused) {
+        animalTimersPaused = paused;
+        animalTimers.forEachValue(timer -> {
+            if (paused) {
+                timer.stop();
+            } else {
+                timer.start();
             }
         });
-
-        // Store the timer in our map
-        animalTimers.put(animal, timer);
-
-        // Start the timer
-        timer.start();
-        System.out.println("Timer started for animal movement. Total active timers: " + animalTimers.size());
+        if (lifecycleClock != null) {
+            if (paused) {
+                lifecycleClock.stop();
+            } else {
+                lifecycleClock.start();
+            }
+        }
     }
 
     /**
@@ -3783,8 +3102,6 @@ public class MapView implements MiniMapView.NavigationCallback {
 
         // Clear existing animal list to avoid duplicates
         allAnimals.clear();
-        carnivoreGroups.clear();
-        herbivoreGroups.clear();
 
         // Scan entire grid to find and initialize all animals
         for (int row = 0; row < GRID_ROWS; row++) {
@@ -3792,7 +3109,7 @@ public class MapView implements MiniMapView.NavigationCallback {
                 char cellType = grid.getCellType(row, col);
 
                 // Check if cell contains an animal
-                if (cellType == 'c' || cellType == 'd' || cellType == 'y' || cellType == 'z') {
+                if (SpeciesRegistry.getInstance().isAnimal(cellType)) {
                     System.out.println("Found animal at (" + row + ", " + col + ") of type: " + cellType);
 
                     // Find animal in model
@@ -3815,6 +3132,7 @@ public class MapView implements MiniMapView.NavigationCallback {
 
                         // Add to tracking list
                         allAnimals.add(animal);
+                        trackAnimalAdded(animal);
 
                         // Start animal movement timer
                         startAnimalMovement(row, col, animal);
@@ -3834,40 +3152,19 @@ public class MapView implements MiniMapView.NavigationCallback {
             return null;
         }
 
-        SafariMap map = controller.getModel().getMap();
-
-        // Search through landscape objects to find animal at position
-        for (LandScapeObject obj : map.getLandscapeObjects()) {
-            if (obj instanceof Animal) {
-                Animal animal = (Animal) obj;
-                Coordinate pos = animal.getPosition();
-
-                if (pos != null && pos.getX() == row && pos.getY() == col) {
-                    System.out.println("Found existing animal in model: " + animal.getDescription());
-                    return animal;
-                }
-            }
+        Animal animal = controller.getModel().getMap().getAnimalAt(row, col);
+        if (animal != null) {
+            System.out.println("Found existing animal in model: " + animal.getDescription());
         }
-
-        return null;
+        return animal;
     }
 
     /**
      * Create an animal based on cell type
      */
     private Animal createAnimalFromCellType(int row, int col, char cellType) {
-        switch (cellType) {
-            case 'c': // Cow
-                return new Herbivore(new Coordinate(row, col), "cow");
-            case 'd': // Deer
-                return new Herbivore(new Coordinate(row, col), "deer");
-            case 'y': // Lion
-                return new Carnivore(new Coordinate(row, col), "lion");
-            case 'z': // Wolf
-                return new Carnivore(new Coordinate(row, col), "wolf");
-            default:
-                return null;
-        }
+        Species species = SpeciesRegistry.getInstance().byChar(cellType);
+        return species != null ? species.create(new Coordinate(row, col)) : null;
     }
 
     /**
@@ -3887,21 +3184,7 @@ public class MapView implements MiniMapView.NavigationCallback {
         AnimalLabel animalLabel = new AnimalLabel(animal, CELL_SIZE);
 
         // Set appropriate icon
-        if (animal instanceof Herbivore) {
-            String species = animal.getDescription().toLowerCase();
-            if (species.contains("cow")) {
-                animalLabel.setIcon(cowIcon);
-            } else if (species.contains("deer")) {
-                animalLabel.setIcon(deerIcon);
-            }
-        } else if (animal instanceof Carnivore) {
-            String species = animal.getDescription().toLowerCase();
-            if (species.contains("lion")) {
-                animalLabel.setIcon(lionIcon);
-            } else if (species.contains("wolf")) {
-                animalLabel.setIcon(wolfIcon);
-            }
-        }
+        animalLabel.setIcon(speciesIcon(animal));
 
         // Position the label
         animalLabel.setBounds(col * CELL_SIZE, row * CELL_SIZE, CELL_SIZE, CELL_SIZE);
@@ -3920,6 +3203,32 @@ public class MapView implements MiniMapView.NavigationCallback {
     /**
      * Explicitly trigger a mini-map update
      */
+    /**
+     * Repaints the cells the model marked dirty since the last call, and
+     * refreshes the minimap once if any cell changed.
+     * <p>
+     * Animal moves mark their old and new cell, so the minimap is redrawn once
+     * per game tick instead of after every single move.
+     * </p>
+     */
+    public void repaintDirtyCells() {
+        if (controller == null || controller.getModel() == null || controller.getModel().getMap() == null) {
+            return;
+        }
+        SafariMap map = controller.getModel().getMap();
+        Grid cells = map.getGrid();
+        int dirty = map.drainDirtyCells(index -> {
+            int row = cells.rowOf(index);
+            int col = cells.colOf(index);
+            if (row < GRID_ROWS && col < GRID_COLS) {
+                mapPanel.repaint(col * CELL_SIZE, row * CELL_SIZE, CELL_SIZE, CELL_SIZE);
+            }
+        });
+        if (dirty > 0) {
+            notifyMiniMapUpdate();
+        }
+    }
+
     private void notifyMiniMapUpdate() {
         if (miniMapView != null) {
             miniMapView.updateMapCells(mapCells);
@@ -3932,31 +3241,35 @@ public class MapView implements MiniMapView.NavigationCallback {
         // Mark the animal as being removed to prevent multiple removal attempts
         deadAnimal.isBeingRemoved = true;
 
-        // Stop and remove the timer for this animal
-        if (animalTimers.containsKey(deadAnimal)) {
-            Timer timer = animalTimers.get(deadAnimal);
-            timer.stop();
-            animalTimers.remove(deadAnimal);
-            System.out.println("Stopped and removed timer for dead animal");
-        }
-
         System.out.println("FIXED REMOVAL: Removing dead " + deadAnimal.getDescription()
                 + " at position: (" + row + ", " + col + ")");
 
         // Step 1: Remove from tracking collections first
-        allAnimals.remove(deadAnimal);
-        carnivoreGroups.remove(deadAnimal);
-        herbivoreGroups.remove(deadAnimal);
+        trackAnimalRemoved(deadAnimal);
 
         // Step 2: Remove from model's landscape objects
         if (controller != null && controller.getModel() != null) {
             SafariMap map = controller.getModel().getMap();
             if (map != null) {
-                map.getLandscapeObjects().remove(deadAnimal);
+                map.removeLandscapeObject(deadAnimal);
             }
         }
 
-        // Step 3: Update the UI 
+        showAnimalRemoved(row, col, deadAnimal);
+    }
+
+    /**
+     * Stops the timer of an animal taken off the map and replaces its label by
+     * grass once the death animation has played.
+     */
+    private void showAnimalRemoved(int row, int col, Animal deadAnimal) {
+        deadAnimal.isBeingRemoved = true;
+        Timer timer = animalTimers.remove(deadAnimal.getId());
+        if (timer != null) {
+            timer.stop();
+        }
+        allAnimals.remove(deadAnimal);
+
         if (mapCells[row][col] != null) {
             if (mapCells[row][col] instanceof AnimalLabel) {
                 AnimalLabel animalLabel = (AnimalLabel) mapCells[row][col];
@@ -3965,7 +3278,7 @@ public class MapView implements MiniMapView.NavigationCallback {
                 animalLabel.showDeathAnimation();
 
                 // Schedule removal after animation completes
-                Timer removalTimer = new Timer(1500, e -> {
+                AnimationClock.afterMillis(1500, () -> {
                     try {
                         // Double-check that this cell still contains our animal
                         if (mapCells[row][col] == animalLabel) {
@@ -4013,9 +3326,6 @@ public class MapView implements MiniMapView.NavigationCallback {
                         ex.printStackTrace();
                     }
                 });
-
-                removalTimer.setRepeats(false);
-                removalTimer.start();
             } else {
                 // No animal label found - clear cell immediately
                 try {
@@ -4052,9 +3362,7 @@ public class MapView implements MiniMapView.NavigationCallback {
     }
 
     public void stopAllAnimalTimers() {
-        for (Timer timer : animalTimers.values()) {
-            timer.stop();
-        }
+        animalTimers.forEachValue(Timer::stop);
         animalTimers.clear();
         System.out.println("All animal timers stopped and cleared");
     }
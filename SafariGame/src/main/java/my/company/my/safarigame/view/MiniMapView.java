@@ -7,6 +7,8 @@ import java.awt.image.BufferedImage;
 import java.awt.RadialGradientPaint;
 import javax.swing.border.LineBorder;
 import javax.swing.Timer;
+import my.company.my.safarigame.metrics.LatencyHistogram;
+import my.company.my.safarigame.metrics.MetricsRegistry;
 
 /**
  * Displays a scaled-down overview of the safari game map with navigation capabilities.
@@ -95,6 +97,9 @@ public class MiniMapView {
     /** Navigation callback for handling clicks on the mini map. */
     private NavigationCallback navigationCallback;
 
+    /** Time spent painting the mini map. */
+    private final LatencyHistogram renderTime = MetricsRegistry.getInstance().histogram("render.minimap");
+
     /**
      * Interface for handling navigation events triggered by clicking on the mini map.
      * <p>
@@ -335,10 +340,12 @@ public class MiniMapView {
             
             @Override
             protected void paintComponent(Graphics g) {
+                long paintStart = System.nanoTime();
                 super.paintComponent(g);
                 
                 // Draw the actual map but at mini-map size
                 drawScaledMap(g);
+                renderTime.recordSince(paintStart);
                 
                 // Draw viewport rectangle
                 Graphics2D g2d = (Graphics2D) g;
@@ -0,0 +1,144 @@
+package my.company.my.safarigame.view;
+
+import java.awt.*;
+import java.util.function.IntSupplier;
+import javax.swing.JComponent;
+import javax.swing.Timer;
+import my.company.my.safarigame.metrics.LatencyHistogram;
+import my.company.my.safarigame.metrics.MetricsRegistry;
+import my.company.my.safarigame.metrics.SampleRing;
+
+/**
+ * Heads-up display showing where the time of the game goes.
+ * <p>
+ * Shows the frame rate, a graph of recent frame times, the simulation tick and
+ * animal step times, the number of animals, jeeps and rangers, dirty regions per
+ * frame and heap usage. Frame data comes from a {@link FrameTimingRepaintManager}
+ * and tick data from the {@link MetricsRegistry}. The overlay refreshes four times
+ * a second while shown; when hidden it uninstalls the repaint manager and stops its
+ * timer, so it costs nothing.
+ * </p>
+ */
+public class PerformanceOverlay extends JComponent {
+
+    /** Width of the overlay in pixels. */
+    public static final int WIDTH = 260;
+
+    /** Height of the overlay in pixels. */
+    public static final int HEIGHT = 190;
+
+    /** Frame time drawn at the top of the graph, in milliseconds. */
+    private static final double GRAPH_MAX_MS = 50.0;
+
+    /** Frame time of a 60 FPS frame, drawn as a guide line. */
+    private static final double TARGET_FRAME_MS = 1000.0 / 60;
+
+    private final FrameTimingRepaintManager frames = new FrameTimingRepaintManager();
+    private final LatencyHistogram tickTime = MetricsRegistry.getInstance().histogram("tick.time");
+    private final LatencyHistogram animalStepTime = MetricsRegistry.getInstance().histogram("animal.step");
+    private final Timer refreshTimer;
+
+    private final IntSupplier animalCount;
+    private final IntSupplier jeepCount;
+    private final IntSupplier rangerCount;
+
+    /**
+     * Constructs a new, hidden PerformanceOverlay.
+     *
+     * @param animalCount Supplies the number of active animals
+     * @param jeepCount Supplies the number of jeeps
+     * @param rangerCount Supplies the number of rangers
+     */
+    public PerformanceOverlay(IntSupplier animalCount, IntSupplier jeepCount, IntSupplier rangerCount) {
+        this.animalCount = animalCount;
+        this.jeepCount = jeepCount;
+        this.rangerCount = rangerCount;
+        setOpaque(false);
+        setSize(WIDTH, HEIGHT);
+        setVisible(false);
+        refreshTimer = new Timer(250, e -> repaint());
+    }
+
+    /**
+     * Shows or hides the overlay.
+     *
+     * @param shown true to show the overlay
+     */
+    public void setShown(boolean shown) {
+        if (shown == isVisible()) {
+            return;
+        }
+        if (shown) {
+            frames.install();
+            refreshTimer.start();
+        } else {
+            refreshTimer.stop();
+            frames.uninstall();
+        }
+        setVisible(shown);
+    }
+
+    /**
+     * Checks whether the overlay is shown.
+     *
+     * @return true if the overlay is shown
+     */
+    public boolean isShown() {
+        return isVisible();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2d = (Graphics2D) g.create();
+        try {
+            g2d.setColor(new Color(0, 0, 0, 170));
+            g2d.fillRoundRect(0, 0, WIDTH, HEIGHT, 10, 10);
+
+            SampleRing frameNanos = frames.getFrameNanos();
+            Runtime runtime = Runtime.getRuntime();
+            long usedMb = (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024);
+            long maxMb = runtime.maxMemory() / (1024 * 1024);
+
+            g2d.setFont(new Font("Monospaced", Font.PLAIN, 12));
+            g2d.setColor(Color.WHITE);
+            int y = 16;
+            g2d.drawString(String.format("FPS %3d   frame %5.1f ms (max %5.1f)",
+                    frames.getFramesPerSecond(), frameNanos.getMean() / 1e6, frameNanos.getMax() / 1e6), 8, y);
+            y += 15;
+            g2d.drawString(String.format("tick p99 %6.2f ms  step p99 %5.2f ms",
+                    tickTime.getValueAtPercentile(99) / 1e6, animalStepTime.getValueAtPercentile(99) / 1e6), 8, y);
+            y += 15;
+            g2d.drawString(String.format("animals %d  jeeps %d  rangers %d",
+                    animalCount.getAsInt(), jeepCount.getAsInt(), rangerCount.getAsInt()), 8, y);
+            y += 15;
+            g2d.drawString(String.format("regions/frame %4.1f  heap %d/%d MB",
+                    frames.getRegionCounts().getMean(), usedMb, maxMb), 8, y);
+
+            paintFrameGraph(g2d, frameNanos, 8, y + 10, WIDTH - 16, HEIGHT - y - 18);
+        } finally {
+            g2d.dispose();
+        }
+    }
+
+    /**
+     * Draws one bar per recent frame, newest on the right.
+     */
+    private void paintFrameGraph(Graphics2D g2d, SampleRing frameNanos, int x, int y, int width, int height) {
+        g2d.setColor(new Color(255, 255, 255, 40));
+        g2d.fillRect(x, y, width, height);
+
+        double barWidth = (double) width / FrameTimingRepaintManager.HISTORY;
+        int offset = FrameTimingRepaintManager.HISTORY - frameNanos.size();
+        for (int i = 0; i < frameNanos.size(); i++) {
+            double ms = frameNanos.get(i) / 1e6;
+            int barHeight = (int) Math.min(height, ms / GRAPH_MAX_MS * height);
+            g2d.setColor(ms > TARGET_FRAME_MS ? new Color(255, 90, 60) : new Color(90, 220, 90));
+            int barX = x + (int) ((offset + i) * barWidth);
+            g2d.fillRect(barX, y + height - barHeight, Math.max(1, (int) barWidth), barHeight);
+        }
+
+        int targetY = y + height - (int) (TARGET_FRAME_MS / GRAPH_MAX_MS * height);
+        g2d.setColor(new Color(255, 255, 0, 150));
+        g2d.drawLine(x, targetY, x + width, targetY);
+    }
+}
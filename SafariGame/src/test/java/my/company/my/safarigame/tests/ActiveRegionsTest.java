@@ -0,0 +1,81 @@
+package my.company.my.safarigame.tests;
+
+import my.company.my.safarigame.model.ActiveRegions;
+import my.company.my.safarigame.model.Coordinate;
+import my.company.my.safarigame.model.Herbivore;
+import my.company.my.safarigame.model.Plant;
+import my.company.my.safarigame.model.SafariMap;
+import my.company.my.safarigame.model.WaterArea;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ActiveRegionsTest {
+
+    private SafariMap map;
+    private ActiveRegions regions;
+
+    @Before
+    public void setUp() {
+        map = new SafariMap("/grids/grid1.txt", 48);
+        regions = map.getRegions();
+    }
+
+    @Test
+    public void testMapUpdatesAnimalsOfAwakeRegions() {
+        assertEquals(1, regions.getRegionCount());
+        Herbivore cow = new Herbivore(new Coordinate(20, 20), "cow");
+        map.addLandscapeObject(cow);
+        assertTrue(regions.isAwake(cow.getPosition()));
+        int age = cow.getAge();
+
+        map.updateMap();
+        assertEquals(age + 1, cow.getAge());
+
+        map.removeLandscapeObject(cow);
+        map.updateMap();
+        assertEquals(age + 1, cow.getAge());
+    }
+
+    @Test
+    public void testSleepingRegionIsSkipped() {
+        ActiveRegions large = new ActiveRegions(256, 256);
+        WaterArea pond = new WaterArea(new Coordinate(200, 200), 100.0);
+        pond.setId(1);
+        large.add(pond);
+        assertFalse(large.isAwake(pond.getPosition()));
+
+        int[] ticked = {0};
+        large.forEachAwake(obj -> ticked[0]++);
+        assertEquals(0, ticked[0]);
+
+        large.wake(Coordinate.of(210, 210));
+        large.forEachAwake(obj -> ticked[0]++);
+        assertEquals(1, ticked[0]);
+
+        // Woken regions sleep again after one update
+        large.forEachAwake(obj -> ticked[0]++);
+        assertEquals(1, ticked[0]);
+    }
+
+    @Test
+    public void testAnimalWakesTheRegionItEnters() {
+        ActiveRegions large = new ActiveRegions(256, 256);
+        Herbivore cow = new Herbivore(new Coordinate(10, 10), "cow");
+        cow.setId(1);
+        large.add(cow);
+        assertEquals(1, large.getAwakeCount());
+
+        cow.setPosition(100, 100);
+        large.onMoved(cow);
+        assertEquals(1, large.getAwakeCount());
+        assertTrue(large.isAwake(Coordinate.of(100, 100)));
+        assertFalse(large.isAwake(Coordinate.of(10, 10)));
+    }
+
+    @Test
+    public void testStaticObjectsDoNotTick() {
+        assertFalse(ActiveRegions.isTicking(new Plant(new Coordinate(1, 1), "bush", 10.0)));
+        assertTrue(ActiveRegions.isTicking(new WaterArea(new Coordinate(1, 1), 10.0)));
+    }
+}
@@ -0,0 +1,129 @@
+package my.company.my.safarigame.tests;
+
+import java.util.ArrayList;
+import java.util.List;
+import my.company.my.safarigame.model.Animal;
+import my.company.my.safarigame.model.AnimalStepListener;
+import my.company.my.safarigame.model.AnimalStepper;
+import my.company.my.safarigame.model.Carnivore;
+import my.company.my.safarigame.model.Coordinate;
+import my.company.my.safarigame.model.Grid;
+import my.company.my.safarigame.model.Herbivore;
+import my.company.my.safarigame.model.HerdManager;
+import my.company.my.safarigame.model.Plant;
+import my.company.my.safarigame.model.SafariGameModel;
+import my.company.my.safarigame.model.SafariMap;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AnimalStepperTest {
+
+    private SafariMap map;
+    private Grid grid;
+    private AnimalStepper stepper;
+    private final List<String> events = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        SafariGameModel model = new SafariGameModel("/grids/grid1.txt");
+        model.reseed(1);
+        map = new SafariMap(12, 12, 48);
+        map.getLandscapeObjects().clear();
+        grid = new Grid(12, 12, 48);
+        map.setGrid(grid);
+        model.setMap(map);
+
+        stepper = new AnimalStepper(model);
+        stepper.setListener(new AnimalStepListener() {
+            @Override
+            public void onAnimalMoved(Animal animal, Coordinate from) {
+                events.add("moved " + animal.getDescription());
+            }
+
+            @Override
+            public void onAnimalDrinking(Animal animal) {
+                events.add("drinking " + animal.getDescription());
+            }
+
+            @Override
+            public void onAnimalHunted(Carnivore hunter, Herbivore prey, boolean killed) {
+                events.add("hunted " + prey.getDescription() + (killed ? " dead" : ""));
+            }
+
+            @Override
+            public void onPlantEaten(Herbivore herbivore, int row, int col) {
+                events.add("ate " + row + "," + col);
+            }
+
+            @Override
+            public void onAnimalRemoved(Animal animal, Coordinate position) {
+                events.add("removed " + animal.getDescription());
+            }
+        });
+    }
+
+    private <T extends Animal> T place(T animal) {
+        Coordinate pos = animal.getPosition();
+        grid.setCellType(pos.getX(), pos.getY(), animal.getSpecies().getMapChar());
+        grid.getCell(pos.getX(), pos.getY()).setOccupied(true);
+        map.addLandscapeObject(animal);
+        return animal;
+    }
+
+    @Test
+    public void testHerbivoreEatsAdjacentPlant() {
+        Herbivore cow = place(new Herbivore(new Coordinate(5, 5), "cow"));
+        Plant bush = new Plant(new Coordinate(5, 6), "bush", 100.0);
+        grid.setCellType(5, 6, 'b');
+        grid.getCell(5, 6).setOccupied(true);
+        map.addLandscapeObject(bush);
+
+        assertTrue(stepper.step(cow, 1));
+        assertEquals('-', grid.getCellType(5, 6));
+        assertFalse(map.getLandscapeObjects().contains(bush));
+        assertTrue(bush.isDormant());
+        assertTrue(events.contains("ate 5,6"));
+        assertEquals(new Coordinate(5, 5), cow.getPosition());
+    }
+
+    @Test
+    public void testKilledPreyLeavesTheMap() {
+        Carnivore lion = place(new Carnivore(new Coordinate(5, 5), "lion"));
+        Herbivore cow = place(new Herbivore(new Coordinate(5, 6), "cow"));
+        cow.setHealth(1);
+
+        stepper.step(lion, 1);
+        assertTrue(cow.isBeingRemoved);
+        assertNull(map.getAnimal(cow.getId()));
+        assertNull(map.getAnimalAt(5, 6));
+        assertEquals('-', grid.getCellType(5, 6));
+        assertFalse(grid.isOccupied(5, 6));
+        assertEquals("removed cow", events.get(events.size() - 1));
+        assertFalse(stepper.step(cow, 2));
+    }
+
+    @Test
+    public void testFollowersMoveWithTheirLeader() {
+        Herbivore leader = place(new Herbivore(new Coordinate(5, 5), "cow"));
+        Herbivore follower = place(new Herbivore(new Coordinate(5, 6), "cow"));
+        HerdManager herds = map.getHerds();
+        assertSame(herds.getHerd(leader), herds.getHerd(follower));
+        assertSame(leader, herds.getHerd(leader).getLeader());
+
+        // A follower waits for its leader
+        stepper.step(follower, 1);
+        assertEquals(new Coordinate(5, 6), follower.getPosition());
+
+        for (int step = 1; step <= 10; step++) {
+            stepper.step(leader, step);
+            Coordinate lp = leader.getPosition();
+            Coordinate fp = follower.getPosition();
+            assertTrue(Math.max(Math.abs(lp.getX() - fp.getX()), Math.abs(lp.getY() - fp.getY())) <= 2);
+            assertEquals('c', grid.getCellType(lp.getX(), lp.getY()));
+            assertEquals('c', grid.getCellType(fp.getX(), fp.getY()));
+        }
+        assertNotEquals(new Coordinate(5, 6), follower.getPosition());
+        assertSame(herds.getHerd(leader), herds.getHerd(follower));
+    }
+}
@@ -0,0 +1,86 @@
+package my.company.my.safarigame.tests;
+
+import my.company.my.safarigame.model.ConnectivityIndex;
+import my.company.my.safarigame.model.Coordinate;
+import my.company.my.safarigame.model.Grid;
+import my.company.my.safarigame.model.MovementClass;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConnectivityIndexTest {
+
+    private Grid grid;
+    private ConnectivityIndex roads;
+    private ConnectivityIndex terrain;
+
+    @Before
+    public void setUp() {
+        grid = new Grid(20, 20, 48);
+        for (int c = 0; c < 20; c++) {
+            if (c != 10) {
+                grid.setCellType(5, c, 'r');
+            }
+        }
+        roads = new ConnectivityIndex(grid, MovementClass.JEEP);
+        terrain = new ConnectivityIndex(grid, MovementClass.ANIMAL);
+    }
+
+    @Test
+    public void testGapSeparatesRoads() {
+        assertTrue(roads.isConnected(Coordinate.of(5, 0), Coordinate.of(5, 9)));
+        assertFalse(roads.isConnected(Coordinate.of(5, 0), Coordinate.of(5, 19)));
+        assertEquals(ConnectivityIndex.NONE, roads.getComponent(5, 10));
+        assertEquals(ConnectivityIndex.NONE, roads.getComponent(-1, 0));
+    }
+
+    @Test
+    public void testClosingGapJoinsWithoutRelabelling() {
+        roads.getComponent(0, 0);
+        long relabelled = roads.getRelabelledCells();
+
+        grid.setCellType(5, 10, 'r');
+        assertTrue(roads.isConnected(Coordinate.of(5, 0), Coordinate.of(5, 19)));
+        assertEquals(relabelled, roads.getRelabelledCells());
+    }
+
+    @Test
+    public void testCuttingRoadSplitsIt() {
+        grid.setCellType(5, 10, 'r');
+        assertTrue(roads.isConnected(Coordinate.of(5, 0), Coordinate.of(5, 19)));
+
+        grid.clearCell(5, 4);
+        assertFalse(roads.isConnected(Coordinate.of(5, 0), Coordinate.of(5, 19)));
+        assertTrue(roads.isConnected(Coordinate.of(5, 5), Coordinate.of(5, 19)));
+        assertTrue(roads.isConnected(Coordinate.of(5, 0), Coordinate.of(5, 3)));
+    }
+
+    @Test
+    public void testObstacleInOpenGrassNeedsNoRelabelling() {
+        assertTrue(terrain.isConnected(Coordinate.of(0, 0), Coordinate.of(19, 19)));
+        long relabelled = terrain.getRelabelledCells();
+
+        grid.setCellType(12, 12, 'P');
+        assertTrue(terrain.isConnected(Coordinate.of(11, 11), Coordinate.of(13, 13)));
+        assertEquals(relabelled, terrain.getRelabelledCells());
+    }
+
+    @Test
+    public void testRoadGapLetsAnimalsThrough() {
+        grid.setCellType(5, 10, 'r');
+        assertFalse(terrain.isConnected(Coordinate.of(0, 0), Coordinate.of(19, 19)));
+
+        grid.clearCell(5, 10);
+        assertTrue(terrain.isConnected(Coordinate.of(0, 0), Coordinate.of(19, 19)));
+    }
+
+    @Test
+    public void testFilledChunkIsRelabelled() {
+        assertTrue(terrain.isConnected(Coordinate.of(0, 0), Coordinate.of(4, 4)));
+        grid.fillChunk(0, 0, 'w');
+        assertEquals(ConnectivityIndex.NONE, terrain.getComponent(0, 0));
+
+        grid.fillChunk(0, 0, '-');
+        assertTrue(terrain.isConnected(Coordinate.of(0, 0), Coordinate.of(19, 19)));
+    }
+}
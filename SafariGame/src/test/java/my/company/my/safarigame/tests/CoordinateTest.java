@@ -0,0 +1,76 @@
+package my.company.my.safarigame.tests;
+
+import java.lang.management.ManagementFactory;
+import my.company.my.safarigame.model.Coordinate;
+import my.company.my.safarigame.model.FlowField;
+import my.company.my.safarigame.model.FlowFieldCache;
+import my.company.my.safarigame.model.Grid;
+import my.company.my.safarigame.model.Herbivore;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class CoordinateTest {
+
+    @Test
+    public void testSharedInstances() {
+        assertSame(Coordinate.of(3, 4), Coordinate.of(3, 4));
+        assertEquals(new Coordinate(3, 4), Coordinate.of(3, 4));
+        assertNotEquals(Coordinate.of(3, 4), Coordinate.of(4, 3));
+    }
+
+    @Test
+    public void testOutOfRangeCoordinates() {
+        assertEquals(new Coordinate(-1, 5), Coordinate.of(-1, 5));
+        assertEquals(new Coordinate(300, 2), Coordinate.of(300, 2));
+    }
+
+    @Test
+    public void testPackedIndices() {
+        Grid grid = new Grid(10, 20, 48);
+        int index = grid.index(7, 13);
+        assertEquals(153, index);
+        assertEquals(7, grid.rowOf(index));
+        assertEquals(13, grid.colOf(index));
+    }
+
+    @Test
+    public void testMovementDoesNotAllocate() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return; // Allocation counters are not available on this JVM
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        if (!threads.isThreadAllocatedMemorySupported() || !threads.isThreadAllocatedMemoryEnabled()) {
+            return;
+        }
+
+        Grid grid = new Grid(50, 50, 48);
+        grid.setCellType(25, 25, 'P');
+        FlowField field = new FlowFieldCache().getWaterField(grid);
+        Herbivore cow = new Herbivore(new Coordinate(0, 0), "cow");
+
+        // Warm up so the shared coordinates exist and the code is compiled
+        walk(field, cow, 10_000);
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        walk(field, cow, 100_000);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertTrue("Allocated " + allocated + " bytes", allocated < 64 * 1024);
+    }
+
+    /**
+     * Walks an animal toward the water and back to a corner, over and over.
+     */
+    private void walk(FlowField field, Herbivore cow, int steps) {
+        for (int i = 0; i < steps; i++) {
+            Coordinate pos = cow.getPosition();
+            Coordinate step = field.getFreeStep(pos.getX(), pos.getY());
+            if (step == null) {
+                cow.setPosition(i % 50, 0);
+            } else {
+                cow.move(step);
+            }
+        }
+    }
+}
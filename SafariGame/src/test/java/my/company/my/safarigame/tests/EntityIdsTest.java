@@ -0,0 +1,153 @@
+package my.company.my.safarigame.tests;
+
+import my.company.my.safarigame.model.Coordinate;
+import my.company.my.safarigame.model.EntityIds;
+import my.company.my.safarigame.model.EntityTable;
+import my.company.my.safarigame.model.Herbivore;
+import my.company.my.safarigame.model.Jeep;
+import my.company.my.safarigame.model.SafariMap;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class EntityIdsTest {
+
+    @Test
+    public void testReleasedSlotsAreReusedWithANewGeneration() {
+        EntityIds ids = new EntityIds();
+        int first = ids.allocate();
+        int second = ids.allocate();
+        assertNotEquals(EntityIds.NONE, first);
+        assertNotEquals(first, second);
+
+        ids.release(first);
+        assertFalse(ids.isAlive(first));
+        int third = ids.allocate();
+        assertEquals(EntityIds.indexOf(first), EntityIds.indexOf(third));
+        assertNotEquals(first, third);
+        assertTrue(ids.isAlive(third));
+        assertEquals(2, ids.size());
+    }
+
+    @Test
+    public void testStaleIdsFindNothingInTables() {
+        EntityIds ids = new EntityIds();
+        EntityTable<String> table = new EntityTable<>();
+        int old = ids.allocate();
+        table.put(old, "old");
+        ids.release(old);
+        int reused = ids.allocate();
+        table.put(reused, "new");
+
+        assertNull(table.get(old));
+        assertEquals("new", table.get(reused));
+        assertEquals(1, table.size());
+        assertNull(table.remove(old));
+        assertEquals("new", table.remove(reused));
+        assertEquals(0, table.size());
+    }
+
+    @Test
+    public void testTableGrowsWithTheIds() {
+        EntityIds ids = new EntityIds();
+        EntityTable<Integer> table = new EntityTable<>();
+        for (int i = 0; i < 1000; i++) {
+            table.put(ids.allocate(), i);
+        }
+        assertEquals(1000, table.size());
+        assertEquals(1000, table.keys().length);
+        assertEquals(Integer.valueOf(999), table.get(table.keys()[999]));
+    }
+
+    @Test
+    public void testSlotsCanBeWalkedWhileRemoving() {
+        EntityIds ids = new EntityIds();
+        EntityTable<Integer> table = new EntityTable<>();
+        for (int i = 0; i < 10; i++) {
+            table.put(ids.allocate(), i);
+        }
+        int visited = 0;
+        for (int slot = 0; slot < table.capacity(); slot++) {
+            int id = table.keyAt(slot);
+            if (id != EntityIds.NONE) {
+                visited++;
+                table.remove(id);
+            }
+        }
+        assertEquals(10, visited);
+        assertEquals(0, table.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEntitiesWithoutIdCannotBeStored() {
+        new EntityTable<String>().put(EntityIds.NONE, "none");
+    }
+
+    @Test
+    public void testMapAssignsAndFreesIds() {
+        SafariMap map = new SafariMap(10, 10, 48);
+        Herbivore cow = new Herbivore(new Coordinate(3, 3), "Cow");
+        assertEquals(EntityIds.NONE, cow.getId());
+
+        map.addLandscapeObject(cow);
+        int id = cow.getId();
+        assertNotEquals(EntityIds.NONE, id);
+        assertSame(cow, map.getAnimal(id));
+        assertSame(cow, map.getHerds().getAnimalAt(3, 3));
+
+        Jeep jeep = new Jeep(new Coordinate(4, 4));
+        map.addJeep(jeep);
+        assertSame(jeep, map.getEntity(jeep.getId()));
+        assertNull(map.getAnimal(jeep.getId()));
+
+        map.removeLandscapeObject(cow);
+        assertNull(map.getAnimal(id));
+        map.addLandscapeObject(cow);
+        assertNotEquals(id, cow.getId());
+        assertSame(cow, map.getAnimal(cow.getId()));
+    }
+
+    @Test
+    public void testAnimalMovedToAnotherMapGetsItsOwnId() {
+        SafariMap first = new SafariMap(10, 10, 48);
+        SafariMap second = new SafariMap(10, 10, 48);
+        Herbivore moved = new Herbivore(new Coordinate(2, 2), "Cow");
+        Herbivore resident = new Herbivore(new Coordinate(7, 7), "Cow");
+        first.addLandscapeObject(moved);
+        second.addLandscapeObject(resident);
+        assertEquals(resident.getId(), moved.getId());
+
+        // Picked up into the inventory and placed on the next map
+        first.removeLandscapeObject(moved);
+        moved.setPosition(4, 4);
+        second.addLandscapeObject(moved);
+
+        assertNotEquals(resident.getId(), moved.getId());
+        assertSame(resident, second.getAnimal(resident.getId()));
+        assertSame(moved, second.getAnimal(moved.getId()));
+        assertSame(resident, second.getHerds().getAnimalAt(7, 7));
+        assertSame(moved, second.getHerds().getAnimalAt(4, 4));
+        assertEquals(2, second.getHerds().getHerds().size());
+    }
+
+    @Test
+    public void testHerdsDoNotTrustIdsFromAnotherMap() {
+        SafariMap first = new SafariMap(10, 10, 48);
+        SafariMap second = new SafariMap(10, 10, 48);
+        Herbivore moved = new Herbivore(new Coordinate(2, 2), "Cow");
+        Herbivore resident = new Herbivore(new Coordinate(7, 7), "Cow");
+        first.addLandscapeObject(moved);
+        second.addLandscapeObject(resident);
+
+        // The view herds a placed animal before the model registers it
+        moved.setPosition(4, 4);
+        second.getHerds().addAnimal(moved);
+        int id = moved.getId();
+        second.addLandscapeObject(moved);
+
+        assertNotEquals(resident.getId(), id);
+        assertEquals(id, moved.getId());
+        assertSame(moved, second.getAnimal(id));
+        assertSame(resident, second.getAnimal(resident.getId()));
+        assertEquals(2, second.getHerds().getHerds().size());
+    }
+}
@@ -0,0 +1,103 @@
+package my.company.my.safarigame.tests;
+
+import java.util.Arrays;
+import java.util.List;
+import my.company.my.safarigame.model.Coordinate;
+import my.company.my.safarigame.model.FlowField;
+import my.company.my.safarigame.model.FlowFieldCache;
+import my.company.my.safarigame.model.Grid;
+import my.company.my.safarigame.model.MovementClass;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FlowFieldTest {
+
+    private Grid grid;
+    private FlowFieldCache cache;
+
+    @Before
+    public void setUp() {
+        grid = new Grid(10, 10, 48);
+        grid.setCellType(5, 5, 'P');
+        grid.getCell(5, 5).setOccupied(true);
+        cache = new FlowFieldCache();
+    }
+
+    @Test
+    public void testDistanceToWater() {
+        FlowField field = cache.getWaterField(grid);
+        assertEquals(0, field.getDistance(5, 5));
+        assertEquals(1, field.getDistance(4, 4));
+        assertEquals(5, field.getDistance(0, 0));
+    }
+
+    @Test
+    public void testNextStepMovesCloser() {
+        FlowField field = cache.getWaterField(grid);
+        Coordinate step = field.getNextStep(0, 0);
+        assertEquals(4, field.getDistance(step.getX(), step.getY()));
+        assertNull(field.getNextStep(5, 5));
+    }
+
+    @Test
+    public void testFreeStepAvoidsOccupiedCell() {
+        FlowField field = cache.getWaterField(grid);
+        Coordinate best = field.getNextStep(2, 5);
+        grid.setCellType(best.getX(), best.getY(), 'c');
+        grid.getCell(best.getX(), best.getY()).setOccupied(true);
+
+        Coordinate step = field.getFreeStep(2, 5);
+        assertNotNull(step);
+        assertNotEquals(best, step);
+        assertEquals(2, field.getDistance(step.getX(), step.getY()));
+    }
+
+    @Test
+    public void testWallsBlockField() {
+        for (int c = 0; c < 10; c++) {
+            grid.setCellType(2, c, 'w');
+        }
+        FlowField field = cache.getWaterField(grid);
+        assertEquals(FlowField.UNREACHABLE, field.getDistance(0, 0));
+    }
+
+    @Test
+    public void testCacheReusedWhenAnimalsMove() {
+        FlowField field = cache.getWaterField(grid);
+        grid.setCellType(1, 1, 'c');
+        grid.setCellType(1, 1, '-');
+        assertSame(field, cache.getWaterField(grid));
+        assertEquals(1, cache.getBuildCount());
+    }
+
+    @Test
+    public void testCacheRebuiltWhenTerrainChanges() {
+        FlowField field = cache.getWaterField(grid);
+        grid.setCellType(0, 0, 'P');
+        FlowField rebuilt = cache.getWaterField(grid);
+        assertNotSame(field, rebuilt);
+        assertEquals(0, rebuilt.getDistance(0, 0));
+    }
+
+    @Test
+    public void testJeepPathAlongRoad() {
+        for (int c = 1; c <= 6; c++) {
+            grid.setCellType(8, c, 'r');
+        }
+        FlowField field = cache.getFieldTo(grid, MovementClass.JEEP, new Coordinate(8, 6));
+        List<Coordinate> path = field.tracePath(8, 1);
+        assertEquals(6, path.size());
+        assertEquals(new Coordinate(8, 1), path.get(0));
+        assertEquals(new Coordinate(8, 6), path.get(5));
+        assertTrue(field.tracePath(0, 0).isEmpty());
+    }
+
+    @Test
+    public void testMultipleTargets() {
+        FlowField field = new FlowField(grid, MovementClass.ANIMAL,
+                Arrays.asList(new Coordinate(0, 0), new Coordinate(9, 9)));
+        assertEquals(1, field.getDistance(1, 1));
+        assertEquals(1, field.getDistance(8, 8));
+    }
+}
@@ -1,7 +1,17 @@
 package my.company.my.safarigame.tests;
 
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
 import my.company.my.safarigame.model.Cell;
 import my.company.my.safarigame.model.Grid;
+import my.company.my.safarigame.model.GridLoader;
+import my.company.my.safarigame.model.GridSaver;
+import my.company.my.safarigame.model.SafariMap;
+import my.company.my.safarigame.model.TileCodec;
 import static org.junit.Assert.*;
 import org.junit.Before;
 import org.junit.Test;
@@ -50,4 +60,151 @@ public class GridTest {
         assertFalse(grid.getCell(3, 3).isOccupied());
         assertEquals('-', grid.getCell(3, 3).getCellType());
     }
+
+    @Test
+    public void testLargeGridOnlyKeepsChangedChunks() {
+        Grid large = new Grid(1000, 1000, 48);
+        assertEquals(0, large.getMaterializedChunkCount());
+        assertEquals('-', large.getCellType(999, 999));
+        assertFalse(large.isOccupied(500, 500));
+
+        large.setCellType(500, 500, '-');
+        assertEquals(0, large.getMaterializedChunkCount());
+
+        large.setCellType(500, 500, 'P');
+        assertEquals(1, large.getMaterializedChunkCount());
+        assertTrue(large.isChunkMaterialized(500 / Grid.CHUNK_SIZE, 500 / Grid.CHUNK_SIZE));
+        assertEquals('P', large.getCellType(500, 500));
+        assertEquals('-', large.getCellType(500, 501));
+    }
+
+    @Test
+    public void testCompactDropsUniformChunks() {
+        Grid large = new Grid(200, 200, 48);
+        large.setCellType(10, 10, 'P');
+        large.getCell(150, 150).setOccupied(true);
+        large.getCell(150, 150).setOccupied(false);
+        large.clearCell(10, 10);
+        assertEquals(2, large.getMaterializedChunkCount());
+
+        assertEquals(2, large.compact());
+        assertEquals(0, large.getMaterializedChunkCount());
+        assertEquals('-', large.getCellType(10, 10));
+    }
+
+    @Test
+    public void testChunkedSaveRoundTrip() throws IOException {
+        Grid large = new Grid(300, 200, 48);
+        large.setCellType(0, 0, 'w');
+        large.setCellType(299, 199, 'P');
+        large.setCellType(130, 70, 'b');
+
+        File dir = Files.createTempDirectory("chunks").toFile();
+        try {
+            GridSaver.saveChunkedGrid(large, dir.getPath());
+            assertEquals(4, dir.listFiles().length); // Index and three chunks
+
+            SafariMap map = new SafariMap("/grids/grid1.txt", 48);
+            int objects = map.getLandscapeObjects().size();
+            Grid loaded = GridLoader.loadChunkedGrid(dir.getPath(), map);
+            assertEquals(300, loaded.getRows());
+            assertEquals(200, loaded.getColumns());
+            assertEquals(3, loaded.getMaterializedChunkCount());
+            assertEquals('w', loaded.getCellType(0, 0));
+            assertEquals('P', loaded.getCellType(299, 199));
+            assertEquals('b', loaded.getCellType(130, 70));
+            assertTrue(loaded.isOccupied(130, 70));
+            assertEquals('-', loaded.getCellType(200, 100));
+            assertEquals(objects + 2, map.getLandscapeObjects().size());
+        } finally {
+            for (File file : dir.listFiles()) {
+                file.delete();
+            }
+            dir.delete();
+        }
+    }
+
+    @Test
+    public void testCompressedSaveRoundTrip() throws IOException {
+        for (boolean deflate : new boolean[] {false, true}) {
+            Grid large = new Grid(300, 500, 48);
+            large.setCellType(0, 0, 'w');
+            large.setCellType(0, 1, 'w');
+            large.setCellType(299, 499, 'P');
+            large.setCellType(130, 70, 'b');
+            large.fillChunk(2, 3, 's');
+
+            File file = File.createTempFile("grid", ".sgrd");
+            File text = File.createTempFile("grid", ".txt");
+            try {
+                GridSaver.saveCompressedGrid(large, file.getPath(), deflate);
+                GridSaver.saveGridToFile(large, text.getPath());
+                assertTrue(file.length() * 10 < text.length());
+
+                SafariMap map = new SafariMap("/grids/grid1.txt", 48);
+                int objects = map.getLandscapeObjects().size();
+                Grid loaded = GridLoader.loadGridFromFile(file.getPath(), map);
+                assertEquals(300, loaded.getRows());
+                assertEquals(500, loaded.getColumns());
+                for (int r = 0; r < 300; r++) {
+                    for (int c = 0; c < 500; c++) {
+                        assertEquals(large.getCellType(r, c), loaded.getCellType(r, c));
+                    }
+                }
+                assertTrue(loaded.isOccupied(0, 1));
+                assertFalse(loaded.isOccupied(0, 2));
+                assertEquals(objects + 2, map.getLandscapeObjects().size());
+                assertFalse(loaded.isChunkMaterialized(4, 4));
+            } finally {
+                file.delete();
+                text.delete();
+            }
+        }
+    }
+
+    @Test
+    public void testTextGridStillLoads() throws IOException {
+        File text = File.createTempFile("grid", ".txt");
+        try {
+            SafariMap map = new SafariMap("/grids/grid1.txt", 48);
+            GridSaver.saveGridToFile(map.getGrid(), text.getPath());
+            Grid loaded = GridLoader.loadGridFromFile(text.getPath(), map);
+            assertEquals(50, loaded.getRows());
+            assertEquals(map.getGrid().getCellType(0, 0), loaded.getCellType(0, 0));
+        } finally {
+            text.delete();
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testNewerCodecVersionIsRejected() throws IOException {
+        File file = File.createTempFile("grid", ".sgrd");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file))) {
+                out.writeInt(GridSaver.COMPRESSED_MAGIC);
+                out.writeByte(TileCodec.VERSION + 1);
+                out.writeByte(0);
+                out.writeInt(1);
+                out.writeInt(1);
+                out.writeChar('-');
+                out.writeByte(1);
+            }
+            GridLoader.loadGridFromFile(file.getPath(), new SafariMap("/grids/grid1.txt", 48));
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testTruncatedCompressedGridIsRejected() throws IOException {
+        File file = File.createTempFile("grid", ".sgrd");
+        try {
+            GridSaver.saveCompressedGrid(new Grid(100, 100, 48), file.getPath(), false);
+            byte[] bytes = Files.readAllBytes(file.toPath());
+            Files.write(file.toPath(), Arrays.copyOf(bytes, bytes.length - 1));
+            GridLoader.loadGridFromFile(file.getPath(), new SafariMap("/grids/grid1.txt", 48));
+        } finally {
+            file.delete();
+        }
+    }
 }
@@ -0,0 +1,83 @@
+package my.company.my.safarigame.tests;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import my.company.my.safarigame.batch.BatchRunner;
+import my.company.my.safarigame.batch.HeadlessSimulation;
+import my.company.my.safarigame.batch.SimulationResult;
+import my.company.my.safarigame.model.Carnivore;
+import my.company.my.safarigame.model.Herbivore;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class HeadlessSimulationTest {
+
+    private static final String GRID = "/grids/grid1.txt";
+
+    private Map<String, Integer> purchases() {
+        Map<String, Integer> purchases = new LinkedHashMap<>();
+        purchases.put("cow", 3);
+        purchases.put("lion", 1);
+        purchases.put("pond", 1);
+        return purchases;
+    }
+
+    @Test
+    public void testPurchasesAreBoughtAndPlaced() {
+        HeadlessSimulation simulation = new HeadlessSimulation(GRID, "easy", 2, 1, purchases(), 7);
+
+        // 1000 + 500 easy bonus - 300 jeep - 3 * 50 - 150 - 80
+        assertEquals(820.0, simulation.getModel().getPlayer().getCapital(), 0.001);
+        assertEquals(3, simulation.countAnimals(Herbivore.class));
+        assertEquals(1, simulation.countAnimals(Carnivore.class));
+        assertEquals(1, simulation.getModel().getMap().getJeeps().size());
+        assertTrue(simulation.getTourSteps() > 0);
+        assertEquals(25, simulation.getStepsPerTick());
+    }
+
+    @Test
+    public void testSameSeedGivesSameRun() {
+        SimulationResult first = new HeadlessSimulation(GRID, "medium", 2, 1, purchases(), 42).run(50, 5);
+        SimulationResult second = new HeadlessSimulation(GRID, "medium", 2, 1, purchases(), 42).run(50, 5);
+
+        assertEquals(first.getSamples().size(), second.getSamples().size());
+        for (int i = 0; i < first.getSamples().size(); i++) {
+            SimulationResult.Sample a = first.getSamples().get(i);
+            SimulationResult.Sample b = second.getSamples().get(i);
+            assertEquals(a.tick, b.tick);
+            assertEquals(a.capital, b.capital, 0.0);
+            assertEquals(a.herbivores, b.herbivores);
+            assertEquals(a.carnivores, b.carnivores);
+        }
+        assertEquals(first.getHerbivoreExtinctionTick(), second.getHerbivoreExtinctionTick());
+    }
+
+    @Test
+    public void testRunStopsAtTickLimit() {
+        SimulationResult result = new HeadlessSimulation(GRID, "hard", 3, 0, purchases(), 1).run(20, 10);
+
+        assertFalse(result.isWon());
+        assertEquals(20, result.getTicksRun());
+        assertEquals(20, result.getFinalSample().tick);
+        assertEquals(0, result.getSamples().get(0).tick);
+    }
+
+    @Test
+    public void testBatchRunsEverySeed() throws Exception {
+        BatchRunner runner = BatchRunner.parse(new String[] {
+            "--runs", "3", "--seed", "10", "--ticks", "5", "--threads", "2", "--buy", "deer=2"
+        });
+        List<SimulationResult> results = runner.run();
+
+        assertEquals(3, results.size());
+        assertEquals(10, results.get(0).getSeed());
+        assertEquals(12, results.get(2).getSeed());
+        assertTrue(BatchRunner.summarize(results).startsWith("runs,win_rate"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownItemIsRejected() {
+        BatchRunner.parse(new String[] {"--buy", "unicorn=1"});
+    }
+}
@@ -0,0 +1,134 @@
+package my.company.my.safarigame.tests;
+
+import java.util.ArrayList;
+import my.company.my.safarigame.model.Animal;
+import my.company.my.safarigame.model.AnimalGroup;
+import my.company.my.safarigame.model.Coordinate;
+import my.company.my.safarigame.model.Grid;
+import my.company.my.safarigame.model.Herbivore;
+import my.company.my.safarigame.model.HerdManager;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HerdManagerTest {
+
+    private Grid grid;
+    private HerdManager herds;
+
+    @Before
+    public void setUp() {
+        grid = new Grid(10, 10, 48);
+        herds = new HerdManager(10, 10, new ArrayList<>());
+    }
+
+    private Herbivore place(String species, int row, int col) {
+        Herbivore animal = new Herbivore(new Coordinate(row, col), species);
+        grid.setCellType(row, col, species.equals("cow") ? 'c' : 'd');
+        grid.getCell(row, col).setOccupied(true);
+        herds.addAnimal(animal);
+        return animal;
+    }
+
+    private void moveTo(Animal animal, int row, int col) {
+        Coordinate old = animal.getPosition();
+        grid.clearCell(old.getX(), old.getY());
+        animal.move(new Coordinate(row, col));
+        grid.setCellType(row, col, 'c');
+        grid.getCell(row, col).setOccupied(true);
+        herds.onAnimalMoved(animal, old);
+    }
+
+    @Test
+    public void testAdjacentSameSpeciesMerge() {
+        Herbivore a = place("cow", 2, 2);
+        Herbivore b = place("cow", 2, 3);
+        assertSame(herds.getHerd(a), herds.getHerd(b));
+        assertEquals(2, herds.getHerd(a).size());
+        assertEquals(1, herds.getHerds().size());
+    }
+
+    @Test
+    public void testDifferentSpeciesDoNotMerge() {
+        Herbivore cow = place("cow", 2, 2);
+        Herbivore deer = place("deer", 2, 3);
+        assertNotSame(herds.getHerd(cow), herds.getHerd(deer));
+        assertEquals(2, herds.getHerds().size());
+    }
+
+    @Test
+    public void testMergeOnMove() {
+        Herbivore a = place("cow", 1, 1);
+        Herbivore b = place("cow", 1, 5);
+        assertNotSame(herds.getHerd(a), herds.getHerd(b));
+
+        moveTo(b, 1, 2);
+        assertSame(herds.getHerd(a), herds.getHerd(b));
+        assertSame(b, herds.getAnimalAt(1, 2));
+        assertNull(herds.getAnimalAt(1, 5));
+    }
+
+    @Test
+    public void testLargerHerdKeepsLeader() {
+        Herbivore leader = place("cow", 5, 5);
+        place("cow", 5, 6);
+        Herbivore loner = place("cow", 5, 8);
+        assertEquals(2, herds.getHerds().size());
+
+        moveTo(loner, 5, 7);
+        assertEquals(3, herds.getHerd(leader).size());
+        assertSame(leader, herds.getHerd(loner).getLeader());
+        assertTrue(herds.isFollower(loner));
+        assertFalse(herds.isFollower(leader));
+    }
+
+    @Test
+    public void testRemoveAnimal() {
+        Herbivore a = place("cow", 2, 2);
+        Herbivore b = place("cow", 2, 3);
+        herds.removeAnimal(a);
+        assertNull(herds.getHerd(a));
+        assertNull(herds.getAnimalAt(2, 2));
+        assertEquals(1, herds.getHerd(b).size());
+        assertSame(b, herds.getHerd(b).getLeader());
+    }
+
+    @Test
+    public void testPlanMoveMovesWholeHerd() {
+        Herbivore leader = place("cow", 5, 5);
+        Herbivore follower = place("cow", 5, 4);
+        Herbivore last = place("cow", 5, 3);
+        AnimalGroup herd = herds.getHerd(leader);
+
+        assertEquals(3, herd.planMove(new Coordinate(5, 6), grid));
+        assertSame(leader, herd.getPlannedAnimal(0));
+        assertEquals(new Coordinate(5, 6), herd.getPlannedCell(0));
+        assertSame(follower, herd.getPlannedAnimal(1));
+        assertEquals(new Coordinate(5, 5), herd.getPlannedCell(1));
+        assertSame(last, herd.getPlannedAnimal(2));
+        assertEquals(new Coordinate(5, 4), herd.getPlannedCell(2));
+
+        // The plan is rebuilt from scratch, without cells left claimed by the last one
+        assertEquals(3, herd.planMove(new Coordinate(5, 6), grid));
+        assertEquals(new Coordinate(5, 4), herd.getPlannedCell(2));
+    }
+
+    @Test
+    public void testPlanMoveBlockedLeader() {
+        Herbivore leader = place("cow", 5, 5);
+        place("cow", 5, 4);
+        grid.setCellType(5, 6, 'w');
+        assertEquals(0, herds.getHerd(leader).planMove(new Coordinate(5, 6), grid));
+    }
+
+    @Test
+    public void testDetachStragglers() {
+        Herbivore leader = place("cow", 5, 5);
+        Herbivore straggler = place("cow", 5, 4);
+        straggler.move(new Coordinate(5, 0));
+
+        herds.detachStragglers(herds.getHerd(leader));
+        assertNotSame(herds.getHerd(leader), herds.getHerd(straggler));
+        assertEquals(2, herds.getHerds().size());
+    }
+}
@@ -0,0 +1,130 @@
+package my.company.my.safarigame.tests;
+
+import java.util.Collections;
+import java.util.List;
+import my.company.my.safarigame.model.Coordinate;
+import my.company.my.safarigame.model.FlowField;
+import my.company.my.safarigame.model.Grid;
+import my.company.my.safarigame.model.HierarchicalPathfinder;
+import my.company.my.safarigame.model.MovementClass;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class HierarchicalPathfinderTest {
+
+    /**
+     * Lays a winding road: along every fourth row, joined at alternating ends.
+     */
+    private Grid windingRoad(int size) {
+        Grid grid = new Grid(size, size, 48);
+        for (int r = 0; r < size; r += 4) {
+            for (int c = 0; c < size; c++) {
+                grid.setCellType(r, c, 'r');
+            }
+            if (r + 4 < size) {
+                int c = (r / 4) % 2 == 0 ? size - 1 : 0;
+                for (int i = 1; i < 4; i++) {
+                    grid.setCellType(r + i, c, '|');
+                }
+            }
+        }
+        return grid;
+    }
+
+    private void assertWalkable(Grid grid, MovementClass movementClass, List<Coordinate> path) {
+        for (int i = 0; i < path.size(); i++) {
+            Coordinate cell = path.get(i);
+            assertTrue(movementClass.canEnter(grid.getCellType(cell.getX(), cell.getY())));
+            if (i > 0) {
+                int dr = Math.abs(cell.getX() - path.get(i - 1).getX());
+                int dc = Math.abs(cell.getY() - path.get(i - 1).getY());
+                int limit = movementClass.allowsDiagonal() ? 1 : 0;
+                assertTrue(dr + dc >= 1 && dr <= 1 && dc <= 1 && Math.min(dr, dc) <= limit);
+            }
+        }
+    }
+
+    @Test
+    public void testRouteFollowsWindingRoad() {
+        Grid grid = windingRoad(40);
+        HierarchicalPathfinder pathfinder = new HierarchicalPathfinder(grid, MovementClass.JEEP, 8);
+        Coordinate start = Coordinate.of(0, 0);
+        Coordinate end = Coordinate.of(36, 39);
+
+        List<Coordinate> path = pathfinder.findPath(start, end);
+        assertEquals(start, path.get(0));
+        assertEquals(end, path.get(path.size() - 1));
+        assertWalkable(grid, MovementClass.JEEP, path);
+
+        // The road leaves no choice, so the route is the shortest one
+        FlowField field = new FlowField(grid, MovementClass.JEEP, Collections.singletonList(end));
+        assertEquals(field.getDistance(0, 0) + 1, path.size());
+    }
+
+    @Test
+    public void testBrokenRoadIsRepaired() {
+        Grid grid = windingRoad(40);
+        HierarchicalPathfinder pathfinder = new HierarchicalPathfinder(grid, MovementClass.JEEP, 8);
+        Coordinate start = Coordinate.of(0, 0);
+        Coordinate end = Coordinate.of(36, 39);
+        assertFalse(pathfinder.findPath(start, end).isEmpty());
+
+        grid.clearCell(20, 17);
+        assertTrue(pathfinder.findPath(start, end).isEmpty());
+
+        grid.setCellType(20, 17, 'r');
+        List<Coordinate> path = pathfinder.findPath(start, end);
+        assertFalse(path.isEmpty());
+        assertTrue(path.contains(Coordinate.of(20, 17)));
+    }
+
+    @Test
+    public void testOnlyChangedClusterIsRebuilt() {
+        Grid grid = new Grid(40, 40, 48);
+        HierarchicalPathfinder pathfinder = new HierarchicalPathfinder(grid, MovementClass.ANIMAL, 8);
+        assertFalse(pathfinder.findPath(Coordinate.of(1, 1), Coordinate.of(38, 38)).isEmpty());
+        int built = pathfinder.getBuildCount();
+
+        // An obstacle inside a cluster leaves its entrances where they are
+        grid.setCellType(3, 3, 'w');
+        List<Coordinate> path = pathfinder.findPath(Coordinate.of(1, 1), Coordinate.of(38, 38));
+        assertFalse(path.contains(Coordinate.of(3, 3)));
+        assertEquals(built + 1, pathfinder.getBuildCount());
+    }
+
+    @Test
+    public void testLongRouteSearchesFewNodes() {
+        Grid grid = new Grid(256, 256, 48);
+        for (int r = 10; r < 250; r++) {
+            grid.setCellType(r, 128, 'w');
+        }
+        HierarchicalPathfinder pathfinder = new HierarchicalPathfinder(grid, MovementClass.ANIMAL, 32);
+        Coordinate start = Coordinate.of(200, 5);
+        Coordinate end = Coordinate.of(200, 250);
+
+        List<Coordinate> path = pathfinder.findPath(start, end);
+        assertWalkable(grid, MovementClass.ANIMAL, path);
+        assertEquals(end, path.get(path.size() - 1));
+
+        FlowField field = new FlowField(grid, MovementClass.ANIMAL, Collections.singletonList(end));
+        int shortest = field.getDistance(200, 5) + 1;
+        assertTrue(path.size() >= shortest);
+        assertTrue(path.size() <= shortest * 1.2);
+        assertTrue(pathfinder.getLastExpandedCount() < 500);
+    }
+
+    @Test
+    public void testUnreachableTarget() {
+        Grid grid = new Grid(20, 20, 48);
+        for (int c = 0; c < 20; c++) {
+            grid.setCellType(10, c, 'w');
+        }
+        HierarchicalPathfinder pathfinder = new HierarchicalPathfinder(grid, MovementClass.ANIMAL, 8);
+        assertTrue(pathfinder.findPath(Coordinate.of(0, 0), Coordinate.of(19, 19)).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testClusterSizeMustBeAtLeastTwo() {
+        new HierarchicalPathfinder(new Grid(10, 10, 48), MovementClass.ANIMAL, 1);
+    }
+}
@@ -0,0 +1,177 @@
+package my.company.my.safarigame.tests;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import my.company.my.safarigame.model.Coordinate;
+import my.company.my.safarigame.model.Grid;
+import my.company.my.safarigame.model.JumpPointSearch;
+import my.company.my.safarigame.model.MovementClass;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class JumpPointSearchTest {
+
+    /**
+     * Plain A* over every cell with the same costs, for comparison.
+     *
+     * @return The cost of the shortest path and the number of nodes expanded
+     */
+    private int[] plainAStar(Grid grid, Coordinate from, Coordinate to) {
+        int cols = grid.getColumns();
+        int goal = to.getX() * cols + to.getY();
+        Map<Integer, Integer> cost = new HashMap<>();
+        PriorityQueue<int[]> open = new PriorityQueue<>(Comparator.comparingInt((int[] e) -> e[0]));
+        int start = from.getX() * cols + from.getY();
+        cost.put(start, 0);
+        open.add(new int[]{octile(from.getX(), from.getY(), to.getX(), to.getY()), start});
+        int expanded = 0;
+        while (!open.isEmpty()) {
+            int[] entry = open.poll();
+            int node = entry[1];
+            int row = node / cols;
+            int col = node % cols;
+            int g = cost.get(node);
+            if (entry[0] > g + octile(row, col, to.getX(), to.getY())) {
+                continue;
+            }
+            if (node == goal) {
+                return new int[]{g, expanded};
+            }
+            expanded++;
+            for (int dr = -1; dr <= 1; dr++) {
+                for (int dc = -1; dc <= 1; dc++) {
+                    int nr = row + dr;
+                    int nc = col + dc;
+                    if ((dr == 0 && dc == 0) || nr < 0 || nr >= grid.getRows() || nc < 0 || nc >= cols
+                            || !MovementClass.ANIMAL.canEnter(grid.getCellType(nr, nc))) {
+                        continue;
+                    }
+                    int next = g + (dr != 0 && dc != 0 ? 14 : 10);
+                    Integer known = cost.get(nr * cols + nc);
+                    if (known == null || next < known) {
+                        cost.put(nr * cols + nc, next);
+                        open.add(new int[]{next + octile(nr, nc, to.getX(), to.getY()), nr * cols + nc});
+                    }
+                }
+            }
+        }
+        return new int[]{-1, expanded};
+    }
+
+    private static int octile(int r1, int c1, int r2, int c2) {
+        int dr = Math.abs(r1 - r2);
+        int dc = Math.abs(c1 - c2);
+        return 14 * Math.min(dr, dc) + 10 * Math.abs(dr - dc);
+    }
+
+    private static int pathCost(List<Coordinate> path) {
+        int cost = 0;
+        for (int i = 1; i < path.size(); i++) {
+            boolean diagonal = path.get(i).getX() != path.get(i - 1).getX()
+                    && path.get(i).getY() != path.get(i - 1).getY();
+            cost += diagonal ? 14 : 10;
+        }
+        return cost;
+    }
+
+    private void assertWalkable(Grid grid, List<Coordinate> path) {
+        for (int i = 0; i < path.size(); i++) {
+            Coordinate cell = path.get(i);
+            assertTrue(MovementClass.ANIMAL.canEnter(grid.getCellType(cell.getX(), cell.getY())));
+            if (i > 0) {
+                int dr = Math.abs(cell.getX() - path.get(i - 1).getX());
+                int dc = Math.abs(cell.getY() - path.get(i - 1).getY());
+                assertTrue(Math.max(dr, dc) == 1);
+            }
+        }
+    }
+
+    @Test
+    public void testStraightLineOnOpenGrass() {
+        Grid grid = new Grid(30, 30, 48);
+        JumpPointSearch search = new JumpPointSearch(grid, MovementClass.ANIMAL);
+        List<Coordinate> path = search.findPath(Coordinate.of(2, 2), Coordinate.of(12, 27));
+
+        assertEquals(26, path.size());
+        assertEquals(Coordinate.of(12, 27), path.get(path.size() - 1));
+        assertWalkable(grid, path);
+        assertEquals(14 * 10 + 10 * 15, pathCost(path));
+    }
+
+    @Test
+    public void testPathGoesAroundWall() {
+        Grid grid = new Grid(30, 30, 48);
+        for (int r = 0; r < 25; r++) {
+            grid.setCellType(r, 15, 'w');
+        }
+        JumpPointSearch search = new JumpPointSearch(grid, MovementClass.ANIMAL);
+        Coordinate from = Coordinate.of(5, 5);
+        Coordinate to = Coordinate.of(5, 25);
+
+        List<Coordinate> path = search.findPath(from, to);
+        assertWalkable(grid, path);
+        assertEquals(plainAStar(grid, from, to)[0], pathCost(path));
+    }
+
+    @Test
+    public void testFollowsTerrainChanges() {
+        Grid grid = new Grid(40, 150, 48);
+        JumpPointSearch search = new JumpPointSearch(grid, MovementClass.ANIMAL);
+        Coordinate from = Coordinate.of(20, 3);
+        Coordinate to = Coordinate.of(20, 146);
+        assertEquals(144, search.findPath(from, to).size());
+
+        // A wall placed afterwards, across a 64-column boundary from both ends
+        for (int r = 5; r < 40; r++) {
+            grid.setCellType(r, 64, 'w');
+            grid.setCellType(r, 127, 'w');
+        }
+        List<Coordinate> path = search.findPath(from, to);
+        assertWalkable(grid, path);
+        assertEquals(plainAStar(grid, from, to)[0], pathCost(path));
+    }
+
+    @Test
+    public void testExpandsFarFewerNodesThanPlainAStar() {
+        Grid grid = new Grid(200, 200, 48);
+        // A cup open to the south, between the start and the target
+        for (int c = 60; c <= 140; c++) {
+            grid.setCellType(140, c, 'w');
+        }
+        for (int r = 60; r <= 140; r++) {
+            grid.setCellType(r, 60, 'w');
+            grid.setCellType(r, 140, 'w');
+        }
+        JumpPointSearch search = new JumpPointSearch(grid, MovementClass.ANIMAL);
+        Coordinate from = Coordinate.of(100, 100);
+        Coordinate to = Coordinate.of(190, 100);
+
+        List<Coordinate> path = search.findPath(from, to);
+        int[] plain = plainAStar(grid, from, to);
+        assertWalkable(grid, path);
+        assertEquals(plain[0], pathCost(path));
+        assertTrue(search.getLastExpandedCount() * 10 < plain[1]);
+    }
+
+    @Test
+    public void testEnclosedTargetHasNoPath() {
+        Grid grid = new Grid(20, 20, 48);
+        for (int dr = -1; dr <= 1; dr++) {
+            for (int dc = -1; dc <= 1; dc++) {
+                if (dr != 0 || dc != 0) {
+                    grid.setCellType(10 + dr, 10 + dc, 'w');
+                }
+            }
+        }
+        JumpPointSearch search = new JumpPointSearch(grid, MovementClass.ANIMAL);
+        assertTrue(search.findPath(Coordinate.of(0, 0), Coordinate.of(10, 10)).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNeedsDiagonalMoves() {
+        new JumpPointSearch(new Grid(10, 10, 48), MovementClass.JEEP);
+    }
+}
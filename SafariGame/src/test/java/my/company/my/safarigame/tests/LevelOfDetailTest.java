@@ -0,0 +1,128 @@
+package my.company.my.safarigame.tests;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import my.company.my.safarigame.batch.HeadlessSimulation;
+import my.company.my.safarigame.batch.SimulationResult;
+import my.company.my.safarigame.model.Animal;
+import my.company.my.safarigame.model.AnimalGroup;
+import my.company.my.safarigame.model.AnimalStepper;
+import my.company.my.safarigame.model.Coordinate;
+import my.company.my.safarigame.model.Herbivore;
+import my.company.my.safarigame.model.Jeep;
+import my.company.my.safarigame.model.LevelOfDetail;
+import my.company.my.safarigame.model.SafariGameModel;
+import my.company.my.safarigame.model.SafariMap;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LevelOfDetailTest {
+
+    private SafariMap map;
+    private LevelOfDetail lod;
+    private Animal cow;
+
+    @Before
+    public void setUp() {
+        map = new SafariMap("/grids/grid1.txt", 48);
+        lod = map.getLevelOfDetail();
+        cow = new Herbivore(new Coordinate(30, 30), "cow");
+        map.addLandscapeObject(cow);
+    }
+
+    @Test
+    public void testEveryAnimalIsDetailedWhileDisabled() {
+        assertFalse(lod.isEnabled());
+        assertTrue(lod.isDetailed(cow, map));
+    }
+
+    @Test
+    public void testViewportAndObserversKeepDetail() {
+        lod.setEnabled(true);
+        assertFalse(lod.isDetailed(cow, map));
+
+        lod.setViewport(25, 25, 31, 31);
+        assertTrue(lod.isDetailed(cow, map));
+        lod.setViewport(25, 25, 30, 30);
+        assertFalse(lod.isDetailed(cow, map));
+
+        map.addJeep(new Jeep(new Coordinate(30 + LevelOfDetail.OBSERVER_RADIUS, 30)));
+        assertTrue(lod.isDetailed(cow, map));
+    }
+
+    @Test
+    public void testCoarseTurnOncePerStride() {
+        int turns = 0;
+        for (long step = 0; step < 10L * LevelOfDetail.STRIDE; step++) {
+            if (LevelOfDetail.isCoarseTurn(cow, step)) {
+                turns++;
+            }
+        }
+        assertEquals(10, turns);
+    }
+
+    @Test
+    public void testStepperTakesCoarseTurnsOncePerStride() {
+        SafariGameModel model = new SafariGameModel("/grids/grid1.txt");
+        model.reseed(1);
+        SafariMap gameMap = model.getMap();
+        gameMap.getLevelOfDetail().setEnabled(true);
+        Animal deer = new Herbivore(new Coordinate(30, 30), "deer");
+        gameMap.addLandscapeObject(deer);
+        AnimalStepper stepper = new AnimalStepper(model);
+
+        int turns = 0;
+        for (long step = 0; step < 3L * LevelOfDetail.STRIDE; step++) {
+            boolean coarseTurn = LevelOfDetail.isCoarseTurn(deer, step);
+            assertEquals(coarseTurn, stepper.step(deer, step));
+            if (coarseTurn) {
+                turns++;
+                // A coarse turn ages the animal by the whole stride
+                assertEquals(turns * LevelOfDetail.STRIDE, deer.getAge());
+            }
+        }
+        assertEquals(3, turns);
+        assertEquals(3, stepper.getCoarseSteps());
+    }
+
+    @Test
+    public void testCoarseRunMatchesFullRun() {
+        Map<String, Integer> purchases = new LinkedHashMap<>();
+        purchases.put("pond", 2);
+        purchases.put("bush", 6);
+        purchases.put("cow", 4);
+        purchases.put("deer", 4);
+        purchases.put("lion", 1);
+        purchases.put("wolf", 1);
+
+        // Compare the animals alive of each kind, summed over the samples of several seeds
+        double[] full = new double[2];
+        double[] coarse = new double[2];
+        long coarseSteps = 0;
+        boolean herded = false;
+        for (long seed = 100; seed < 120; seed++) {
+            addAnimalTicks(new HeadlessSimulation("/grids/grid1.txt", "easy", 1, 0, purchases, seed), full);
+
+            HeadlessSimulation simulation = new HeadlessSimulation("/grids/grid1.txt", "easy", 1, 0, purchases, seed);
+            simulation.setLevelOfDetail(true);
+            addAnimalTicks(simulation, coarse);
+            coarseSteps += simulation.getCoarseSteps();
+            for (AnimalGroup herd : simulation.getModel().getMap().getHerds().getHerds()) {
+                herded |= herd.size() > 1;
+            }
+        }
+        assertTrue(coarseSteps > 0);
+        // The coarse turns moved herds, not just lone animals
+        assertTrue(herded);
+        assertEquals("herbivores", 1.0, coarse[0] / full[0], 0.1);
+        assertEquals("carnivores", 1.0, coarse[1] / full[1], 0.1);
+    }
+
+    private static void addAnimalTicks(HeadlessSimulation simulation, double[] sums) {
+        for (SimulationResult.Sample sample : simulation.run(12, 1).getSamples()) {
+            sums[0] += sample.herbivores;
+            sums[1] += sample.carnivores;
+        }
+    }
+}
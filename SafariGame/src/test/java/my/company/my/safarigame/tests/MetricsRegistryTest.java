@@ -0,0 +1,130 @@
+package my.company.my.safarigame.tests;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import my.company.my.safarigame.metrics.LatencyHistogram;
+import my.company.my.safarigame.metrics.MetricsRegistry;
+import my.company.my.safarigame.metrics.MetricsReporter;
+import my.company.my.safarigame.metrics.SampleRing;
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MetricsRegistryTest {
+
+    private MetricsRegistry registry;
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        registry = new MetricsRegistry();
+        file = File.createTempFile("metrics", ".csv");
+        file.delete();
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Test
+    public void testHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1000000, histogram.getMax());
+        long p50 = histogram.getValueAtPercentile(50);
+        long p99 = histogram.getValueAtPercentile(99);
+        assertTrue(Math.abs(p50 - 500000) <= 500000 / 16);
+        assertTrue(Math.abs(p99 - 990000) <= 990000 / 16);
+        assertEquals(1000000, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(3);
+        histogram.record(7);
+        assertEquals(3, histogram.getValueAtPercentile(50));
+        assertEquals(7, histogram.getValueAtPercentile(99));
+    }
+
+    @Test
+    public void testSnapshot() {
+        registry.counter("market.buy").increment();
+        registry.counter("market.buy").add(2);
+        registry.gauge("entities.jeeps", () -> 4);
+        registry.histogram("tick.time").record(2000000);
+
+        Map<String, Number> snapshot = registry.snapshot();
+        assertEquals(3L, snapshot.get("market.buy"));
+        assertEquals(4L, snapshot.get("entities.jeeps"));
+        assertEquals(1L, snapshot.get("tick.time.count"));
+        assertTrue(snapshot.get("tick.time.max_us").longValue() >= 1999);
+    }
+
+    @Test
+    public void testCsvReportWritesHeaderOnce() throws IOException {
+        registry.counter("tick.count").increment();
+        MetricsReporter reporter = new MetricsReporter(registry, file, MetricsReporter.Format.CSV);
+        reporter.report(1);
+        reporter.report(2);
+        reporter.close();
+
+        List<String> lines = Files.readAllLines(file.toPath());
+        assertEquals(3, lines.size());
+        assertEquals("timestamp,tick,tick.count", lines.get(0));
+        assertTrue(lines.get(2).endsWith(",2,1"));
+    }
+
+    @Test
+    public void testCsvColumnsStayFixed() throws IOException {
+        Files.write(file.toPath(), "left over\n".getBytes());
+        registry.counter("tick.count").increment();
+        MetricsReporter reporter = new MetricsReporter(registry, file, MetricsReporter.Format.CSV);
+        reporter.report(1);
+        registry.counter("path.flowfield.build").increment();
+        reporter.report(2);
+        reporter.close();
+
+        List<String> lines = Files.readAllLines(file.toPath());
+        assertEquals(3, lines.size());
+        assertEquals("timestamp,tick,tick.count", lines.get(0));
+        for (String line : lines.subList(1, 3)) {
+            assertEquals(3, line.split(",").length);
+        }
+    }
+
+    @Test
+    public void testJsonReport() throws IOException {
+        registry.counter("market.sell").increment();
+        MetricsReporter reporter = new MetricsReporter(registry, file, MetricsReporter.Format.JSON);
+        reporter.report(7);
+        reporter.close();
+
+        List<String> lines = Files.readAllLines(file.toPath());
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).contains("\"tick\":7"));
+        assertTrue(lines.get(0).endsWith("\"market.sell\":1}"));
+    }
+
+    @Test
+    public void testSampleRingKeepsNewestSamples() {
+        SampleRing ring = new SampleRing(3);
+        for (int i = 1; i <= 5; i++) {
+            ring.add(i);
+        }
+        assertEquals(3, ring.size());
+        assertEquals(3, ring.get(0));
+        assertEquals(5, ring.get(2));
+        assertEquals(5, ring.getLatest());
+        assertEquals(5, ring.getMax());
+        assertEquals(4.0, ring.getMean(), 0.001);
+    }
+}
@@ -0,0 +1,118 @@
+package my.company.my.safarigame.tests;
+
+import java.util.Collections;
+import java.util.List;
+import my.company.my.safarigame.model.Coordinate;
+import my.company.my.safarigame.model.Grid;
+import my.company.my.safarigame.model.MovementClass;
+import my.company.my.safarigame.model.PathCache;
+import my.company.my.safarigame.model.SafariMap;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PathCacheTest {
+
+    private Grid grid;
+    private PathCache cache;
+    private int searches;
+
+    @Before
+    public void setUp() {
+        grid = new Grid(10, 10, 48);
+        cache = new PathCache(2);
+        searches = 0;
+    }
+
+    private List<Coordinate> get(int toRow, int toCol) {
+        return cache.getPath(grid, MovementClass.ANIMAL, Coordinate.of(0, 0), Coordinate.of(toRow, toCol), () -> {
+            searches++;
+            return Collections.singletonList(Coordinate.of(toRow, toCol));
+        });
+    }
+
+    @Test
+    public void testRepeatedRouteIsHit() {
+        List<Coordinate> first = get(5, 5);
+        assertSame(first, get(5, 5));
+        assertEquals(1, searches);
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() {
+        get(1, 1);
+        get(2, 2);
+        get(1, 1);
+        get(3, 3);
+        assertEquals(1, cache.getEvictions());
+        assertEquals(2, cache.size());
+
+        get(1, 1);
+        assertEquals(3, searches);
+        get(2, 2);
+        assertEquals(4, searches);
+    }
+
+    @Test
+    public void testTerrainChangeInvalidates() {
+        get(5, 5);
+        grid.setCellType(3, 3, 'w');
+        get(5, 5);
+        assertEquals(2, searches);
+        assertEquals(1, cache.getInvalidations());
+
+        // Animals walking across grass leave cached routes alone
+        grid.setCellType(4, 4, 'c');
+        get(5, 5);
+        assertEquals(2, searches);
+    }
+
+    @Test
+    public void testJeepRoutesOutlivePlantChanges() {
+        List<Coordinate> route = cache.getPath(grid, MovementClass.JEEP, Coordinate.of(0, 0), Coordinate.of(0, 5),
+                () -> {
+                    searches++;
+                    return Collections.singletonList(Coordinate.of(0, 5));
+                });
+        get(5, 5);
+
+        // A plant grown and eaten changes the ground for animals only
+        grid.setCellType(3, 3, 'b');
+        grid.clearCell(3, 3);
+        assertSame(route, cache.getPath(grid, MovementClass.JEEP, Coordinate.of(0, 0), Coordinate.of(0, 5),
+                Collections::emptyList));
+        get(5, 5);
+        assertEquals(3, searches);
+
+        // A road curve closes a cell to jeeps, but was never open to animals
+        grid.setCellType(0, 3, 'r');
+        long animalVersion = grid.getTerrainVersion(MovementClass.ANIMAL);
+        grid.setCellType(0, 3, '1');
+        assertEquals(animalVersion, grid.getTerrainVersion(MovementClass.ANIMAL));
+        assertNotSame(route, cache.getPath(grid, MovementClass.JEEP, Coordinate.of(0, 0), Coordinate.of(0, 5),
+                Collections::emptyList));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testCachedRoutesCannotBeChanged() {
+        get(5, 5).clear();
+    }
+
+    @Test
+    public void testMapRoutesGoThroughCache() {
+        SafariMap map = new SafariMap("/grids/grid1.txt", 48);
+        Coordinate from = Coordinate.of(2, 2);
+        Coordinate to = Coordinate.of(2, 8);
+        List<Coordinate> route = map.findPath(MovementClass.ANIMAL, from, to);
+        assertEquals(7, route.size());
+        assertSame(route, map.findPath(MovementClass.ANIMAL, from, to));
+        assertEquals(1, map.getPathCache().getHits());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCapacityMustBePositive() {
+        new PathCache(0);
+    }
+}
@@ -0,0 +1,161 @@
+package my.company.my.safarigame.tests;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Collections;
+import java.util.List;
+import my.company.my.safarigame.batch.HeadlessSimulation;
+import my.company.my.safarigame.model.Coordinate;
+import my.company.my.safarigame.model.Herbivore;
+import my.company.my.safarigame.model.Plant;
+import my.company.my.safarigame.model.Road;
+import my.company.my.safarigame.model.WaterArea;
+import my.company.my.safarigame.replay.Keyframe;
+import my.company.my.safarigame.replay.ReplayEvent;
+import my.company.my.safarigame.replay.ReplayLog;
+import my.company.my.safarigame.replay.ReplayPlayer;
+import my.company.my.safarigame.replay.ReplayRecorder;
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ReplayTest {
+
+    private File file;
+    private HeadlessSimulation simulation;
+    private ReplayRecorder recorder;
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("game", ".replay");
+        simulation = new HeadlessSimulation("/grids/grid1.txt", "easy", 2, 0, Collections.emptyMap(), 3);
+        recorder = new ReplayRecorder(file, simulation.getModel(), 99);
+        simulation.getModel().getPlayer().setTradeListener(recorder);
+    }
+
+    @After
+    public void tearDown() {
+        recorder.close();
+        file.delete();
+    }
+
+    /**
+     * Plays a short game: a pond and a bush are placed, a road is bought and
+     * sold, the speed changes and the bush is removed again.
+     */
+    private void recordGame() {
+        WaterArea pond = new WaterArea(new Coordinate(0, 0), 100.0);
+        simulation.buy(pond);
+        simulation.placeItem(pond, 20, 20);
+        recorder.recordPlace(pond, 20, 20);
+
+        Plant bush = new Plant(new Coordinate(0, 0), "bush", 100.0);
+        simulation.buy(bush);
+        simulation.placeItem(bush, 21, 25);
+        recorder.recordPlace(bush, 21, 25);
+
+        simulation.buy(new Road(new Coordinate(0, 0), 1.0, 50, "vertical"));
+        runTicks(30);
+        simulation.sell(new Road(new Coordinate(0, 0), 1.0, 50, "vertical"));
+        simulation.setGameSpeed(1);
+        recorder.recordSpeed(1);
+        runTicks(30);
+        simulation.removeItemAt(21, 25);
+        recorder.recordRemove(21, 25);
+        recorder.close();
+    }
+
+    private void runTicks(int ticks) {
+        long target = simulation.getModel().getTick() + ticks;
+        while (simulation.getModel().getTick() < target) {
+            if (simulation.step()) {
+                recorder.onTick();
+            }
+        }
+    }
+
+    @Test
+    public void testRecordedEventsAreReadBack() throws IOException {
+        recordGame();
+        ReplayLog log = ReplayLog.read(file);
+
+        assertEquals(99, log.getSeed());
+        assertEquals("easy", log.getDifficulty());
+        List<ReplayEvent> events = log.getEvents();
+        assertEquals(8, events.size());
+        assertEquals(ReplayEvent.Type.BUY, events.get(0).getType());
+        assertEquals(ReplayEvent.Type.PLACE, events.get(1).getType());
+        assertEquals(20, events.get(1).getRow());
+        assertEquals("bush", events.get(3).getItem().getDescription());
+        assertEquals(ReplayEvent.Type.SELL, events.get(5).getType());
+        assertEquals(30, events.get(5).getTick());
+        assertEquals(1, events.get(6).getGameSpeed());
+        assertEquals(ReplayEvent.Type.REMOVE, events.get(7).getType());
+        assertEquals(60, events.get(7).getTick());
+    }
+
+    @Test
+    public void testKeyframes() throws IOException {
+        recordGame();
+        ReplayLog log = ReplayLog.read(file);
+
+        assertEquals(2, log.getKeyframes().size());
+        Keyframe keyframe = log.getKeyframeAtOrBefore(55);
+        assertEquals(50, keyframe.getTick());
+        assertEquals(7, keyframe.getEventIndex());
+        assertEquals('P', keyframe.getCellType(20, 20));
+        assertEquals(0, log.getKeyframeAtOrBefore(10).getTick());
+    }
+
+    @Test
+    public void testHeadlessReplayReproducesPlayerActions() throws IOException {
+        recordGame();
+        double capital = simulation.getModel().getPlayer().getCapital();
+        ReplayPlayer player = new ReplayPlayer(ReplayLog.read(file));
+        player.seek(60);
+
+        HeadlessSimulation replayed = player.getSimulation();
+        assertEquals(60, replayed.getModel().getTick());
+        assertEquals(0, player.getSkippedEvents());
+        assertEquals(capital, replayed.getModel().getPlayer().getCapital(), 0.001);
+        assertEquals(1, replayed.getModel().getGameSpeed());
+        assertEquals('P', replayed.getModel().getMap().getGrid().getCellType(20, 20));
+        assertEquals('-', replayed.getModel().getMap().getGrid().getCellType(21, 25));
+        assertEquals(1, replayed.getModel().getPlayer().getInventory().size());
+
+        // Seeking back restarts from the initial snapshot
+        player.seek(5);
+        assertEquals(5, player.getSimulation().getModel().getTick());
+        assertEquals(5, player.getEventIndex());
+        assertEquals('b', player.getSimulation().getModel().getMap().getGrid().getCellType(21, 25));
+    }
+
+    @Test
+    public void testTruncatedReplayKeepsCompleteRecords() throws IOException {
+        recordGame();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 4);
+        }
+        ReplayLog log = ReplayLog.read(file);
+        assertFalse(log.getKeyframes().isEmpty());
+        assertTrue(log.getEvents().size() <= 8);
+    }
+
+    @Test(expected = IOException.class)
+    public void testOtherFilesAreRejected() throws IOException {
+        recorder.close();
+        java.nio.file.Files.write(file.toPath(), new byte[] {1, 2, 3, 4});
+        ReplayLog.read(file);
+    }
+
+    @Test
+    public void testRecordedHerbivoreKeepsItsSpecies() throws IOException {
+        simulation.buy(new Herbivore(new Coordinate(0, 0), "Cow"));
+        recorder.close();
+        ReplayEvent buy = ReplayLog.read(file).getEvents().get(0);
+        assertTrue(buy.getItem() instanceof Herbivore);
+        assertEquals("Cow", buy.getItem().getDescription());
+    }
+}
@@ -44,4 +44,18 @@ public class SafariGameModelTest {
         model.setPlayer("John");
         assertEquals("John", model.getPlayer().getName());
     }
+
+    @Test
+    public void testReseedRepeatsRandomChoices() {
+        model.reseed(42);
+        int[] first = new int[20];
+        for (int i = 0; i < first.length; i++) {
+            first[i] = model.getRandom().nextInt(4);
+        }
+        model.reseed(42);
+        for (int i = 0; i < first.length; i++) {
+            assertEquals(first[i], model.getRandom().nextInt(4));
+        }
+        assertEquals(42, model.getSeed());
+    }
 }
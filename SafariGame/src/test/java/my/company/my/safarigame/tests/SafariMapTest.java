@@ -1,6 +1,9 @@
 package my.company.my.safarigame.tests;
 
+import java.util.ArrayList;
+import java.util.List;
 import my.company.my.safarigame.model.Coordinate;
+import my.company.my.safarigame.model.Herbivore;
 import my.company.my.safarigame.model.Plant;
 import my.company.my.safarigame.model.SafariMap;
 import my.company.my.safarigame.model.Jeep;
@@ -45,4 +48,34 @@ public class SafariMapTest {
         assertEquals(entrance, map.getEntrance());
         assertEquals(exit, map.getExit());
     }
+
+    @Test
+    public void testMovedAnimalIsFoundAtItsNewCell() {
+        Herbivore cow = new Herbivore(new Coordinate(10, 10), "Cow");
+        map.addLandscapeObject(cow);
+        assertSame(cow, map.getAnimalAt(10, 10));
+
+        cow.move(Coordinate.of(10, 11));
+        assertNull(map.getAnimalAt(10, 10));
+        assertSame(cow, map.getAnimalAt(10, 11));
+
+        map.removeLandscapeObject(cow);
+        assertNull(map.getAnimalAt(10, 11));
+        cow.setPosition(12, 12);
+        assertNull(map.getAnimalAt(12, 12));
+    }
+
+    @Test
+    public void testMovesMarkCellsDirty() {
+        Herbivore cow = new Herbivore(new Coordinate(10, 10), "Cow");
+        map.addLandscapeObject(cow);
+        map.drainDirtyCells(index -> { });
+
+        cow.setPosition(11, 10);
+        List<Integer> dirty = new ArrayList<>();
+        assertEquals(2, map.drainDirtyCells(dirty::add));
+        assertTrue(dirty.contains(map.getGrid().index(10, 10)));
+        assertTrue(dirty.contains(map.getGrid().index(11, 10)));
+        assertEquals(0, map.drainDirtyCells(index -> { }));
+    }
 }
@@ -0,0 +1,83 @@
+package my.company.my.safarigame.tests;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import my.company.my.safarigame.model.Animal;
+import my.company.my.safarigame.model.Carnivore;
+import my.company.my.safarigame.model.Coordinate;
+import my.company.my.safarigame.model.Herbivore;
+import my.company.my.safarigame.model.SafariMap;
+import my.company.my.safarigame.model.SpeciesDensity;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class SpeciesDensityTest {
+
+    @Test
+    public void testCountsWithinSquare() {
+        SpeciesDensity density = new SpeciesDensity(30, 30);
+        density.add(new Herbivore(new Coordinate(10, 10), "cow"));
+        density.add(new Herbivore(new Coordinate(12, 8), "cow"));
+        density.add(new Carnivore(new Coordinate(15, 15), "lion"));
+
+        assertEquals(2, density.countAnimals(10, 10, 2));
+        assertEquals(1, density.countSpecies(10, 10, 2));
+        assertEquals(3, density.countAnimals(10, 10, 5));
+        assertEquals(2, density.countSpecies(10, 10, 5));
+        assertEquals(0, density.countAnimals(0, 0, 3));
+    }
+
+    @Test
+    public void testSharedCellCountsOnce() {
+        SpeciesDensity density = new SpeciesDensity(10, 10);
+        Herbivore first = new Herbivore(new Coordinate(4, 4), "cow");
+        Herbivore second = new Herbivore(new Coordinate(4, 4), "cow");
+        density.add(first);
+        density.add(second);
+        assertEquals(1, density.countAnimals(4, 4, 0));
+
+        density.remove(first);
+        assertEquals(1, density.countAnimals(4, 4, 0));
+        density.remove(second);
+        assertEquals(0, density.countAnimals(4, 4, 0));
+        assertEquals(0, density.countSpecies(4, 4, 0));
+    }
+
+    @Test
+    public void testMovedAnimalIsCountedAtNewCell() {
+        SpeciesDensity density = new SpeciesDensity(20, 20);
+        Herbivore cow = new Herbivore(new Coordinate(2, 2), "cow");
+        density.add(cow);
+        Coordinate old = cow.getPosition();
+        cow.setPosition(18, 18);
+        density.move(cow, old);
+
+        assertEquals(0, density.countAnimals(2, 2, 3));
+        assertEquals(1, density.countAnimals(18, 18, 3));
+    }
+
+    @Test
+    public void testMapScoreMatchesScan() {
+        SafariMap map = new SafariMap("/grids/grid1.txt", 48);
+        Random random = new Random(7);
+        String[] species = {"cow", "goat", "sheep"};
+        List<Animal> animals = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            Animal animal = new Herbivore(new Coordinate(random.nextInt(50), random.nextInt(50)),
+                    species[random.nextInt(species.length)]);
+            map.addLandscapeObject(animal);
+            animals.add(animal);
+        }
+        for (int i = 0; i < 200; i++) {
+            animals.get(random.nextInt(animals.size())).setPosition(random.nextInt(50), random.nextInt(50));
+        }
+
+        for (int i = 0; i < 50; i++) {
+            int row = random.nextInt(50);
+            int col = random.nextInt(50);
+            int expected = SafariMap.calculateSatisfactionScore(map.getAnimalsNear(row, col, 10));
+            assertEquals(expected, map.getSatisfactionScore(row, col, 10));
+        }
+    }
+}
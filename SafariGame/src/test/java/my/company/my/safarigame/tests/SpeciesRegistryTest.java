@@ -0,0 +1,96 @@
+package my.company.my.safarigame.tests;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import my.company.my.safarigame.model.Animal;
+import my.company.my.safarigame.model.Carnivore;
+import my.company.my.safarigame.model.Coordinate;
+import my.company.my.safarigame.model.Herbivore;
+import my.company.my.safarigame.model.MovementClass;
+import my.company.my.safarigame.model.Species;
+import my.company.my.safarigame.model.SpeciesRegistry;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class SpeciesRegistryTest {
+
+    private static InputStream config(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testGameSpecies() {
+        SpeciesRegistry registry = SpeciesRegistry.getInstance();
+        assertEquals(4, registry.size());
+        assertEquals('c', registry.byName("Cow").getMapChar());
+        assertSame(registry.byName("lion"), registry.byChar('y'));
+        assertTrue(registry.isPrey('d'));
+        assertFalse(registry.isPrey('z'));
+        assertTrue(registry.isPredator('z'));
+        assertFalse(registry.isAnimal('-'));
+        assertFalse(registry.isAnimal('é'));
+        for (int id = 0; id < registry.size(); id++) {
+            assertEquals(id, registry.get(id).getId());
+            assertEquals(id, registry.idOf(registry.get(id).getName()));
+        }
+        assertEquals(Species.UNKNOWN, registry.idOf("unicorn"));
+    }
+
+    @Test
+    public void testAnimalsTakeTheirSpeciesData() {
+        Animal deer = new Herbivore(new Coordinate(1, 1), "deer");
+        Carnivore wolf = new Carnivore(new Coordinate(1, 2), "wolf");
+        assertEquals(SpeciesRegistry.getInstance().idOf("deer"), deer.getSpeciesId());
+        assertEquals(50.0, deer.getPrice(), 1e-9);
+        assertEquals(150.0, wolf.getPrice(), 1e-9);
+        assertEquals(20, wolf.getAttackPower());
+        assertEquals(7, wolf.getLifespan());
+
+        Animal stranger = new Herbivore(new Coordinate(1, 3), "unicorn");
+        assertEquals(Species.UNKNOWN, stranger.getSpeciesId());
+        assertNull(stranger.getSpecies());
+    }
+
+    @Test
+    public void testNewSpeciesFromConfig() throws IOException {
+        SpeciesRegistry registry = SpeciesRegistry.load(config(
+                "# name diet char speed lifespan attack price sprite\n"
+                + "\n"
+                + "zebra herbivore e 2 9 0 70 /tiles/deer.png\n"
+                + "hyena CARNIVORE x 1 6 12 120 /tiles/wolf.png\n"));
+        assertEquals(2, registry.size());
+        Species zebra = registry.byChar('e');
+        assertEquals("zebra", zebra.getName());
+        assertEquals(2, zebra.getSpeed());
+        assertEquals(9, zebra.getLifespan());
+        assertTrue(zebra.create(new Coordinate(0, 0)) instanceof Herbivore);
+        assertTrue(registry.byName("Hyena").create(new Coordinate(0, 0)) instanceof Carnivore);
+        assertEquals(12, registry.byName("hyena").getAttackPower());
+    }
+
+    @Test
+    public void testAnimalCellsAreWalkable() {
+        for (Species species : SpeciesRegistry.getInstance().getAll()) {
+            assertTrue(MovementClass.ANIMAL.canEnter(species.getMapChar()));
+            assertFalse(MovementClass.JEEP.canEnter(species.getMapChar()));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTerrainCharacterIsRejected() throws IOException {
+        SpeciesRegistry.load(config("hippo herbivore P 1 7 0 50 /tiles/cow.png\n"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDuplicateNameIsRejected() throws IOException {
+        SpeciesRegistry.load(config("cow herbivore c 1 7 0 50 /tiles/cow.png\n"
+                + "Cow herbivore k 1 7 0 50 /tiles/cow.png\n"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingFieldIsRejected() throws IOException {
+        SpeciesRegistry.load(config("cow herbivore c 1 7 0 50\n"));
+    }
+}
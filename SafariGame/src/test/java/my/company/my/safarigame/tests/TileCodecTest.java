@@ -0,0 +1,137 @@
+package my.company.my.safarigame.tests;
+
+import my.company.my.safarigame.model.Animal;
+import my.company.my.safarigame.model.Carnivore;
+import my.company.my.safarigame.model.Coordinate;
+import my.company.my.safarigame.model.Grid;
+import my.company.my.safarigame.model.Herbivore;
+import my.company.my.safarigame.model.Jeep;
+import my.company.my.safarigame.model.LandScapeObject;
+import my.company.my.safarigame.model.Plant;
+import my.company.my.safarigame.model.Ranger;
+import my.company.my.safarigame.model.Road;
+import my.company.my.safarigame.model.SafariMap;
+import my.company.my.safarigame.model.TileCodec;
+import my.company.my.safarigame.model.WaterArea;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TileCodecTest {
+
+    private TileCodec codec;
+    private SafariMap map;
+
+    @Before
+    public void setUp() {
+        codec = TileCodec.getInstance();
+        map = new SafariMap("/grids/grid1.txt", 48);
+    }
+
+    private LandScapeObject lastObject() {
+        return map.getLandscapeObjects().get(map.getLandscapeObjects().size() - 1);
+    }
+
+    @Test
+    public void testDecodeRowPlacesObjects() {
+        Grid grid = new Grid(4, 20, 48);
+        char[] tiles = "w-b|1PcyR".toCharArray();
+        int objects = map.getLandscapeObjects().size();
+        int rangers = map.getRangers().size();
+
+        codec.decodeRow(grid, map, 2, 5, tiles, tiles.length);
+        for (int i = 0; i < tiles.length; i++) {
+            assertEquals(tiles[i], grid.getCellType(2, 5 + i));
+            assertEquals(tiles[i] != '-', grid.isOccupied(2, 5 + i));
+        }
+        assertEquals(objects + 6, map.getLandscapeObjects().size());
+        assertEquals(rangers + 1, map.getRangers().size());
+        assertTrue(lastObject() instanceof Carnivore);
+        assertEquals(new Coordinate(2, 12), lastObject().getPosition());
+    }
+
+    @Test
+    public void testDecodeRowClipsAtGridEdge() {
+        Grid grid = new Grid(2, 4, 48);
+        char[] tiles = "wwwwww".toCharArray();
+        codec.decodeRow(grid, map, 1, 2, tiles, tiles.length);
+        assertEquals('w', grid.getCellType(1, 3));
+        assertEquals('-', grid.getCellType(1, 1));
+    }
+
+    @Test
+    public void testUnknownTileIsKeptButFree() {
+        Grid grid = new Grid(2, 2, 48);
+        int objects = map.getLandscapeObjects().size();
+        codec.decodeRow(grid, map, 0, 0, new char[] {'Q', '€'}, 2);
+        assertEquals('Q', grid.getCellType(0, 0));
+        assertFalse(grid.isOccupied(0, 0));
+        assertEquals('€', grid.getCellType(0, 1));
+        assertFalse(codec.isKnown('Q'));
+        assertFalse(codec.isOccupied('€'));
+        assertEquals(objects, map.getLandscapeObjects().size());
+    }
+
+    @Test
+    public void testEncodeRowRoundTrip() {
+        Grid grid = new Grid(3, 150, 48);
+        grid.setCellType(1, 0, 'w');
+        grid.setCellType(1, 70, 'P');
+        grid.setCellType(1, 149, 'b');
+
+        char[] tiles = new char[150];
+        assertEquals(150, codec.encodeRow(grid, 1, 0, 150, tiles));
+        assertEquals('w', tiles[0]);
+        assertEquals('P', tiles[70]);
+        assertEquals('b', tiles[149]);
+        assertEquals('-', tiles[100]);
+
+        char[] part = new char[10];
+        assertEquals(10, codec.encodeRow(grid, 1, 65, 75, part));
+        assertEquals('P', part[5]);
+        assertEquals('-', part[0]);
+    }
+
+    @Test
+    public void testEncodeRowOfUniformChunk() {
+        Grid grid = new Grid(70, 70, 48);
+        grid.fillChunk(0, 1, 'w');
+        char[] tiles = new char[70];
+        codec.encodeRow(grid, 5, 0, 70, tiles);
+        assertEquals('-', tiles[63]);
+        assertEquals('w', tiles[64]);
+        assertEquals('w', tiles[69]);
+        assertFalse(grid.isChunkMaterialized(0, 1));
+    }
+
+    @Test
+    public void testEncodeItems() {
+        Coordinate pos = new Coordinate(0, 0);
+        assertEquals('b', codec.encode(new Plant(pos, "Red Bush", 10.0)));
+        assertEquals('h', codec.encode(new Plant(pos, "shrub", 30.0)));
+        assertEquals('p', codec.encode(new Plant(pos, "fern", 20.0)));
+        assertEquals('1', codec.encode(new Road(pos, 1.0, 50.0, "rightDown")));
+        assertEquals('|', codec.encode(new Road(pos, 1.0, 50.0, "vertical")));
+        assertEquals('r', codec.encode(new Road(pos, 1.0, 50.0, "horizontal")));
+        assertEquals('P', codec.encode(new WaterArea(pos, 100.0)));
+        assertEquals('c', codec.encode(new Herbivore(pos, "cow")));
+        assertEquals('z', codec.encode(new Carnivore(pos, "wolf")));
+        assertEquals('R', codec.encode(new Ranger(pos)));
+        assertEquals('j', codec.encode(new Jeep(pos)));
+    }
+
+    @Test
+    public void testDecodedObjectsEncodeToTheirTiles() {
+        String row = "bph|r1234Pcdyz";
+        Grid grid = new Grid(1, row.length(), 48);
+        int objects = map.getLandscapeObjects().size();
+        codec.decodeRow(grid, map, 0, 0, row.toCharArray(), row.length());
+        for (int i = 0; i < row.length(); i++) {
+            LandScapeObject placed = map.getLandscapeObjects().get(objects + i);
+            assertEquals(row.charAt(i), codec.encode(placed));
+            if (placed instanceof Animal) {
+                assertEquals(row.charAt(i), ((Animal) placed).getSpecies().getMapChar());
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package my.company.my.safarigame.tests;
+
+import java.util.ArrayList;
+import java.util.List;
+import my.company.my.safarigame.model.Carnivore;
+import my.company.my.safarigame.model.Coordinate;
+import my.company.my.safarigame.model.Herbivore;
+import my.company.my.safarigame.model.TimingWheel;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TimingWheelTest {
+
+    private TimingWheel wheel;
+    private List<Long> fired;
+
+    @Before
+    public void setUp() {
+        wheel = new TimingWheel();
+        fired = new ArrayList<>();
+    }
+
+    private void scheduleAt(int delay) {
+        wheel.schedule(delay, () -> fired.add(wheel.getCurrentTick()));
+    }
+
+    @Test
+    public void testFiresOnDeadline() {
+        scheduleAt(3);
+        wheel.advanceTo(2);
+        assertTrue(fired.isEmpty());
+        wheel.advance();
+        assertEquals(1, fired.size());
+        assertEquals(3L, (long) fired.get(0));
+        assertEquals(0, wheel.getPendingCount());
+    }
+
+    @Test
+    public void testCascadesFromHigherLevels() {
+        int[] delays = {63, 64, 65, 4095, 4096, 4097, 300000};
+        for (int delay : delays) {
+            scheduleAt(delay);
+        }
+        wheel.advanceTo(300000);
+        assertEquals(delays.length, fired.size());
+        for (int i = 0; i < delays.length; i++) {
+            assertEquals(delays[i], (long) fired.get(i));
+        }
+    }
+
+    @Test
+    public void testOverflowBeyondTopLevel() {
+        wheel.advanceTo(100);
+        int delay = (1 << 24) + 10;
+        scheduleAt(delay);
+        wheel.advanceTo(100L + delay);
+        assertEquals(1, fired.size());
+        assertEquals(100L + delay, (long) fired.get(0));
+    }
+
+    @Test
+    public void testCancel() {
+        TimingWheel.Timeout timeout = wheel.schedule(5, () -> fired.add(wheel.getCurrentTick()));
+        assertEquals(5, timeout.getRemaining());
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        wheel.advanceTo(10);
+        assertTrue(fired.isEmpty());
+        assertFalse(timeout.isExpired());
+        assertEquals(0, wheel.getPendingCount());
+    }
+
+    @Test
+    public void testHerbivoreInjuryEndsAfterTimer() {
+        Herbivore cow = new Herbivore(new Coordinate(1, 1), "cow");
+        cow.setHealth(100);
+        cow.takeDamage(10);
+        assertTrue(cow.isInjured());
+
+        for (int i = 0; i < 14; i++) {
+            cow.updateLifecycle();
+        }
+        assertTrue(cow.isInjured());
+        cow.updateLifecycle();
+        assertFalse(cow.isInjured());
+    }
+
+    @Test
+    public void testSharedWheelDrivesHunting() {
+        Carnivore lion = new Carnivore(new Coordinate(1, 1), "lion");
+        Herbivore cow = new Herbivore(new Coordinate(1, 2), "cow");
+        lion.setTimers(wheel);
+        cow.setTimers(wheel);
+        cow.setHealth(100);
+
+        lion.hunt(cow);
+        assertTrue(lion.isHunting());
+        wheel.advanceTo(5);
+        assertFalse(lion.isHunting());
+    }
+}
@@ -0,0 +1,130 @@
+package my.company.my.safarigame.tests;
+
+import java.util.ArrayList;
+import java.util.List;
+import my.company.my.safarigame.model.Coordinate;
+import my.company.my.safarigame.model.Jeep;
+import my.company.my.safarigame.model.SafariMap;
+import my.company.my.safarigame.model.Time;
+import my.company.my.safarigame.model.TourDispatcher;
+import my.company.my.safarigame.model.TourListener;
+import my.company.my.safarigame.model.Tourist;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TourDispatcherTest {
+
+    private SafariMap map;
+    private TourDispatcher dispatcher;
+    private Jeep jeep;
+
+    @Before
+    public void setUp() {
+        map = new SafariMap("/grids/grid1.txt", 48);
+        dispatcher = map.getDispatcher();
+        dispatcher.setTourSteps(10);
+        jeep = new Jeep(new Coordinate(48, 7));
+        map.addJeep(jeep);
+    }
+
+    @Test
+    public void testJeepWaitsForFullLoad() {
+        for (int i = 0; i < 3; i++) {
+            dispatcher.step();
+        }
+        assertEquals(3, dispatcher.getWaitingTourists());
+        assertFalse(dispatcher.isTouring(jeep));
+
+        dispatcher.step();
+        assertTrue(dispatcher.isTouring(jeep));
+        assertEquals(0, dispatcher.getWaitingTourists());
+        assertEquals(jeep.getCapacity(), jeep.getCurrentPassengers().size());
+    }
+
+    @Test
+    public void testFirstArrivedBoardFirst() {
+        List<Tourist> arrived = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            arrived.add(dispatcher.touristArrives());
+        }
+        dispatcher.step();
+
+        assertEquals(arrived.subList(0, 4), jeep.getCurrentPassengers());
+        assertTrue(arrived.get(0).isRiding());
+        assertEquals(arrived.subList(4, 6), dispatcher.getQueue().subList(0, 2));
+    }
+
+    @Test
+    public void testTourFinishesAfterTourSteps() {
+        List<Tourist> finished = new ArrayList<>();
+        dispatcher.setTourListener(new TourListener() {
+            @Override
+            public void onTourStarted(Jeep jeep, List<Tourist> passengers, boolean forward) {
+                assertTrue(forward);
+            }
+
+            @Override
+            public void onTourFinished(Jeep jeep, List<Tourist> passengers, boolean forward) {
+                finished.addAll(passengers);
+            }
+        });
+        dispatcher.setStepsPerTourist(100);
+        for (int i = 0; i < 4; i++) {
+            dispatcher.touristArrives();
+        }
+        dispatcher.step();
+        assertEquals(0, dispatcher.getRouteIndex(jeep));
+
+        for (int i = 0; i < 9; i++) {
+            dispatcher.step();
+        }
+        assertTrue(dispatcher.isTouring(jeep));
+        assertEquals(9, dispatcher.getRouteIndex(jeep));
+
+        dispatcher.step();
+        assertEquals(4, finished.size());
+        assertEquals(4, dispatcher.getTouristsServed());
+        assertFalse(dispatcher.isTouring(jeep));
+        assertEquals(9, dispatcher.getRouteIndex(jeep));
+        assertTrue(jeep.getCurrentPassengers().isEmpty());
+        assertTrue(map.getTourists().isEmpty());
+    }
+
+    @Test
+    public void testAverageWait() {
+        // Tourists arrive at steps 1 to 4 and board at step 4
+        for (int i = 0; i < 4; i++) {
+            dispatcher.step();
+        }
+        assertEquals(1.5, dispatcher.getAverageWaitSteps(), 0.001);
+    }
+
+    @Test
+    public void testServedPerDay() {
+        dispatcher.onTimeAdvanced(new Time(1, 1));
+        for (int i = 0; i < 14; i++) {
+            dispatcher.step();
+        }
+        assertEquals(4, dispatcher.getTouristsServed());
+        assertEquals(0, dispatcher.getTouristsServedPerDay(), 0.001);
+
+        dispatcher.onTimeAdvanced(new Time(3, 1));
+        assertEquals(2, dispatcher.getTouristsServedPerDay(), 0.001);
+    }
+
+    @Test
+    public void testQueueIsCapped() {
+        for (int i = 0; i < TourDispatcher.MAX_QUEUE_LENGTH; i++) {
+            assertNotNull(dispatcher.touristArrives());
+        }
+        assertNull(dispatcher.touristArrives());
+        assertEquals(1, dispatcher.getTouristsTurnedAway());
+        assertEquals(TourDispatcher.MAX_QUEUE_LENGTH, dispatcher.getWaitingTourists());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testStepsPerTouristMustBePositive() {
+        dispatcher.setStepsPerTourist(0);
+    }
+}
@@ -0,0 +1,189 @@
+package my.company.my.safarigame.tests;
+
+import my.company.my.safarigame.model.Coordinate;
+import my.company.my.safarigame.model.Grid;
+import my.company.my.safarigame.model.Plant;
+import my.company.my.safarigame.model.SafariMap;
+import my.company.my.safarigame.model.VegetationListener;
+import my.company.my.safarigame.model.VegetationManager;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class VegetationManagerTest {
+
+    private SafariMap map;
+    private Grid grid;
+    private VegetationManager vegetation;
+
+    @Before
+    public void setUp() {
+        map = new SafariMap(10, 10, 48);
+        map.getLandscapeObjects().clear();
+        grid = new Grid(10, 10, 48);
+        map.setGrid(grid);
+        vegetation = map.getVegetation();
+    }
+
+    private Plant plant(int row, int col) {
+        Plant plant = new Plant(new Coordinate(row, col), "bush", 100.0);
+        grid.setCellType(row, col, 'b');
+        grid.getCell(row, col).setOccupied(true);
+        map.addLandscapeObject(plant);
+        return plant;
+    }
+
+    private void graze(Plant plant) {
+        Coordinate pos = plant.getPosition();
+        map.removeLandscapeObject(plant);
+        vegetation.onPlantGrazed(plant);
+        grid.clearCell(pos.getX(), pos.getY());
+    }
+
+    @Test
+    public void testGrowthStopsAtMaxStage() {
+        Plant bush = plant(3, 3);
+        vegetation.advanceTo(VegetationManager.GROWTH_INTERVAL * (Plant.MAX_GROWTH_STAGE + 3));
+        assertEquals(Plant.MAX_GROWTH_STAGE, bush.getGrowthStage());
+    }
+
+    @Test
+    public void testGrazedPlantRegrowsAfterDelay() {
+        Plant bush = plant(3, 3);
+        graze(bush);
+        assertEquals('-', grid.getCellType(3, 3));
+
+        vegetation.advanceTo(VegetationManager.REGROWTH_DELAY - 1);
+        assertTrue(bush.isDormant());
+
+        vegetation.advanceTo(VegetationManager.REGROWTH_DELAY);
+        assertFalse(bush.isDormant());
+        assertEquals('b', grid.getCellType(3, 3));
+        assertTrue(grid.isOccupied(3, 3));
+        assertTrue(map.getLandscapeObjects().contains(bush));
+        assertEquals(0, bush.getGrowthStage());
+    }
+
+    @Test
+    public void testBlockedRegrowthIsRetried() {
+        Plant bush = plant(3, 3);
+        graze(bush);
+        grid.setCellType(3, 3, 'c');
+        grid.getCell(3, 3).setOccupied(true);
+
+        vegetation.advanceTo(VegetationManager.REGROWTH_DELAY);
+        assertTrue(bush.isDormant());
+        assertEquals('c', grid.getCellType(3, 3));
+
+        grid.clearCell(3, 3);
+        vegetation.advanceTo(VegetationManager.REGROWTH_DELAY + VegetationManager.REGROWTH_RETRY);
+        assertFalse(bush.isDormant());
+        assertEquals('b', grid.getCellType(3, 3));
+    }
+
+    @Test
+    public void testPlantWithersAndNotifiesListener() {
+        Plant bush = plant(3, 3);
+        final int[] withered = {0};
+        vegetation.setListener(new VegetationListener() {
+            @Override
+            public void onPlantRegrown(Plant plant) {
+            }
+
+            @Override
+            public void onPlantWithered(Plant plant) {
+                withered[0]++;
+            }
+        });
+
+        long tick = 0;
+        while (!bush.isDormant() && tick < 1000) {
+            vegetation.advanceTo(++tick);
+        }
+        assertTrue(bush.isDormant());
+        assertEquals(1, withered[0]);
+        assertEquals('-', grid.getCellType(3, 3));
+        assertFalse(map.getLandscapeObjects().contains(bush));
+    }
+
+    @Test
+    public void testStaleEventsDroppedAfterRegrowth() {
+        Plant bush = plant(3, 3);
+        graze(bush);
+        vegetation.advanceTo(VegetationManager.REGROWTH_DELAY);
+        assertFalse(bush.isDormant());
+
+        // Events queued before the plant was eaten must not make it grow twice as fast
+        vegetation.advanceTo(VegetationManager.REGROWTH_DELAY + VegetationManager.GROWTH_INTERVAL);
+        assertEquals(1, bush.getGrowthStage());
+    }
+
+    @Test
+    public void testBuiltOverPlantIsDropped() {
+        Plant bush = plant(3, 3);
+        graze(bush);
+        grid.setCellType(3, 3, 'r');
+        grid.getCell(3, 3).setOccupied(true);
+
+        // Past the regrowth and the stale decay event of the plant's first life
+        vegetation.advanceTo(VegetationManager.DECAY_INTERVAL);
+        assertTrue(bush.isDormant());
+        assertEquals(0, vegetation.getPendingEventCount());
+    }
+
+    @Test
+    public void testBlockedRegrowthGivesUp() {
+        Plant bush = plant(3, 3);
+        graze(bush);
+        grid.setCellType(3, 3, 'c');
+        grid.getCell(3, 3).setOccupied(true);
+
+        vegetation.advanceTo(VegetationManager.REGROWTH_DELAY
+                + VegetationManager.REGROWTH_RETRY * (VegetationManager.MAX_REGROWTH_RETRIES + 1));
+        assertTrue(bush.isDormant());
+        assertEquals(0, vegetation.getPendingEventCount());
+    }
+
+    @Test
+    public void testRegrownPlantIsRegisteredOnce() {
+        Plant bush = plant(3, 3);
+        int entities = map.getEntityCount();
+        graze(bush);
+        assertEquals(entities - 1, map.getEntityCount());
+        assertNull(map.getEntity(bush.getId()));
+
+        vegetation.advanceTo(VegetationManager.REGROWTH_DELAY);
+        assertEquals(entities, map.getEntityCount());
+        assertSame(bush, map.getEntity(bush.getId()));
+
+        // Once the stale decay of the first life is dropped, only one growth and
+        // one decay event of the new life are queued
+        vegetation.advanceTo(VegetationManager.DECAY_INTERVAL);
+        assertEquals(2, vegetation.getPendingEventCount());
+    }
+
+    @Test
+    public void testPickedUpPlantKeepsNoOldSchedule() {
+        Plant picked = plant(3, 3);
+        // Picked up into the inventory, and another bush planted on the spot
+        map.removeLandscapeObject(picked);
+        grid.clearCell(3, 3);
+        Plant other = plant(3, 3);
+        Plant plantedWithOther = plant(7, 7);
+
+        vegetation.advanceTo(VegetationManager.DECAY_INTERVAL - 1);
+        // Placed again from the inventory somewhere else
+        picked.setPosition(5, 5);
+        grid.setCellType(5, 5, 'b');
+        grid.getCell(5, 5).setOccupied(true);
+        map.addLandscapeObject(picked);
+        Plant placedWithPicked = plant(8, 8);
+
+        vegetation.advanceTo(VegetationManager.DECAY_INTERVAL * 3);
+        assertEquals(plantedWithOther.getHealth(), other.getHealth(), 0.001);
+        assertEquals(placedWithPicked.getHealth(), picked.getHealth(), 0.001);
+        assertEquals('b', grid.getCellType(3, 3));
+        assertSame(other, map.getEntity(other.getId()));
+        assertSame(picked, map.getEntity(picked.getId()));
+    }
+}
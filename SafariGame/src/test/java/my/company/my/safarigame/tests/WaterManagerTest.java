@@ -0,0 +1,151 @@
+package my.company.my.safarigame.tests;
+
+import java.util.ArrayList;
+import java.util.List;
+import my.company.my.safarigame.model.ActiveRegions;
+import my.company.my.safarigame.model.Coordinate;
+import my.company.my.safarigame.model.LandScapeObject;
+import my.company.my.safarigame.model.SafariMap;
+import my.company.my.safarigame.model.WaterArea;
+import my.company.my.safarigame.model.WaterBody;
+import my.company.my.safarigame.model.WaterManager;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class WaterManagerTest {
+
+    private static WaterArea pond(int row, int col) {
+        return new WaterArea(new Coordinate(row, col), 100.0);
+    }
+
+    @Test
+    public void testConnectedCellsFormOnePond() {
+        List<LandScapeObject> objects = new ArrayList<>();
+        // An L-shaped pond and a single cell touching it only diagonally
+        objects.add(pond(5, 5));
+        objects.add(pond(5, 6));
+        objects.add(pond(6, 5));
+        objects.add(pond(7, 5));
+        objects.add(pond(8, 6));
+        WaterManager water = new WaterManager(20, 20);
+        water.build(objects);
+
+        assertEquals(2, water.getBodies().size());
+        WaterBody body = water.getBodyAt(7, 5);
+        assertSame(body, water.getBodyAt(5, 6));
+        assertEquals(4, body.getSize());
+        assertEquals(400.0, body.getCapacity(), 1e-9);
+        assertNotSame(body, water.getBodyAt(8, 6));
+        assertSame(objects.get(3), water.getAreaAt(7, 5));
+        assertNull(water.getAreaAt(0, 0));
+        assertNull(water.getAreaAt(-1, 5));
+    }
+
+    @Test
+    public void testPlacedCellJoinsPonds() {
+        WaterManager water = new WaterManager(20, 20);
+        WaterArea west = pond(10, 4);
+        WaterArea east = pond(10, 6);
+        water.add(west);
+        water.add(east);
+        assertEquals(2, water.getBodies().size());
+
+        water.add(pond(10, 5));
+        assertEquals(1, water.getBodies().size());
+        assertSame(west.getBody(), east.getBody());
+        assertEquals(3, west.getBody().getSize());
+        assertEquals(300.0, east.getCapacity(), 1e-9);
+    }
+
+    @Test
+    public void testRemovedCellSplitsPond() {
+        WaterManager water = new WaterManager(20, 20);
+        WaterArea middle = pond(10, 5);
+        for (int c = 2; c <= 8; c++) {
+            water.add(c == 5 ? middle : pond(10, c));
+        }
+        WaterBody body = water.getBodyAt(10, 2);
+        body.evaporate();
+        assertEquals(700.0 - 7 * WaterBody.EVAPORATION_PER_CELL, body.getCapacity(), 1e-9);
+
+        water.remove(middle);
+        assertEquals(2, water.getBodies().size());
+        assertNull(water.getAreaAt(10, 5));
+        assertNull(middle.getBody());
+        WaterBody west = water.getBodyAt(10, 2);
+        WaterBody east = water.getBodyAt(10, 8);
+        assertNotSame(west, east);
+        // The water is shared out by the number of cells
+        assertEquals(3 * 95.0, west.getCapacity(), 1e-9);
+        assertEquals(3 * 95.0, east.getCapacity(), 1e-9);
+        assertEquals(95.0, middle.getCapacity(), 1e-9);
+
+        // Taking out an edge cell leaves the rest in one pond
+        water.remove(water.getAreaAt(10, 8));
+        assertEquals(2, water.getBodies().size());
+        assertEquals(2, water.getBodyAt(10, 7).getSize());
+    }
+
+    @Test
+    public void testPondEvaporatesOnceDownToEmpty() {
+        WaterManager water = new WaterManager(20, 20);
+        WaterArea area = pond(3, 3);
+        water.add(area);
+        water.add(pond(3, 4));
+        ActiveRegions regions = new ActiveRegions(20, 20);
+        regions.wake(Coordinate.of(3, 3));
+
+        water.update(regions);
+        assertEquals(200.0 - 2 * WaterBody.EVAPORATION_PER_CELL, area.getCapacity(), 1e-9);
+        // A water area of a pond is updated by its pond, not on its own
+        area.update();
+        assertEquals(190.0, area.getCapacity(), 1e-9);
+        assertFalse(ActiveRegions.isTicking(area));
+
+        for (int i = 0; i < 100; i++) {
+            area.getBody().update();
+        }
+        assertEquals(0.0, area.getCapacity(), 1e-9);
+        area.fill();
+        assertEquals(2 * WaterBody.REFILL_PER_CELL, area.getBody().getCapacity(), 1e-9);
+    }
+
+    @Test
+    public void testSleepingPondDoesNotEvaporate() {
+        WaterManager water = new WaterManager(256, 256);
+        WaterArea area = pond(200, 200);
+        water.add(area);
+        ActiveRegions regions = new ActiveRegions(256, 256);
+
+        water.update(regions);
+        assertEquals(100.0, area.getCapacity(), 1e-9);
+
+        regions.wake(Coordinate.of(250, 250));
+        water.update(regions);
+        assertEquals(100.0 - WaterBody.EVAPORATION_PER_CELL, area.getCapacity(), 1e-9);
+    }
+
+    @Test
+    public void testMapFormsPondsOfLoadedGrid() {
+        SafariMap map = new SafariMap("/grids/grid1.txt", 48);
+        int cells = 0;
+        for (LandScapeObject obj : map.getLandscapeObjects()) {
+            if (obj instanceof WaterArea) {
+                cells++;
+                assertSame(obj, map.getWater().getAreaAt(obj.getPosition().getX(), obj.getPosition().getY()));
+            }
+        }
+        assertEquals(1, map.getWater().getBodies().size());
+        assertEquals(cells, map.getWater().getBodies().iterator().next().getSize());
+
+        // Water placed later joins the pond, and leaves it again when removed
+        WaterArea placed = pond(0, 0);
+        Coordinate next = map.getWater().getBodies().iterator().next().getAreas().get(0).getPosition();
+        placed.setPosition(next.getX() - 1, next.getY());
+        map.addLandscapeObject(placed);
+        assertEquals(cells + 1, placed.getBody().getSize());
+        map.removeLandscapeObject(placed);
+        assertNull(placed.getBody());
+        assertEquals(1, map.getWater().getBodies().size());
+    }
+}